@@ -0,0 +1,96 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.benchmarks;
+
+import org.languagetool.markup.AnnotatedText;
+import org.languagetool.markup.AnnotatedTextBuilder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping of match positions back to the original text with {@link AnnotatedText#getOriginalTextPositionFor}
+ * for a ~1 MB HTML-like document, as done by {@code JLanguageTool} and the JSON serializer for every match.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnnotatedTextBenchmark {
+
+  private static final int DOCUMENT_SIZE = 1024 * 1024;
+
+  @State(Scope.Benchmark)
+  public static class Input {
+    @Param({"1000"})
+    public int matchCount;
+
+    AnnotatedText text;
+    int[] matchPositions;
+
+    @Setup
+    public void setUp() {
+      Random random = new Random(42);
+      AnnotatedTextBuilder builder = new AnnotatedTextBuilder();
+      int size = 0;
+      int plainTextSize = 0;
+      while (size < DOCUMENT_SIZE) {
+        String sentence = "This is sentence number " + size + " of the document. ";
+        builder.addText(sentence);
+        size += sentence.length();
+        plainTextSize += sentence.length();
+        if (random.nextInt(4) == 0) {
+          builder.addMarkup("<br/>", "\n");
+          size += "<br/>".length();
+          plainTextSize += 1;
+        } else {
+          builder.addMarkup("<span class=\"x\">");
+          size += "<span class=\"x\">".length();
+        }
+      }
+      text = builder.build();
+      matchPositions = new int[matchCount];
+      for (int i = 0; i < matchCount; i++) {
+        matchPositions[i] = random.nextInt(plainTextSize);
+      }
+    }
+  }
+
+  @Benchmark
+  public AnnotatedText build() {
+    AnnotatedTextBuilder builder = new AnnotatedTextBuilder();
+    for (int size = 0; size < DOCUMENT_SIZE; size += 64) {
+      builder.addText("This is some sentence with a length of sixty-four characters...");
+      builder.addMarkup("<b>");
+    }
+    return builder.build();
+  }
+
+  @Benchmark
+  public void getOriginalTextPositionFor(Input input, Blackhole bh) {
+    for (int pos : input.matchPositions) {
+      bh.consume(input.text.getOriginalTextPositionFor(pos, false));
+      bh.consume(input.text.getOriginalTextPositionFor(pos + 1, true));
+    }
+  }
+
+}
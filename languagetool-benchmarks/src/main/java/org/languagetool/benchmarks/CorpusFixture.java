@@ -0,0 +1,91 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.benchmarks;
+
+import org.languagetool.AnalyzedSentence;
+import org.languagetool.JLanguageTool;
+import org.languagetool.Language;
+import org.languagetool.Languages;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A language plus its bundled benchmark corpus, loaded once per JMH trial.
+ * The corpora are in {@code src/main/resources/org/languagetool/benchmarks/corpus/},
+ * one sentence per line, lines starting with {@code #} are comments.
+ */
+class CorpusFixture {
+
+  private static final String CORPUS_DIR = "/org/languagetool/benchmarks/corpus/";
+
+  final Language language;
+  final JLanguageTool lt;
+  /** the full corpus, one sentence per line */
+  final String text;
+  /** the corpus split by the language's sentence tokenizer */
+  final List<String> sentences;
+
+  private List<AnalyzedSentence> analyzedSentences;
+
+  CorpusFixture(String languageCode) throws IOException {
+    language = Languages.getLanguageForShortCode(languageCode);
+    lt = new JLanguageTool(language);
+    text = String.join("\n", loadCorpus(language.getShortCode()));
+    sentences = lt.sentenceTokenize(text);
+  }
+
+  /**
+   * Fully analyzed (tagged and disambiguated) sentences of the corpus, computed on first call.
+   */
+  List<AnalyzedSentence> getAnalyzedSentences() throws IOException {
+    if (analyzedSentences == null) {
+      List<AnalyzedSentence> result = new ArrayList<>();
+      for (String sentence : sentences) {
+        result.add(lt.getAnalyzedSentence(sentence));
+      }
+      analyzedSentences = result;
+    }
+    return analyzedSentences;
+  }
+
+  static List<String> loadCorpus(String shortCode) throws IOException {
+    String path = CORPUS_DIR + shortCode + ".txt";
+    InputStream stream = CorpusFixture.class.getResourceAsStream(path);
+    if (stream == null) {
+      throw new IOException("No benchmark corpus found for '" + shortCode + "' at " + path);
+    }
+    List<String> lines = new ArrayList<>();
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (!line.isEmpty() && !line.startsWith("#")) {
+          lines.add(line);
+        }
+      }
+    }
+    return lines;
+  }
+
+}
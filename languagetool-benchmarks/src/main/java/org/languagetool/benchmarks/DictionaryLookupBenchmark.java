@@ -0,0 +1,96 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.benchmarks;
+
+import morfologik.stemming.Dictionary;
+import morfologik.stemming.DictionaryLookup;
+import org.languagetool.JLanguageTool;
+import org.languagetool.rules.spelling.morfologik.MappedDictionaryLoader;
+import org.languagetool.tagging.BaseTagger;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups of the word-tokenized corpus sentences in the tagger dictionary, with the dictionary
+ * loaded into the heap ({@code Dictionary.read}) or memory-mapped ({@code MappedDictionaryLoader}),
+ * and the time it takes to load the dictionary. A memory-mapped dictionary saves the size of
+ * its {@code .dict} file in heap space.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DictionaryLookupBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class Input {
+    @Param({"crh", "uk", "de-DE", "en-US"})
+    public String languageCode;
+
+    @Param({"true", "false"})
+    public boolean mapped;
+
+    URL dictUrl;
+    DictionaryLookup lookup;
+    List<String> words;
+
+    @Setup
+    public void setUp() throws IOException {
+      CorpusFixture fixture = new CorpusFixture(languageCode);
+      BaseTagger tagger = (BaseTagger) fixture.language.getTagger();
+      dictUrl = JLanguageTool.getDataBroker().getFromResourceDirAsUrl(tagger.getDictionaryPath());
+      lookup = new DictionaryLookup(loadDictionary(this));
+      words = new ArrayList<>();
+      for (String sentence : fixture.sentences) {
+        words.addAll(fixture.language.getWordTokenizer().tokenize(sentence));
+      }
+    }
+  }
+
+  @Benchmark
+  public void lookup(Input input, Blackhole bh) {
+    for (String word : input.words) {
+      bh.consume(input.lookup.lookup(word).size());
+    }
+  }
+
+  @Benchmark
+  public Dictionary load(Input input) throws IOException {
+    return loadDictionary(input);
+  }
+
+  private static Dictionary loadDictionary(Input input) throws IOException {
+    if (input.mapped) {
+      Dictionary dictionary = MappedDictionaryLoader.map(input.dictUrl);
+      if (dictionary == null) {
+        throw new IOException("Automaton format not supported for memory-mapping: " + input.dictUrl);
+      }
+      return dictionary;
+    }
+    return Dictionary.read(input.dictUrl);
+  }
+
+}
@@ -0,0 +1,70 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.benchmarks;
+
+import org.languagetool.AnalyzedSentence;
+import org.languagetool.tagging.disambiguation.rules.XmlRuleDisambiguator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link XmlRuleDisambiguator#disambiguate} on the raw (tagged, not yet disambiguated) corpus sentences.
+ * Crimean Tatar has no {@code disambiguation.xml} and is thus not part of this benchmark.
+ * Run with {@code -prof gc} to also see the allocation rate of the disambiguation chain.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DisambiguatorBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class Input {
+    @Param({"uk", "de-DE", "en-US"})
+    public String languageCode;
+
+    XmlRuleDisambiguator disambiguator;
+    List<AnalyzedSentence> rawSentences;
+
+    @Setup
+    public void setUp() throws IOException {
+      CorpusFixture fixture = new CorpusFixture(languageCode);
+      disambiguator = new XmlRuleDisambiguator(fixture.language);
+      rawSentences = new ArrayList<>();
+      for (String sentence : fixture.sentences) {
+        rawSentences.add(fixture.lt.getRawAnalyzedSentence(sentence));
+      }
+    }
+  }
+
+  @Benchmark
+  public void disambiguate(Input input, Blackhole bh) throws IOException {
+    for (AnalyzedSentence sentence : input.rawSentences) {
+      // disambiguation may modify the token readings, so work on a copy:
+      bh.consume(input.disambiguator.disambiguate(sentence.copy(sentence)));
+    }
+  }
+
+}
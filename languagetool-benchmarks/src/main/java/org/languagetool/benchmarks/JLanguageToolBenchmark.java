@@ -0,0 +1,85 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.benchmarks;
+
+import org.languagetool.JLanguageTool;
+import org.languagetool.MultiThreadedJLanguageTool;
+import org.languagetool.rules.RuleMatch;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end {@code check()} of the whole corpus, single-threaded with {@link JLanguageTool}
+ * and with a {@link MultiThreadedJLanguageTool} using all available processors, both in
+ * the default and in the pipelined mode (see {@link MultiThreadedJLanguageTool#setPipelined(boolean)}).
+ * No result cache is used, so every invocation runs the full pipeline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class JLanguageToolBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class Input {
+    @Param({"crh", "uk", "de-DE", "en-US"})
+    public String languageCode;
+
+    JLanguageTool lt;
+    MultiThreadedJLanguageTool mlt;
+    MultiThreadedJLanguageTool pipelinedLt;
+    String text;
+
+    @Setup
+    public void setUp() throws IOException {
+      CorpusFixture fixture = new CorpusFixture(languageCode);
+      lt = fixture.lt;
+      mlt = new MultiThreadedJLanguageTool(fixture.language);
+      pipelinedLt = new MultiThreadedJLanguageTool(fixture.language);
+      pipelinedLt.setPipelined(true);
+      text = fixture.text;
+    }
+
+    @TearDown
+    public void tearDown() {
+      mlt.shutdown();
+      pipelinedLt.shutdown();
+    }
+  }
+
+  @Benchmark
+  public List<RuleMatch> check(Input input) throws IOException {
+    return input.lt.check(input.text);
+  }
+
+  @Benchmark
+  public List<RuleMatch> checkMultiThreaded(Input input) throws IOException {
+    return input.mlt.check(input.text);
+  }
+
+  @Benchmark
+  public List<RuleMatch> checkPipelined(Input input) throws IOException {
+    return input.pipelinedLt.check(input.text);
+  }
+
+}
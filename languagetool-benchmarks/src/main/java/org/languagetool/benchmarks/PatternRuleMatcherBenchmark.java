@@ -0,0 +1,81 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.benchmarks;
+
+import org.languagetool.AnalyzedSentence;
+import org.languagetool.rules.Rule;
+import org.languagetool.rules.patterns.PatternRule;
+import org.languagetool.rules.patterns.RuleSet;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pattern matching of the grammar.xml rules ({@link PatternRule#match}, i.e. {@code PatternRuleMatcher.match}).
+ * As in {@code JLanguageTool}, only the rules that {@link RuleSet#rulesForSentence} considers applicable
+ * are run for a sentence, but that filtering happens in the setup and isn't measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PatternRuleMatcherBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class Input {
+    @Param({"crh", "uk", "de-DE", "en-US"})
+    public String languageCode;
+
+    List<AnalyzedSentence> sentences;
+    List<List<PatternRule>> rulesPerSentence;
+
+    @Setup
+    public void setUp() throws IOException {
+      CorpusFixture fixture = new CorpusFixture(languageCode);
+      RuleSet ruleSet = RuleSet.textLemmaHinted(fixture.lt.getAllActiveRules());
+      sentences = fixture.getAnalyzedSentences();
+      rulesPerSentence = new ArrayList<>();
+      for (AnalyzedSentence sentence : sentences) {
+        List<PatternRule> rules = new ArrayList<>();
+        for (Rule rule : ruleSet.rulesForSentence(sentence)) {
+          if (rule instanceof PatternRule) {
+            rules.add((PatternRule) rule);
+          }
+        }
+        rulesPerSentence.add(rules);
+      }
+    }
+  }
+
+  @Benchmark
+  public void match(Input input, Blackhole bh) throws IOException {
+    for (int i = 0; i < input.sentences.size(); i++) {
+      AnalyzedSentence sentence = input.sentences.get(i);
+      for (PatternRule rule : input.rulesPerSentence.get(i)) {
+        bh.consume(rule.match(sentence));
+      }
+    }
+  }
+
+}
@@ -0,0 +1,63 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.benchmarks;
+
+import org.languagetool.AnalyzedSentence;
+import org.languagetool.rules.patterns.RuleSet;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rule prefiltering with {@link RuleSet#rulesForSentence} over all active rules of a language.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RuleSetBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class Input {
+    @Param({"crh", "uk", "de-DE", "en-US"})
+    public String languageCode;
+
+    RuleSet ruleSet;
+    List<AnalyzedSentence> sentences;
+
+    @Setup
+    public void setUp() throws IOException {
+      CorpusFixture fixture = new CorpusFixture(languageCode);
+      ruleSet = RuleSet.textLemmaHinted(fixture.lt.getAllActiveRules());
+      sentences = fixture.getAnalyzedSentences();
+    }
+  }
+
+  @Benchmark
+  public void rulesForSentence(Input input, Blackhole bh) {
+    for (AnalyzedSentence sentence : input.sentences) {
+      bh.consume(input.ruleSet.rulesForSentence(sentence));
+    }
+  }
+
+}
@@ -0,0 +1,124 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.benchmarks;
+
+import org.languagetool.rules.spelling.morfologik.MorfologikSpeller;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contention test for a single {@link MorfologikSpeller} shared by 1..N threads, as it is
+ * in the server and {@code MultiThreadedJLanguageTool}. With a thread-confined speller
+ * the throughput should scale with the number of threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpellerContentionBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class SharedSpeller {
+    @Param({"crh", "uk", "en-US"})
+    public String languageCode;
+
+    MorfologikSpeller speller;
+    List<String> words;
+
+    @Setup
+    public void setUp() throws IOException {
+      CorpusFixture fixture = new CorpusFixture(languageCode);
+      speller = new MorfologikSpeller(getSpellerDict(fixture.language.getShortCode()));
+      words = new ArrayList<>();
+      for (String sentence : fixture.sentences) {
+        for (String token : fixture.language.getWordTokenizer().tokenize(sentence)) {
+          if (!token.trim().isEmpty()) {
+            words.add(token);
+          }
+        }
+      }
+    }
+
+    private static String getSpellerDict(String shortCode) {
+      switch (shortCode) {
+        case "crh": return "/crh/hunspell/crh_UA.dict";
+        case "uk": return "/uk/hunspell/uk_UA.dict";
+        case "en": return "/en/hunspell/en_US.dict";
+        default: throw new IllegalArgumentException("No speller dictionary configured for " + shortCode);
+      }
+    }
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void isMisspelled1Thread(SharedSpeller shared, Blackhole bh) {
+    isMisspelled(shared, bh);
+  }
+
+  @Benchmark
+  @Threads(2)
+  public void isMisspelled2Threads(SharedSpeller shared, Blackhole bh) {
+    isMisspelled(shared, bh);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void isMisspelled4Threads(SharedSpeller shared, Blackhole bh) {
+    isMisspelled(shared, bh);
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public void isMisspelledMaxThreads(SharedSpeller shared, Blackhole bh) {
+    isMisspelled(shared, bh);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void findReplacements1Thread(SharedSpeller shared, Blackhole bh) {
+    findReplacements(shared, bh);
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public void findReplacementsMaxThreads(SharedSpeller shared, Blackhole bh) {
+    findReplacements(shared, bh);
+  }
+
+  private static void isMisspelled(SharedSpeller shared, Blackhole bh) {
+    for (String word : shared.words) {
+      bh.consume(shared.speller.isMisspelled(word));
+    }
+  }
+
+  private static void findReplacements(SharedSpeller shared, Blackhole bh) {
+    for (String word : shared.words) {
+      if (shared.speller.isMisspelled(word)) {
+        bh.consume(shared.speller.findReplacements(word));
+      }
+    }
+  }
+
+}
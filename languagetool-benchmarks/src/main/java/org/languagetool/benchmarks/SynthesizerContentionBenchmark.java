@@ -0,0 +1,88 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.benchmarks;
+
+import org.languagetool.AnalyzedSentence;
+import org.languagetool.AnalyzedToken;
+import org.languagetool.AnalyzedTokenReadings;
+import org.languagetool.synthesis.Synthesizer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contention test for a language's {@link Synthesizer} shared by 1..N threads, as used by
+ * {@code <suggestion>}s of pattern rules. Re-synthesizes every tagged reading of the corpus
+ * from its lemma and POS tag.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SynthesizerContentionBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class SharedSynthesizer {
+    @Param({"crh", "uk", "de-DE", "en-US"})
+    public String languageCode;
+
+    Synthesizer synthesizer;
+    List<AnalyzedToken> readings;
+
+    @Setup
+    public void setUp() throws IOException {
+      CorpusFixture fixture = new CorpusFixture(languageCode);
+      synthesizer = fixture.language.getSynthesizer();
+      readings = new ArrayList<>();
+      for (AnalyzedSentence sentence : fixture.getAnalyzedSentences()) {
+        for (AnalyzedTokenReadings tokenReadings : sentence.getTokensWithoutWhitespace()) {
+          for (AnalyzedToken reading : tokenReadings) {
+            if (reading.getLemma() != null && reading.getPOSTag() != null && !reading.getPOSTag().startsWith("SENT_")) {
+              readings.add(reading);
+            }
+          }
+        }
+      }
+    }
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void synthesize1Thread(SharedSynthesizer shared, Blackhole bh) throws IOException {
+    synthesize(shared, bh);
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public void synthesizeMaxThreads(SharedSynthesizer shared, Blackhole bh) throws IOException {
+    synthesize(shared, bh);
+  }
+
+  private static void synthesize(SharedSynthesizer shared, Blackhole bh) throws IOException {
+    for (AnalyzedToken reading : shared.readings) {
+      bh.consume(shared.synthesizer.synthesize(reading, reading.getPOSTag()));
+    }
+  }
+
+}
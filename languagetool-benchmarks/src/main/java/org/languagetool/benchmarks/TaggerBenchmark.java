@@ -0,0 +1,77 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.benchmarks;
+
+import org.languagetool.tagging.TaggedWordCache;
+import org.languagetool.tagging.Tagger;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * POS tagging (e.g. {@code BaseTagger.tag}) of the word-tokenized corpus sentences, with and
+ * without a {@link TaggedWordCache} for the corpus.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaggerBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class Input {
+    @Param({"crh", "uk", "de-DE", "en-US"})
+    public String languageCode;
+
+    Tagger tagger;
+    List<List<String>> tokenizedSentences;
+
+    @Setup
+    public void setUp() throws IOException {
+      CorpusFixture fixture = new CorpusFixture(languageCode);
+      tagger = fixture.language.getTagger();
+      tokenizedSentences = new ArrayList<>();
+      for (String sentence : fixture.sentences) {
+        tokenizedSentences.add(fixture.language.getWordTokenizer().tokenize(sentence));
+      }
+    }
+  }
+
+  @Benchmark
+  public void tag(Input input, Blackhole bh) throws IOException {
+    for (List<String> tokens : input.tokenizedSentences) {
+      bh.consume(input.tagger.tag(tokens));
+    }
+  }
+
+  @Benchmark
+  public void tagWithCache(Input input, Blackhole bh) throws IOException {
+    // a new cache per run, so only words repeated within the corpus are found in the cache:
+    TaggedWordCache cache = new TaggedWordCache(10_000);
+    for (List<String> tokens : input.tokenizedSentences) {
+      bh.consume(input.tagger.tag(tokens, cache));
+    }
+  }
+
+}
@@ -0,0 +1,123 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.benchmarks;
+
+import org.languagetool.AnalyzedSentence;
+import org.languagetool.JLanguageTool;
+import org.languagetool.rules.Rule;
+import org.languagetool.rules.patterns.AbstractPatternRule;
+import org.languagetool.rules.patterns.PatternRule;
+import org.languagetool.rules.patterns.PatternToken;
+import org.languagetool.tagging.disambiguation.rules.DisambiguationPatternRule;
+import org.languagetool.tagging.disambiguation.rules.DisambiguationRuleLoader;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The rules with {@code <unify>} blocks, i.e. the agreement rules that use {@code Unifier}: the grammar.xml
+ * rules on the analyzed corpus sentences (of these corpora, only Ukrainian has such rules) and the
+ * disambiguation.xml rules on the raw sentences. Set {@code compiled} to {@code false} to compare with the
+ * map-based unifier ({@code -DdisableCompiledUnifier}), which is only possible because JMH forks a new JVM
+ * per parameter combination.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UnifierBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class Input {
+    @Param({"uk", "de-DE", "en-US"})
+    public String languageCode;
+
+    @Param({"true", "false"})
+    public boolean compiled;
+
+    List<AnalyzedSentence> sentences;
+    List<AnalyzedSentence> rawSentences;
+    List<PatternRule> grammarRules;
+    List<DisambiguationPatternRule> disambiguationRules;
+
+    @Setup
+    public void setUp() throws Exception {
+      // must be set before the unifier configuration is loaded:
+      if (!compiled) {
+        System.setProperty("disableCompiledUnifier", "true");
+      }
+      CorpusFixture fixture = new CorpusFixture(languageCode);
+      sentences = fixture.getAnalyzedSentences();
+      rawSentences = new ArrayList<>();
+      for (String sentence : fixture.sentences) {
+        rawSentences.add(fixture.lt.getRawAnalyzedSentence(sentence));
+      }
+      grammarRules = new ArrayList<>();
+      for (Rule rule : fixture.lt.getAllActiveRules()) {
+        if (rule instanceof PatternRule && hasUnification((PatternRule) rule)) {
+          grammarRules.add((PatternRule) rule);
+        }
+      }
+      disambiguationRules = new ArrayList<>();
+      String file = fixture.language.getShortCode() + "/disambiguation.xml";
+      try (InputStream stream = JLanguageTool.getDataBroker().getFromResourceDirAsStream(file)) {
+        for (DisambiguationPatternRule rule : new DisambiguationRuleLoader().getRules(stream)) {
+          if (hasUnification(rule)) {
+            disambiguationRules.add(rule);
+          }
+        }
+      }
+    }
+
+    private static boolean hasUnification(AbstractPatternRule rule) {
+      for (PatternToken patternToken : rule.getPatternTokens()) {
+        if (patternToken.isUnified()) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  @Benchmark
+  public void grammarRules(Input input, Blackhole bh) throws IOException {
+    for (AnalyzedSentence sentence : input.sentences) {
+      for (PatternRule rule : input.grammarRules) {
+        bh.consume(rule.match(sentence));
+      }
+    }
+  }
+
+  @Benchmark
+  public void disambiguationRules(Input input, Blackhole bh) throws IOException {
+    for (AnalyzedSentence sentence : input.rawSentences) {
+      for (DisambiguationPatternRule rule : input.disambiguationRules) {
+        // disambiguation may modify the token readings, so work on a copy:
+        bh.consume(rule.replace(sentence.copy(sentence)));
+      }
+    }
+  }
+
+}
@@ -55,6 +55,7 @@ public class CommandLineOptions {
   private boolean listUnknown = false;
   private boolean applySuggestions = false;
   private boolean profile = false;
+  private boolean profileRules = false;
   private boolean bitext = false;
   private boolean autoDetect = false;
   private boolean xmlFiltering = false;
@@ -209,6 +210,20 @@ public class CommandLineOptions {
     this.profile = profile;
   }
 
+  /**
+   * @since 5.9
+   */
+  public boolean isProfileRules() {
+    return profileRules;
+  }
+
+  /**
+   * @since 5.9
+   */
+  public void setProfileRules(boolean profileRules) {
+    this.profileRules = profileRules;
+  }
+
   public boolean isBitext() {
     return bitext;
   }
@@ -181,6 +181,8 @@ class CommandLineParser {
         if (options.isTaggerOnly()) {
           throw new IllegalArgumentException("Tagging makes no sense for profiling");
         }
+      } else if (args[i].equals("--profile-rules")) {
+        options.setProfileRules(true);
       } else if (args[i].equals("--xmlfilter")) {
         options.setXmlFiltering(true);
       } else if (i == args.length - 1) {
@@ -221,6 +223,7 @@ class CommandLineParser {
             + "  --api                    [deprecated] print results as XML - please use --json or the JSON API in server mode instead\n"
             + "  --json                   print results as JSON (see https://languagetool.org/http-api/#!/default/post_check)\n"
             + "  -p, --profile            print performance measurements\n"
+            + "  --profile-rules          check as usual, then print the rules that took the most time to STDERR\n"
             + "  -v, --verbose            print text analysis (sentences, part-of-speech tags) to STDERR\n"
             + "  --version                print LanguageTool version number and exit\n"
             + "  -a, --apply              automatically apply suggestions if available, printing result to STDOUT\n"
@@ -26,6 +26,7 @@ import org.languagetool.language.*;
 import org.languagetool.language.identifier.LanguageIdentifier;
 import org.languagetool.language.identifier.LanguageIdentifierService;
 import org.languagetool.rules.Rule;
+import org.languagetool.rules.RuleProfiler;
 import org.languagetool.rules.bitext.BitextRule;
 import org.languagetool.rules.patterns.AbstractPatternRule;
 import org.languagetool.rules.patterns.PatternRuleLoader;
@@ -448,6 +449,9 @@ class Main {
     if (options.isProfile()) {
       prg.setProfilingMode();
     }
+    if (options.isProfileRules()) {
+      RuleProfiler.setSampleRate(1);
+    }
     if (options.isBitext()) {
       if (options.getMotherTongue() == null) {
         throw new IllegalArgumentException("You have to set the source language (as mother tongue) in bitext mode");
@@ -464,6 +468,9 @@ class Main {
         prg.runOnFile(options.getFilename(), options.getEncoding(), options.isXmlFiltering());
       }
     }
+    if (options.isProfileRules()) {
+      System.err.print(RuleProfiler.getReport(50));
+    }
     prg.cleanUp();
   }
 
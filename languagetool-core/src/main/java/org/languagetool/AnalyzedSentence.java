@@ -39,7 +39,7 @@ public final class AnalyzedSentence {
   private final AnalyzedTokenReadings[] nonBlankPreDisambigTokens;
   private final int[] whPositions;  // maps positions without whitespace to positions that include whitespaces
   private final Map<String, List<Integer>> tokenOffsets;
-  private final Map<String, List<Integer>> lemmaOffsets;
+  private volatile Map<String, List<Integer>> lemmaOffsets;  // computed lazily, see getLemmaOffsetMap()
 
   /**
    * Creates an AnalyzedSentence from the given {@link AnalyzedTokenReadings}. Whitespace is also a token.
@@ -58,14 +58,13 @@ public final class AnalyzedSentence {
     this.nonBlankTokens = getNonBlankReadings(tokens, whCounter, nonWhCounter, mapping).toArray(new AnalyzedTokenReadings[0]);
     this.nonBlankPreDisambigTokens = getNonBlankReadings(preDisambigTokens, whCounter, nonWhCounter, mapping).toArray(new AnalyzedTokenReadings[0]);
     tokenOffsets = indexTokens(nonBlankTokens);
-    lemmaOffsets = indexLemmas(nonBlankTokens);
   }
 
   @NotNull
   private List<AnalyzedTokenReadings> getNonBlankReadings(AnalyzedTokenReadings[] tokens, int whCounter, int nonWhCounter, int[] mapping) {
     List<AnalyzedTokenReadings> l = new ArrayList<>();
     for (AnalyzedTokenReadings token : tokens) {
-      if (!token.isWhitespace() || token.isSentenceStart() || token.isSentenceEnd() || token.isParagraphEnd()) {
+      if (isNonBlank(token)) {
         l.add(token);
         mapping[nonWhCounter] = whCounter;
         nonWhCounter++;
@@ -82,7 +81,60 @@ public final class AnalyzedSentence {
     this.nonBlankTokens = nonBlankTokens;
     this.nonBlankPreDisambigTokens = nonBlankPreDisambigTokens;
     tokenOffsets = indexTokens(nonBlankTokens);
-    lemmaOffsets = indexLemmas(nonBlankTokens);
+  }
+
+  private AnalyzedSentence(AnalyzedTokenReadings[] tokens, AnalyzedTokenReadings[] preDisambigTokens, int[] mapping,
+                           AnalyzedTokenReadings[] nonBlankTokens, AnalyzedTokenReadings[] nonBlankPreDisambigTokens,
+                           Map<String, List<Integer>> tokenOffsets) {
+    this.tokens = tokens;
+    this.preDisambigTokens = preDisambigTokens;
+    this.whPositions = mapping;
+    this.nonBlankTokens = nonBlankTokens;
+    this.nonBlankPreDisambigTokens = nonBlankPreDisambigTokens;
+    this.tokenOffsets = tokenOffsets;
+  }
+
+  /**
+   * Same as {@code new AnalyzedSentence(disambiguatedTokens, getTokens())}, i.e. this sentence's tokens become
+   * the pre-disambiguation tokens of the result. As a disambiguation step usually only changes readings, the
+   * whitespace mapping and the token index are re-used if possible and the lemma index is only built on demand.
+   * @param disambiguatedTokens this sentence's tokens (including whitespace) with changed readings
+   * @since 5.9
+   */
+  @ApiStatus.Internal
+  public AnalyzedSentence withDisambiguatedTokens(AnalyzedTokenReadings[] disambiguatedTokens) {
+    if (disambiguatedTokens.length != tokens.length) {
+      return new AnalyzedSentence(disambiguatedTokens, tokens);
+    }
+    int[] mapping = new int[disambiguatedTokens.length + 1];
+    AnalyzedTokenReadings[] nonBlank = new AnalyzedTokenReadings[nonBlankTokens.length];
+    int nonWhCounter = 0;
+    for (int i = 0; i < disambiguatedTokens.length; i++) {
+      boolean isNonBlank = isNonBlank(disambiguatedTokens[i]);
+      if (isNonBlank != isNonBlank(tokens[i]) || isNonBlank && nonWhCounter >= nonBlank.length) {
+        return new AnalyzedSentence(disambiguatedTokens, tokens);
+      }
+      if (isNonBlank) {
+        nonBlank[nonWhCounter] = disambiguatedTokens[i];
+        mapping[nonWhCounter] = i;
+        nonWhCounter++;
+      }
+    }
+    if (nonWhCounter != nonBlank.length) {
+      return new AnalyzedSentence(disambiguatedTokens, tokens);
+    }
+    Map<String, List<Integer>> newTokenOffsets = tokenOffsets;
+    for (int i = 0; i < nonBlank.length; i++) {
+      if (!nonBlank[i].getToken().equals(nonBlankTokens[i].getToken())) {
+        newTokenOffsets = indexTokens(nonBlank);
+        break;
+      }
+    }
+    return new AnalyzedSentence(disambiguatedTokens, tokens, mapping, nonBlank, nonBlankTokens, newTokenOffsets);
+  }
+
+  private static boolean isNonBlank(AnalyzedTokenReadings token) {
+    return !token.isWhitespace() || token.isSentenceStart() || token.isSentenceEnd() || token.isParagraphEnd();
   }
 
   private static Map<String, List<Integer>> indexTokens(AnalyzedTokenReadings[] tokens) {
@@ -323,7 +375,15 @@ public final class AnalyzedSentence {
    * @since 2.5
    */
   public Set<String> getLemmaSet() {
-    return lemmaOffsets.keySet();
+    return getLemmaOffsetMap().keySet();
+  }
+
+  private Map<String, List<Integer>> getLemmaOffsetMap() {
+    Map<String, List<Integer>> result = lemmaOffsets;
+    if (result == null) {
+      lemmaOffsets = result = indexLemmas(nonBlankTokens);
+    }
+    return result;
   }
 
   /**
@@ -345,7 +405,7 @@ public final class AnalyzedSentence {
   @Nullable
   @ApiStatus.Internal
   public List<Integer> getLemmaOffsets(String token) {
-    return lemmaOffsets.get(token);
+    return getLemmaOffsetMap().get(token);
   }
 
   @SuppressWarnings("ControlFlowStatementWithoutBraces")
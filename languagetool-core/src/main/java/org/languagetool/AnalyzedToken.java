@@ -18,8 +18,10 @@
  */
 package org.languagetool;
 
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.languagetool.tagging.PosTagIds;
 
 import java.util.Objects;
 
@@ -30,10 +32,13 @@ import java.util.Objects;
  */
 public final class AnalyzedToken {
 
+  private static final int UNKNOWN_POS_TAG_ID = Integer.MIN_VALUE;
+
   private final String token;
   private final String posTag;
   private final String lemma;
   private final String lemmaOrToken;  // used only for matching with Elements
+  private int posTagId = UNKNOWN_POS_TAG_ID;  // computed lazily, see getPOSTagId()
 
   private boolean isWhitespaceBefore;
   private boolean hasNoPOSTag;
@@ -52,6 +57,25 @@ public final class AnalyzedToken {
         || JLanguageTool.PARAGRAPH_END_TAGNAME.equals(posTag));
   }
 
+  private AnalyzedToken(AnalyzedToken other) {
+    token = other.token;
+    posTag = other.posTag;
+    lemma = other.lemma;
+    lemmaOrToken = other.lemmaOrToken;
+    posTagId = other.posTagId;
+    isWhitespaceBefore = other.isWhitespaceBefore;
+    hasNoPOSTag = other.hasNoPOSTag;
+  }
+
+  /**
+   * @return a token with the same values, whose flags (like {@link #isWhitespaceBefore()}) can be
+   *   changed independently of this one
+   * @since 5.9
+   */
+  public AnalyzedToken copy() {
+    return new AnalyzedToken(this);
+  }
+
   @NotNull
   public String getToken() {
     return token;
@@ -65,6 +89,21 @@ public final class AnalyzedToken {
     return posTag;
   }
 
+  /**
+   * @return the id of the part-of-speech tag as assigned by {@link PosTagIds}, or {@link PosTagIds#NO_ID}
+   *   if the tag is {@code null} or has no id
+   * @since 5.9
+   */
+  @ApiStatus.Internal
+  public int getPOSTagId() {
+    int id = posTagId;
+    if (id == UNKNOWN_POS_TAG_ID) {
+      id = posTag == null ? PosTagIds.NO_ID : PosTagIds.getId(posTag);
+      posTagId = id;
+    }
+    return id;
+  }
+
   /**
    * @return the token's lemma or {@code null}
    */
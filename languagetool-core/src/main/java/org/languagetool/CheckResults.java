@@ -19,6 +19,7 @@
 package org.languagetool;
 
 import org.jetbrains.annotations.NotNull;
+import org.languagetool.markup.AnnotatedText;
 import org.languagetool.rules.RuleMatch;
 
 import java.util.ArrayList;
@@ -62,4 +63,39 @@ public class CheckResults {
   public void setRuleMatches(List<RuleMatch> ruleMatches) {
     this.ruleMatches = Objects.requireNonNull(ruleMatches);
   }
+
+  /**
+   * For results of checking a part of the plain text of {@code text}: move all positions so that
+   * they refer to the original text of {@code text}, like the positions of a check of the whole text.
+   * @param partStart position where the checked part starts in the plain text of {@code text}
+   * @since 5.9
+   */
+  public void mapToOriginalText(AnnotatedText text, int partStart) {
+    for (RuleMatch match : ruleMatches) {
+      int fromPos = text.getOriginalTextPositionFor(partStart + match.getFromPos(), false);
+      int toPos = text.getOriginalTextPositionFor(partStart + match.getToPos() - 1, true) + 1;
+      match.setOffsetPosition(fromPos, toPos);
+    }
+    List<Range> mappedIgnoredRanges = new ArrayList<>(ignoredRanges.size());
+    for (Range range : ignoredRanges) {
+      mappedIgnoredRanges.add(new Range(getOriginalPos(text, partStart + range.getFromPos(), false),
+        getOriginalPos(text, partStart + range.getToPos(), true), range.getLang()));
+    }
+    ignoredRanges = mappedIgnoredRanges;
+    List<SentenceRange> mappedSentenceRanges = new ArrayList<>(sentenceRanges.size());
+    for (SentenceRange range : sentenceRanges) {
+      mappedSentenceRanges.add(new SentenceRange(getOriginalPos(text, partStart + range.getFromPos(), false),
+        getOriginalPos(text, partStart + range.getToPos(), true)));
+    }
+    sentenceRanges.clear();
+    sentenceRanges.addAll(mappedSentenceRanges);
+  }
+
+  // ranges may end at the very end of the text, which AnnotatedText cannot map
+  private static int getOriginalPos(AnnotatedText text, int plainTextPos, boolean isToPos) {
+    if (plainTextPos >= text.getPlainText().length()) {
+      return text.getTextWithMarkup().length();
+    }
+    return text.getOriginalTextPositionFor(plainTextPos, isToPos);
+  }
 }
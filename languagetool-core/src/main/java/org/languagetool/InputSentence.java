@@ -18,8 +18,13 @@
  */
 package org.languagetool;
 
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import org.languagetool.rules.CategoryId;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -42,11 +47,26 @@ class InputSentence {
   private final JLanguageTool.Mode mode;
   private final JLanguageTool.Level level;
   private final Long textSessionID;
+  private final long userDictionaryVersion;
 
   InputSentence(String text, Language lang, Language motherTongue,
                 Set<String> disabledRules, Set<CategoryId> disabledRuleCategories,
                 Set<String> enabledRules, Set<CategoryId> enabledRuleCategories, UserConfig userConfig,
                 List<Language> altLanguages, JLanguageTool.Mode mode, JLanguageTool.Level level, Long textSessionID) {
+    this(text, lang, motherTongue, disabledRules, disabledRuleCategories, enabledRules, enabledRuleCategories,
+      userConfig, altLanguages, mode, level, textSessionID, 0);
+  }
+
+  /**
+   * @param userDictionaryVersion the {@link org.languagetool.rules.UserDictionary#getVersion() version} of the user
+   *   dictionary the sentence is checked with, if the rules haven't been created with its words, otherwise {@code 0}
+   * @since 5.9
+   */
+  InputSentence(String text, Language lang, Language motherTongue,
+                Set<String> disabledRules, Set<CategoryId> disabledRuleCategories,
+                Set<String> enabledRules, Set<CategoryId> enabledRuleCategories, UserConfig userConfig,
+                List<Language> altLanguages, JLanguageTool.Mode mode, JLanguageTool.Level level, Long textSessionID,
+                long userDictionaryVersion) {
     this.text = Objects.requireNonNull(text);
     this.lang = Objects.requireNonNull(lang);
     this.motherTongue = motherTongue;
@@ -59,6 +79,7 @@ class InputSentence {
     this.altLanguages = altLanguages;
     this.mode = Objects.requireNonNull(mode);
     this.level = Objects.requireNonNull(level);
+    this.userDictionaryVersion = userDictionaryVersion;
   }
 
   InputSentence(String text, Language lang, Language motherTongue,
@@ -75,6 +96,51 @@ class InputSentence {
     return text;
   }
   
+  /**
+   * A key for the persistent result cache: unlike {@link #hashCode()}, it's stable across JVMs. It covers
+   * everything {@link #equals(Object)} does, except that the text session id is only considered when an
+   * A/B test is active, as that's the only case where rules look at it.
+   * @param ruleSetFingerprint identifies the rules the sentence has been checked with
+   */
+  HashCode getPersistentKey(String ruleSetFingerprint) {
+    Hasher hasher = Hashing.murmur3_128().newHasher();
+    putString(hasher, text);
+    putString(hasher, ruleSetFingerprint);
+    putString(hasher, lang.getShortCodeWithCountryAndVariant());
+    putString(hasher, motherTongue != null ? motherTongue.getShortCodeWithCountryAndVariant() : "");
+    putSorted(hasher, disabledRules);
+    putSorted(hasher, disabledRuleCategories);
+    putSorted(hasher, enabledRules);
+    putSorted(hasher, enabledRuleCategories);
+    if (userConfig != null) {
+      hasher.putBytes(userConfig.getStableHash().asBytes());
+      if (userConfig.getAbTest() != null && textSessionID != null) {
+        hasher.putLong(textSessionID);
+      }
+    }
+    hasher.putLong(userDictionaryVersion);
+    hasher.putByte((byte) 0);
+    if (altLanguages != null) {
+      for (Language altLanguage : altLanguages) {
+        putString(hasher, altLanguage.getShortCodeWithCountryAndVariant());
+      }
+    }
+    putString(hasher, mode.name());
+    putString(hasher, level.name());
+    return hasher.hash();
+  }
+
+  private static void putSorted(Hasher hasher, Collection<?> values) {
+    if (values != null) {
+      values.stream().map(Object::toString).sorted().forEach(value -> putString(hasher, value));
+    }
+    hasher.putByte((byte) 1);
+  }
+
+  private static void putString(Hasher hasher, String value) {
+    hasher.putString(value, StandardCharsets.UTF_8).putByte((byte) 0);
+  }
+
   @Override
   public boolean equals(Object o) {
     if (o == null) return false;
@@ -90,6 +156,7 @@ class InputSentence {
            Objects.equals(enabledRuleCategories, other.enabledRuleCategories) &&
            Objects.equals(userConfig, other.userConfig) &&
            Objects.equals(textSessionID, other.textSessionID) &&
+           userDictionaryVersion == other.userDictionaryVersion &&
            Objects.equals(altLanguages, other.altLanguages) &&
            Objects.equals(mode, other.mode) &&
            Objects.equals(level, other.level);
@@ -98,7 +165,7 @@ class InputSentence {
   @Override
   public int hashCode() {
     return Objects.hash(text, lang, motherTongue, disabledRules, disabledRuleCategories,
-            enabledRules, enabledRuleCategories, userConfig, textSessionID, altLanguages, mode, level);
+            enabledRules, enabledRuleCategories, userConfig, textSessionID, userDictionaryVersion, altLanguages, mode, level);
   }
 
   @Override
@@ -34,6 +34,8 @@ import org.languagetool.rules.*;
 import org.languagetool.rules.neuralnetwork.Word2VecModel;
 import org.languagetool.rules.patterns.*;
 import org.languagetool.rules.spelling.SpellingCheckRule;
+import org.languagetool.tagging.TaggedWordCache;
+import org.languagetool.tagging.Tagger;
 import org.languagetool.tools.LoggingTools;
 import org.languagetool.tools.LtThreadPoolFactory;
 import org.slf4j.Logger;
@@ -45,6 +47,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintStream;
+import java.io.UncheckedIOException;
 import java.net.JarURLConnection;
 import java.net.URL;
 import java.util.*;
@@ -116,6 +119,9 @@ public class JLanguageTool {
    */
   public static final String DICTIONARY_FILENAME_EXTENSION = ".dict";
 
+  // false-friends.xml only needs to be parsed once per language pair, not for every instance:
+  private static final Map<String, List<AbstractPatternRule>> falseFriendRulesCache = new ConcurrentHashMap<>();
+
   private final ResultCache cache;
   private final UserConfig userConfig;
   private final GlobalConfig globalConfig;
@@ -186,6 +192,13 @@ public class JLanguageTool {
 
   private final List<RuleMatchFilter> matchFilters = new LinkedList<>();
 
+  // words that occur many times in the analyzed texts are only tagged once, -DtaggingCacheSize=0 disables this:
+  private static final int TAGGING_CACHE_SIZE = Integer.getInteger("taggingCacheSize", 10_000);
+  private final TaggedWordCache taggedWordCache = TAGGING_CACHE_SIZE > 0 ? new TaggedWordCache(TAGGING_CACHE_SIZE) : null;
+
+  // words of the user's dictionary that the rules have not been created with, applied to the matches of each check:
+  private UserDictionary userDictionary;
+
   private CheckCancelledCallback checkCancelledCallback;
 
   private PrintStream printStream;
@@ -344,6 +357,37 @@ public class JLanguageTool {
     this.inputLogging = inputLogging;
   }
 
+  /**
+   * Create a JLanguageTool that uses the same rule objects as {@code base}, but has its own
+   * rule selection (enabled/disabled rules and categories), match filters and settings, which start out as
+   * copies of those of {@code base}. This is much cheaper than creating the rules again, but
+   * as rules are shared, {@code base} must not be modified after this, except for its rule selection.
+   * @since 5.9
+   */
+  protected JLanguageTool(JLanguageTool base) {
+    this.language = base.language;
+    this.altLanguages = base.altLanguages;
+    this.motherTongue = base.motherTongue;
+    this.userConfig = base.userConfig;
+    this.globalConfig = base.globalConfig;
+    this.cache = base.cache;
+    this.descProvider = base.descProvider;
+    this.inputLogging = base.inputLogging;
+    this.builtinRules = new ArrayList<>(base.builtinRules);
+    this.userRules.addAll(base.userRules);
+    this.optionalLanguageModelRules.addAll(base.optionalLanguageModelRules);
+    this.disabledRules.addAll(base.disabledRules);
+    this.disabledRuleCategories.addAll(base.disabledRuleCategories);
+    this.enabledRules.addAll(base.enabledRules);
+    this.enabledRuleCategories.addAll(base.enabledRuleCategories);
+    this.matchFilters.addAll(base.matchFilters);
+    this.maxErrorsPerWordRate = base.maxErrorsPerWordRate;
+    this.cleanOverlappingMatches = base.cleanOverlappingMatches;
+    this.userDictionary = base.userDictionary;
+    this.printStream = base.printStream;
+    this.listUnknownWords = base.listUnknownWords;
+  }
+
   /**
    * Create a JLanguageTool and setup the built-in rules for the
    * given language and false friend rules for the text language / mother tongue pair.
@@ -470,6 +514,41 @@ public class JLanguageTool {
     this.maxErrorsPerWordRate = maxErrorsPerWordRate;
   }
 
+  /**
+   * @see #setMaxErrorsPerWordRate(float)
+   * @since 5.9
+   */
+  public float getMaxErrorsPerWordRate() {
+    return maxErrorsPerWordRate;
+  }
+
+  /**
+   * A dictionary of the user that the rules have not been created with (i.e. the {@link UserConfig} of this
+   * instance doesn't contain its words). Spelling errors for its words and phrases are removed from the
+   * results of the following checks, and its similar words are added to the suggestions of the remaining
+   * spelling errors. This way, the rules can be shared by users with different dictionaries.
+   * @param dictionary the dictionary, or {@code null} to not apply any
+   * @since 5.9
+   */
+  public void setUserDictionary(@Nullable UserDictionary dictionary) {
+    this.userDictionary = dictionary;
+  }
+
+  /**
+   * @see #setUserDictionary(UserDictionary)
+   * @since 5.9
+   */
+  @Nullable
+  public UserDictionary getUserDictionary() {
+    return userDictionary;
+  }
+
+  // the spelling rules' results depend on the dictionary, so it's part of the sentence cache key:
+  private long getUserDictionaryVersion() {
+    UserDictionary dictionary = userDictionary;
+    return dictionary == null || dictionary.isEmpty() ? 0 : dictionary.getVersion();
+  }
+
   /**
    * Callback to determine if result of executing {@link #check(String)} is still needed.
    */
@@ -477,6 +556,10 @@ public class JLanguageTool {
     this.checkCancelledCallback = callback;
   }
 
+  boolean isCheckCancelled() {
+    return checkCancelledCallback != null && checkCancelledCallback.checkCancelled();
+  }
+
   /**
    * Gets the ResourceBundle (i18n strings) for the default language of the user's system.
    */
@@ -702,8 +785,27 @@ public class JLanguageTool {
    */
   private void activateDefaultFalseFriendRules()
     throws ParserConfigurationException, SAXException, IOException {
+    if (motherTongue == null) {
+      return;
+    }
     String falseFriendRulesFilename = JLanguageTool.getDataBroker().getRulesDir() + "/" + FALSE_FRIEND_FILE;
-    userRules.addAll(loadFalseFriendRules(falseFriendRulesFilename));
+    String cacheKey = falseFriendRulesFilename + "/" + language.getShortCodeWithCountryAndVariant() + "/" + motherTongue.getShortCodeWithCountryAndVariant();
+    List<AbstractPatternRule> rules;
+    try {
+      // computeIfAbsent so that concurrent initializations load the file only once
+      rules = falseFriendRulesCache.computeIfAbsent(cacheKey, k -> {
+        try {
+          return Collections.unmodifiableList(loadFalseFriendRules(falseFriendRulesFilename));
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        } catch (ParserConfigurationException | SAXException e) {
+          throw new RuntimeException("Could not load false friend rules from " + falseFriendRulesFilename, e);
+        }
+      });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    userRules.addAll(rules);
     ruleSetCache.clear();
   }
 
@@ -1004,7 +1106,7 @@ public class JLanguageTool {
     List<Integer> requestSize = new ArrayList<>();
     ExecutorService remoteRulesThreadPool =
       mode == Mode.TEXTLEVEL_ONLY || remoteRules.isEmpty() ? null :
-      LtThreadPoolFactory.getFixedThreadPoolExecutor(LtThreadPoolFactory.REMOTE_RULE_EXECUTING_POOL).orElse(null);
+      LtThreadPoolFactory.getExecutorService(LtThreadPoolFactory.REMOTE_RULE_EXECUTING_POOL);
     if (remoteRulesThreadPool != null) {
       // trigger remote rules to run on whole text at once, at the start, then we wait for the results
       remoteRuleTasks = new ArrayList<>();
@@ -1054,6 +1156,15 @@ public class JLanguageTool {
     // so do another pass with ignoreRule here
     ruleMatches = ruleMatches.stream().filter(match -> !ignoreRule(match.getRule())).collect(Collectors.toList());
 
+    // before removing overlapping matches, so accepted words don't hide other errors:
+    UserDictionary dictionary = userDictionary;
+    if (dictionary != null && !dictionary.isEmpty()) {
+      ruleMatches = new DictionarySpellMatchFilter(dictionary).filter(ruleMatches, annotatedText);
+      if (userConfig.filterDictionaryMatches()) {
+        ruleMatches = new DictionaryMatchFilter(dictionary).filter(ruleMatches, annotatedText);
+      }
+    }
+
     ruleMatches = new SameRuleGroupFilter().filter(ruleMatches);
     // no sorting: SameRuleGroupFilter sorts rule matches already
     if (cleanOverlappingMatches) {
@@ -1344,13 +1455,26 @@ public class JLanguageTool {
   }
 
   protected final List<SentenceData> computeSentenceData(List<AnalyzedSentence> analyzedSentences, List<String> texts) {
+    List<int[]> positions = computeSentencePositions(texts);
+    List<SentenceData> result = new ArrayList<>(texts.size());
+    for (int i = 0; i < texts.size(); i++) {
+      int[] pos = positions.get(i);
+      result.add(new SentenceData(analyzedSentences.get(i), texts.get(i), pos[0], pos[1], pos[2]));
+    }
+    return result;
+  }
+
+  /**
+   * @return the start offset, line and column of each sentence, as needed for {@link SentenceData},
+   * computed from the sentence texts only
+   */
+  final List<int[]> computeSentencePositions(List<String> texts) {
     int charCount = 0;
     int lineCount = 0;
     int columnCount = 1;
-    List<SentenceData> result = new ArrayList<>(texts.size());
-    for (int i = 0; i < texts.size(); i++) {
-      String sentence = texts.get(i);
-      result.add(new SentenceData(analyzedSentences.get(i), sentence, charCount, lineCount, columnCount));
+    List<int[]> result = new ArrayList<>(texts.size());
+    for (String sentence : texts) {
+      result.add(new int[] {charCount, lineCount, columnCount});
 
       charCount += sentence.length();
       lineCount += countLineBreaks(sentence);
@@ -1411,7 +1535,9 @@ public class JLanguageTool {
       if (checkCancelledCallback != null && checkCancelledCallback.checkCancelled()) {
         break;
       }
+      long profilerStart = RuleProfiler.start();
       RuleMatch[] thisMatches = rule.match(analyzedSentence);
+      RuleProfiler.stop(rule, profilerStart, thisMatches.length);
       Collections.addAll(sentenceMatches, thisMatches);
       if (wordCounter > 0) {
         //check if the maxErrorsPerWordRate is already reached for the full text with this sentence and rule  
@@ -1590,6 +1716,16 @@ public class JLanguageTool {
     }
   }
 
+  /**
+   * @return the cache of the words tagged by this instance, or {@code null} if it has been
+   *   disabled with {@code -DtaggingCacheSize=0}
+   * @since 5.9
+   */
+  @Nullable
+  public TaggedWordCache getTaggedWordCache() {
+    return taggedWordCache;
+  }
+
   static class CleanToken {
     private final String origToken;
     private final String cleanToken;
@@ -1609,9 +1745,10 @@ public class JLanguageTool {
    */
   public AnalyzedSentence getRawAnalyzedSentence(String sentence) throws IOException {
     List<String> tokens = language.getWordTokenizer().tokenize(sentence);
-    Map<Integer, CleanToken> softHyphenTokens = replaceSoftHyphens(tokens);
+    Map<Integer, CleanToken> softHyphenTokens = replaceSoftHyphens(sentence, tokens);
 
-    List<AnalyzedTokenReadings> aTokens = language.getTagger().tag(tokens);
+    Tagger tagger = language.getTagger();
+    List<AnalyzedTokenReadings> aTokens = taggedWordCache != null ? tagger.tag(tokens, taggedWordCache) : tagger.tag(tokens);
     if (language.getChunker() != null) {
       language.getChunker().addChunkTags(aTokens);
     }
@@ -1664,12 +1801,13 @@ public class JLanguageTool {
     return new AnalyzedSentence(tokenArray);
   }
 
-  private Map<Integer, CleanToken> replaceSoftHyphens(List<String> tokens) {
+  private Map<Integer, CleanToken> replaceSoftHyphens(String sentence, List<String> tokens) {
     Pattern ignoredCharacterRegex = language.getIgnoredCharactersRegex();
-    Map<Integer, CleanToken> ignoredCharsTokens = new HashMap<>();
-    if (ignoredCharacterRegex == null) {
-      return ignoredCharsTokens;
+    // check the whole sentence first, so most sentences don't need a Matcher per token:
+    if (ignoredCharacterRegex == null || !ignoredCharacterRegex.matcher(sentence).find()) {
+      return Collections.emptyMap();
     }
+    Map<Integer, CleanToken> ignoredCharsTokens = new HashMap<>();
     for (int i = 0; i < tokens.size(); i++) {
       Matcher matcher = ignoredCharacterRegex.matcher(tokens.get(i));
       if (matcher.find()) {
@@ -1899,6 +2037,16 @@ public class JLanguageTool {
 
     @Override
     public CheckResults call() throws Exception {
+      // for the spelling rules, which may be shared by users with different dictionaries:
+      UserDictionary previous = UserDictionary.setCurrent(userDictionary);
+      try {
+        return check();
+      } finally {
+        UserDictionary.setCurrent(previous);
+      }
+    }
+
+    private CheckResults check() throws IOException {
       List<RuleMatch> ruleMatches = new ArrayList<>();
       List<Range> ignoreRanges = new ArrayList<>();
       if (mode == Mode.ALL) {
@@ -1931,7 +2079,9 @@ public class JLanguageTool {
           if (analyzedSentences == null) {
             analyzedSentences = sentences.stream().map(s -> s.analyzed).collect(Collectors.toList());
           }
+          long profilerStart = RuleProfiler.start();
           RuleMatch[] matches = ((TextLevelRule) rule).match(analyzedSentences, annotatedText);
+          RuleProfiler.stop(rule, profilerStart, matches.length);
           List<RuleMatch> adaptedMatches = new ArrayList<>();
           for (RuleMatch match : matches) {
             LineColumnPosition from = findLineColumn(match.getFromPos());
@@ -1964,6 +2114,19 @@ public class JLanguageTool {
       return ruleMatches;
     }
 
+    @Nullable
+    private Rule getRuleByFullId(String fullId) {
+      Rule rule = rules.getRuleByFullId(fullId);
+      if (rule == null) {
+        for (Rule userRule : userConfig.getRules()) {
+          if (userRule.getFullId().equals(fullId)) {
+            return userRule;
+          }
+        }
+      }
+      return rule;
+    }
+
     private CheckResults getOtherRuleMatches() {
       List<RuleMatch> ruleMatches = new ArrayList<>();
       List<Range> ignoreRanges = new ArrayList<>();
@@ -1971,6 +2134,9 @@ public class JLanguageTool {
       int wordCounter = 0;
       float tmpErrorsPerWord = 0.0f;
       List<String> errorRateLog = new ArrayList<>();
+      // results of remote rules depend on the availability of their servers, so they're not kept on disk:
+      boolean persistable = cache != null && cache.hasPersistentCache() &&
+        (!checkRemoteRules || rules.allRules().stream().noneMatch(RemoteRule.class::isInstance));
       for (int i = 0, sentencesSize = sentences.size(); i < sentencesSize; i++) {
         SentenceData sentence = sentences.get(i);
         wordCounter += sentence.wordCount;
@@ -1984,14 +2150,24 @@ public class JLanguageTool {
           if (cache != null) {
             cacheKey = new InputSentence(sentence.text, language, motherTongue,
                     disabledRules, disabledRuleCategories,
-                    enabledRules, enabledRuleCategories, userConfig, altLanguages, mode, level);
+                    enabledRules, enabledRuleCategories, userConfig, altLanguages, mode, level,
+                    userConfig.getTextSessionId(), getUserDictionaryVersion());
             sentenceMatches = cache.getIfPresent(cacheKey);
+            if (sentenceMatches == null && persistable) {
+              sentenceMatches = cache.getPersistentIfPresent(cacheKey, this.rules.fingerprint(), this::getRuleByFullId, sentence.analyzed);
+            }
           }
           if (sentenceMatches == null) {
 
             List<Rule> rules = new ArrayList<>(this.rules.rulesForSentence(sentence.analyzed));
             rules.addAll(userConfig.getRules());
             sentenceMatches = checkAnalyzedSentence(paraMode, rules, sentence.analyzed, checkRemoteRules, textWordCounter);
+            if (persistable && (checkCancelledCallback == null || !checkCancelledCallback.checkCancelled())) {
+              // the suggestions are written, too: compute them here, as part of the check (and its time limit),
+              // while the rules are still used by this check only:
+              sentenceMatches.forEach(RuleMatch::computeLazySuggestedReplacements);
+              cache.putPersistent(cacheKey, this.rules.fingerprint(), sentenceMatches);
+            }
           }
           if (cache != null) {
             cache.put(cacheKey, sentenceMatches);
@@ -49,6 +49,7 @@ import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -82,13 +83,14 @@ public abstract class Language {
   private List<AbstractPatternRule> patternRules;
   private final AtomicBoolean noLmWarningPrinted = new AtomicBoolean();
 
-  private Disambiguator disambiguator;
-  private Tagger tagger;
-  private SentenceTokenizer sentenceTokenizer;
-  private Tokenizer wordTokenizer;
-  private Chunker chunker;
-  private Chunker postDisambiguationChunker;
-  private Synthesizer synthesizer;
+  // each component has its own lock, so that the components can be loaded in parallel (see LanguagePreloader):
+  private final LazyComponent<Disambiguator> disambiguator = new LazyComponent<>();
+  private final LazyComponent<Tagger> tagger = new LazyComponent<>();
+  private final LazyComponent<SentenceTokenizer> sentenceTokenizer = new LazyComponent<>();
+  private final LazyComponent<Tokenizer> wordTokenizer = new LazyComponent<>();
+  private final LazyComponent<Chunker> chunker = new LazyComponent<>();
+  private final LazyComponent<Chunker> postDisambiguationChunker = new LazyComponent<>();
+  private final LazyComponent<Synthesizer> synthesizer = new LazyComponent<>();
 
   /**
    * Get this language's character code, e.g. <code>en</code> for English.
@@ -391,19 +393,15 @@ public abstract class Language {
   /**
    * Get this language's part-of-speech disambiguator implementation.
    */
-  public synchronized Disambiguator getDisambiguator() {
-    if (disambiguator == null) {
-      disambiguator = createDefaultDisambiguator();
-    }
-
-    return disambiguator;
+  public Disambiguator getDisambiguator() {
+    return disambiguator.get(this::createDefaultDisambiguator);
   }
 
   /**
    * Set this language's part-of-speech disambiguator implementation.
    */
   public void setDisambiguator(Disambiguator disambiguator) {
-    this.disambiguator = disambiguator;
+    this.disambiguator.set(disambiguator);
   }
 
   /**
@@ -420,18 +418,15 @@ public abstract class Language {
    * Get this language's part-of-speech tagger implementation.
    */
   @NotNull
-  public synchronized Tagger getTagger() {
-    if (tagger == null) {
-      tagger = createDefaultTagger();
-    }
-    return tagger;
+  public Tagger getTagger() {
+    return tagger.get(this::createDefaultTagger);
   }
 
   /**
    * Set this language's part-of-speech tagger implementation.
    */
   public void setTagger(Tagger tagger) {
-    this.tagger = tagger;
+    this.tagger.set(tagger);
   }
 
   /**
@@ -445,18 +440,15 @@ public abstract class Language {
   /**
    * Get this language's sentence tokenizer implementation.
    */
-  public synchronized SentenceTokenizer getSentenceTokenizer() {
-    if (sentenceTokenizer == null) {
-      sentenceTokenizer = createDefaultSentenceTokenizer();
-    }
-    return sentenceTokenizer;
+  public SentenceTokenizer getSentenceTokenizer() {
+    return sentenceTokenizer.get(this::createDefaultSentenceTokenizer);
   }
 
   /**
    * Set this language's sentence tokenizer implementation.
    */
   public void setSentenceTokenizer(SentenceTokenizer tokenizer) {
-    sentenceTokenizer = tokenizer;
+    this.sentenceTokenizer.set(tokenizer);
   }
 
   /**
@@ -470,19 +462,15 @@ public abstract class Language {
   /**
    * Get this language's word tokenizer implementation.
    */
-  public synchronized Tokenizer getWordTokenizer() {
-    if (wordTokenizer == null) {
-      wordTokenizer = createDefaultWordTokenizer();
-    }
-
-    return wordTokenizer;
+  public Tokenizer getWordTokenizer() {
+    return wordTokenizer.get(this::createDefaultWordTokenizer);
   }
 
   /**
    * Set this language's word tokenizer implementation.
    */
   public void setWordTokenizer(Tokenizer tokenizer) {
-    wordTokenizer = tokenizer;
+    this.wordTokenizer.set(tokenizer);
   }
 
   /**
@@ -499,18 +487,15 @@ public abstract class Language {
    * @since 2.3
    */
   @Nullable
-  public synchronized Chunker getChunker() {
-    if (chunker == null) {
-      chunker = createDefaultChunker();
-    }
-    return chunker;
+  public Chunker getChunker() {
+    return chunker.get(this::createDefaultChunker);
   }
 
   /**
    * Set this language's chunker implementation or {@code null}.
    */
   public void setChunker(Chunker chunker) {
-    this.chunker = chunker;
+    this.chunker.set(chunker);
   }
 
   /**
@@ -527,18 +512,15 @@ public abstract class Language {
    * @since 2.9
    */
   @Nullable
-  public synchronized Chunker getPostDisambiguationChunker() {
-    if (postDisambiguationChunker == null) {
-      postDisambiguationChunker = createDefaultPostDisambiguationChunker();
-    }
-    return postDisambiguationChunker;
+  public Chunker getPostDisambiguationChunker() {
+    return postDisambiguationChunker.get(this::createDefaultPostDisambiguationChunker);
   }
 
   /**
    * Set this language's post disambiguation chunker implementation or {@code null}.
    */
   public void setPostDisambiguationChunker(Chunker chunker) {
-    postDisambiguationChunker = chunker;
+    this.postDisambiguationChunker.set(chunker);
   }
 
   /**
@@ -554,18 +536,15 @@ public abstract class Language {
    * Get this language's part-of-speech synthesizer implementation or {@code null}.
    */
   @Nullable
-  public synchronized Synthesizer getSynthesizer() {
-    if (synthesizer == null) {
-      synthesizer = createDefaultSynthesizer();
-    }
-    return synthesizer;
+  public Synthesizer getSynthesizer() {
+    return synthesizer.get(this::createDefaultSynthesizer);
   }
 
   /**
    * Set this language's part-of-speech synthesizer implementation or {@code null}.
    */
   public void setSynthesizer(Synthesizer synthesizer) {
-    this.synthesizer = synthesizer;
+    this.synthesizer.set(synthesizer);
   }
 
   /**
@@ -933,4 +912,30 @@ public abstract class Language {
 	  return ruleMatches;
   }
   
+  /**
+   * A component that is created on first use. Unlike a {@code synchronized} getter, this only blocks
+   * callers that need the same component while it is being created.
+   */
+  private static final class LazyComponent<T> {
+    private volatile T value;
+
+    T get(Supplier<T> factory) {
+      T result = value;
+      if (result == null) {
+        synchronized (this) {
+          result = value;
+          if (result == null) {
+            result = factory.get();
+            value = result;
+          }
+        }
+      }
+      return result;
+    }
+
+    void set(T value) {
+      this.value = value;
+    }
+  }
+
 }
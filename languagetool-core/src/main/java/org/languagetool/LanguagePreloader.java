@@ -0,0 +1,167 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Loads the components of languages (tagger and synthesizer dictionaries, pattern rules, sentence
+ * tokenizer SRX files, ...) in parallel on the given executor, e.g. to make a server that supports
+ * several languages ready faster. Components that use another component (like the disambiguator,
+ * which usually needs the tagger) are only started when that component has been loaded, so they don't
+ * block a thread of the executor. Everything that isn't preloaded is still loaded on first use, and
+ * a caller that needs a component that is currently being preloaded waits for it instead of loading
+ * it again.
+ * <p>
+ * The time each step took is recorded, see {@link #getTimeline()} and {@link #getReport()}.
+ * @since 5.9
+ */
+public class LanguagePreloader {
+
+  private final Executor executor;
+  private final long startNanos = System.nanoTime();
+  private final List<Step> timeline = Collections.synchronizedList(new ArrayList<>());
+
+  public LanguagePreloader(Executor executor) {
+    this.executor = Objects.requireNonNull(executor);
+  }
+
+  /**
+   * Start loading the components of the given language.
+   * @return a future that completes when all components have been loaded, or exceptionally
+   *   if loading one of the components failed
+   */
+  public CompletableFuture<Language> preload(Language language) {
+    CompletableFuture<Void> tagger = run(language, "tagger", language::getTagger);
+    List<CompletableFuture<Void>> components = Arrays.asList(
+      tagger,
+      run(language, "synthesizer", language::getSynthesizer),
+      run(language, "sentence tokenizer", language::getSentenceTokenizer),
+      run(language, "pattern rules", language::getPatternRules),
+      run(language, "word tokenizer", language::getWordTokenizer, tagger),
+      run(language, "disambiguator", language::getDisambiguator, tagger),
+      run(language, "chunker", language::getChunker, tagger),
+      run(language, "post-disambiguation chunker", language::getPostDisambiguationChunker, tagger)
+    );
+    return CompletableFuture.allOf(components.toArray(new CompletableFuture[0])).thenApply(v -> language);
+  }
+
+  /**
+   * Run a task on the executor once all its dependencies have completed and record its time in the timeline.
+   * If a dependency fails, the task is not run and the returned future fails, too.
+   * @param component a short description of the task for the timeline
+   */
+  public CompletableFuture<Void> run(Language language, String component, Callable<?> task, CompletableFuture<?>... dependencies) {
+    return CompletableFuture.allOf(dependencies).thenRunAsync(() -> {
+      long start = System.nanoTime();
+      boolean failed = true;
+      try {
+        task.call();
+        failed = false;
+      } catch (Exception e) {
+        throw new CompletionException("Could not load " + component + " for " + language.getShortCodeWithCountryAndVariant(), e);
+      } finally {
+        timeline.add(new Step(language.getShortCodeWithCountryAndVariant(), component, Thread.currentThread().getName(),
+          (start - startNanos) / 1_000_000, (System.nanoTime() - start) / 1_000_000, failed));
+      }
+    }, executor);
+  }
+
+  /**
+   * @return the steps that have finished so far, ordered by their start time
+   */
+  public List<Step> getTimeline() {
+    List<Step> result;
+    synchronized (timeline) {
+      result = new ArrayList<>(timeline);
+    }
+    result.sort(Comparator.comparingLong(Step::getStartMillis));
+    return result;
+  }
+
+  /**
+   * @return a plain text table of the {@link #getTimeline() timeline}
+   */
+  public String getReport() {
+    StringBuilder sb = new StringBuilder();
+    sb.append(String.format(Locale.ENGLISH, "%-12s%-30s%10s%10s  %s%n", "Language", "Component", "Start ms", "Took ms", "Thread"));
+    for (Step step : getTimeline()) {
+      sb.append(String.format(Locale.ENGLISH, "%-12s%-30s%10d%10d  %s%s%n", step.getLanguage(), step.getComponent(),
+        step.getStartMillis(), step.getDurationMillis(), step.getThread(), step.isFailed() ? " (failed)" : ""));
+    }
+    return sb.toString();
+  }
+
+  /**
+   * One finished step of preloading.
+   */
+  public static final class Step {
+
+    private final String language;
+    private final String component;
+    private final String thread;
+    private final long startMillis;
+    private final long durationMillis;
+    private final boolean failed;
+
+    private Step(String language, String component, String thread, long startMillis, long durationMillis, boolean failed) {
+      this.language = language;
+      this.component = component;
+      this.thread = thread;
+      this.startMillis = startMillis;
+      this.durationMillis = durationMillis;
+      this.failed = failed;
+    }
+
+    public String getLanguage() {
+      return language;
+    }
+
+    public String getComponent() {
+      return component;
+    }
+
+    public String getThread() {
+      return thread;
+    }
+
+    /** The start time, relative to the creation of the {@link LanguagePreloader}. */
+    public long getStartMillis() {
+      return startMillis;
+    }
+
+    public long getDurationMillis() {
+      return durationMillis;
+    }
+
+    public boolean isFailed() {
+      return failed;
+    }
+
+    @Override
+    public String toString() {
+      return language + "/" + component + ": " + durationMillis + "ms";
+    }
+  }
+
+}
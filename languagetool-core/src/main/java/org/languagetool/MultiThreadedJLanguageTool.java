@@ -21,6 +21,7 @@ package org.languagetool;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import org.languagetool.markup.AnnotatedText;
+import org.languagetool.rules.RemoteRule;
 import org.languagetool.rules.Rule;
 import org.languagetool.rules.RuleMatch;
 import org.languagetool.rules.patterns.RuleSet;
@@ -29,6 +30,8 @@ import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -47,6 +50,8 @@ public class MultiThreadedJLanguageTool extends JLanguageTool {
   private final int threadPoolSize;
   private final ExecutorService threadPool;
 
+  private boolean pipelined;
+
   public MultiThreadedJLanguageTool(Language language) {
     this(language, null);
   }
@@ -130,8 +135,49 @@ public class MultiThreadedJLanguageTool extends JLanguageTool {
     return threadPool;
   }
   
+  /**
+   * In pipelined mode, sentence analysis and rule checking overlap: each sentence is
+   * checked with the sentence-level rules as soon as it has been analyzed, instead of
+   * waiting for the analysis of the whole text. Text-level rules run once the last
+   * sentence has been analyzed. This lowers the time until the first matches are sent
+   * to a {@link RuleMatchListener} and usually the overall latency for longer texts.
+   * Texts checked with remote rules always use the non-pipelined mode, and so do all texts
+   * if {@link #setMaxErrorsPerWordRate(float)} is used, as that needs the word count of the
+   * whole text before the first sentence is checked.
+   * @since 5.9
+   */
+  public void setPipelined(boolean pipelined) {
+    this.pipelined = pipelined;
+  }
+
+  /**
+   * @see #setPipelined(boolean)
+   * @since 5.9
+   */
+  public boolean isPipelined() {
+    return pipelined;
+  }
+
+  @Override
+  public List<AnalyzedSentence> analyzeText(String text) throws IOException {
+    // callers expect a fully analyzed text here, not a pending one
+    return analyzeInParallel(sentenceTokenize(text));
+  }
+
   @Override
   protected List<AnalyzedSentence> analyzeSentences(List<String> sentences) throws IOException {
+    if (pipelined && sentences.size() >= 2 && getMaxErrorsPerWordRate() <= 0 && !hasActiveRemoteRules()) {
+      // the actual analysis happens in performCheck, interleaved with rule checking
+      return new PendingAnalysis(sentences);
+    }
+    return analyzeInParallel(sentences);
+  }
+
+  private boolean hasActiveRemoteRules() {
+    return getAllActiveRules().stream().anyMatch(RemoteRule.class::isInstance);
+  }
+
+  private List<AnalyzedSentence> analyzeInParallel(List<String> sentences) throws IOException {
     if (sentences.size() < 2) {
       return super.analyzeSentences(sentences);
     }
@@ -172,6 +218,9 @@ public class MultiThreadedJLanguageTool extends JLanguageTool {
   protected CheckResults performCheck(List<AnalyzedSentence> analyzedSentences, List<String> sentenceTexts,
                                          RuleSet ruleSet, ParagraphHandling paraMode,
                                          AnnotatedText annotatedText, RuleMatchListener listener, Mode mode, Level level, boolean checkRemoteRules) {
+    if (analyzedSentences instanceof PendingAnalysis) {
+      return performPipelinedCheck((PendingAnalysis) analyzedSentences, sentenceTexts, ruleSet, paraMode, annotatedText, listener, mode, level);
+    }
     List<Rule> allRules = ruleSet.allRules();
     List<SentenceData> sentences = computeSentenceData(analyzedSentences, sentenceTexts);
 
@@ -221,6 +270,123 @@ public class MultiThreadedJLanguageTool extends JLanguageTool {
     return new CheckResults(rm, ignoreRanges);
   }
 
+  /**
+   * Each worker claims the next sentence, analyzes it and checks it with the sentence-level
+   * rules right away, so at most {@link #getThreadPoolSize()} sentences are between analysis
+   * and checking at any time. The worker that completes the analysis of the whole text
+   * runs the text-level rules. Workers stop claiming sentences when the check gets cancelled.
+   */
+  private CheckResults performPipelinedCheck(PendingAnalysis analysis, List<String> sentenceTexts,
+                                             RuleSet ruleSet, ParagraphHandling paraMode,
+                                             AnnotatedText annotatedText, RuleMatchListener listener, Mode mode, Level level) {
+    int sentenceCount = sentenceTexts.size();
+    List<int[]> positions = computeSentencePositions(sentenceTexts);
+    AtomicReferenceArray<SentenceData> sentences = new AtomicReferenceArray<>(sentenceCount);
+    AtomicReferenceArray<CheckResults> sentenceResults = new AtomicReferenceArray<>(sentenceCount);
+    AtomicReference<CheckResults> textLevelResults = new AtomicReference<>();
+    AtomicInteger nextSentence = new AtomicInteger();
+    AtomicInteger analyzedCount = new AtomicInteger();
+    int workers = Math.min(getThreadPoolSize(), sentenceCount);
+    List<Future<?>> futures = IntStream.range(0, workers).mapToObj(__ -> getExecutorService().submit(() -> {
+      while (true) {
+        // like the sequential analysis, don't analyze any more sentences once the check has been cancelled
+        // (the text-level rules are then skipped, as not all sentences are analyzed):
+        if (isCheckCancelled()) return null;
+        int index = nextSentence.getAndIncrement();
+        if (index >= sentenceCount) return null;
+
+        int[] pos = positions.get(index);
+        SentenceData sentence = new SentenceData(analysis.get(index), sentenceTexts.get(index), pos[0], pos[1], pos[2]);
+        sentences.set(index, sentence);
+        boolean lastAnalyzed = analyzedCount.incrementAndGet() == sentenceCount;
+        if (mode != Mode.TEXTLEVEL_ONLY) {
+          sentenceResults.set(index, new TextCheckCallable(ruleSet, Collections.singletonList(sentence),
+            paraMode, annotatedText, listener, Mode.ALL_BUT_TEXTLEVEL_ONLY, level, true).call());
+        }
+        if (lastAnalyzed && mode != Mode.ALL_BUT_TEXTLEVEL_ONLY) {
+          List<SentenceData> allSentences = new ArrayList<>(sentenceCount);
+          for (int i = 0; i < sentenceCount; i++) {
+            allSentences.add(sentences.get(i));
+          }
+          textLevelResults.set(new TextCheckCallable(ruleSet, allSentences,
+            paraMode, annotatedText, listener, Mode.TEXTLEVEL_ONLY, level, true).call());
+        }
+      }
+    })).collect(Collectors.toList());
+
+    try {
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException | ExecutionException e) {
+      throw new RuntimeException(e);
+    }
+
+    for (int i = 0; i < sentenceCount; i++) {
+      SentenceData sentence = sentences.get(i);
+      if (sentence != null) {  // null if the check has been cancelled
+        rememberUnknownWords(sentence.analyzed);
+        printSentenceInfo(sentence.analyzed);
+      }
+    }
+    // same order as in the single-threaded TextCheckCallable: text-level matches first
+    List<RuleMatch> ruleMatches = new ArrayList<>();
+    List<Range> ignoreRanges = new ArrayList<>();
+    if (textLevelResults.get() != null) {
+      ruleMatches.addAll(textLevelResults.get().getRuleMatches());
+    }
+    for (int i = 0; i < sentenceCount; i++) {
+      CheckResults res = sentenceResults.get(i);
+      if (res != null) {
+        ruleMatches.addAll(res.getRuleMatches());
+        ignoreRanges.addAll(res.getIgnoredRanges());
+      }
+    }
+    return new CheckResults(applyCustomFilters(ruleMatches, annotatedText), ignoreRanges);
+  }
+
+  /**
+   * The result of {@link #analyzeSentences(List)} in pipelined mode: sentences are analyzed
+   * on first access, by the thread that accesses them first. Other threads accessing
+   * the same sentence wait for that analysis.
+   */
+  private final class PendingAnalysis extends AbstractList<AnalyzedSentence> {
+    private final List<String> sentences;
+    private final AtomicReferenceArray<CompletableFuture<AnalyzedSentence>> analyses;
+
+    private PendingAnalysis(List<String> sentences) {
+      this.sentences = sentences;
+      this.analyses = new AtomicReferenceArray<>(sentences.size());
+    }
+
+    @Override
+    public AnalyzedSentence get(int index) {
+      CompletableFuture<AnalyzedSentence> analysis = analyses.get(index);
+      if (analysis == null) {
+        CompletableFuture<AnalyzedSentence> newAnalysis = new CompletableFuture<>();
+        if (analyses.compareAndSet(index, null, newAnalysis)) {
+          try {
+            AnalyzedSentence analyzed = getAnalyzedSentence(sentences.get(index));
+            newAnalysis.complete(index == sentences.size() - 1 ? markAsParagraphEnd(analyzed) : analyzed);
+          } catch (Throwable e) {
+            newAnalysis.completeExceptionally(e);
+          }
+        }
+        analysis = analyses.get(index);
+      }
+      try {
+        return analysis.get();
+      } catch (InterruptedException | ExecutionException e) {
+        throw new RuntimeException(e);
+      }
+    }
+
+    @Override
+    public int size() {
+      return sentences.size();
+    }
+  }
+
   private class AnalyzeSentenceCallable implements Callable<AnalyzedSentence> {
     private final String sentence;
 
@@ -0,0 +1,414 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool;
+
+import com.google.common.cache.AbstractCache;
+import com.google.common.cache.CacheStats;
+import com.google.common.hash.HashCode;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * A disk-backed cache of serialized sentence matches, used as second level behind the in-memory
+ * matches cache of {@link ResultCache}. Entries are appended to a memory-mapped segment file. When the
+ * segment is full, a new one is started and the one before is deleted, so at most two segments (each
+ * half of the maximum size) exist. Hits in the older segment are copied to the current one, so
+ * entries that are still used survive.
+ * <p>
+ * Each segment starts with a fingerprint (usually {@link JLanguageTool#VERSION} and build date);
+ * segments with a different fingerprint are deleted on startup. Only one process can write to a
+ * directory; other processes that open it get read-only access. On a miss, they index the records that
+ * the writing process has appended since, and check for a new segment at most once per second.
+ * <p>
+ * Cache statistics count reads from disk as loads, so their load time is the latency of the second level.
+ * @since 5.9
+ */
+final class PersistentMatchesCache extends AbstractCache<HashCode, byte[]> implements Closeable {
+
+  private static final Logger logger = LoggerFactory.getLogger(PersistentMatchesCache.class);
+
+  private static final int MAGIC = 0x4C54524D;  // "LTRM"
+  private static final int FORMAT_VERSION = 1;
+  private static final String SEGMENT_PREFIX = "matches-";
+  private static final String SEGMENT_SUFFIX = ".ltcache";
+  // payload length, CRC32 of payload, 128 bit key:
+  private static final int RECORD_HEADER_SIZE = 4 + 4 + 16;
+  // how often a read-only cache looks for segments started by the writing process:
+  static final long RELOAD_INTERVAL_MILLIS = 1000;
+
+  private final File dir;
+  private final byte[] fingerprint;
+  private final int segmentSize;
+  private final int headerSize;
+  private final boolean readOnly;
+  private final FileChannel lockChannel;
+  private final FileLock lock;
+  private final StatsCounter statsCounter = new SimpleStatsCounter();
+
+  private volatile Segment current;
+  private volatile Segment previous;
+  // only used by read-only caches, while holding the cache's lock:
+  private long lastSegmentCheck;
+
+  /**
+   * @param maxBytes maximum size of all files in {@code dir}
+   * @param fingerprint identifies the code that created the entries, entries from a different fingerprint are discarded
+   */
+  PersistentMatchesCache(File dir, long maxBytes, String fingerprint) throws IOException {
+    this.dir = Objects.requireNonNull(dir);
+    this.fingerprint = fingerprint.getBytes(StandardCharsets.UTF_8);
+    this.headerSize = 4 + 4 + 4 + this.fingerprint.length;
+    if (maxBytes / 2 > Integer.MAX_VALUE || maxBytes / 2 < headerSize + RECORD_HEADER_SIZE) {
+      throw new IllegalArgumentException("Persistent cache size must be between " + 2 * (headerSize + RECORD_HEADER_SIZE) +
+        " and " + 2L * Integer.MAX_VALUE + " bytes: " + maxBytes);
+    }
+    this.segmentSize = (int) (maxBytes / 2);
+    if (!dir.isDirectory() && !dir.mkdirs()) {
+      throw new IOException("Could not create cache directory " + dir);
+    }
+    lockChannel = new RandomAccessFile(new File(dir, "lock"), "rw").getChannel();
+    FileLock fileLock;
+    try {
+      fileLock = lockChannel.tryLock();
+    } catch (OverlappingFileLockException e) {
+      fileLock = null;
+    }
+    lock = fileLock;
+    readOnly = lock == null;
+    if (readOnly) {
+      logger.info("Persistent cache in " + dir + " is used by another process, opening it read-only");
+    }
+    lastSegmentCheck = System.currentTimeMillis();
+    openSegments();
+  }
+
+  private void openSegments() throws IOException {
+    TreeMap<Long, File> segmentFiles = new TreeMap<>(Comparator.reverseOrder());
+    File[] files = dir.listFiles((d, name) -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX));
+    for (File file : files != null ? files : new File[0]) {
+      String generation = file.getName().substring(SEGMENT_PREFIX.length(), file.getName().length() - SEGMENT_SUFFIX.length());
+      try {
+        segmentFiles.put(Long.parseLong(generation), file);
+      } catch (NumberFormatException e) {
+        logger.warn("Ignoring unexpected file in persistent cache directory: " + file);
+      }
+    }
+    List<Segment> segments = new ArrayList<>();
+    for (Map.Entry<Long, File> entry : segmentFiles.entrySet()) {
+      Segment segment = segments.size() < 2 ? openSegment(entry.getKey(), entry.getValue()) : null;
+      if (segment != null) {
+        segments.add(segment);
+      } else if (!readOnly && !entry.getValue().delete()) {
+        logger.warn("Could not delete outdated persistent cache file " + entry.getValue());
+      }
+    }
+    if (segments.isEmpty()) {
+      if (readOnly) {
+        return;
+      }
+      segments.add(createSegment(1));
+    }
+    current = segments.get(0);
+    previous = segments.size() > 1 ? segments.get(1) : null;
+    logger.info("Opened persistent cache in " + dir + " with " + size() + " entries");
+  }
+
+  @Nullable
+  private Segment openSegment(long generation, File file) throws IOException {
+    if (file.length() != segmentSize) {
+      return null;
+    }
+    Segment segment = new Segment(generation, file, map(file, readOnly));
+    ByteBuffer buffer = segment.buffer;
+    if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION || buffer.getInt(8) != fingerprint.length) {
+      return null;
+    }
+    for (int i = 0; i < fingerprint.length; i++) {
+      if (buffer.get(12 + i) != fingerprint[i]) {
+        return null;
+      }
+    }
+    segment.writePos = headerSize;
+    indexRecords(segment);
+    return segment;
+  }
+
+  /**
+   * Add the records after {@code segment.writePos} to the segment's index.
+   * @return whether any records were added
+   */
+  private boolean indexRecords(Segment segment) {
+    ByteBuffer buffer = segment.buffer;
+    int pos = segment.writePos;
+    byte[] key = new byte[16];
+    while (pos + RECORD_HEADER_SIZE <= segmentSize) {
+      int length = buffer.getInt(pos);
+      if (length <= 0 || length > segmentSize - pos - RECORD_HEADER_SIZE) {
+        break;
+      }
+      byte[] payload = read(buffer, pos + RECORD_HEADER_SIZE, length);
+      if (crc(payload) != buffer.getInt(pos + 4)) {
+        // incomplete write, e.g. when the process was killed (or, for read-only caches, is still writing)
+        break;
+      }
+      for (int i = 0; i < key.length; i++) {
+        key[i] = buffer.get(pos + 8 + i);
+      }
+      segment.index.put(HashCode.fromBytes(key), pos);
+      pos += RECORD_HEADER_SIZE + length;
+    }
+    boolean added = pos != segment.writePos;
+    segment.writePos = pos;
+    return added;
+  }
+
+  /**
+   * For read-only caches: index what the writing process has added since the last reload.
+   * @return whether any records were added
+   */
+  private boolean reload() {
+    synchronized (this) {
+      Segment cur = current;
+      boolean added = cur != null && indexRecords(cur);
+      long now = System.currentTimeMillis();
+      if (now - lastSegmentCheck < RELOAD_INTERVAL_MILLIS) {
+        return added;
+      }
+      lastSegmentCheck = now;
+      try {
+        if (cur == null) {
+          openSegments();
+          return current != null;
+        }
+        File next;
+        while ((next = new File(dir, SEGMENT_PREFIX + (cur.generation + 1) + SEGMENT_SUFFIX)).exists()) {
+          // null if the writer has not written the header yet, we'll try again later:
+          Segment segment = openSegment(cur.generation + 1, next);
+          if (segment == null) {
+            break;
+          }
+          previous = cur;
+          current = segment;
+          cur = segment;
+          added = true;
+        }
+      } catch (IOException e) {
+        logger.warn("Could not reload persistent cache in " + dir, e);
+      }
+      return added;
+    }
+  }
+
+  private Segment createSegment(long generation) throws IOException {
+    File file = new File(dir, SEGMENT_PREFIX + generation + SEGMENT_SUFFIX);
+    Segment segment = new Segment(generation, file, map(file, false));
+    ByteBuffer buffer = segment.buffer;
+    buffer.putInt(0, MAGIC);
+    buffer.putInt(4, FORMAT_VERSION);
+    buffer.putInt(8, fingerprint.length);
+    for (int i = 0; i < fingerprint.length; i++) {
+      buffer.put(12 + i, fingerprint[i]);
+    }
+    // an empty record header marks the end of the data:
+    buffer.putInt(headerSize, 0);
+    segment.writePos = headerSize;
+    return segment;
+  }
+
+  private MappedByteBuffer map(File file, boolean readOnly) throws IOException {
+    try (RandomAccessFile raf = new RandomAccessFile(file, readOnly ? "r" : "rw")) {
+      if (!readOnly) {
+        raf.setLength(segmentSize);
+      }
+      // the mapping stays valid after the file has been closed
+      return raf.getChannel().map(readOnly ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    }
+  }
+
+  @Nullable
+  @Override
+  public byte[] getIfPresent(Object key) {
+    long startTime = System.nanoTime();
+    byte[] result = lookup(key);
+    if (result == null && readOnly && reload()) {
+      result = lookup(key);
+    }
+    if (result != null) {
+      statsCounter.recordHits(1);
+      statsCounter.recordLoadSuccess(System.nanoTime() - startTime);
+    } else {
+      statsCounter.recordMisses(1);
+    }
+    return result;
+  }
+
+  @Nullable
+  private byte[] lookup(Object key) {
+    Segment cur = current;
+    Segment prev = previous;
+    byte[] result = null;
+    if (cur != null) {
+      Integer pos = cur.index.get(key);
+      if (pos != null) {
+        result = readPayload(cur, pos);
+      } else if (prev != null) {
+        pos = prev.index.get(key);
+        if (pos != null) {
+          result = readPayload(prev, pos);
+          // keep entries that are still in use when the previous segment gets deleted:
+          put((HashCode) key, result);
+        }
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public void put(HashCode key, byte[] value) {
+    if (readOnly || value.length > segmentSize - headerSize - RECORD_HEADER_SIZE) {
+      return;
+    }
+    synchronized (this) {
+      Segment segment = current;
+      if (segment.index.containsKey(key)) {
+        return;
+      }
+      int recordSize = RECORD_HEADER_SIZE + value.length;
+      if (segment.writePos + recordSize > segmentSize) {
+        try {
+          segment = rotate();
+        } catch (IOException e) {
+          logger.warn("Could not start new persistent cache segment in " + dir, e);
+          return;
+        }
+      }
+      int pos = segment.writePos;
+      ByteBuffer writer = segment.writer;
+      writer.putInt(pos + 4, crc(value));
+      byte[] keyBytes = key.asBytes();
+      for (int i = 0; i < keyBytes.length; i++) {
+        writer.put(pos + 8 + i, keyBytes[i]);
+      }
+      writer.position(pos + RECORD_HEADER_SIZE);
+      writer.put(value);
+      if (pos + recordSize + 4 <= segmentSize) {
+        writer.putInt(pos + recordSize, 0);
+      }
+      // write the length last, so a partially written record is never read:
+      writer.putInt(pos, value.length);
+      segment.writePos = pos + recordSize;
+      segment.index.put(key, pos);
+    }
+  }
+
+  private Segment rotate() throws IOException {
+    Segment oldPrevious = previous;
+    Segment newCurrent = createSegment(current.generation + 1);
+    previous = current;
+    current = newCurrent;
+    if (oldPrevious != null) {
+      for (int i = 0; i < oldPrevious.index.size(); i++) {
+        statsCounter.recordEviction();
+      }
+      // readers that still use the old segment keep a valid mapping:
+      if (!oldPrevious.file.delete()) {
+        logger.warn("Could not delete old persistent cache file " + oldPrevious.file);
+      }
+    }
+    return newCurrent;
+  }
+
+  private static byte[] readPayload(Segment segment, int pos) {
+    return read(segment.buffer, pos + RECORD_HEADER_SIZE, segment.buffer.getInt(pos));
+  }
+
+  private static byte[] read(ByteBuffer buffer, int pos, int length) {
+    ByteBuffer reader = buffer.duplicate();
+    reader.position(pos);
+    byte[] result = new byte[length];
+    reader.get(result);
+    return result;
+  }
+
+  private static int crc(byte[] data) {
+    CRC32 crc = new CRC32();
+    crc.update(data, 0, data.length);
+    return (int) crc.getValue();
+  }
+
+  @Override
+  public long size() {
+    Segment cur = current;
+    Segment prev = previous;
+    return (cur != null ? cur.index.size() : 0) + (prev != null ? prev.index.size() : 0);
+  }
+
+  @Override
+  public CacheStats stats() {
+    return statsCounter.snapshot();
+  }
+
+  /**
+   * Write all changes to disk.
+   */
+  @Override
+  public void close() throws IOException {
+    synchronized (this) {
+      if (!readOnly && current != null) {
+        current.buffer.force();
+      }
+    }
+    if (lock != null) {
+      lock.release();
+    }
+    lockChannel.close();
+  }
+
+  private static final class Segment {
+    private final long generation;
+    private final File file;
+    private final MappedByteBuffer buffer;
+    // only used while holding the cache's lock:
+    private final ByteBuffer writer;
+    private final Map<HashCode, Integer> index = new ConcurrentHashMap<>();
+    private int writePos;
+
+    private Segment(long generation, File file, MappedByteBuffer buffer) {
+      this.generation = generation;
+      this.file = file;
+      this.buffer = buffer;
+      this.writer = buffer.duplicate();
+    }
+  }
+}
@@ -21,12 +21,23 @@ package org.languagetool;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.Weigher;
+import com.google.common.hash.HashCode;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.languagetool.rules.Rule;
 import org.languagetool.rules.RuleMatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 /**
  * A cache to speed up text checking for use cases where sentences are checked more than once. This
@@ -37,10 +48,18 @@ import java.util.concurrent.TimeUnit;
  * Using a cache with bitext rules isn't supported either.
  * It is okay however, to use the same cache for {@link JLanguageTool} objects with different languages, as
  * cached results are not used for a different language.
+ * <p>
+ * Optionally, matches are also kept in a disk-backed cache that survives restarts,
+ * see {@link #ResultCache(long, long, TimeUnit, File, long)}.
  * @since 3.7
  */
 public class ResultCache {
 
+  private static final Logger logger = LoggerFactory.getLogger(ResultCache.class);
+
+  // matches waiting to be written to the persistent cache, more get dropped:
+  private static final int PERSISTENT_WRITE_QUEUE_SIZE = 10_000;
+
   /**
    * rules can fail individually, results can be partial ->
    * store list if success (can be empty), null -> failure/not checked
@@ -48,6 +67,10 @@ public class ResultCache {
   private final Cache<InputSentence, Map<String, List<RuleMatch>>> remoteMatchesCache;
   private final Cache<InputSentence, List<RuleMatch>> matchesCache;
   private final Cache<SimpleInputSentence, AnalyzedSentence> sentenceCache;
+  @Nullable
+  private final PersistentMatchesCache persistentMatchesCache;
+  @Nullable
+  private final ThreadPoolExecutor persistentWriter;
 
   /**
    * Create a cache that expires items 5 minutes after the latest read access.
@@ -62,6 +85,23 @@ public class ResultCache {
    * @param expireAfter time to expire sentences from the cache after last read access 
    */
   public ResultCache(long maxSize, long expireAfter, TimeUnit timeUnit) {
+    this(maxSize, expireAfter, timeUnit, null);
+  }
+
+  /**
+   * Like {@link #ResultCache(long, long, TimeUnit)}, but matches that are not in memory are also looked up in
+   * (and added to) a disk-backed cache in {@code persistentCacheDir}, so they survive restarts. Its entries
+   * are discarded when LanguageTool is updated. If another process already uses the directory, this
+   * cache only reads the entries that are there.
+   * @param persistentCacheMaxBytes maximum size of the cache files in {@code persistentCacheDir}
+   * @since 5.9
+   */
+  public ResultCache(long maxSize, long expireAfter, TimeUnit timeUnit, File persistentCacheDir, long persistentCacheMaxBytes) throws IOException {
+    this(maxSize, expireAfter, timeUnit, new PersistentMatchesCache(persistentCacheDir, persistentCacheMaxBytes,
+      JLanguageTool.VERSION + "/" + JLanguageTool.BUILD_DATE + "/" + JLanguageTool.GIT_SHORT_ID));
+  }
+
+  private ResultCache(long maxSize, long expireAfter, TimeUnit timeUnit, @Nullable PersistentMatchesCache persistentMatchesCache) {
     if (maxSize < 0) {
       throw new IllegalArgumentException("Result cache size must be >= 0: " + maxSize);
     }
@@ -80,6 +120,15 @@ public class ResultCache {
             recordStats().
             expireAfterAccess(expireAfter, timeUnit).
             build();
+    this.persistentMatchesCache = persistentMatchesCache;
+    if (persistentMatchesCache != null) {
+      // write in the background, so disk access doesn't slow down checks:
+      persistentWriter = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(PERSISTENT_WRITE_QUEUE_SIZE),
+        new ThreadFactoryBuilder().setNameFormat("lt-persistent-cache-writer-%d").setDaemon(true).build(),
+        new ThreadPoolExecutor.DiscardPolicy());
+    } else {
+      persistentWriter = null;
+    }
   }
   
   static class MatchesWeigher implements Weigher<InputSentence, List<RuleMatch>> {
@@ -135,6 +184,60 @@ public class ResultCache {
     sentenceCache.put(key, aSentence);
   }
 
+  boolean hasPersistentCache() {
+    return persistentMatchesCache != null;
+  }
+
+  /**
+   * Look up matches in the persistent cache. A hit is also added to the in-memory cache.
+   * @param ruleSetFingerprint identifies the rules that {@code key} is checked with
+   * @param ruleResolver maps full rule ids to the rules {@code key} is checked with
+   * @param sentence the analyzed form of {@code key}, used for the returned matches
+   * @return the matches or {@code null} if there's no persistent cache or no (usable) entry
+   * @since 5.9
+   */
+  @Nullable
+  List<RuleMatch> getPersistentIfPresent(InputSentence key, String ruleSetFingerprint,
+                                         Function<String, Rule> ruleResolver, AnalyzedSentence sentence) {
+    if (persistentMatchesCache == null) {
+      return null;
+    }
+    byte[] data = persistentMatchesCache.getIfPresent(key.getPersistentKey(ruleSetFingerprint));
+    if (data == null) {
+      return null;
+    }
+    try {
+      List<RuleMatch> matches = RuleMatchSerializer.deserialize(data, ruleResolver, sentence);
+      if (matches != null) {
+        matchesCache.put(key, matches);
+      }
+      return matches;
+    } catch (IOException | RuntimeException e) {
+      logger.warn("Could not read matches from persistent cache for sentence: " + key, e);
+      return null;
+    }
+  }
+
+  /**
+   * Add matches to the persistent cache, if there is one. This happens asynchronously,
+   * so {@code sentenceMatches} must not be modified later and their lazy suggestions
+   * must have been computed (see {@link RuleMatch#computeLazySuggestedReplacements()}).
+   * @param ruleSetFingerprint identifies the rules that {@code key} has been checked with
+   * @since 5.9
+   */
+  void putPersistent(InputSentence key, String ruleSetFingerprint, List<RuleMatch> sentenceMatches) {
+    if (persistentMatchesCache == null) {
+      return;
+    }
+    persistentWriter.execute(() -> {
+      try {
+        persistentMatchesCache.put(key.getPersistentKey(ruleSetFingerprint), RuleMatchSerializer.serialize(sentenceMatches));
+      } catch (IOException | RuntimeException e) {
+        logger.warn("Could not write matches to persistent cache for sentence: " + key, e);
+      }
+    });
+  }
+
   /** @since 4.1 */
   public Cache<InputSentence, List<RuleMatch>> getMatchesCache() {
     return matchesCache;
@@ -149,4 +252,33 @@ public class ResultCache {
   public Cache<SimpleInputSentence, AnalyzedSentence> getSentenceCache() {
     return sentenceCache;
   }
+
+  /**
+   * The disk-backed second level of {@link #getMatchesCache()}, with serialized matches as values.
+   * Its stats count reads from disk as loads.
+   * @return {@code null} if there's no persistent cache
+   * @since 5.9
+   */
+  @Nullable
+  public Cache<HashCode, byte[]> getPersistentMatchesCache() {
+    return persistentMatchesCache;
+  }
+
+  /**
+   * Write pending matches to the persistent cache and release it, if there is one.
+   * @since 5.9
+   */
+  public void close() throws IOException {
+    if (persistentMatchesCache != null) {
+      persistentWriter.shutdown();
+      try {
+        if (!persistentWriter.awaitTermination(10, TimeUnit.SECONDS)) {
+          logger.warn("Not all matches could be written to the persistent cache in time");
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      persistentMatchesCache.close();
+    }
+  }
 }
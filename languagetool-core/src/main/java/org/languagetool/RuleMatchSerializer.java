@@ -0,0 +1,189 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool;
+
+import org.jetbrains.annotations.Nullable;
+import org.languagetool.rules.Rule;
+import org.languagetool.rules.RuleMatch;
+import org.languagetool.rules.SuggestedReplacement;
+
+import java.io.*;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Compact binary form of the matches of one sentence, as stored by {@link PersistentMatchesCache}.
+ * Rules are stored by their full id and resolved again when reading, the {@link AnalyzedSentence}
+ * is not stored but supplied by the caller.
+ * @since 5.9
+ */
+final class RuleMatchSerializer {
+
+  private static final RuleMatch.Type[] MATCH_TYPES = RuleMatch.Type.values();
+  private static final SuggestedReplacement.SuggestionType[] SUGGESTION_TYPES = SuggestedReplacement.SuggestionType.values();
+
+  private RuleMatchSerializer() {
+  }
+
+  /**
+   * Note that this computes lazy suggestions, if there are any.
+   */
+  static byte[] serialize(List<RuleMatch> matches) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + matches.size() * 128);
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeInt(matches.size());
+    for (RuleMatch match : matches) {
+      Rule rule = match.getRule();
+      writeString(out, rule.getFullId());
+      writeString(out, match.getMessage());
+      writeString(out, match.getShortMessage());
+      out.writeInt(match.getFromPos());
+      out.writeInt(match.getToPos());
+      out.writeInt(match.getPatternFromPos());
+      out.writeInt(match.getPatternToPos());
+      out.writeInt(match.getLine());
+      out.writeInt(match.getEndLine());
+      out.writeInt(match.getColumn());
+      out.writeInt(match.getEndColumn());
+      writeString(out, match.getUrl() != null ? match.getUrl().toString() : null);
+      out.writeByte(match.getType().ordinal());
+      out.writeBoolean(match.isAutoCorrect());
+      writeString(out, match.getErrorLimitLang());
+      String specificRuleId = match.getSpecificRuleId();
+      writeString(out, specificRuleId.equals(rule.getId()) ? null : specificRuleId);
+      writeFeatures(out, match.getFeatures());
+      List<SuggestedReplacement> suggestions = match.getSuggestedReplacementObjects();
+      out.writeInt(suggestions.size());
+      for (SuggestedReplacement suggestion : suggestions) {
+        writeString(out, suggestion.getReplacement());
+        writeString(out, suggestion.getShortDescription());
+        writeString(out, suggestion.getSuffix());
+        Float confidence = suggestion.getConfidence();
+        out.writeBoolean(confidence != null);
+        if (confidence != null) {
+          out.writeFloat(confidence);
+        }
+        out.writeByte(suggestion.getType().ordinal());
+        writeFeatures(out, suggestion.getFeatures());
+      }
+    }
+    out.flush();
+    return bytes.toByteArray();
+  }
+
+  /**
+   * @param ruleResolver maps full rule ids to the rules of the current {@link JLanguageTool}
+   * @return the matches, or {@code null} if one of their rules isn't known to {@code ruleResolver}
+   */
+  @Nullable
+  static List<RuleMatch> deserialize(byte[] data, Function<String, Rule> ruleResolver, AnalyzedSentence sentence) throws IOException {
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+    int count = in.readInt();
+    List<RuleMatch> matches = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      Rule rule = ruleResolver.apply(readString(in));
+      if (rule == null) {
+        return null;
+      }
+      String message = readString(in);
+      String shortMessage = readString(in);
+      int fromPos = in.readInt();
+      int toPos = in.readInt();
+      int patternFromPos = in.readInt();
+      int patternToPos = in.readInt();
+      RuleMatch match = new RuleMatch(rule, sentence, fromPos, toPos, patternFromPos, patternToPos, message, shortMessage);
+      match.setLine(in.readInt());
+      match.setEndLine(in.readInt());
+      match.setColumn(in.readInt());
+      match.setEndColumn(in.readInt());
+      String url = readString(in);
+      if (url != null) {
+        match.setUrl(new URL(url));
+      }
+      match.setType(MATCH_TYPES[in.readByte()]);
+      match.setAutoCorrect(in.readBoolean());
+      String errorLimitLang = readString(in);
+      if (errorLimitLang != null) {
+        match.setErrorLimitLang(errorLimitLang);
+      }
+      String specificRuleId = readString(in);
+      if (specificRuleId != null) {
+        match.setSpecificRuleId(specificRuleId);
+      }
+      match.setFeatures(readFeatures(in));
+      int suggestionCount = in.readInt();
+      List<SuggestedReplacement> suggestions = new ArrayList<>(suggestionCount);
+      for (int j = 0; j < suggestionCount; j++) {
+        SuggestedReplacement suggestion = new SuggestedReplacement(readString(in), readString(in), readString(in));
+        if (in.readBoolean()) {
+          suggestion.setConfidence(in.readFloat());
+        }
+        suggestion.setType(SUGGESTION_TYPES[in.readByte()]);
+        suggestion.setFeatures(readFeatures(in));
+        suggestions.add(suggestion);
+      }
+      match.setSuggestedReplacementObjects(suggestions);
+      matches.add(match);
+    }
+    return matches;
+  }
+
+  private static void writeFeatures(DataOutput out, SortedMap<String, Float> features) throws IOException {
+    out.writeInt(features.size());
+    for (Map.Entry<String, Float> entry : features.entrySet()) {
+      writeString(out, entry.getKey());
+      out.writeFloat(entry.getValue());
+    }
+  }
+
+  private static SortedMap<String, Float> readFeatures(DataInput in) throws IOException {
+    int size = in.readInt();
+    if (size == 0) {
+      return Collections.emptySortedMap();
+    }
+    SortedMap<String, Float> features = new TreeMap<>();
+    for (int i = 0; i < size; i++) {
+      features.put(readString(in), in.readFloat());
+    }
+    return features;
+  }
+
+  private static void writeString(DataOutput out, @Nullable String s) throws IOException {
+    if (s == null) {
+      out.writeInt(-1);
+    } else {
+      byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+      out.writeInt(bytes.length);
+      out.write(bytes);
+    }
+  }
+
+  @Nullable
+  private static String readString(DataInput in) throws IOException {
+    int length = in.readInt();
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
@@ -18,12 +18,17 @@
  */
 package org.languagetool;
 
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import org.languagetool.rules.Rule;
+import org.languagetool.rules.UserDictionary;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 /**
@@ -41,8 +46,8 @@ public class UserConfig {
     return abTestEnabled;
   }
 
-  private final List<String> userSpecificSpellerWords;
-  private final Set<String> acceptedPhrases;
+  // created from userDictionary on first use if the config has been created with a dictionary
+  private volatile List<String> userSpecificSpellerWords;
   private final List<Rule> userSpecificRules;
   private final int maxSpellingSuggestions;
   private final Long userDictCacheSize;
@@ -59,6 +64,9 @@ public class UserConfig {
   private final Long textSessionId;
   private final String abTest;
 
+  private volatile HashCode stableHash;
+  private volatile UserDictionary userDictionary;
+
   public UserConfig() {
     this(new ArrayList<>(), new HashMap<>());
   }
@@ -93,7 +101,36 @@ public class UserConfig {
                     Long userDictCacheSize,
                     LinguServices linguServices, boolean filterDictionaryMatches,
                     @Nullable String abTest, @Nullable Long textSessionId, boolean hidePremiumMatches) {
-    this.userSpecificSpellerWords = Objects.requireNonNull(userSpecificSpellerWords);
+    this(Objects.requireNonNull(userSpecificSpellerWords), null, userSpecificRules, ruleValues, maxSpellingSuggestions, premiumUid,
+      userDictName, userDictCacheSize, linguServices, filterDictionaryMatches, abTest, textSessionId, hidePremiumMatches);
+  }
+
+  /**
+   * Like {@link #UserConfig(List, List, Map, int, Long, String, Long, LinguServices, boolean, String, Long, boolean)},
+   * but with the words as a dictionary, e.g. one that has been updated with
+   * {@link UserDictionary#withAdded(Collection)}, so it doesn't need to be created from the words.
+   * @since 5.9
+   */
+  public UserConfig(UserDictionary userDictionary,
+                    List<Rule> userSpecificRules,
+                    Map<String, Integer> ruleValues,
+                    int maxSpellingSuggestions, Long premiumUid, String userDictName,
+                    Long userDictCacheSize,
+                    LinguServices linguServices, boolean filterDictionaryMatches,
+                    @Nullable String abTest, @Nullable Long textSessionId, boolean hidePremiumMatches) {
+    this(null, Objects.requireNonNull(userDictionary), userSpecificRules, ruleValues, maxSpellingSuggestions, premiumUid,
+      userDictName, userDictCacheSize, linguServices, filterDictionaryMatches, abTest, textSessionId, hidePremiumMatches);
+  }
+
+  private UserConfig(List<String> userSpecificSpellerWords, UserDictionary userDictionary,
+                     List<Rule> userSpecificRules,
+                     Map<String, Integer> ruleValues,
+                     int maxSpellingSuggestions, Long premiumUid, String userDictName,
+                     Long userDictCacheSize,
+                     LinguServices linguServices, boolean filterDictionaryMatches,
+                     @Nullable String abTest, @Nullable Long textSessionId, boolean hidePremiumMatches) {
+    this.userSpecificSpellerWords = userSpecificSpellerWords;
+    this.userDictionary = userDictionary;
     this.userSpecificRules = Objects.requireNonNull(userSpecificRules);
     for (Map.Entry<String, Integer> entry : ruleValues.entrySet()) {
       this.configurableRuleValues.put(entry.getKey(), entry.getValue());
@@ -107,27 +144,48 @@ public class UserConfig {
     this.abTest = abTest;
     this.textSessionId = textSessionId;
     this.hidePremiumMatches = hidePremiumMatches;
-    this.acceptedPhrases = buildAcceptedPhrases();
   }
 
   @NotNull
   public List<String> getAcceptedWords() {
-    return userSpecificSpellerWords;
-  }
-
-  private Set<String> buildAcceptedPhrases() {
-    HashSet<String> phrases = new HashSet<>();
-    for (String wordOrPhrase : userSpecificSpellerWords) {
-      if (wordOrPhrase.contains(" ")) {
-        phrases.add(wordOrPhrase);
-      }
+    List<String> result = userSpecificSpellerWords;
+    if (result == null) {
+      userSpecificSpellerWords = result = userDictionary.getWords();
     }
-    return phrases;
+    return result;
   }
 
   @NotNull
   public Set<String> getAcceptedPhrases() {
-    return acceptedPhrases;
+    return getUserDictionary().getPhrases();
+  }
+
+  /**
+   * The {@link #getAcceptedWords() accepted words} as a dictionary that is shared by all configurations with the same words.
+   * @since 5.9
+   */
+  @NotNull
+  public UserDictionary getUserDictionary() {
+    UserDictionary result = userDictionary;
+    if (result == null) {
+      userDictionary = result = UserDictionary.of(userSpecificSpellerWords);
+    }
+    return result;
+  }
+
+  /**
+   * A copy of this configuration without the user's dictionary, i.e. without the words and the
+   * user id and dictionary name that are only used for caching the dictionary. Rules created with it can be
+   * shared by all users whose configurations only differ in their dictionaries, the dictionary is then
+   * applied when checking, see {@link JLanguageTool#setUserDictionary(UserDictionary)}.
+   * @since 5.9
+   */
+  public UserConfig withoutDictionary() {
+    if (getUserDictionary().isEmpty() && premiumUid == null && userDictCacheSize == null && "default".equals(userDictName)) {
+      return this;
+    }
+    return new UserConfig(Collections.emptyList(), userSpecificRules, configurableRuleValues, maxSpellingSuggestions,
+      null, null, null, linguServices, filterDictionaryMatches, abTest, textSessionId, hidePremiumMatches);
   }
 
   /**
@@ -150,6 +208,7 @@ public class UserConfig {
     for (Map.Entry<String, Integer> entry : ruleValues.entrySet()) {
       this.configurableRuleValues.put(entry.getKey(), entry.getValue());
     }
+    stableHash = null;
   }
   
   public int getConfigValueByID(String ruleID) {
@@ -205,7 +264,7 @@ public class UserConfig {
               other.userSpecificRules.stream().mapToLong(k -> k.getId().hashCode()).sum())
       .append(premiumUid, other.premiumUid)
       .append(userDictName, other.userDictName)
-      .append(userSpecificSpellerWords, other.userSpecificSpellerWords)
+      .append(getAcceptedWords(), other.getAcceptedWords())
       .append(filterDictionaryMatches, other.filterDictionaryMatches)
       // omitting these distorts A/B tests, as UserConfig is cached by the pipeline pool
       // -> (cached) textSessionId on server may say group A, but ID on client (relevant for saved correction) says B
@@ -232,10 +291,34 @@ public class UserConfig {
       .toHashCode();
   }
 
+  /**
+   * A hash of the properties compared in {@link #equals(Object)} that is stable across JVMs, used
+   * for keys of the persistent result cache. Unlike {@link #hashCode()}, it covers the user's dictionary,
+   * so it's computed only once.
+   */
+  HashCode getStableHash() {
+    HashCode result = stableHash;
+    if (result == null) {
+      Hasher hasher = Hashing.murmur3_128().newHasher();
+      new TreeMap<>(configurableRuleValues).forEach((id, value) -> hasher.putString(id, StandardCharsets.UTF_8).putInt(value));
+      userSpecificRules.stream().map(Rule::getId).sorted().forEach(id -> hasher.putString(id, StandardCharsets.UTF_8).putByte((byte) 0));
+      hasher.putLong(premiumUid != null ? premiumUid : -1);
+      hasher.putString(userDictName, StandardCharsets.UTF_8).putByte((byte) 0);
+      for (String word : getAcceptedWords()) {
+        hasher.putString(word, StandardCharsets.UTF_8).putByte((byte) 0);
+      }
+      hasher.putBoolean(filterDictionaryMatches);
+      hasher.putString(abTest != null ? abTest : "", StandardCharsets.UTF_8).putByte((byte) 0);
+      hasher.putBoolean(hidePremiumMatches);
+      stableHash = result = hasher.hash();
+    }
+    return result;
+  }
+
   @Override
   public String toString() {
     return "UserConfig{" +
-      "dictionarySize=" + userSpecificSpellerWords.size() +
+      "dictionarySize=" + getUserDictionary().size() +
       ", maxSpellingSuggestions=" + maxSpellingSuggestions +
       ", userDictName='" + userDictName + '\'' +
       ", configurableRuleValues=" + configurableRuleValues +
@@ -42,6 +42,10 @@ public class AnnotatedText {
 
   private final List<TextPart> parts;
   private final Map<Integer, MappingValue> mapping;  // plain text position to original text (with markup) position
+  // the keys of 'mapping' in ascending order and their values, for a binary search in getOriginalTextPositionFor():
+  private final int[] plainTextPositions;
+  private final int[] totalPositions;
+  private final int[] fakeMarkupLengths;
   private final Map<MetaDataKey, String> metaData;
   private final Map<String, String> customMetaData;
 
@@ -50,6 +54,14 @@ public class AnnotatedText {
     this.mapping = Objects.requireNonNull(mapping);
     this.metaData = Objects.requireNonNull(metaData);
     this.customMetaData = Objects.requireNonNull(customMetaData);
+    this.plainTextPositions = mapping.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+    this.totalPositions = new int[plainTextPositions.length];
+    this.fakeMarkupLengths = new int[plainTextPositions.length];
+    for (int i = 0; i < plainTextPositions.length; i++) {
+      MappingValue value = mapping.get(plainTextPositions[i]);
+      totalPositions[i] = value.getTotalPosition();
+      fakeMarkupLengths[i] = value.getFakeMarkupLength();
+    }
   }
 
   /**
@@ -113,31 +125,22 @@ public class AnnotatedText {
     if (mapping.isEmpty()) {
       return 0;
     }
-    int minDiff = Integer.MAX_VALUE;
-    MappingValue bestMatch = null;
-    // algorithm: find the closest lower position
-    for (Map.Entry<Integer, MappingValue> entry : mapping.entrySet()) {
-      int maybeClosePosition = entry.getKey();
-      if (plainTextPosition < maybeClosePosition) {
-        int diff = maybeClosePosition - plainTextPosition;
-        if (diff > 0 && diff < minDiff) {
-          bestMatch = entry.getValue();
-          minDiff = diff;
-        }
-      }
-    }
-    if (bestMatch == null) {
+    // algorithm: find the closest higher position
+    int idx = Arrays.binarySearch(plainTextPositions, plainTextPosition);
+    int bestMatch = idx >= 0 ? idx + 1 : -idx - 1;
+    if (bestMatch >= plainTextPositions.length) {
       String msg = "mappings: " + (mapping.size() < 5 ? mapping : mapping.size());
       throw new RuntimeException("Could not map " + plainTextPosition + " to original position. isToPos: " + isToPos + ", " + msg);
     }
+    int minDiff = plainTextPositions[bestMatch] - plainTextPosition;
     // we remove markup total length if usage of fake markup and need from position
-    if (!isToPos && bestMatch.getFakeMarkupLength() > 0) {
-      minDiff = bestMatch.getFakeMarkupLength();
+    if (!isToPos && fakeMarkupLengths[bestMatch] > 0) {
+      minDiff = fakeMarkupLengths[bestMatch];
     }
     // We assume that when we have found the closest match there's a one-to-one mapping
     // in this region, thus we can subtract 'minDiff' to get the exact position.
     // If the bestMatch is a fakeMarkup, subtract it:
-    return bestMatch.getTotalPosition() - minDiff;
+    return totalPositions[bestMatch] - minDiff;
   }
   
   /**
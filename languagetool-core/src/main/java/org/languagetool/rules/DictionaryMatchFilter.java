@@ -24,22 +24,29 @@ package org.languagetool.rules;
 import org.languagetool.UserConfig;
 import org.languagetool.markup.AnnotatedText;
 
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 public class DictionaryMatchFilter implements RuleMatchFilter {
-  private final UserConfig userConfig;
+  private final UserDictionary dictionary;
 
   public DictionaryMatchFilter(UserConfig userConfig) {
-    this.userConfig = userConfig;
+    this(userConfig.getUserDictionary());
+  }
+
+  /**
+   * @since 5.9
+   */
+  public DictionaryMatchFilter(UserDictionary dictionary) {
+    this.dictionary = Objects.requireNonNull(dictionary);
   }
 
   @Override
   public List<RuleMatch> filter(List<RuleMatch> ruleMatches, AnnotatedText text) {
-    Set<String> dictionary = new HashSet<>(userConfig.getAcceptedWords());
-
+    if (dictionary.isEmpty()) {
+      return ruleMatches;
+    }
     return ruleMatches.stream().filter(match -> {
       String covered = text.getPlainText().substring(match.getFromPos(), match.getToPos());
       return !dictionary.contains(covered);
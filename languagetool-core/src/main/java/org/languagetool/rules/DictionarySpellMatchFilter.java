@@ -18,86 +18,100 @@
  */
 package org.languagetool.rules;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import com.hankcs.algorithm.AhoCorasickDoubleArrayTrie;
-import lombok.extern.slf4j.Slf4j;
 import org.languagetool.UserConfig;
 import org.languagetool.markup.AnnotatedText;
 
 import java.util.*;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
-import java.util.function.Function;
 
 /**
  * Filter spelling error with phrases the users wants to have accepted.
  * Needed so words with spaces (i.e. phrases) can be added to a user's dictionary
  * without LT creating internal anti patterns for each phrase.
+ * When created with {@link #DictionarySpellMatchFilter(UserDictionary)}, it also applies the
+ * words of the dictionary, for rules that have been created without them.
  */
-@Slf4j
 public class DictionarySpellMatchFilter implements RuleMatchFilter {
 
-  private final UserConfig userConfig;
+  private static final int MAX_SUGGESTION_DISTANCE = 2;
 
-  private static final int CACHE_SIZE = 100;
-  private static final long CACHE_TTL_SECONDS = 600;
+  private final UserDictionary dictionary;
+  private final boolean filterWords;
 
-  private static class PhraseSearchLoader extends CacheLoader<UserConfig, AhoCorasickDoubleArrayTrie<String>> {
-    @Override
-    public AhoCorasickDoubleArrayTrie<String> load(UserConfig key) throws Exception {
-      AhoCorasickDoubleArrayTrie<String> searcher = new AhoCorasickDoubleArrayTrie<>();
-      Map<String, String> phrases = new HashMap<>();
-      for (String phrase : key.getAcceptedPhrases()) {
-        phrases.put(phrase, phrase);
-      }
-      searcher.build(phrases);
-      return searcher;
-    }
+  /**
+   * Filters only the phrases of the user's dictionary, the words are expected to be
+   * known to the spelling rules already.
+   */
+  public DictionarySpellMatchFilter(UserConfig userConfig) {
+    this.dictionary = userConfig.getUserDictionary();
+    this.filterWords = false;
   }
 
-  private static final LoadingCache<UserConfig, AhoCorasickDoubleArrayTrie<String>> phraseSearcher =
-    CacheBuilder.newBuilder().recordStats()
-      .maximumSize(CACHE_SIZE)
-      .expireAfterAccess(CACHE_TTL_SECONDS, TimeUnit.SECONDS)
-      .build(new PhraseSearchLoader());
-
-  public DictionarySpellMatchFilter(UserConfig userConfig) {
-    this.userConfig = userConfig;
+  /**
+   * Filters the spelling matches of words and phrases in the dictionary, and adds its similar
+   * words as suggestions to the remaining spelling matches.
+   * @since 5.9
+   */
+  public DictionarySpellMatchFilter(UserDictionary dictionary) {
+    this.dictionary = Objects.requireNonNull(dictionary);
+    this.filterWords = true;
   }
 
   @Override
   public List<RuleMatch> filter(List<RuleMatch> ruleMatches, AnnotatedText text) {
-    Set<String> dictionary = userConfig.getAcceptedPhrases();
-    if (dictionary.size() > 0) {
-      List<RuleMatch> cleanMatches = new ArrayList<>(ruleMatches);
-      try {
-        AhoCorasickDoubleArrayTrie<String> searcher = phraseSearcher.get(userConfig);
-
-        List<AhoCorasickDoubleArrayTrie.Hit<String>> phrases = searcher.parseText(text.getPlainText());
-
-        for (AhoCorasickDoubleArrayTrie.Hit<String> phrase : phrases) {
-          Iterator<RuleMatch> iter = cleanMatches.iterator();
-
-          while (iter.hasNext()) {
-            RuleMatch match = iter.next();
-            if (match.getRule().isDictionaryBasedSpellingRule() &&
-                match.getFromPos() >= phrase.begin &&
-                match.getToPos() <= phrase.end) {
-              // remove all spelling matches that are (subsets) of accepted phrases
-              iter.remove();
-            }
+    if (dictionary.isEmpty()) {
+      return ruleMatches;
+    }
+    List<RuleMatch> cleanMatches = new ArrayList<>(ruleMatches);
+    if (dictionary.getPhrases().size() > 0) {
+      List<AhoCorasickDoubleArrayTrie.Hit<String>> phrases = dictionary.getPhraseSearcher().parseText(text.getPlainText());
+      for (AhoCorasickDoubleArrayTrie.Hit<String> phrase : phrases) {
+        Iterator<RuleMatch> iter = cleanMatches.iterator();
+        while (iter.hasNext()) {
+          RuleMatch match = iter.next();
+          if (match.getRule().isDictionaryBasedSpellingRule() &&
+              match.getFromPos() >= phrase.begin &&
+              match.getToPos() <= phrase.end) {
+            // remove all spelling matches that are (subsets) of accepted phrases
+            iter.remove();
           }
         }
-        return cleanMatches;
-      } catch (ExecutionException e) {
-        log.error("Couldn't set up phrase search, accepted phrases won't work.", e);
-        return ruleMatches;
       }
     }
-    return ruleMatches;
+    if (filterWords) {
+      Iterator<RuleMatch> iter = cleanMatches.iterator();
+      while (iter.hasNext()) {
+        RuleMatch match = iter.next();
+        if (match.getRule().isDictionaryBasedSpellingRule()) {
+          String covered = text.getPlainText().substring(match.getFromPos(), match.getToPos());
+          if (dictionary.accepts(covered)) {
+            iter.remove();
+          } else {
+            addSuggestions(match, covered);
+          }
+        }
+      }
+    }
+    return cleanMatches;
+  }
+
+  private void addSuggestions(RuleMatch match, String covered) {
+    List<String> userWords = dictionary.getSimilarWords(covered, covered.length() < 5 ? 1 : MAX_SUGGESTION_DISTANCE);
+    if (userWords.isEmpty()) {
+      return;
+    }
+    // only used for its suggestions, which may not have been computed yet:
+    RuleMatch original = new RuleMatch(match);
+    match.setLazySuggestedReplacements(() -> {
+      // suggestions from the user's own dictionary first, as in MorfologikMultiSpeller
+      List<SuggestedReplacement> result = new ArrayList<>(SuggestedReplacement.convert(userWords));
+      for (SuggestedReplacement replacement : original.getSuggestedReplacementObjects()) {
+        if (!userWords.contains(replacement.getReplacement())) {
+          result.add(replacement);
+        }
+      }
+      return result;
+    });
   }
 
   public Map<String, List<RuleMatch>> getPhrases(List<RuleMatch> ruleMatches, AnnotatedText text) {
@@ -0,0 +1,183 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules;
+
+import com.google.common.util.concurrent.*;
+import org.languagetool.rules.ml.MLServerGrpc.MLServerFutureStub;
+import org.languagetool.rules.ml.MLServerProto.MatchRequest;
+import org.languagetool.rules.ml.MLServerProto.MatchResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Combines the requests of concurrent checks to the same remote rule server into fewer gRPC calls,
+ * as ML servers usually need about the same time for a batch of sentences as for a single one.
+ * A request waits at most {@code maxWaitMillis} for others to join it, a batch is sent earlier if it has
+ * {@code maxBatchSize} sentences. The sentence matches of the response are then split up again by request.
+ * Only requests with the same {@code inputLogging} setting, and either all or none with text session IDs,
+ * are combined.
+ * <p>
+ * Each request keeps its own timeout, including the time it waited for the batch to be sent.
+ * @since 5.9
+ */
+class GRPCBatcher {
+
+  private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+    new ThreadFactoryBuilder().setNameFormat("grpc-batcher-%d").setDaemon(true).build());
+
+  private final MLServerFutureStub stub;
+  private final String ruleId;
+  private final int maxBatchSize;
+  private final long maxWaitMillis;
+  // the batches that are still open for more requests, by getKey(), guarded by 'this':
+  private final Batch[] openBatches = new Batch[4];
+
+  GRPCBatcher(MLServerFutureStub stub, String ruleId, int maxBatchSize, long maxWaitMillis) {
+    this.stub = stub;
+    this.ruleId = ruleId;
+    this.maxBatchSize = maxBatchSize;
+    this.maxWaitMillis = maxWaitMillis;
+  }
+
+  /**
+   * @param timeoutMilliseconds the time after which the returned future fails with a {@link java.util.concurrent.TimeoutException},
+   *   {@code 0} or less for no timeout
+   */
+  ListenableFuture<MatchResponse> match(MatchRequest request, long timeoutMilliseconds) {
+    Pending pending = new Pending(request, timeoutMilliseconds);
+    List<Batch> toSend = new ArrayList<>(2);
+    synchronized (this) {
+      int key = getKey(request);
+      Batch batch = openBatches[key];
+      if (batch != null && batch.sentences + request.getSentencesCount() > maxBatchSize) {
+        toSend.add(batch);
+        batch = null;
+      }
+      if (batch == null) {
+        batch = new Batch(key);
+        openBatches[key] = batch;
+        Batch newBatch = batch;
+        scheduler.schedule(() -> sendIfOpen(newBatch), maxWaitMillis, TimeUnit.MILLISECONDS);
+      }
+      batch.requests.add(pending);
+      batch.sentences += request.getSentencesCount();
+      if (batch.sentences >= maxBatchSize) {
+        toSend.add(batch);
+        openBatches[key] = null;
+      }
+    }
+    toSend.forEach(this::send);
+    if (timeoutMilliseconds > 0) {
+      return Futures.withTimeout(pending.response, timeoutMilliseconds, TimeUnit.MILLISECONDS, scheduler);
+    }
+    return pending.response;
+  }
+
+  private static int getKey(MatchRequest request) {
+    return (request.getInputLogging() ? 2 : 0) + (request.getTextSessionIDCount() > 0 ? 1 : 0);
+  }
+
+  private void sendIfOpen(Batch batch) {
+    synchronized (this) {
+      if (openBatches[batch.key] != batch) {
+        return;  // already sent because it was full
+      }
+      openBatches[batch.key] = null;
+    }
+    send(batch);
+  }
+
+  private void send(Batch batch) {
+    long now = System.nanoTime();
+    MatchRequest.Builder request = MatchRequest.newBuilder().setInputLogging(batch.key >= 2);
+    long deadline = now;
+    boolean hasDeadline = true;
+    for (Pending pending : batch.requests) {
+      request.addAllSentences(pending.request.getSentencesList());
+      request.addAllTextSessionID(pending.request.getTextSessionIDList());
+      RemoteRuleMetrics.batchWait(ruleId, now - pending.startNanos);
+      if (pending.timeoutMilliseconds > 0) {
+        deadline = Math.max(deadline, pending.startNanos + TimeUnit.MILLISECONDS.toNanos(pending.timeoutMilliseconds));
+      } else {
+        hasDeadline = false;
+      }
+    }
+    RemoteRuleMetrics.batch(ruleId, batch.sentences);
+    ListenableFuture<MatchResponse> response;
+    try {
+      // the requests time out on their own, the call only needs to last as long as the longest timeout:
+      response = hasDeadline ?
+        stub.withDeadlineAfter(Math.max(1, deadline - now), TimeUnit.NANOSECONDS).match(request.build()) :
+        stub.match(request.build());
+    } catch (RuntimeException e) {
+      batch.requests.forEach(pending -> pending.response.setException(e));
+      return;
+    }
+    Futures.addCallback(response, new FutureCallback<MatchResponse>() {
+      @Override
+      public void onSuccess(MatchResponse result) {
+        if (result.getSentenceMatchesCount() != batch.sentences) {
+          onFailure(new IllegalStateException("Got matches for " + result.getSentenceMatchesCount() +
+            " sentences from remote rule " + ruleId + ", expected " + batch.sentences));
+          return;
+        }
+        int offset = 0;
+        for (Pending pending : batch.requests) {
+          int sentences = pending.request.getSentencesCount();
+          pending.response.set(MatchResponse.newBuilder()
+            .addAllSentenceMatches(result.getSentenceMatchesList().subList(offset, offset + sentences))
+            .build());
+          offset += sentences;
+        }
+      }
+
+      @Override
+      public void onFailure(Throwable t) {
+        batch.requests.forEach(pending -> pending.response.setException(t));
+      }
+    }, MoreExecutors.directExecutor());
+  }
+
+  private static class Pending {
+    private final MatchRequest request;
+    private final long timeoutMilliseconds;
+    private final long startNanos = System.nanoTime();
+    private final SettableFuture<MatchResponse> response = SettableFuture.create();
+
+    Pending(MatchRequest request, long timeoutMilliseconds) {
+      this.request = request;
+      this.timeoutMilliseconds = timeoutMilliseconds;
+    }
+  }
+
+  private static class Batch {
+    private final int key;
+    private final List<Pending> requests = new ArrayList<>();
+    private int sentences;
+
+    Batch(int key) {
+      this.key = key;
+    }
+  }
+
+}
@@ -85,6 +85,8 @@ import io.grpc.netty.shaded.io.netty.handler.ssl.SslContextBuilder;
      return rules;
    }
   </pre>
+ * Set the option {@code batchWaitMillis} to combine the requests of concurrent checks into requests of up to
+ * {@code batchSize} sentences, see {@link GRPCBatcher}. This is only done if {@code analyzed} isn't set.
  */
 public abstract class GRPCRule extends RemoteRule {
   public static final String CONFIG_TYPE = "grpc";
@@ -134,6 +136,9 @@ public abstract class GRPCRule extends RemoteRule {
   public static class Connection {
     final ManagedChannel channel;
     final MLServerFutureStub stub;
+    // combines requests of concurrent checks, null if disabled (the default):
+    @Nullable
+    final GRPCBatcher batcher;
 
     public static ManagedChannel getManagedChannel(String host, int port, boolean useSSL, @Nullable String clientPrivateKey, @Nullable String clientCertificate, @Nullable String rootCertificate) throws SSLException {
       NettyChannelBuilder channelBuilder = NettyChannelBuilder.forAddress(host, port);
@@ -161,6 +166,14 @@ public abstract class GRPCRule extends RemoteRule {
       String ca = serviceConfiguration.getOptions().get("rootCertificate");
       this.channel = getManagedChannel(host, port, ssl, key, cert, ca);
       this.stub = MLServerGrpc.newFutureStub(channel);
+      long batchWaitMillis = Long.parseLong(serviceConfiguration.getOptions().getOrDefault("batchWaitMillis", "0"));
+      if (batchWaitMillis > 0) {
+        int maxBatchSize = Integer.parseInt(serviceConfiguration.getOptions().getOrDefault("batchSize",
+          String.valueOf(DEFAULT_BATCH_SIZE)));
+        this.batcher = new GRPCBatcher(stub, serviceConfiguration.getRuleId(), maxBatchSize, batchWaitMillis);
+      } else {
+        this.batcher = null;
+      }
     }
 
     private void shutdown() {
@@ -316,7 +329,9 @@ public abstract class GRPCRule extends RemoteRule {
           sentences = reqData.sentences;
 
           for (MLServerProto.MatchRequest req : reqData.requests) {
-            if (timeoutMilliseconds > 0) {
+            if (conn.batcher != null) {
+              futures.add(conn.batcher.match(req, timeoutMilliseconds));
+            } else if (timeoutMilliseconds > 0) {
               logger.debug("Deadline for rule {}: {}ms", getId(), timeoutMilliseconds);
               futures.add(conn.stub
                 .withDeadlineAfter(timeoutMilliseconds, TimeUnit.MILLISECONDS)
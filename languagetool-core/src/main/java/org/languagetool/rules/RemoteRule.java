@@ -279,14 +279,11 @@ public abstract class RemoteRule extends Rule {
   @Override
   public RuleMatch[] match(AnalyzedSentence sentence) throws IOException {
     FutureTask<RemoteRuleResult> task = run(Collections.singletonList(sentence));
-    Optional<ThreadPoolExecutor> executor = LtThreadPoolFactory.getFixedThreadPoolExecutor(LtThreadPoolFactory.REMOTE_RULE_EXECUTING_POOL);
+    // runs in a virtual thread if the server has been configured to use them, so waiting for the result is cheap
+    ExecutorService executor = LtThreadPoolFactory.getExecutorService(LtThreadPoolFactory.REMOTE_RULE_EXECUTING_POOL);
     try {
       long timeout = getTimeout(sentence.getText().length());
-      if (executor.isPresent()) {
-        executor.get().submit(task);
-      } else {
-        task.run();
-      }
+      executor.submit(task);
       RemoteRuleResult result = task.get(timeout, TimeUnit.MILLISECONDS);
       return result.getMatches().toArray(RuleMatch.EMPTY_ARRAY);
     } catch (InterruptedException | ExecutionException | TimeoutException e) {
@@ -65,6 +65,14 @@ public final class RemoteRuleMetrics {
     25, 100, 500, 1000, 2500, 5000, 10000, 20000, 40000
   };
 
+  private static final double[] BATCH_SIZE_BUCKETS = {
+    1, 2, 4, 8, 16, 32, 64, 128
+  };
+
+  private static final double[] BATCH_WAIT_BUCKETS = {
+    .0005, .001, .002, .005, .01, .02, .05, .1
+  };
+
 
   private static final Histogram wait = Histogram
     .build("languagetool_remote_rule_wait_seconds", "Time spent waiting on remote rule results/timeouts")
@@ -84,6 +92,19 @@ public final class RemoteRuleMetrics {
     .buckets(SIZE_BUCKETS)
     .register();
 
+  // only filled if requests of different checks are combined, see GRPCBatcher
+  private static final Histogram batchSize = Histogram
+    .build("languagetool_remote_rule_batch_size_sentences", "Sentences per combined remote rule request")
+    .labelNames("rule_id")
+    .buckets(BATCH_SIZE_BUCKETS)
+    .register();
+
+  private static final Histogram batchWait = Histogram
+    .build("languagetool_remote_rule_batch_wait_seconds", "Time requests waited for others to be combined with")
+    .labelNames("rule_id")
+    .buckets(BATCH_WAIT_BUCKETS)
+    .register();
+
   public static void request(String rule, long startNanos, long characters, RequestResult result) {
     long delta = System.nanoTime() - startNanos;
     requestLatency.labels(rule, result.name().toLowerCase()).observe((double) delta / 1e9);
@@ -94,6 +115,14 @@ public final class RemoteRuleMetrics {
     wait.labels(langCode).observe(milliseconds / 1000.0);
   }
 
+  static void batch(String rule, int sentences) {
+    batchSize.labels(rule).observe(sentences);
+  }
+
+  static void batchWait(String rule, long nanos) {
+    batchWait.labels(rule).observe(nanos / 1e9);
+  }
+
   @ApiStatus.Internal
   @Nullable
   public static <T> T inCircuitBreaker(long deadlineStartNanos, CircuitBreaker circuitBreaker, String ruleKey, long chars, Callable<T> fetchResults) throws InterruptedException {
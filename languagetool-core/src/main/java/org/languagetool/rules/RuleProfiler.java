@@ -0,0 +1,218 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules;
+
+import org.languagetool.rules.patterns.RuleSet;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures how much time is spent in each rule while checking text, so that slow rules
+ * can be found on real input. Profiling is off by default, it can be enabled with
+ * {@link #setSampleRate(int)} or with the system property {@code ruleProfiling}, e.g.
+ * {@code -DruleProfiling=100} to measure one of every 100 rule invocations.
+ * When disabled, the overhead per rule invocation is a single volatile read.
+ * @since 5.9
+ */
+public final class RuleProfiler {
+
+  /** Returned by {@link #start()} if the current invocation is not measured. */
+  public static final long NOT_SAMPLED = -1;
+
+  // one bucket per power of two nanoseconds:
+  private static final int BUCKETS = 64;
+
+  private static final Map<String, RuleStats> stats = new ConcurrentHashMap<>();
+  private static final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+  private static volatile int sampleRate = Integer.getInteger("ruleProfiling", 0);
+
+  private RuleProfiler() {
+  }
+
+  /**
+   * Gets notified about every measured rule invocation.
+   */
+  public interface Listener {
+    void ruleChecked(Rule rule, long nanos, int matchCount);
+  }
+
+  /**
+   * @param sampleRate measure one of every {@code sampleRate} rule invocations, {@code 1} measures
+   *                   all invocations, {@code 0} disables profiling
+   */
+  public static void setSampleRate(int sampleRate) {
+    if (sampleRate < 0) {
+      throw new IllegalArgumentException("sampleRate must be >= 0: " + sampleRate);
+    }
+    RuleProfiler.sampleRate = sampleRate;
+  }
+
+  public static int getSampleRate() {
+    return sampleRate;
+  }
+
+  public static boolean isEnabled() {
+    return sampleRate > 0;
+  }
+
+  public static void addListener(Listener listener) {
+    listeners.add(Objects.requireNonNull(listener));
+  }
+
+  public static void removeListener(Listener listener) {
+    listeners.remove(listener);
+  }
+
+  /**
+   * Call before running a rule and pass the result to {@link #stop(Rule, long, int)} afterwards.
+   * @return the start time, or {@link #NOT_SAMPLED}
+   */
+  public static long start() {
+    int rate = sampleRate;
+    if (rate <= 0 || rate > 1 && ThreadLocalRandom.current().nextInt(rate) != 0) {
+      return NOT_SAMPLED;
+    }
+    return System.nanoTime();
+  }
+
+  /**
+   * @param startNanos the result of {@link #start()}
+   * @param matchCount the number of matches the rule has found
+   */
+  public static void stop(Rule rule, long startNanos, int matchCount) {
+    if (startNanos == NOT_SAMPLED) {
+      return;
+    }
+    long nanos = System.nanoTime() - startNanos;
+    stats.computeIfAbsent(rule.getFullId(), RuleStats::new).add(nanos, matchCount);
+    for (Listener listener : listeners) {
+      listener.ruleChecked(rule, nanos, matchCount);
+    }
+  }
+
+  /**
+   * @return the statistics of all measured rules, the rules that took the most time first
+   */
+  public static List<RuleStats> getStats() {
+    List<RuleStats> result = new ArrayList<>(stats.values());
+    result.sort(Comparator.comparingLong(RuleStats::getTotalNanos).reversed());
+    return result;
+  }
+
+  public static void reset() {
+    stats.clear();
+  }
+
+  /**
+   * @param maxRules the maximum number of rules to list, the rules that took the most time first
+   * @return a plain text table of the rules that took the most time
+   */
+  public static String getReport(int maxRules) {
+    List<RuleStats> ruleStats = getStats();
+    StringBuilder sb = new StringBuilder();
+    sb.append(String.format(Locale.ENGLISH, "Rule profile (sample rate: 1/%d, %d rules measured)%n", sampleRate, ruleStats.size()));
+    sb.append(String.format(Locale.ENGLISH, "%-50s%12s%12s%10s%10s%10s%10s%n",
+      "Rule ID", "Invocations", "Total ms", "Avg ms", "p50 ms", "p99 ms", "Matches"));
+    for (RuleStats s : ruleStats.subList(0, Math.min(maxRules, ruleStats.size()))) {
+      sb.append(String.format(Locale.ENGLISH, "%-50s%12d%12.1f%10.3f%10.3f%10.3f%10d%n",
+        s.getRuleId(), s.getInvocations(), s.getTotalNanos() / 1_000_000.0, s.getAverageNanos() / 1_000_000.0,
+        s.getPercentileNanos(0.5) / 1_000_000.0, s.getPercentileNanos(0.99) / 1_000_000.0, s.getMatches()));
+    }
+    long sentences = RuleSet.getHintedSentenceCount();
+    if (sentences > 0) {
+      sb.append(String.format(Locale.ENGLISH, "Rules skipped per sentence because of missing tokens, lemmas or POS tags: %.1f of %.1f (%d sentences)%n",
+        (double) RuleSet.getSkippedRuleCount() / sentences, (double) RuleSet.getHintedRuleCount() / sentences, sentences));
+    }
+    return sb.toString();
+  }
+
+  /**
+   * The measurements of one rule (as identified by {@link Rule#getFullId()}).
+   */
+  public static final class RuleStats {
+
+    private final String ruleId;
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder matches = new LongAdder();
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+    private RuleStats(String ruleId) {
+      this.ruleId = ruleId;
+    }
+
+    private void add(long nanos, int matchCount) {
+      invocations.increment();
+      totalNanos.add(nanos);
+      matches.add(matchCount);
+      histogram.incrementAndGet(Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(Math.max(0, nanos))));
+    }
+
+    public String getRuleId() {
+      return ruleId;
+    }
+
+    /** The number of measured invocations. */
+    public long getInvocations() {
+      return invocations.sum();
+    }
+
+    public long getTotalNanos() {
+      return totalNanos.sum();
+    }
+
+    public long getMatches() {
+      return matches.sum();
+    }
+
+    public double getAverageNanos() {
+      long count = getInvocations();
+      return count == 0 ? 0 : (double) getTotalNanos() / count;
+    }
+
+    /**
+     * @param percentile a value between 0 and 1, e.g. {@code 0.99}
+     * @return an upper bound for the given percentile of the time per invocation, which is at most
+     *   twice the exact value, as invocations are only counted per power of two nanoseconds
+     */
+    public long getPercentileNanos(double percentile) {
+      long[] counts = new long[BUCKETS];
+      long total = 0;
+      for (int i = 0; i < BUCKETS; i++) {
+        counts[i] = histogram.get(i);
+        total += counts[i];
+      }
+      long threshold = (long) Math.ceil(total * percentile);
+      long sum = 0;
+      for (int i = 0; i < BUCKETS; i++) {
+        sum += counts[i];
+        if (sum >= threshold && sum > 0) {
+          return i == 0 ? 0 : 1L << Math.min(i, 62);
+        }
+      }
+      return 0;
+    }
+  }
+}
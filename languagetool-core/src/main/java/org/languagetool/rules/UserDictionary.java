@@ -0,0 +1,384 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.hankcs.algorithm.AhoCorasickDoubleArrayTrie;
+import org.apache.commons.text.similarity.LevenshteinDistance;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+import org.languagetool.tools.StringTools;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The words and phrases of a user's personal dictionary as an immutable, sorted array, so it needs
+ * little memory and can be shared: {@link #of(List)} returns the same instance for the same words,
+ * no matter how many requests or users use them. Identified by a {@link #getVersion() version} that
+ * changes whenever the words change, so it can be applied to the matches of rules that are shared
+ * by all users (see {@link DictionarySpellMatchFilter#DictionarySpellMatchFilter(UserDictionary)})
+ * instead of creating the rules for each dictionary.
+ * <p>
+ * Words can be added and removed with {@link #withAdded(Collection)} and {@link #withRemoved(Collection)}
+ * without copying the sorted array: the result shares it and keeps the changes in a small delta instead,
+ * until {@link #compact()} merges them. As all instances are immutable, a check that uses one
+ * isn't affected by later changes.
+ * @since 5.9
+ */
+public final class UserDictionary {
+
+  public static final UserDictionary EMPTY = new UserDictionary(Collections.emptyList(), Hashing.murmur3_128().newHasher().hash());
+
+  private static final Cache<HashCode, UserDictionary> dictionaries = CacheBuilder.newBuilder()
+    .maximumWeight(Long.getLong("userDictionaryCacheWords", 2_000_000))
+    .weigher((HashCode k, UserDictionary v) -> v.size() + 1)
+    .expireAfterAccess(10, TimeUnit.MINUTES)
+    .recordStats()
+    .build();
+
+  // the dictionary of the check running in the current thread, see getCurrent():
+  private static final ThreadLocal<UserDictionary> current = new ThreadLocal<>();
+
+  // the base: sorted, without duplicates
+  private final String[] entries;
+  // the delta: words not in entries, and words of entries that have been removed
+  private final Set<String> added;
+  private final Set<String> removed;
+  private final Set<String> basePhrases;
+  private final Set<String> phrases;
+  private final HashCode fingerprint;
+  private volatile AhoCorasickDoubleArrayTrie<String> phraseSearcher;
+  private volatile List<String> words;
+  private volatile List<String> wordsIgnoreCase;
+
+  private UserDictionary(List<String> words, HashCode fingerprint) {
+    this(words.stream().distinct().sorted().toArray(String[]::new), fingerprint);
+  }
+
+  private UserDictionary(String[] entries, HashCode fingerprint) {
+    this.entries = entries;
+    this.added = Collections.emptySet();
+    this.removed = Collections.emptySet();
+    this.fingerprint = fingerprint;
+    Set<String> phrases = new HashSet<>();
+    for (String entry : entries) {
+      if (entry.contains(" ")) {
+        phrases.add(entry);
+      }
+    }
+    this.basePhrases = Collections.unmodifiableSet(phrases);
+    this.phrases = basePhrases;
+  }
+
+  private UserDictionary(UserDictionary base, Set<String> added, Set<String> removed, HashCode fingerprint) {
+    this.entries = base.entries;
+    this.basePhrases = base.basePhrases;
+    this.added = added;
+    this.removed = removed;
+    this.fingerprint = fingerprint;
+    Set<String> phrases = new HashSet<>(basePhrases);
+    phrases.removeAll(removed);
+    for (String entry : added) {
+      if (entry.contains(" ")) {
+        phrases.add(entry);
+      }
+    }
+    this.phrases = Collections.unmodifiableSet(phrases);
+  }
+
+  /**
+   * @param words words and phrases (words with spaces) the user wants to have accepted
+   */
+  public static UserDictionary of(List<String> words) {
+    if (words.isEmpty()) {
+      return EMPTY;
+    }
+    Hasher hasher = Hashing.murmur3_128().newHasher();
+    for (String word : words) {
+      hasher.putString(word, StandardCharsets.UTF_8).putByte((byte) 0);
+    }
+    HashCode fingerprint = hasher.hash();
+    try {
+      return dictionaries.get(fingerprint, () -> new UserDictionary(words, fingerprint));
+    } catch (ExecutionException e) {
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  /**
+   * The dictionary of the check that is running in this thread, for spelling rules that can't have been
+   * created with its words because they are shared by users with different dictionaries
+   * (see {@link org.languagetool.JLanguageTool#setUserDictionary(UserDictionary)}).
+   * @return the dictionary, or {@link #EMPTY} if there's none
+   */
+  public static UserDictionary getCurrent() {
+    UserDictionary result = current.get();
+    return result != null ? result : EMPTY;
+  }
+
+  /**
+   * Set the dictionary that {@link #getCurrent()} returns in this thread.
+   * @return the previous dictionary, to restore it when the check is done
+   */
+  @ApiStatus.Internal
+  @Nullable
+  public static UserDictionary setCurrent(@Nullable UserDictionary dictionary) {
+    UserDictionary previous = current.get();
+    if (dictionary == null) {
+      current.remove();
+    } else {
+      current.set(dictionary);
+    }
+    return previous;
+  }
+
+  /**
+   * The cache that makes {@link #of(List)} return the same instance for the same words, for monitoring.
+   * Its size is limited by the total number of words, set with the system property {@code userDictionaryCacheWords}.
+   */
+  public static Cache<HashCode, UserDictionary> getCache() {
+    return dictionaries;
+  }
+
+  /**
+   * A value that changes whenever the words of the dictionary change.
+   */
+  public long getVersion() {
+    return fingerprint.asLong();
+  }
+
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * @return the number of distinct words and phrases
+   */
+  public int size() {
+    return entries.length + added.size() - removed.size();
+  }
+
+  /**
+   * @return the number of words added or removed since the dictionary has been {@link #compact() compacted}
+   */
+  public int getDeltaSize() {
+    return added.size() + removed.size();
+  }
+
+  /**
+   * @return the words and phrases, sorted
+   */
+  public List<String> getWords() {
+    List<String> result = words;
+    if (result == null) {
+      if (getDeltaSize() == 0) {
+        result = Collections.unmodifiableList(Arrays.asList(entries));
+      } else {
+        result = Collections.unmodifiableList(Arrays.asList(mergedEntries()));
+      }
+      words = result;
+    }
+    return result;
+  }
+
+  /**
+   * @return the words and phrases, sorted with {@link String#CASE_INSENSITIVE_ORDER}
+   */
+  public List<String> getWordsIgnoreCase() {
+    List<String> result = wordsIgnoreCase;
+    if (result == null) {
+      String[] sorted = getWords().toArray(new String[0]);
+      Arrays.sort(sorted, String.CASE_INSENSITIVE_ORDER);
+      result = Collections.unmodifiableList(Arrays.asList(sorted));
+      wordsIgnoreCase = result;
+    }
+    return result;
+  }
+
+  public Set<String> getPhrases() {
+    return phrases;
+  }
+
+  /**
+   * @return true if the word or phrase is in the dictionary, with exactly this spelling
+   */
+  public boolean contains(String word) {
+    if (added.contains(word)) {
+      return true;
+    }
+    return !removed.contains(word) && Arrays.binarySearch(entries, word) >= 0;
+  }
+
+  /**
+   * Like {@link #contains(String)}, but also accepts the uppercase variants of a word, like the
+   * spellers do, i.e. {@code Word} and {@code WORD} for {@code word}, and {@code WORD} for {@code Word}.
+   */
+  public boolean accepts(String word) {
+    if (contains(word)) {
+      return true;
+    }
+    if (StringTools.isCapitalizedWord(word)) {
+      return contains(StringTools.lowercaseFirstChar(word));
+    }
+    if (word.length() > 1 && StringTools.isAllUppercase(word)) {
+      String lowercase = word.toLowerCase(Locale.ROOT);
+      return contains(lowercase) || contains(StringTools.uppercaseFirstChar(lowercase));
+    }
+    return false;
+  }
+
+  /**
+   * @return the words (not phrases) with the given maximum Levenshtein distance to {@code word},
+   *   the most similar words first
+   */
+  public List<String> getSimilarWords(String word, int maxDistance) {
+    LevenshteinDistance distance = new LevenshteinDistance(maxDistance);
+    List<String> result = new ArrayList<>();
+    List<Integer> distances = new ArrayList<>();
+    for (String entry : entries) {
+      if (!removed.contains(entry)) {
+        addIfSimilar(word, entry, maxDistance, distance, result, distances);
+      }
+    }
+    for (String entry : added) {
+      addIfSimilar(word, entry, maxDistance, distance, result, distances);
+    }
+    return result;
+  }
+
+  private static void addIfSimilar(String word, String entry, int maxDistance, LevenshteinDistance distance,
+                                   List<String> result, List<Integer> distances) {
+    if (Math.abs(entry.length() - word.length()) > maxDistance || entry.contains(" ") || entry.equals(word)) {
+      return;
+    }
+    int d = distance.apply(word, entry);
+    if (d >= 0) {
+      int pos = 0;
+      while (pos < distances.size() && distances.get(pos) <= d) {
+        pos++;
+      }
+      result.add(pos, entry);
+      distances.add(pos, d);
+    }
+  }
+
+  /**
+   * A dictionary with the given words added. It shares the sorted words with this dictionary, so it only
+   * takes time proportional to the number of changes since the last {@link #compact()}.
+   */
+  public UserDictionary withAdded(Collection<String> words) {
+    Set<String> newAdded = new HashSet<>(added);
+    Set<String> newRemoved = new HashSet<>(removed);
+    Hasher hasher = Hashing.murmur3_128().newHasher().putBytes(fingerprint.asBytes()).putByte((byte) '+');
+    boolean changed = false;
+    for (String word : words) {
+      if (!contains(word) && !newAdded.contains(word)) {
+        if (!newRemoved.remove(word)) {
+          newAdded.add(word);
+        }
+        hasher.putString(word, StandardCharsets.UTF_8).putByte((byte) 0);
+        changed = true;
+      }
+    }
+    return changed ? new UserDictionary(this, newAdded, newRemoved, hasher.hash()) : this;
+  }
+
+  /**
+   * A dictionary without the given words, see {@link #withAdded(Collection)}.
+   */
+  public UserDictionary withRemoved(Collection<String> words) {
+    Set<String> newAdded = new HashSet<>(added);
+    Set<String> newRemoved = new HashSet<>(removed);
+    Hasher hasher = Hashing.murmur3_128().newHasher().putBytes(fingerprint.asBytes()).putByte((byte) '-');
+    boolean changed = false;
+    for (String word : words) {
+      if (contains(word) && !newRemoved.contains(word)) {
+        if (!newAdded.remove(word)) {
+          newRemoved.add(word);
+        }
+        hasher.putString(word, StandardCharsets.UTF_8).putByte((byte) 0);
+        changed = true;
+      }
+    }
+    return changed ? new UserDictionary(this, newAdded, newRemoved, hasher.hash()) : this;
+  }
+
+  /**
+   * A dictionary with the same words and version, but with the changes since the last compaction
+   * merged into the sorted words. Takes time proportional to the size of the dictionary, so
+   * this is best done in the background.
+   */
+  public UserDictionary compact() {
+    if (getDeltaSize() == 0) {
+      return this;
+    }
+    return new UserDictionary(mergedEntries(), fingerprint);
+  }
+
+  private String[] mergedEntries() {
+    String[] sortedAdded = added.stream().sorted().toArray(String[]::new);
+    String[] result = new String[size()];
+    int i = 0, j = 0, k = 0;
+    while (i < entries.length || j < sortedAdded.length) {
+      if (j == sortedAdded.length || i < entries.length && entries[i].compareTo(sortedAdded[j]) < 0) {
+        if (!removed.contains(entries[i])) {
+          result[k++] = entries[i];
+        }
+        i++;
+      } else {
+        result[k++] = sortedAdded[j++];
+      }
+    }
+    return result;
+  }
+
+  /**
+   * A searcher for all phrases of this dictionary, built on first use.
+   */
+  AhoCorasickDoubleArrayTrie<String> getPhraseSearcher() {
+    AhoCorasickDoubleArrayTrie<String> searcher = phraseSearcher;
+    if (searcher == null) {
+      synchronized (this) {
+        searcher = phraseSearcher;
+        if (searcher == null) {
+          searcher = new AhoCorasickDoubleArrayTrie<>();
+          Map<String, String> map = new HashMap<>();
+          for (String phrase : phrases) {
+            map.put(phrase, phrase);
+          }
+          searcher.build(map);
+          phraseSearcher = searcher;
+        }
+      }
+    }
+    return searcher;
+  }
+
+  @Override
+  public String toString() {
+    return "UserDictionary{size=" + size() + ", delta=" + getDeltaSize() + ", version=" + Long.toHexString(getVersion()) + '}';
+  }
+}
@@ -76,12 +76,29 @@ public abstract class AbstractPatternRulePerformer {
         }
       }
     } else {
-      for (int i = 0; i < limit; i++) {
-        matchFrom(i, tokens, consumer, tokenPositions);
+      BitSet startPositions = useStartTokenIndex() && limit > 1
+        ? StartTokenIndex.getStartPositions(sentence, isInterpretPosTagsPreDisambiguation(), tokens, patternTokenMatchers.get(0).getPatternToken())
+        : null;
+      if (startPositions != null) {
+        for (int i = startPositions.nextSetBit(0); i >= 0 && i < limit; i = startPositions.nextSetBit(i + 1)) {
+          matchFrom(i, tokens, consumer, tokenPositions);
+        }
+      } else {
+        for (int i = 0; i < limit; i++) {
+          matchFrom(i, tokens, consumer, tokenPositions);
+        }
       }
     }
   }
 
+  /**
+   * Whether the start positions of a match may be looked up in the {@link StartTokenIndex}, which
+   * requires that the tokens are not modified while matching.
+   */
+  protected boolean useStartTokenIndex() {
+    return false;
+  }
+
   private void matchFrom(int startIndex, AnalyzedTokenReadings[] tokens, MatchConsumer consumer, int[] tokenPositions) throws IOException {
     PatternTokenMatcher pTokenMatcher = null;
     int skipShiftTotal = 0;
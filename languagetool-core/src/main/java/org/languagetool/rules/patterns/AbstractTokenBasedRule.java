@@ -39,11 +39,16 @@ public abstract class AbstractTokenBasedRule extends AbstractPatternRule {
   @Nullable
   final TokenHint anchorHint;
 
+  // POS tags (or patterns) that some token in a sentence must have for this rule to match
+  @Nullable
+  final PatternToken.PosToken[] posHints;
+
   protected AbstractTokenBasedRule(String id, String description, Language language, List<PatternToken> patternTokens, boolean getUnified) {
     super(id, description, language, patternTokens, getUnified);
 
     Set<TokenHint> tokenHints = new HashSet<>();
     TokenHint anchorHint = null;
+    Set<PatternToken.PosToken> posHints = new LinkedHashSet<>();
 
     boolean fixedOffset = true;
     for (int i = 0; i < patternTokens.size(); i++) {
@@ -63,6 +68,11 @@ public abstract class AbstractTokenBasedRule extends AbstractPatternRule {
         }
       }
 
+      PatternToken.PosToken posHint = token.calcPosHint();
+      if (posHint != null) {
+        posHints.add(posHint);
+      }
+
       if (fixedOffset && (token.getMinOccurrence() != 1 || token.getSkipNext() != 0 || token.getMaxOccurrence() != 1)) {
         fixedOffset = false;
       }
@@ -74,6 +84,7 @@ public abstract class AbstractTokenBasedRule extends AbstractPatternRule {
         .thenComparing(th -> -Arrays.stream(th.lowerCaseValues).mapToInt(String::length).min().orElse(0))
       ).toArray(TokenHint[]::new);
     this.anchorHint = anchorHint;
+    this.posHints = posHints.isEmpty() ? null : posHints.toArray(new PatternToken.PosToken[0]);
   }
 
   /**
@@ -144,7 +155,7 @@ public abstract class AbstractTokenBasedRule extends AbstractPatternRule {
       return needMerge ? new ArrayList<>(new TreeSet<>(result)) : result;
     }
 
-    private boolean canBeIgnoredFor(AnalyzedSentence sentence) {
+    boolean canBeIgnoredFor(AnalyzedSentence sentence) {
       for (String hint : lowerCaseValues) {
         if (getHintIndices(sentence, hint) != null) {
           return false;
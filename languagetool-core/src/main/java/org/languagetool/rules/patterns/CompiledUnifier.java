@@ -0,0 +1,411 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.patterns;
+
+import org.jetbrains.annotations.Nullable;
+import org.languagetool.AnalyzedToken;
+import org.languagetool.AnalyzedTokenReadings;
+
+import java.util.*;
+
+/**
+ * A {@link Unifier} that runs the same algorithm, but instead of a {@code Map<String, Set<String>>}
+ * from features to their matched equivalence types, each reading gets two {@code long}s: one bit per
+ * feature and one bit per equivalence type, as numbered by {@link UnifierConfiguration}. Keeping only
+ * the types that the next token shares is then a bitwise AND instead of {@code Set.retainAll()}, and
+ * no maps and sets are created per reading. The {@code uFeatures} of a pattern token are resolved to
+ * bits and {@link PatternToken}s only once, see {@link UnifierConfiguration#getCompiledFeatures(Map)}.
+ * <p>
+ * Used when the configuration has at most 64 features and 64 equivalence types, which is the case
+ * for all languages (the maximum is below 30 types).
+ * @since 5.9
+ */
+final class CompiledUnifier extends Unifier {
+
+  private final UnifierConfiguration config;
+
+  private final List<AnalyzedTokenReadings> tokSequence = new ArrayList<>();
+
+  // the equivalences per reading, same structure as in Unifier:
+  private final List<List<Equivalences>> tokSequenceEquivalences = new ArrayList<>();
+  private final List<Equivalences> equivalencesMatched = new ArrayList<>();
+
+  private boolean allFeatsIn;
+  private int tokCnt;
+  private int readingsCounter;
+
+  // equivalences to be kept after the current token has been analyzed:
+  private long featuresToBeKept;
+  private long typesToBeKept;
+
+  private CompiledFeatures unificationFeats;
+
+  // the uFeatures of the pattern tokens that use this unifier:
+  private final Map<Map<String, List<String>>, CompiledFeatures> compiledFeatures = new IdentityHashMap<>();
+
+  private boolean inUnification;
+  private boolean uniMatched;
+  private boolean uniAllMatched;
+
+  CompiledUnifier(UnifierConfiguration config) {
+    super(config.getEquivalenceTypes(), config.getEquivalenceFeatures());
+    this.config = config;
+    readingsCounter = 1;
+  }
+
+  private CompiledFeatures compile(Map<String, List<String>> uFeatures) {
+    CompiledFeatures result = compiledFeatures.get(uFeatures);
+    if (result == null || !result.isUpToDate(uFeatures, config.getVersion())) {
+      result = config.getCompiledFeatures(uFeatures);
+      compiledFeatures.put(uFeatures, result);
+    }
+    return result;
+  }
+
+  @Override
+  protected boolean isSatisfied(AnalyzedToken aToken, Map<String, List<String>> uFeatures) {
+    if (allFeatsIn && equivalencesMatched.isEmpty()) {
+      return false;
+    }
+    if (uFeatures == null) {
+      throw new RuntimeException("isSatisfied called without features being set");
+    }
+    CompiledFeatures feats = compile(uFeatures);
+    unificationFeats = feats;
+
+    boolean unified = true;
+    if (allFeatsIn) {
+      unified = checkNext(aToken, feats);
+    } else {
+      while (equivalencesMatched.size() <= tokCnt) {
+        equivalencesMatched.add(new Equivalences());
+      }
+      Equivalences matched = equivalencesMatched.get(tokCnt);
+      for (int k = 0; k < feats.size; k++) {
+        long[] typeBits = feats.typeBits[k];
+        for (int t = 0; t < typeBits.length; t++) {
+          PatternToken testElem = feats.typeTokens[k][t];
+          if (testElem == null) {
+            return false;
+          }
+          if (testElem.isMatched(aToken)) {
+            matched.features |= feats.featureBits[k];
+            matched.types |= typeBits[t];
+          }
+        }
+        unified = (matched.features & feats.featureBits[k]) != 0;
+        if (!unified) {
+          equivalencesMatched.remove(tokCnt);
+          break;
+        }
+      }
+      if (unified) {
+        if (tokCnt == 0 || tokSequence.isEmpty()) {
+          tokSequence.add(new AnalyzedTokenReadings(aToken, 0));
+          List<Equivalences> equivList = new ArrayList<>();
+          equivList.add(equivalencesMatched.get(tokCnt));
+          tokSequenceEquivalences.add(equivList);
+        } else {
+          tokSequence.get(0).addReading(aToken, "");
+          tokSequenceEquivalences.get(0).add(equivalencesMatched.get(tokCnt));
+        }
+        tokCnt++;
+      }
+    }
+    return unified;
+  }
+
+  private boolean checkNext(AnalyzedToken aToken, CompiledFeatures feats) {
+    boolean anyFeatUnified = false;
+    Equivalences equivalencesMatchedHere = new Equivalences();
+    for (int i = 0; i < tokCnt; i++) {
+      long matchedTypes = equivalencesMatched.get(i).types;
+      boolean allFeatsUnified = true;
+      for (int k = 0; k < feats.size; k++) {
+        boolean featUnified = false;
+        long[] typeBits = feats.typeBits[k];
+        for (int t = 0; t < typeBits.length; t++) {
+          if ((matchedTypes & typeBits[t]) != 0) {
+            boolean matched = feats.typeTokens[k][t].isMatched(aToken);
+            featUnified = featUnified || matched;
+            if (matched) {
+              featuresToBeKept |= feats.featureBits[k];
+              typesToBeKept |= typeBits[t];
+              equivalencesMatchedHere.features |= feats.featureBits[k];
+              equivalencesMatchedHere.types |= typeBits[t];
+            }
+          }
+        }
+        allFeatsUnified &= featUnified;
+      }
+      anyFeatUnified = anyFeatUnified || allFeatsUnified;
+    }
+    if (anyFeatUnified) {
+      if (tokSequence.size() == readingsCounter) {
+        tokSequence.add(new AnalyzedTokenReadings(aToken, 0));
+        List<Equivalences> equivList = new ArrayList<>();
+        equivList.add(equivalencesMatchedHere);
+        tokSequenceEquivalences.add(equivList);
+      } else if (readingsCounter < tokSequence.size()) {
+        tokSequence.get(readingsCounter).addReading(aToken, "");
+        tokSequenceEquivalences.get(readingsCounter).add(equivalencesMatchedHere);
+      } else {
+        anyFeatUnified = false;
+      }
+    }
+    return anyFeatUnified;
+  }
+
+  @Override
+  public void startNextToken() {
+    readingsCounter++;
+    for (List<Equivalences> equivList : tokSequenceEquivalences) {
+      for (Equivalences equivalences : equivList) {
+        // neutral elements have no bits set, so this doesn't affect them:
+        equivalences.features &= featuresToBeKept;
+        equivalences.types &= typesToBeKept;
+      }
+    }
+    featuresToBeKept = 0;
+    typesToBeKept = 0;
+  }
+
+  @Override
+  public void startUnify() {
+    allFeatsIn = true;
+  }
+
+  @Override
+  public boolean getFinalUnificationValue(Map<String, List<String>> uFeatures) {
+    CompiledFeatures feats = compile(uFeatures);
+    int tokUnified = 0;
+    for (int j = 0; j < tokSequence.size(); j++) {
+      boolean unifiedTokensFound = false; // assume that nothing has been found
+      List<Equivalences> equivList = tokSequenceEquivalences.get(j);
+      for (int i = 0; i < equivList.size(); i++) {
+        Equivalences equivalences = equivList.get(i);
+        if (equivalences.ignore) {
+          if (i == 0) {
+            tokUnified++;
+          }
+          unifiedTokensFound = true;
+          continue;
+        }
+        int featUnified = 0;
+        for (int k = 0; k < feats.size; k++) {
+          if (equivalences.hasEmptyFeature(feats, k)) {
+            featUnified = 0;
+          } else {
+            featUnified++;
+          }
+          if (featUnified == unificationFeats.size && tokUnified <= j) {
+            tokUnified++;
+            unifiedTokensFound = true;
+            break;
+          }
+        }
+      }
+      if (!unifiedTokensFound) {
+        return false;
+      }
+    }
+    return tokUnified == tokSequence.size();
+  }
+
+  @Override
+  public void reset() {
+    equivalencesMatched.clear();
+    allFeatsIn = false;
+    tokCnt = 0;
+    tokSequence.clear();
+    tokSequenceEquivalences.clear();
+    readingsCounter = 1;
+    uniMatched = false;
+    uniAllMatched = false;
+    inUnification = false;
+  }
+
+  @Nullable
+  @Override
+  public AnalyzedTokenReadings[] getUnifiedTokens() {
+    if (tokSequence.isEmpty()) {
+      return null;
+    }
+    List<AnalyzedTokenReadings> uTokens = new ArrayList<>();
+    for (int j = 0; j < tokSequence.size(); j++) {
+      boolean unifiedTokensFound = false; // assume that nothing has been found
+      List<Equivalences> equivList = tokSequenceEquivalences.get(j);
+      for (int i = 0; i < equivList.size(); i++) {
+        Equivalences equivalences = equivList.get(i);
+        if (equivalences.ignore) {
+          addTokenToSequence(uTokens, tokSequence.get(j).getAnalyzedToken(i), j);
+          unifiedTokensFound = true;
+        } else {
+          int featUnified = 0;
+          for (int k = 0; k < unificationFeats.size; k++) {
+            if (equivalences.hasEmptyFeature(unificationFeats, k)) {
+              featUnified = 0;
+            } else {
+              featUnified++;
+            }
+            if (featUnified == unificationFeats.size) {
+              addTokenToSequence(uTokens, tokSequence.get(j).getAnalyzedToken(i), j);
+              unifiedTokensFound = true;
+            }
+          }
+        }
+      }
+      if (!unifiedTokensFound) {
+        return null;
+      }
+    }
+    return uTokens.toArray(new AnalyzedTokenReadings[0]);
+  }
+
+  private void addTokenToSequence(List<AnalyzedTokenReadings> tokenSequence, AnalyzedToken token, int pos) {
+    if (tokenSequence.size() <= pos || tokenSequence.isEmpty()) {
+      tokenSequence.add(new AnalyzedTokenReadings(token, 0));
+    } else {
+      tokenSequence.get(pos).addReading(token, "");
+    }
+  }
+
+  @Override
+  public boolean isUnified(AnalyzedToken matchToken, Map<String, List<String>> uFeatures, boolean lastReading, boolean isMatched) {
+    if (inUnification) {
+      if (isMatched) {
+        uniMatched |= isSatisfied(matchToken, uFeatures);
+      }
+      uniAllMatched = uniMatched;
+      if (lastReading) {
+        startNextToken();
+        uniMatched = false;
+      }
+      return uniAllMatched && getFinalUnificationValue(uFeatures);
+    } else {
+      if (isMatched) {
+        isSatisfied(matchToken, uFeatures);
+      }
+    }
+    if (lastReading) {
+      inUnification = true;
+      uniMatched = false;
+      startUnify();
+    }
+    return true;
+  }
+
+  @Override
+  public boolean isUnified(AnalyzedToken matchToken, Map<String, List<String>> uFeatures, boolean lastReading) {
+    return isUnified(matchToken, uFeatures, lastReading, true);
+  }
+
+  @Override
+  public void addNeutralElement(AnalyzedTokenReadings analyzedTokenReadings) {
+    tokSequence.add(analyzedTokenReadings);
+    List<Equivalences> tokEquivs = new ArrayList<>(analyzedTokenReadings.getReadingsLength());
+    Equivalences neutral = new Equivalences(true);
+    for (int i = 0; i < analyzedTokenReadings.getReadingsLength(); i++) {
+      tokEquivs.add(neutral);
+    }
+    tokSequenceEquivalences.add(tokEquivs);
+    readingsCounter++;
+  }
+
+  @Nullable
+  @Override
+  public AnalyzedTokenReadings[] getFinalUnified() {
+    if (inUnification) {
+      return getUnifiedTokens();
+    }
+    return null;
+  }
+
+  /**
+   * The matched equivalences of one reading. Like the maps in {@link Unifier}, one object
+   * can be shared by several lists, so that pruning it affects all of them.
+   */
+  private static final class Equivalences {
+    // the features that are present, i.e. the keys of the map:
+    long features;
+    // the equivalence types of all features, i.e. the union of the map's values:
+    long types;
+    // a neutral element, see addNeutralElement():
+    final boolean ignore;
+
+    Equivalences() {
+      this(false);
+    }
+
+    Equivalences(boolean ignore) {
+      this.ignore = ignore;
+    }
+
+    // same as 'set != null && set.isEmpty()' for the set of the k-th feature in Unifier:
+    boolean hasEmptyFeature(CompiledFeatures feats, int k) {
+      return (features & feats.featureBits[k]) != 0 && (types & feats.featureTypeMasks[k]) == 0;
+    }
+  }
+
+  /**
+   * The {@code uFeatures} of a pattern token with their bits and equivalence {@link PatternToken}s,
+   * in the iteration order of the map.
+   */
+  static final class CompiledFeatures {
+    // a copy of the uFeatures, as the map could be modified after compiling it:
+    private final int version;
+    private final String[] features;
+    private final List<?>[] featureTypes;
+
+    final int size;
+    final long[] featureBits;
+    // all types of a feature, to check whether a feature's set of types is empty:
+    final long[] featureTypeMasks;
+    // the types to be tested per feature, null if the feature is unknown (throws
+    // a NullPointerException like Unifier when the feature is actually tested):
+    final long[][] typeBits;
+    final PatternToken[][] typeTokens;
+
+    CompiledFeatures(int version, String[] features, List<?>[] featureTypes,
+                     long[] featureBits, long[] featureTypeMasks, long[][] typeBits, PatternToken[][] typeTokens) {
+      this.version = version;
+      this.features = features;
+      this.featureTypes = featureTypes;
+      this.size = featureBits.length;
+      this.featureBits = featureBits;
+      this.featureTypeMasks = featureTypeMasks;
+      this.typeBits = typeBits;
+      this.typeTokens = typeTokens;
+    }
+
+    boolean isUpToDate(Map<String, List<String>> uFeatures, int configVersion) {
+      if (version != configVersion || uFeatures.size() != size) {
+        return false;
+      }
+      int k = 0;
+      for (Map.Entry<String, List<String>> feat : uFeatures.entrySet()) {
+        if (!features[k].equals(feat.getKey()) || !Objects.equals(featureTypes[k], feat.getValue())) {
+          return false;
+        }
+        k++;
+      }
+      return true;
+    }
+  }
+}
@@ -52,6 +52,7 @@ final public class PatternRuleMatcher extends AbstractPatternRulePerformer imple
   private final boolean useList;
   //private final Integer slowMatchThreshold;
   private static final boolean monitorRules = System.getProperty("monitorActiveRules") != null;
+  private static final boolean useStartTokenIndex = System.getProperty("disableStartTokenIndex") == null;
 
   @ApiStatus.Internal
   public PatternRuleMatcher(AbstractTokenBasedRule rule, boolean useList) {
@@ -103,6 +104,11 @@ final public class PatternRuleMatcher extends AbstractPatternRulePerformer imple
     }
   }
 
+  @Override
+  protected boolean useStartTokenIndex() {
+    return useStartTokenIndex;
+  }
+
   @Override
   protected boolean testAllReadings(AnalyzedTokenReadings[] tokens, PatternTokenMatcher matcher, PatternTokenMatcher prevElement, int tokenNo, int firstMatchToken, int prevSkipNext) throws IOException {
     if (tokens[tokenNo].isImmunized()) return false;
@@ -287,6 +287,13 @@ public class PatternToken implements Cloneable {
     testString = !StringTools.isEmpty(matcher.pattern);
   }
 
+  /**
+   * @return an object that's equal for pattern tokens for which {@link #isMatched(AnalyzedToken)} gives the same results
+   */
+  StartTokenIndex.MatchKey getMatchKey() {
+    return new StartTokenIndex.MatchKey(testString ? textMatcher : null, posToken, inflected, negation, testWhitespace, whitespaceBefore);
+  }
+
   static String normalizeTextPattern(String token) {
     return token == null ? "" : StringTools.trimWhitespace(token);
   }
@@ -343,7 +350,7 @@ public class PatternToken implements Cloneable {
     if (tokenPos == null) {
       return false;
     }
-    return pos.posPattern != null ? pos.posPattern.matches(tokenPos) : pos.posTag.equals(tokenPos);
+    return pos.posPattern != null ? pos.matchesPattern(token, tokenPos) : pos.posTag.equals(tokenPos);
   }
 
   private String getTestToken(AnalyzedToken token) {
@@ -705,6 +712,20 @@ public class PatternToken implements Cloneable {
     return calcStringHints(true);
   }
 
+  /**
+   * @return the POS tag (pattern) that a token must have for this token pattern to accept it,
+   * or {@code null} if there's no such requirement. This is used internally for performance optimizations.
+   */
+  @Nullable
+  PosToken calcPosHint() {
+    PosToken pos = posToken;
+    if (pos == null || pos.posTag == null || pos.negation || pos.posUnknown || isReferenceElement() || mayBeOmitted ||
+        rareFields != null && rareFields.orGroupList != null) {
+      return null;
+    }
+    return pos;
+  }
+
   private Set<String> calcStringHints(boolean inflected) {
     Set<String> result = inflected != this.inflected ? null : calcOwnPossibleStringValues();
     if (result == null) return null;
@@ -778,11 +799,18 @@ public class PatternToken implements Cloneable {
 
   public static class PosToken {
 
+    // limits the memory used by matchResults to 4KB:
+    private static final int MAX_CACHED_POS_TAG_ID = 1 << 14;
+
     private final String posTag;
     private final boolean negation;
     private final StringMatcher posPattern;
     private final boolean posUnknown;
 
+    // results of posPattern per POS tag id (see PosTagIds), two bits per id: 'known' and 'matches'.
+    // Concurrent updates may get lost, but then the result is just computed again:
+    private volatile int[] matchResults = new int[0];
+
     public PosToken(String posTag, boolean regExp, boolean negation) {
       this(posTag, negation, regExp ? StringMatcher.regexp(posTag) : null);
     }
@@ -794,6 +822,43 @@ public class PatternToken implements Cloneable {
       posUnknown = posPattern != null ? posPattern.matches(UNKNOWN_TAG) : UNKNOWN_TAG.equals(posTag);
     }
 
+    private boolean matchesPattern(AnalyzedToken token, String tokenPos) {
+      int id = token.getPOSTagId();
+      if (id < 0 || id >= MAX_CACHED_POS_TAG_ID) {
+        return posPattern.matches(tokenPos);
+      }
+      int index = id >> 4;
+      int shift = (id & 15) << 1;
+      int[] results = matchResults;
+      if (index < results.length) {
+        int bits = results[index] >>> shift;
+        if ((bits & 1) != 0) {
+          return (bits & 2) != 0;
+        }
+      }
+      boolean matches = posPattern.matches(tokenPos);
+      if (index >= results.length) {
+        results = Arrays.copyOf(results, Math.max(index + 1, results.length * 2));
+        matchResults = results;
+      }
+      results[index] |= (matches ? 3 : 1) << shift;
+      return matches;
+    }
+
+    /**
+     * @param readings readings with a POS tag
+     * @return whether this POS tag (pattern) accepts any of the given readings
+     */
+    boolean matchesAny(List<AnalyzedToken> readings) {
+      for (AnalyzedToken reading : readings) {
+        String tokenPos = reading.getPOSTag();
+        if (posPattern != null ? matchesPattern(reading, tokenPos) : posTag.equals(tokenPos)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
     @Override
     public String toString() {
       return posTag;
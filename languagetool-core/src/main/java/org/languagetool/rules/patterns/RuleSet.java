@@ -18,23 +18,37 @@
  */
 package org.languagetool.rules.patterns;
 
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 import org.languagetool.AnalyzedSentence;
+import org.languagetool.AnalyzedToken;
+import org.languagetool.AnalyzedTokenReadings;
 import org.languagetool.rules.Rule;
 
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 /**
  * An object holding a set of rules with an optional possibility to fetch only the ones applicable for a given sentence
  * (via {@link #rulesForSentence}), to avoid even invoking the definitely inapplicable ones.
- * The filtering is based on cues provided by the rules, e.g. possible token strings or lemmas in pattern rules.
+ * The filtering is based on cues provided by the rules, e.g. possible token strings, lemmas or POS tags in pattern rules.
  *
  * @since 5.2
  */
 @ApiStatus.Internal
 public abstract class RuleSet {
+  // statistics of the textLemmaHinted rule sets:
+  private static final LongAdder hintedSentences = new LongAdder();
+  private static final LongAdder hintedRules = new LongAdder();
+  private static final LongAdder skippedRules = new LongAdder();
+
   private volatile Set<String> ruleIds;
+  private volatile Map<String, Rule> rulesByFullId;
+  private volatile String fingerprint;
 
   /**
    * @return all rules in this set, not filtered
@@ -58,6 +72,38 @@ public abstract class RuleSet {
     return result;
   }
 
+  /**
+   * @return the rule from {@link #allRules()} with the given {@link Rule#getFullId() full id}, or {@code null}
+   * @since 5.9
+   */
+  @Nullable
+  public Rule getRuleByFullId(String fullId) {
+    Map<String, Rule> result = rulesByFullId;
+    if (result == null) {
+      Map<String, Rule> map = new HashMap<>();
+      for (Rule rule : allRules()) {
+        map.putIfAbsent(rule.getFullId(), rule);
+      }
+      rulesByFullId = result = map;
+    }
+    return result.get(fullId);
+  }
+
+  /**
+   * @return a hash of the sorted full ids of {@link #allRules()} that only changes when rules are
+   * added, removed or renamed, so it can be stored with results that depend on this rule set
+   * @since 5.9
+   */
+  public String fingerprint() {
+    String result = fingerprint;
+    if (result == null) {
+      Hasher hasher = Hashing.murmur3_128().newHasher();
+      allRules().stream().map(Rule::getFullId).sorted().forEach(id -> hasher.putString(id, StandardCharsets.UTF_8).putByte((byte) 0));
+      fingerprint = result = hasher.hash().toString();
+    }
+    return result;
+  }
+
   /**
    * @return a simple RuleSet that returns all the rules from {@link #rulesForSentence}
    */
@@ -77,7 +123,7 @@ public abstract class RuleSet {
   }
 
   /**
-   * @return a RuleSet whose {@link #rulesForSentence} excludes rules requiring token texts or lemmas
+   * @return a RuleSet whose {@link #rulesForSentence} excludes rules requiring token texts, lemmas or POS tags
    * that don't occur in the given sentence
    */
   public static RuleSet textLemmaHinted(List<? extends Rule> rules) {
@@ -92,26 +138,64 @@ public abstract class RuleSet {
     return hinted(rules, false);
   }
 
+  /**
+   * @return the number of sentences for which rules have been selected by a {@link #textLemmaHinted} rule set
+   * @since 5.9
+   */
+  public static long getHintedSentenceCount() {
+    return hintedSentences.sum();
+  }
+
+  /**
+   * @return the number of rules that have been considered for the sentences counted by {@link #getHintedSentenceCount()}
+   * @since 5.9
+   */
+  public static long getHintedRuleCount() {
+    return hintedRules.sum();
+  }
+
+  /**
+   * @return the number of rules that have been skipped for the sentences counted by {@link #getHintedSentenceCount()}
+   * @since 5.9
+   */
+  public static long getSkippedRuleCount() {
+    return skippedRules.sum();
+  }
+
+  // Lemmas and POS tags change during disambiguation, so they're only used as hints with withLemmaHints,
+  // which is for rules that don't modify the sentence.
   private static RuleSet hinted(List<? extends Rule> rules, boolean withLemmaHints) {
     List<Rule> allRules = Collections.unmodifiableList(rules);
     Map<String, BitSet> byToken = new HashMap<>();
     Map<String, BitSet> byLemma = new HashMap<>();
+    Map<PatternToken.PosToken, BitSet> byPosTag = new HashMap<>();
     BitSet unclassified = new BitSet();
+    // rules that have more hints than the one they're classified by, and all their hints:
+    BitSet withMoreHints = new BitSet();
+    Map<Integer, AbstractTokenBasedRule.TokenHint[]> allTokenHints = new HashMap<>();
+    Map<Integer, PatternToken.PosToken[]> allPosHints = new HashMap<>();
     for (int i = 0; i < allRules.size(); i++) {
       Rule rule = allRules.get(i);
       boolean classified = false;
       if (rule instanceof AbstractTokenBasedRule) {
-        AbstractTokenBasedRule.TokenHint[] tokenHints = ((AbstractTokenBasedRule) rule).tokenHints;
-        AbstractTokenBasedRule.TokenHint firstHint =
-          tokenHints == null ? null :
-          withLemmaHints ? tokenHints[0] :
-          Arrays.stream(tokenHints).filter(th -> !th.inflected).findFirst().orElse(null);
-        if (firstHint != null) {
+        AbstractTokenBasedRule tokenBasedRule = (AbstractTokenBasedRule) rule;
+        AbstractTokenBasedRule.TokenHint[] tokenHints = getTokenHints(tokenBasedRule, withLemmaHints);
+        PatternToken.PosToken[] posHints = withLemmaHints ? getPosHints(tokenBasedRule) : new PatternToken.PosToken[0];
+        if (tokenHints.length > 0) {
           classified = true;
+          AbstractTokenBasedRule.TokenHint firstHint = tokenHints[0];
           Map<String, BitSet> map = firstHint.inflected ? byLemma : byToken;
           for (String hint : firstHint.lowerCaseValues) {
             map.computeIfAbsent(hint, __ -> new BitSet()).set(i);
           }
+        } else if (posHints.length > 0) {
+          classified = true;
+          byPosTag.computeIfAbsent(posHints[0], __ -> new BitSet()).set(i);
+        }
+        if (tokenHints.length + posHints.length > 1) {
+          withMoreHints.set(i);
+          allTokenHints.put(i, tokenHints);
+          allPosHints.put(i, posHints);
         }
       }
       if (!classified) {
@@ -142,11 +226,103 @@ public abstract class RuleSet {
             included.or(set);
           }
         }
-        return filterList(included, allRules);
+        PosTagSignature posTags = new PosTagSignature(sentence);
+        for (Map.Entry<PatternToken.PosToken, BitSet> entry : byPosTag.entrySet()) {
+          if (posTags.matches(entry.getKey())) {
+            included.or(entry.getValue());
+          }
+        }
+        for (int i = withMoreHints.nextSetBit(0); i >= 0; i = withMoreHints.nextSetBit(i + 1)) {
+          if (included.get(i) && !hasAllHints(sentence, posTags, allTokenHints.get(i), allPosHints.get(i))) {
+            included.clear(i);
+          }
+        }
+        List<Rule> result = filterList(included, allRules);
+        if (withLemmaHints) {
+          hintedSentences.increment();
+          hintedRules.add(allRules.size());
+          skippedRules.add(allRules.size() - result.size());
+        }
+        return result;
       }
     };
   }
 
+  private static AbstractTokenBasedRule.TokenHint[] getTokenHints(AbstractTokenBasedRule rule, boolean withLemmaHints) {
+    AbstractTokenBasedRule.TokenHint[] tokenHints = rule.tokenHints;
+    if (tokenHints == null) {
+      return new AbstractTokenBasedRule.TokenHint[0];
+    }
+    return withLemmaHints ? tokenHints : Arrays.stream(tokenHints).filter(th -> !th.inflected).toArray(AbstractTokenBasedRule.TokenHint[]::new);
+  }
+
+  private static PatternToken.PosToken[] getPosHints(AbstractTokenBasedRule rule) {
+    boolean preDisambiguation = rule instanceof PatternRule && ((PatternRule) rule).isInterpretPosTagsPreDisambiguation();
+    return rule.posHints == null || preDisambiguation ? new PatternToken.PosToken[0] : rule.posHints;
+  }
+
+  private static boolean hasAllHints(AnalyzedSentence sentence, PosTagSignature posTags,
+                                     AbstractTokenBasedRule.TokenHint[] tokenHints, PatternToken.PosToken[] posHints) {
+    for (AbstractTokenBasedRule.TokenHint tokenHint : tokenHints) {
+      if (tokenHint.canBeIgnoredFor(sentence)) {
+        return false;
+      }
+    }
+    for (PatternToken.PosToken posHint : posHints) {
+      if (!posTags.matches(posHint)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * The distinct POS tags of a sentence, with the results of matching them against POS tag patterns.
+   */
+  private static class PosTagSignature {
+    private final AnalyzedSentence sentence;
+    private List<AnalyzedToken> readings;  // one reading per distinct POS tag, computed lazily
+    private final Map<PatternToken.PosToken, Boolean> results = new HashMap<>();
+
+    PosTagSignature(AnalyzedSentence sentence) {
+      this.sentence = sentence;
+    }
+
+    boolean matches(PatternToken.PosToken posToken) {
+      Boolean result = results.get(posToken);
+      if (result == null) {
+        result = posToken.matchesAny(getReadings());
+        results.put(posToken, result);
+      }
+      return result;
+    }
+
+    private List<AnalyzedToken> getReadings() {
+      if (readings == null) {
+        readings = new ArrayList<>();
+        BitSet seenIds = new BitSet();
+        Set<String> seenTags = new HashSet<>();
+        for (AnalyzedTokenReadings token : sentence.getTokensWithoutWhitespace()) {
+          for (AnalyzedToken reading : token) {
+            String tag = reading.getPOSTag();
+            if (tag == null) {
+              continue;
+            }
+            int id = reading.getPOSTagId();
+            boolean isNew = id >= 0 ? !seenIds.get(id) : seenTags.add(tag);
+            if (isNew) {
+              if (id >= 0) {
+                seenIds.set(id);
+              }
+              readings.add(reading);
+            }
+          }
+        }
+      }
+      return readings;
+    }
+  }
+
   @ApiStatus.Internal
   public static <T> List<T> filterList(BitSet includedIndices, List<T> list) {
     List<T> result = new ArrayList<>();
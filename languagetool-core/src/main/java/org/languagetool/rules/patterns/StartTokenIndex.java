@@ -0,0 +1,135 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.patterns;
+
+import org.jetbrains.annotations.Nullable;
+import org.languagetool.AnalyzedSentence;
+import org.languagetool.AnalyzedTokenReadings;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The positions in a sentence where the first token of a pattern can match, shared by all rules
+ * whose first {@link PatternToken}s test the same (interned) text and POS tag matchers. This way the tokens
+ * of a sentence are tested once per distinct first pattern token instead of once per rule, and full
+ * matching is only started at the remaining positions. The positions are a superset of the positions
+ * where {@link AbstractPatternRulePerformer} can start a match, so the matches stay the same.
+ * <p>
+ * Rules are usually applied to one sentence after another in the same thread, so the positions
+ * are only remembered for the sentence that was seen last by the current thread.
+ * @since 5.9
+ */
+final class StartTokenIndex {
+
+  private static final ThreadLocal<StartTokenIndex> current = ThreadLocal.withInitial(StartTokenIndex::new);
+
+  private final Map<MatchKey, BitSet> startPositions = new HashMap<>();
+  private AnalyzedSentence sentence;
+  private boolean preDisambig;
+
+  private StartTokenIndex() {
+  }
+
+  /**
+   * @param tokens the non-blank tokens of {@code sentence} (or its pre-disambiguation tokens, if {@code preDisambig} is set)
+   * @return the positions in {@code tokens} where {@code patternToken} can match as the first token of a pattern,
+   *   or {@code null} if the pattern token is not suitable for this optimization
+   */
+  @Nullable
+  static BitSet getStartPositions(AnalyzedSentence sentence, boolean preDisambig, AnalyzedTokenReadings[] tokens, PatternToken patternToken) {
+    if (patternToken.getMinOccurrence() < 1 || patternToken.isReferenceElement()) {
+      return null;
+    }
+    StartTokenIndex index = current.get();
+    if (index.sentence != sentence || index.preDisambig != preDisambig) {
+      index.startPositions.clear();
+      index.sentence = sentence;
+      index.preDisambig = preDisambig;
+    }
+    return index.startPositions.computeIfAbsent(patternToken.getMatchKey(), k -> calcStartPositions(tokens, patternToken));
+  }
+
+  private static BitSet calcStartPositions(AnalyzedTokenReadings[] tokens, PatternToken patternToken) {
+    BitSet result = new BitSet(tokens.length);
+    for (int i = 0; i < tokens.length; i++) {
+      if (canMatch(tokens[i], patternToken)) {
+        result.set(i);
+      }
+    }
+    return result;
+  }
+
+  // same shortcuts as AbstractPatternRulePerformer.testAllReadings() for the first pattern token:
+  private static boolean canMatch(AnalyzedTokenReadings token, PatternToken patternToken) {
+    int numberOfReadings = token.getReadingsLength();
+    for (int i = 0; i < numberOfReadings; i++) {
+      if (patternToken.isMatched(token.getAnalyzedToken(i))) {
+        return true;
+      }
+      if (patternToken.getPOStag() == null) {
+        if (!patternToken.isInflected() || token.hasSameLemmas()) {
+          return false;
+        }
+      } else if (!patternToken.getPOSNegation() && !token.isTagged()) {
+        return false;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Everything that {@link PatternToken#isMatched} depends on. Matchers are compared by identity,
+   * so pattern tokens only share their results if their matchers have been interned when loading the rules.
+   */
+  static final class MatchKey {
+    private final StringMatcher textMatcher;
+    private final PatternToken.PosToken posToken;
+    private final boolean inflected;
+    private final boolean negation;
+    private final boolean testWhitespace;
+    private final boolean whitespaceBefore;
+
+    MatchKey(@Nullable StringMatcher textMatcher, @Nullable PatternToken.PosToken posToken, boolean inflected, boolean negation,
+             boolean testWhitespace, boolean whitespaceBefore) {
+      this.textMatcher = textMatcher;
+      this.posToken = posToken;
+      this.inflected = inflected;
+      this.negation = negation;
+      this.testWhitespace = testWhitespace;
+      this.whitespaceBefore = whitespaceBefore;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (!(o instanceof MatchKey)) return false;
+      MatchKey other = (MatchKey) o;
+      return textMatcher == other.textMatcher && posToken == other.posToken && inflected == other.inflected &&
+             negation == other.negation && testWhitespace == other.testWhitespace && whitespaceBefore == other.whitespaceBefore;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(System.identityHashCode(textMatcher), System.identityHashCode(posToken), inflected, negation, testWhitespace, whitespaceBefore);
+    }
+  }
+}
@@ -27,12 +27,14 @@ import java.util.*;
 
 /**
  * Implements unification of features over tokens.
+ * {@link UnifierConfiguration#createUnifier()} usually returns a {@code CompiledUnifier},
+ * which gives the same results but keeps the matched equivalences as bit masks.
  * 
  * @author Marcin Milkowski
  */
 public class Unifier {
 
-  private static final String UNIFY_IGNORE = "unify-ignore";
+  static final String UNIFY_IGNORE = "unify-ignore";
     
   private final List<AnalyzedTokenReadings> tokSequence = new ArrayList<>();
 
@@ -97,7 +99,7 @@ public class Unifier {
    * @param uFeatures features to be tested
    * @return true if the token shares this type of feature with other tokens
    */
-  protected final boolean isSatisfied(AnalyzedToken aToken,
+  protected boolean isSatisfied(AnalyzedToken aToken,
       Map<String, List<String>> uFeatures) {
 
     if (allFeatsIn && equivalencesMatched.isEmpty()) {
@@ -207,7 +209,7 @@ public class Unifier {
   /**
    * Call after every complete token (AnalyzedTokenReadings) checked.
    */
-  public final void startNextToken() {
+  public void startNextToken() {
     featuresFound = new ArrayList<>(tmpFeaturesFound);
     readingsCounter++;
     // Removes features
@@ -234,7 +236,7 @@ public class Unifier {
   /**
    * Starts testing only those equivalences that were previously matched.
    */
-  public final void startUnify() {
+  public void startUnify() {
     allFeatsIn = true;
     for (int i = 0; i < tokCnt; i++) {
       featuresFound.add(false);
@@ -248,7 +250,7 @@ public class Unifier {
    * @return True if the token sequence has been found.
    * @since 2.5
    */
-  public final boolean getFinalUnificationValue(Map<String, List<String>> uFeatures) {
+  public boolean getFinalUnificationValue(Map<String, List<String>> uFeatures) {
     int tokUnified = 0;
     for (int j = 0; j < tokSequence.size(); j++) {
       boolean unifiedTokensFound = false; // assume that nothing has been found
@@ -290,7 +292,7 @@ public class Unifier {
   /**
    * Resets after use of unification. Required.
    */
-  public final void reset() {
+  public void reset() {
     equivalencesMatched.clear();
     allFeatsIn = false;
     tokCnt = 0;
@@ -310,7 +312,7 @@ public class Unifier {
    *         defined for features tested, or {@code null}
    */
   @Nullable
-  public final AnalyzedTokenReadings[] getUnifiedTokens() {
+  public AnalyzedTokenReadings[] getUnifiedTokens() {
     if (tokSequence.isEmpty()) {
       return null;
     }
@@ -375,7 +377,7 @@ public class Unifier {
    *          otherwise the reading is not considered in the unification
    * @return true if the tokens in the sequence are unified
    */
-  public final boolean isUnified(AnalyzedToken matchToken,
+  public boolean isUnified(AnalyzedToken matchToken,
       Map<String, List<String>> uFeatures, boolean lastReading, boolean isMatched) {
     if (inUnification) {
       if (isMatched) {
@@ -401,7 +403,7 @@ public class Unifier {
     return true;
   }
 
-  public final boolean isUnified(AnalyzedToken matchToken,
+  public boolean isUnified(AnalyzedToken matchToken,
       Map<String, List<String>> uFeatures, boolean lastReading) {
     return this.isUnified(matchToken, uFeatures, lastReading, true);
   }
@@ -412,7 +414,7 @@ public class Unifier {
    * @param analyzedTokenReadings A neutral element to be added.
    * @since 2.5
    */
-  public final void addNeutralElement(AnalyzedTokenReadings analyzedTokenReadings) {
+  public void addNeutralElement(AnalyzedTokenReadings analyzedTokenReadings) {
     tokSequence.add(analyzedTokenReadings);
     List<Map<String, Set<String>>> tokEquivs = new ArrayList<>(analyzedTokenReadings.getReadingsLength());
     Map<String, Set<String>> map = new HashMap<>();
@@ -430,7 +432,7 @@ public class Unifier {
    * @return An array of {@link AnalyzedTokenReadings} or {@code null} when not in unification
    */
   @Nullable
-  public final AnalyzedTokenReadings[] getFinalUnified() {
+  public AnalyzedTokenReadings[] getFinalUnified() {
     if (inUnification) {
       return getUnifiedTokens();
     }
@@ -19,7 +19,9 @@
  */
 package org.languagetool.rules.patterns;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -30,6 +32,9 @@ import java.util.concurrent.CopyOnWriteArrayList;
  * @since 2.3
  */
 public class UnifierConfiguration {
+
+  private static final boolean useCompiledUnifier = System.getProperty("disableCompiledUnifier") == null;
+
   /**
    * A Map for storing the equivalence types for features. Features are
    * specified as Strings, and map into types defined as maps from Strings to
@@ -42,6 +47,15 @@ public class UnifierConfiguration {
    */
   private final Map<String, List<String>> equivalenceFeatures;
 
+  // bit positions of features and equivalence types for CompiledUnifier:
+  private final Map<String, Integer> featureBits = new ConcurrentHashMap<>();
+  private final Map<EquivalenceTypeLocator, Integer> typeBits = new ConcurrentHashMap<>();
+  private final Map<String, Long> featureTypeMasks = new ConcurrentHashMap<>();
+  // incremented on every change, so that CompiledUnifier can notice outdated compiled features:
+  private volatile int version;
+  // the uFeatures of the pattern tokens, compiled once for all unifiers (a unifier is created per rule match):
+  private final Map<Map<String, List<String>>, CompiledUnifier.CompiledFeatures> compiledFeatures = new ConcurrentHashMap<>();
+
   public UnifierConfiguration() {
     // workaround for issue #13
     equivalenceTypes = new ConcurrentHashMap<>();
@@ -57,8 +71,8 @@ public class UnifierConfiguration {
    * @param type Type of equivalence for the feature, for example plural, first person, genitive.
    * @param elem Element specifying the equivalence.
    */
-  public final void setEquivalence(String feature, String type,
-                                   PatternToken elem) {
+  public final synchronized void setEquivalence(String feature, String type,
+                                                PatternToken elem) {
 
     EquivalenceTypeLocator typeKey = new EquivalenceTypeLocator(feature, type);
     if (equivalenceTypes.containsKey(typeKey)) {
@@ -75,6 +89,19 @@ public class UnifierConfiguration {
       equivalenceFeatures.put(feature, lTypes);
     }
     lTypes.add(type);
+
+    Integer featureBit = featureBits.get(feature);
+    if (featureBit == null) {
+      featureBit = featureBits.size();
+      featureBits.put(feature, featureBit);
+    }
+    int typeBit = typeBits.size();
+    typeBits.put(typeKey, typeBit);
+    if (featureBit < Long.SIZE && typeBit < Long.SIZE) {
+      featureTypeMasks.merge(feature, 1L << typeBit, (a, b) -> a | b);
+    }
+    version++;
+    compiledFeatures.clear();
   }
 
   public Map<EquivalenceTypeLocator, PatternToken> getEquivalenceTypes() {
@@ -85,7 +112,83 @@ public class UnifierConfiguration {
     return Collections.unmodifiableMap(equivalenceFeatures);
   }
 
+  /**
+   * @return a {@link Unifier} that keeps the matched equivalences as bit masks if there are
+   *   not more than 64 features and 64 equivalence types (unless {@code -DdisableCompiledUnifier}
+   *   is set), a {@link Unifier} that keeps them in maps otherwise - both give the same results
+   */
   public Unifier createUnifier() {
+    if (useCompiledUnifier && isCompilable() && !equivalenceFeatures.containsKey(Unifier.UNIFY_IGNORE)) {
+      return new CompiledUnifier(this);
+    }
     return new Unifier(getEquivalenceTypes(), getEquivalenceFeatures());
   }
+
+  private boolean isCompilable() {
+    return featureBits.size() <= Long.SIZE && typeBits.size() <= Long.SIZE;
+  }
+
+  int getVersion() {
+    return version;
+  }
+
+  CompiledUnifier.CompiledFeatures getCompiledFeatures(Map<String, List<String>> uFeatures) {
+    int configVersion = version;
+    CompiledUnifier.CompiledFeatures result = compiledFeatures.get(uFeatures);
+    if (result == null || !result.isUpToDate(uFeatures, configVersion)) {
+      result = compileFeatures(uFeatures);
+      // copy the key, as the map could be modified later:
+      Map<String, List<String>> key = new HashMap<>();
+      for (Map.Entry<String, List<String>> feat : uFeatures.entrySet()) {
+        key.put(feat.getKey(), feat.getValue() == null ? null : new ArrayList<>(feat.getValue()));
+      }
+      compiledFeatures.put(key, result);
+    }
+    return result;
+  }
+
+  /**
+   * Resolves the features and equivalence types of a pattern token's {@code uFeatures} to their bits
+   * and {@link PatternToken}s, in the iteration order of the map.
+   */
+  private CompiledUnifier.CompiledFeatures compileFeatures(Map<String, List<String>> uFeatures) {
+    int configVersion = version;
+    if (!isCompilable()) {
+      throw new IllegalStateException("Too many features or equivalence types for CompiledUnifier: " +
+        featureBits.size() + " features, " + typeBits.size() + " types");
+    }
+    int size = uFeatures.size();
+    String[] features = new String[size];
+    List<?>[] featureTypes = new List<?>[size];
+    long[] fBits = new long[size];
+    long[] fTypeMasks = new long[size];
+    long[][] tBits = new long[size][];
+    PatternToken[][] tTokens = new PatternToken[size][];
+    int k = 0;
+    for (Map.Entry<String, List<String>> feat : uFeatures.entrySet()) {
+      String feature = feat.getKey();
+      features[k] = feature;
+      featureTypes[k] = feat.getValue() == null ? null : new ArrayList<>(feat.getValue());
+      List<String> types = feat.getValue();
+      if (types == null || types.isEmpty()) {
+        types = equivalenceFeatures.get(feature);
+      }
+      Integer featureBit = featureBits.get(feature);
+      fBits[k] = featureBit == null ? 0 : 1L << featureBit;
+      fTypeMasks[k] = featureTypeMasks.getOrDefault(feature, 0L);
+      // unknown features stay null, so that they fail like in Unifier when they are actually tested:
+      if (types != null) {
+        tBits[k] = new long[types.size()];
+        tTokens[k] = new PatternToken[types.size()];
+        for (int t = 0; t < types.size(); t++) {
+          EquivalenceTypeLocator typeKey = new EquivalenceTypeLocator(feature, types.get(t));
+          Integer typeBit = typeBits.get(typeKey);
+          tBits[k][t] = typeBit == null ? 0 : 1L << typeBit;
+          tTokens[k][t] = equivalenceTypes.get(typeKey);
+        }
+      }
+      k++;
+    }
+    return new CompiledUnifier.CompiledFeatures(configVersion, features, featureTypes, fBits, fTypeMasks, tBits, tTokens);
+  }
 }
@@ -316,7 +316,17 @@ public abstract class SpellingCheckRule extends Rule {
   }
 
   protected boolean isInIgnoredSet(String word) {
-    return wordsToBeIgnored.contains(word);
+    return wordsToBeIgnored.contains(word) || UserDictionary.getCurrent().contains(word);
+  }
+
+  /**
+   * Whether the word is in the dictionary of the user whose text is being checked, in case this rule
+   * has been created without the user's words (see {@link UserDictionary#getCurrent()}). Like the spellers,
+   * this also accepts the uppercase variants of the user's words.
+   * @since 5.9
+   */
+  protected static boolean isAcceptedByUserDictionary(String word) {
+    return UserDictionary.getCurrent().accepts(word);
   }
 
   protected boolean isIgnoredNoCase(String word) {
@@ -618,17 +628,27 @@ public abstract class SpellingCheckRule extends Rule {
         wordsToBeIgnoredDictionaryIgnoreCase = array;
       }
     }
+    int result = getLongestPrefix(word, Arrays.asList(array), comparator, caseSensitive);
+    UserDictionary userDictionary = UserDictionary.getCurrent();
+    if (!userDictionary.isEmpty()) {
+      List<String> userWords = caseSensitive ? userDictionary.getWords() : userDictionary.getWordsIgnoreCase();
+      result = Math.max(result, getLongestPrefix(word, userWords, comparator, caseSensitive));
+    }
+    return result;
+  }
 
+  // the length of the longest word of the sorted list that the word starts with, 0 if there's none:
+  private static int getLongestPrefix(String word, List<String> sortedWords, Comparator<String> comparator, boolean caseSensitive) {
     while (!word.isEmpty()) {
-      int result = Arrays.binarySearch(array, word, comparator);
+      int result = Collections.binarySearch(sortedWords, word, comparator);
       if (result >= 0) break;
 
       int prev = -result - 2;
       if (prev < 0) return 0;
 
       String commonPrefix = caseSensitive
-                            ? Strings.commonPrefix(word, array[prev])
-                            : Strings.commonPrefix(word.toLowerCase(Locale.ROOT), array[prev].toLowerCase(Locale.ROOT));
+                            ? Strings.commonPrefix(word, sortedWords.get(prev))
+                            : Strings.commonPrefix(word.toLowerCase(Locale.ROOT), sortedWords.get(prev).toLowerCase(Locale.ROOT));
       assert commonPrefix.length() < word.length();
       word = caseSensitive ? commonPrefix : word.substring(0, commonPrefix.length());
     }
@@ -223,7 +223,7 @@ public class SymSpellRule extends SpellingCheckRule {
       if (token.isSentenceStart() || token.isImmunized() || token.isIgnoredBySpeller() || token.isNonWord())
         continue;
       String word = token.getToken();
-      if (ignoredWords.contains(word)) {
+      if (ignoredWords.contains(word) || isAcceptedByUserDictionary(word)) {
         continue;
       }
       List<SuggestedReplacement> candidates = SuggestedReplacement.convert(filterCandidates(getSpellerMatches(word, defaultDictSpeller)));
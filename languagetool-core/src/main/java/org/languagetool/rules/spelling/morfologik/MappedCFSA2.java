@@ -0,0 +1,170 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.spelling.morfologik;
+
+import morfologik.fsa.FSA;
+import morfologik.fsa.FSAFlags;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * A read-only version of morfologik's {@code CFSA2} automaton that reads its arcs from a
+ * (memory-mapped) buffer instead of copying them to a {@code byte[]} on the heap.
+ * @since 5.9
+ */
+final class MappedCFSA2 extends FSA {
+
+  static final byte VERSION = (byte) 0xc6;
+
+  private static final int BIT_TARGET_NEXT = 1 << 7;
+  private static final int BIT_LAST_ARC = 1 << 6;
+  private static final int BIT_FINAL_ARC = 1 << 5;
+  private static final int LABEL_INDEX_MASK = (1 << 5) - 1;
+
+  private final ByteBuffer arcs;
+  private final Set<FSAFlags> flags;
+  private final byte[] labelMapping;
+  private final boolean hasNumbers;
+
+  /**
+   * @param buffer the automaton, positioned directly after the version byte of the header
+   */
+  MappedCFSA2(ByteBuffer buffer) {
+    short flagBits = buffer.getShort();
+    EnumSet<FSAFlags> flags = EnumSet.noneOf(FSAFlags.class);
+    for (FSAFlags flag : FSAFlags.values()) {
+      if (flag.isSet(flagBits)) {
+        flags.add(flag);
+      }
+    }
+    this.flags = Collections.unmodifiableSet(flags);
+    this.hasNumbers = flags.contains(FSAFlags.NUMBERS);
+    this.labelMapping = new byte[buffer.get() & 0xff];
+    buffer.get(labelMapping);
+    this.arcs = buffer.slice();
+  }
+
+  @Override
+  public int getRootNode() {
+    // skip the dummy node that marks the terminating state:
+    return getDestinationNodeOffset(getFirstArc(0));
+  }
+
+  @Override
+  public int getFirstArc(int node) {
+    return hasNumbers ? skipVInt(node) : node;
+  }
+
+  @Override
+  public int getNextArc(int arc) {
+    return isArcLast(arc) ? 0 : skipArc(arc);
+  }
+
+  @Override
+  public int getArc(int node, byte label) {
+    for (int arc = getFirstArc(node); arc != 0; arc = getNextArc(arc)) {
+      if (getArcLabel(arc) == label) {
+        return arc;
+      }
+    }
+    return 0;
+  }
+
+  @Override
+  public int getEndNode(int arc) {
+    return getDestinationNodeOffset(arc);
+  }
+
+  @Override
+  public byte getArcLabel(int arc) {
+    int index = arcs.get(arc) & LABEL_INDEX_MASK;
+    return index > 0 ? labelMapping[index] : arcs.get(arc + 1);
+  }
+
+  @Override
+  public int getRightLanguageCount(int node) {
+    if (!hasNumbers) {
+      throw new UnsupportedOperationException("This automaton was not compiled with NUMBERS");
+    }
+    return readVInt(node);
+  }
+
+  @Override
+  public boolean isArcFinal(int arc) {
+    return (arcs.get(arc) & BIT_FINAL_ARC) != 0;
+  }
+
+  @Override
+  public boolean isArcTerminal(int arc) {
+    return getDestinationNodeOffset(arc) == 0;
+  }
+
+  @Override
+  public Set<FSAFlags> getFlags() {
+    return flags;
+  }
+
+  private boolean isArcLast(int arc) {
+    return (arcs.get(arc) & BIT_LAST_ARC) != 0;
+  }
+
+  private int getDestinationNodeOffset(int arc) {
+    if ((arcs.get(arc) & BIT_TARGET_NEXT) != 0) {
+      // the target is the node right after the last arc of this node:
+      while (!isArcLast(arc)) {
+        arc = getNextArc(arc);
+      }
+      return skipArc(arc);
+    }
+    // the address follows the flags byte or, if the label isn't indexed, the label byte:
+    return readVInt(arc + ((arcs.get(arc) & LABEL_INDEX_MASK) == 0 ? 2 : 1));
+  }
+
+  private int skipArc(int offset) {
+    int flag = arcs.get(offset++);
+    if ((flag & LABEL_INDEX_MASK) == 0) {
+      offset++;
+    }
+    if ((flag & BIT_TARGET_NEXT) == 0) {
+      offset = skipVInt(offset);
+    }
+    return offset;
+  }
+
+  private int readVInt(int offset) {
+    byte b = arcs.get(offset);
+    int value = b & 0x7f;
+    for (int shift = 7; b < 0; shift += 7) {
+      b = arcs.get(++offset);
+      value |= (b & 0x7f) << shift;
+    }
+    return value;
+  }
+
+  private int skipVInt(int offset) {
+    while (arcs.get(offset++) < 0) {
+      // continuation bit set
+    }
+    return offset;
+  }
+
+}
@@ -0,0 +1,170 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.spelling.morfologik;
+
+import com.google.common.hash.Hashing;
+import morfologik.fsa.FSA;
+import morfologik.stemming.Dictionary;
+import morfologik.stemming.DictionaryMetadata;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Loads morfologik dictionaries by memory-mapping their {@code .dict} file instead of reading
+ * it into a {@code byte[]}. The automaton then doesn't use any heap space, the operating system
+ * loads the pages that are actually used and shares them between all JVMs that map the same file.
+ * Dictionaries inside a JAR are extracted to a directory first (the system property
+ * {@code mmapDictionariesDir}, by default {@code languagetool-dictionaries} in {@code java.io.tmpdir}),
+ * so that all JVMs using the same JAR map the same file.
+ * <p>
+ * This is off by default, enable it with {@code -DmmapDictionaries}. Lookups are a bit slower than
+ * with dictionaries on the heap, as every byte is read through a {@link ByteBuffer} (see
+ * {@code DictionaryLookupBenchmark}).
+ * @since 5.9
+ */
+public final class MappedDictionaryLoader {
+
+  private static final Logger logger = LoggerFactory.getLogger(MappedDictionaryLoader.class);
+
+  private static final boolean enabled = System.getProperty("mmapDictionaries") != null;
+  private static final byte[] MAGIC = "\\fsa".getBytes(UTF_8);
+
+  private static final Map<Path, Long> mappedFiles = new ConcurrentHashMap<>();
+
+  private MappedDictionaryLoader() {
+  }
+
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Loads the dictionary memory-mapped if that's {@link #isEnabled() enabled} and supported for its
+   * format, otherwise like {@link Dictionary#read(URL)}.
+   * @param dictUrl the URL of the {@code .dict} file, the {@code .info} file is expected next to it
+   */
+  public static Dictionary read(URL dictUrl) throws IOException {
+    if (enabled) {
+      Dictionary dictionary = map(dictUrl);
+      if (dictionary != null) {
+        return dictionary;
+      }
+    }
+    return Dictionary.read(dictUrl);
+  }
+
+  /**
+   * Loads the dictionary memory-mapped, independent of {@link #isEnabled()}.
+   * @return the dictionary or {@code null} if its automaton format is not supported (only the
+   *   {@code CFSA2} and {@code FSA5} formats, which all our dictionaries use, are supported)
+   */
+  @Nullable
+  public static Dictionary map(URL dictUrl) throws IOException {
+    Path file = getFile(dictUrl);
+    MappedByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    FSA fsa = readFSA(buffer);
+    if (fsa == null) {
+      logger.info("Unsupported automaton format in " + dictUrl + ", loading it into the heap");
+      return null;
+    }
+    DictionaryMetadata metadata;
+    String dictName = dictUrl.getPath().substring(dictUrl.getPath().lastIndexOf('/') + 1);
+    URL infoUrl = new URL(dictUrl, dictName.replaceFirst("\\.dict$", "") + ".info");
+    try (InputStream stream = infoUrl.openStream()) {
+      metadata = DictionaryMetadata.read(stream);
+    }
+    mappedFiles.put(file.toAbsolutePath(), (long) buffer.capacity());
+    return new Dictionary(fsa, metadata);
+  }
+
+  /**
+   * @return the size of all dictionary files mapped so far, i.e. the heap space saved compared to
+   *   loading them with {@link Dictionary#read(URL)}
+   */
+  public static long getMappedBytes() {
+    return mappedFiles.values().stream().mapToLong(Long::longValue).sum();
+  }
+
+  @Nullable
+  private static FSA readFSA(ByteBuffer buffer) throws IOException {
+    for (byte b : MAGIC) {
+      if (buffer.remaining() == 0 || buffer.get() != b) {
+        throw new IOException("Not a morfologik automaton, invalid header");
+      }
+    }
+    byte version = buffer.get();
+    if (version == MappedCFSA2.VERSION) {
+      return new MappedCFSA2(buffer);
+    } else if (version == MappedFSA5.VERSION) {
+      return new MappedFSA5(buffer);
+    }
+    return null;
+  }
+
+  private static Path getFile(URL url) throws IOException {
+    if ("file".equals(url.getProtocol())) {
+      try {
+        return Paths.get(url.toURI());
+      } catch (URISyntaxException e) {
+        throw new IOException("Invalid dictionary URL: " + url, e);
+      }
+    }
+    // e.g. inside a JAR: extract it once, using a name that changes when the JAR changes
+    URLConnection connection = url.openConnection();
+    long size = connection.getContentLengthLong();
+    String key = url + "|" + size + "|" + connection.getLastModified();
+    String name = url.getPath().substring(url.getPath().lastIndexOf('/') + 1);
+    Path dir = Paths.get(System.getProperty("mmapDictionariesDir",
+      Paths.get(System.getProperty("java.io.tmpdir"), "languagetool-dictionaries").toString()));
+    Path file = dir.resolve(Hashing.sha256().hashString(key, UTF_8).toString().substring(0, 16) + "-" + name);
+    if (Files.exists(file) && Files.size(file) == size) {
+      return file;
+    }
+    Files.createDirectories(dir);
+    Path tmpFile = Files.createTempFile(dir, name, ".tmp");
+    try (InputStream stream = connection.getInputStream()) {
+      Files.copy(stream, tmpFile, StandardCopyOption.REPLACE_EXISTING);
+      // other JVMs might do the same at the same time, but they'll all write the same content:
+      Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(tmpFile);
+    }
+    logger.info("Extracted " + url + " to " + file + " for memory-mapping");
+    return file;
+  }
+
+}
@@ -0,0 +1,155 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.spelling.morfologik;
+
+import morfologik.fsa.FSA;
+import morfologik.fsa.FSAFlags;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * A read-only version of morfologik's {@code FSA5} automaton that reads its arcs from a
+ * (memory-mapped) buffer instead of copying them to a {@code byte[]} on the heap.
+ * @since 5.9
+ */
+final class MappedFSA5 extends FSA {
+
+  static final byte VERSION = 5;
+
+  private static final int BIT_FINAL_ARC = 1;
+  private static final int BIT_LAST_ARC = 1 << 1;
+  private static final int BIT_TARGET_NEXT = 1 << 2;
+  // the flags and the address follow the label byte:
+  private static final int ADDRESS_OFFSET = 1;
+
+  private final ByteBuffer arcs;
+  private final Set<FSAFlags> flags;
+  private final int nodeDataLength;
+  private final int gtl;
+
+  /**
+   * @param buffer the automaton, positioned directly after the version byte of the header
+   */
+  MappedFSA5(ByteBuffer buffer) {
+    buffer.get();  // filler
+    buffer.get();  // annotation separator
+    byte hgtl = buffer.get();
+    this.arcs = buffer.slice();
+    this.gtl = hgtl & 0x0f;
+    this.nodeDataLength = (hgtl >>> 4) & 0x0f;
+    EnumSet<FSAFlags> flags = EnumSet.of(FSAFlags.FLEXIBLE, FSAFlags.STOPBIT, FSAFlags.NEXTBIT);
+    if (nodeDataLength > 0) {
+      flags.add(FSAFlags.NUMBERS);
+    }
+    this.flags = Collections.unmodifiableSet(flags);
+  }
+
+  @Override
+  public int getRootNode() {
+    // skip the dummy node that marks the terminating state and follow the only arc of the epsilon node:
+    int epsilonNode = skipArc(getFirstArc(0));
+    return getDestinationNodeOffset(getFirstArc(epsilonNode));
+  }
+
+  @Override
+  public int getFirstArc(int node) {
+    return nodeDataLength + node;
+  }
+
+  @Override
+  public int getNextArc(int arc) {
+    return isArcLast(arc) ? 0 : skipArc(arc);
+  }
+
+  @Override
+  public int getArc(int node, byte label) {
+    for (int arc = getFirstArc(node); arc != 0; arc = getNextArc(arc)) {
+      if (getArcLabel(arc) == label) {
+        return arc;
+      }
+    }
+    return 0;
+  }
+
+  @Override
+  public int getEndNode(int arc) {
+    return getDestinationNodeOffset(arc);
+  }
+
+  @Override
+  public byte getArcLabel(int arc) {
+    return arcs.get(arc);
+  }
+
+  @Override
+  public int getRightLanguageCount(int node) {
+    if (nodeDataLength == 0) {
+      throw new UnsupportedOperationException("This automaton was not compiled with NUMBERS");
+    }
+    return decodeFromBytes(node, nodeDataLength);
+  }
+
+  @Override
+  public boolean isArcFinal(int arc) {
+    return (arcs.get(arc + ADDRESS_OFFSET) & BIT_FINAL_ARC) != 0;
+  }
+
+  @Override
+  public boolean isArcTerminal(int arc) {
+    return getDestinationNodeOffset(arc) == 0;
+  }
+
+  @Override
+  public Set<FSAFlags> getFlags() {
+    return flags;
+  }
+
+  private boolean isArcLast(int arc) {
+    return (arcs.get(arc + ADDRESS_OFFSET) & BIT_LAST_ARC) != 0;
+  }
+
+  private boolean isNextSet(int arc) {
+    return (arcs.get(arc + ADDRESS_OFFSET) & BIT_TARGET_NEXT) != 0;
+  }
+
+  private int getDestinationNodeOffset(int arc) {
+    if (isNextSet(arc)) {
+      return skipArc(arc);
+    }
+    // the lowest three bits of the address bytes are the flags:
+    return decodeFromBytes(arc + ADDRESS_OFFSET, gtl) >>> 3;
+  }
+
+  private int skipArc(int offset) {
+    return offset + (isNextSet(offset) ? 1 + 1 : 1 + gtl);
+  }
+
+  // little endian:
+  private int decodeFromBytes(int start, int n) {
+    int r = 0;
+    for (int i = n; --i >= 0;) {
+      r = r << 8 | (arcs.get(start + i) & 0xff);
+    }
+    return r;
+  }
+
+}
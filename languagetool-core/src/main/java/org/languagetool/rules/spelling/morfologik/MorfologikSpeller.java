@@ -52,16 +52,19 @@ public class MorfologikSpeller {
         public Dictionary load(@NotNull String fileInClassPath) throws IOException {
           ResourceDataBroker dataBroker = JLanguageTool.getDataBroker();
           if (dataBroker.resourceExists(fileInClassPath)) {
-            return Dictionary.read(dataBroker.getFromResourceDirAsUrl(fileInClassPath));
+            return MappedDictionaryLoader.read(dataBroker.getFromResourceDirAsUrl(fileInClassPath));
           } else {
-            return Dictionary.read(Paths.get(fileInClassPath));
+            return MappedDictionaryLoader.read(Paths.get(fileInClassPath).toUri().toURL());
           }
         }
       });
 
   private final Dictionary dictionary;
-  private final Speller speller;
   private final int maxEditDistance;
+  // morfologik's Speller keeps per-lookup buffers and isn't thread-safe, but it's cheap to create
+  // on top of the shared (thread-safe) Dictionary, so each thread gets its own instance instead of
+  // all threads waiting for a single lock:
+  private final ThreadLocal<Speller> threadSpeller;
 
   /**
    * Creates a speller with the given maximum edit distance.
@@ -86,7 +89,7 @@ public class MorfologikSpeller {
     }
     this.dictionary = dictionary;
     this.maxEditDistance = maxEditDistance;
-    speller = new Speller(dictionary, maxEditDistance);
+    threadSpeller = ThreadLocal.withInitial(() -> new Speller(dictionary, maxEditDistance));
   }
 
   /**
@@ -101,25 +104,24 @@ public class MorfologikSpeller {
     if (word.isEmpty() || SpellingCheckRule.LANGUAGETOOL.equals(word) || SpellingCheckRule.LANGUAGETOOLER.equals(word)) {
       return false;
     }
-    synchronized (this) {
-      return speller.isMisspelled(word);
-    }
+    return threadSpeller.get().isMisspelled(word);
   }
 
-  public synchronized List<String> findReplacements(String word) {
-    return speller.findReplacements(word);
+  public List<String> findReplacements(String word) {
+    return threadSpeller.get().findReplacements(word);
   }
   
-  public synchronized List<String> findSimilarWords(String word) {
-    return speller.findSimilarWords(word);
+  public List<String> findSimilarWords(String word) {
+    return threadSpeller.get().findSimilarWords(word);
   }
 
   /**
-   * @deprecated use (or introduce) other methods to this class which would take care of the necessary synchronization
+   * @return the speller instance of the calling thread, must not be shared with other threads
+   * @deprecated use (or introduce) other methods to this class which take care of the thread confinement
    */
   @Deprecated
   public Speller getSpeller() {
-    return speller;
+    return threadSpeller.get();
   }
 
   public List<WeightedSuggestion> getSuggestions(String word) {
@@ -206,7 +208,7 @@ public class MorfologikSpeller {
    * @since 2.5
    */
   public boolean convertsCase() {
-    return speller.convertsCase();
+    return threadSpeller.get().convertsCase();
   }
 
   @Override
@@ -214,7 +216,8 @@ public class MorfologikSpeller {
     return "dist=" + maxEditDistance;
   }
 
-  public synchronized int getFrequency(String word) {
+  public int getFrequency(String word) {
+    Speller speller = threadSpeller.get();
     int freq = speller.getFrequency(word);
     if (freq == 0 && !word.equals(word.toLowerCase())) {
       freq = speller.getFrequency(word.toLowerCase());
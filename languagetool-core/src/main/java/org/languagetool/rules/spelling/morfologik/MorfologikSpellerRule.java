@@ -280,6 +280,9 @@ public abstract class MorfologikSpellerRule extends SpellingCheckRule {
    * @since 2.4
    */
   protected boolean isMisspelled(MorfologikMultiSpeller speller, String word) {
+    if (isAcceptedByUserDictionary(word)) {
+      return false;
+    }
     if (Tools.isExternSpeller()) {  // use of external speller for OO extension (32-bit)
       if (Tools.getLinguisticServices().isCorrectSpell(word, language)) {
         return false;
@@ -297,7 +300,7 @@ public abstract class MorfologikSpellerRule extends SpellingCheckRule {
             return true;
           }
         } else {
-          if (speller.isMisspelled(singleWord)) {
+          if (speller.isMisspelled(singleWord) && !isAcceptedByUserDictionary(singleWord)) {
             return true;
           }
         }
@@ -18,6 +18,9 @@
  */
 package org.languagetool.synthesis;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import morfologik.stemming.Dictionary;
 import morfologik.stemming.DictionaryLookup;
 import morfologik.stemming.IStemmer;
@@ -34,6 +37,7 @@ import java.io.InputStreamReader;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
@@ -43,11 +47,16 @@ public class BaseSynthesizer implements Synthesizer {
 
   public final String SPELLNUMBER_TAG = "_spell_number_";
 
+  private static final long LOOKUP_CACHE_SIZE = 50_000;
+
   protected volatile List<String> possibleTags;
 
   private final String tagFileName;
   private final String resourceFileName;
-  private final IStemmer stemmer;
+  // the stemmer is not thread-safe, so each thread gets its own instance:
+  private final ThreadLocal<IStemmer> threadStemmer;
+  // (lemma + "|" + posTag) -> forms found in the dictionary:
+  private final Cache<String, List<String>> lookupCache;
   private final ManualSynthesizer manualSynthesizer;
   private final ManualSynthesizer removalSynthesizer;
   private final ManualSynthesizer removalSynthesizer2;
@@ -63,7 +72,12 @@ public class BaseSynthesizer implements Synthesizer {
   public BaseSynthesizer(String sorosFileName, String resourceFileName, String tagFileName, Language lang) {
     this.resourceFileName = resourceFileName;
     this.tagFileName = tagFileName;
-    this.stemmer = createStemmer();
+    this.threadStemmer = ThreadLocal.withInitial(this::createStemmer);
+    this.threadStemmer.get();  // fail early if the dictionary cannot be loaded
+    this.lookupCache = CacheBuilder.newBuilder()
+      .maximumSize(LOOKUP_CACHE_SIZE)
+      .recordStats()
+      .build();
     this.sorosFileName = sorosFileName;
     this.numberSpeller = createNumberSpeller(lang.getShortCode());
     try {
@@ -121,7 +135,7 @@ public class BaseSynthesizer implements Synthesizer {
 
   /**
    * Creates a new {@link IStemmer} based on the configured {@link #getDictionary() dictionary}.
-   * The result must not be shared among threads.
+   * The result must not be shared among threads, it's called once per thread using this synthesizer.
    * @since 2.3
    */
   protected IStemmer createStemmer() {
@@ -156,13 +170,7 @@ public class BaseSynthesizer implements Synthesizer {
    * @param posTag the desired part-of-speech tag.
    */
   protected List<String> lookup(String lemma, String posTag) {
-    List<String> results = new ArrayList<>();
-    synchronized (this) { // the stemmer is not thread-safe
-      List<WordData> wordForms = stemmer.lookup(lemma + "|" + posTag);
-      for (WordData wd : wordForms) {
-        results.add(wd.getStem().toString());
-      }
-    }
+    List<String> results = new ArrayList<>(lookupInDictionary(lemma + "|" + posTag));
     if (manualSynthesizer != null) {
       List<String> manualForms = manualSynthesizer.lookup(lemma, posTag);
       if (manualForms != null) {
@@ -184,6 +192,20 @@ public class BaseSynthesizer implements Synthesizer {
     return results;
   }
 
+  private List<String> lookupInDictionary(String key) {
+    List<String> forms = lookupCache.getIfPresent(key);
+    if (forms == null) {
+      List<WordData> wordForms = threadStemmer.get().lookup(key);
+      List<String> result = new ArrayList<>(wordForms.size());
+      for (WordData wd : wordForms) {
+        result.add(wd.getStem().toString());
+      }
+      forms = Collections.unmodifiableList(result);
+      lookupCache.put(key, forms);
+    }
+    return forms;
+  }
+
   /**
    * Get a form of a given AnalyzedToken, where the form is defined by a
    * part-of-speech tag.
@@ -236,10 +258,18 @@ public class BaseSynthesizer implements Synthesizer {
 
   /**
    * @since 2.5
-   * @return the stemmer interface to be used.
+   * @return the stemmer interface to be used, it's confined to the calling thread
    */
   public IStemmer getStemmer() {
-    return stemmer;
+    return threadStemmer.get();
+  }
+
+  /**
+   * @return hit/miss statistics of the cache of dictionary lookups used by {@link #lookup(String, String)}
+   * @since 5.9
+   */
+  public CacheStats getLookupCacheStats() {
+    return lookupCache.stats();
   }
 
   protected void initPossibleTags() throws IOException {
@@ -48,6 +48,8 @@ public abstract class BaseTagger implements Tagger {
   private final boolean tagLowercaseWithUppercase;
   private final String dictionaryPath;
   private final Dictionary dictionary;
+  // whether a subclass has its own tag(List), which might consider the context of words:
+  private final boolean customTag = hasCustomTag();
 
   /**
    * Get the filenames for manual additions, e.g., {@code /en/added.txt}.
@@ -167,6 +169,25 @@ public abstract class BaseTagger implements Tagger {
     return dictionary;
   }
 
+  /**
+   * Uses the cache only if {@link #tag(List)} isn't overridden, as {@link #getAnalyzedTokens(String)}
+   * doesn't know the word's context, so its result can be reused for every occurrence of the word.
+   * @since 5.9
+   */
+  @Override
+  public List<AnalyzedTokenReadings> tag(List<String> sentenceTokens, TaggedWordCache cache) throws IOException {
+    if (customTag) {
+      return tag(sentenceTokens);
+    }
+    List<AnalyzedTokenReadings> tokenReadings = new ArrayList<>(sentenceTokens.size());
+    int pos = 0;
+    for (String word : sentenceTokens) {
+      tokenReadings.add(new AnalyzedTokenReadings(cache.getAnalyzedTokens(word, this::getAnalyzedTokens), pos));
+      pos += word.length();
+    }
+    return tokenReadings;
+  }
+
   @Override
   public List<AnalyzedTokenReadings> tag(List<String> sentenceTokens)
       throws IOException {
@@ -180,6 +201,14 @@ public abstract class BaseTagger implements Tagger {
     return tokenReadings;
   }
 
+  private boolean hasCustomTag() {
+    try {
+      return getClass().getMethod("tag", List.class).getDeclaringClass() != BaseTagger.class;
+    } catch (NoSuchMethodException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
   protected List<AnalyzedToken> getAnalyzedTokens(String word) {
     List<AnalyzedToken> result = new ArrayList<>();
     String lowerWord = word.toLowerCase(locale);
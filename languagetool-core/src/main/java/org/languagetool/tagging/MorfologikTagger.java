@@ -21,6 +21,7 @@ package org.languagetool.tagging;
 import morfologik.stemming.Dictionary;
 import morfologik.stemming.*;
 import org.languagetool.JLanguageTool;
+import org.languagetool.rules.spelling.morfologik.MappedDictionaryLoader;
 
 import java.io.IOException;
 import java.net.URL;
@@ -38,6 +39,16 @@ public class MorfologikTagger implements WordTagger {
 
   private boolean internTags;
 
+  // DictionaryLookup isn't thread-safe, but creating one for every word allocates its buffers
+  // and charset encoder/decoder every time:
+  private final ThreadLocal<IStemmer> lookup = ThreadLocal.withInitial(() -> {
+    try {
+      return new DictionaryLookup(getDictionary());
+    } catch (IOException e) {
+      throw new RuntimeException("Could not load dictionary " + MorfologikTagger.this.dictUrl, e);
+    }
+  });
+
   public MorfologikTagger(String dictPath) {
     this(JLanguageTool.getDataBroker().getFromResourceDirAsUrl(Objects.requireNonNull(dictPath)));
   }
@@ -62,7 +73,7 @@ public class MorfologikTagger implements WordTagger {
 
   private synchronized Dictionary getDictionary() throws IOException {
     if (dictionary == null) {
-      dictionary = Dictionary.read(dictUrl);
+      dictionary = MappedDictionaryLoader.read(dictUrl);
     }
     return dictionary;
   }
@@ -78,22 +89,17 @@ public class MorfologikTagger implements WordTagger {
   @Override
   public List<TaggedWord> tag(String word) {
     List<TaggedWord> result = new ArrayList<>();
-    try {
-      IStemmer dictLookup = new DictionaryLookup(getDictionary());
-      List<WordData> lookup = dictLookup.lookup(word);
-      for (WordData wordData : lookup) {
-        String tag = wordData.getTag() == null ? null : wordData.getTag().toString();
-        // Remove frequency data from tags (if exists)
-        // The frequency data is in the last byte (without a separator)
-        if (dictionary.metadata.isFrequencyIncluded() && tag != null && tag.length() > 1) {
-          tag = tag.substring(0, tag.length() - 1);
-        }
-        String stem = wordData.getStem() == null ? null : wordData.getStem().toString();
-        TaggedWord taggedWord = new TaggedWord(stem, (internTags && tag != null) ? tag.intern() : tag);
-        result.add(taggedWord);
+    // the result of the lookup gets reused by the next lookup, so it's converted right away:
+    for (WordData wordData : lookup.get().lookup(word)) {
+      String tag = wordData.getTag() == null ? null : wordData.getTag().toString();
+      // Remove frequency data from tags (if exists)
+      // The frequency data is in the last byte (without a separator)
+      if (dictionary.metadata.isFrequencyIncluded() && tag != null && tag.length() > 1) {
+        tag = tag.substring(0, tag.length() - 1);
       }
-    } catch (IOException e) {
-      throw new RuntimeException("Could not tag word '" + word + "'", e);
+      String stem = wordData.getStem() == null ? null : wordData.getStem().toString();
+      TaggedWord taggedWord = new TaggedWord(stem, (internTags && tag != null) ? tag.intern() : tag);
+      result.add(taggedWord);
     }
     return result;
   }
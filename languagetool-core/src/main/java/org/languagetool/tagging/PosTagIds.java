@@ -0,0 +1,63 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.tagging;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Assigns each distinct POS tag a small, dense integer id, so that the result of matching
+ * a tag against a pattern can be remembered per id instead of running a regular expression
+ * for every token reading.
+ * @since 5.9
+ */
+@ApiStatus.Internal
+public final class PosTagIds {
+
+  /** Returned for tags that didn't get an id because there are already too many distinct tags. */
+  public static final int NO_ID = -1;
+
+  // POS tags come from the tagger dictionaries, so there's a limited number of them,
+  // but taggers may also create tags dynamically, so don't let this grow without limit:
+  private static final int MAX_IDS = 1 << 16;
+
+  private static final Map<String, Integer> ids = new ConcurrentHashMap<>();
+  private static final AtomicInteger nextId = new AtomicInteger();
+
+  private PosTagIds() {
+  }
+
+  /**
+   * @return the id of the given tag, a value {@code >= 0}, or {@link #NO_ID}
+   */
+  public static int getId(String posTag) {
+    Integer id = ids.get(posTag);
+    if (id != null) {
+      return id;
+    }
+    if (ids.size() >= MAX_IDS) {
+      return NO_ID;
+    }
+    return ids.computeIfAbsent(posTag, k -> nextId.getAndIncrement());
+  }
+
+}
@@ -0,0 +1,96 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.tagging;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import org.languagetool.AnalyzedToken;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A bounded LRU cache from words to their readings as returned by a tagger, so that words that
+ * occur many times in a document (or in the documents a {@link org.languagetool.JLanguageTool}
+ * instance checks) are only looked up once. The cached readings are never handed out themselves,
+ * as {@link AnalyzedToken} has per-occurrence state like {@link AnalyzedToken#isWhitespaceBefore()},
+ * callers get copies. Thread-safe.
+ * @since 5.9
+ */
+public final class TaggedWordCache {
+
+  private static final LongAdder totalHits = new LongAdder();
+  private static final LongAdder totalMisses = new LongAdder();
+
+  private final Cache<String, List<AnalyzedToken>> cache;
+
+  public TaggedWordCache(int maximumSize) {
+    cache = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+  }
+
+  /**
+   * @param tagger tags a word that is not in the cache, must only depend on the word
+   * @return copies of the (cached) readings of {@code word}
+   */
+  public List<AnalyzedToken> getAnalyzedTokens(String word, Function<String, List<AnalyzedToken>> tagger) {
+    List<AnalyzedToken> readings = cache.getIfPresent(word);
+    if (readings == null) {
+      totalMisses.increment();
+      readings = Collections.unmodifiableList(new ArrayList<>(tagger.apply(word)));
+      cache.put(word, readings);
+    } else {
+      totalHits.increment();
+    }
+    List<AnalyzedToken> result = new ArrayList<>(readings.size());
+    for (AnalyzedToken reading : readings) {
+      result.add(reading.copy());
+    }
+    return result;
+  }
+
+  /**
+   * @return hits and misses of this cache
+   */
+  public CacheStats getStats() {
+    return cache.stats();
+  }
+
+  public long size() {
+    return cache.size();
+  }
+
+  /**
+   * @return the number of hits of all caches of this JVM
+   */
+  public static long getTotalHits() {
+    return totalHits.sum();
+  }
+
+  /**
+   * @return the number of misses of all caches of this JVM
+   */
+  public static long getTotalMisses() {
+    return totalMisses.sum();
+  }
+
+}
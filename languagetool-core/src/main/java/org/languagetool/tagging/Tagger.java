@@ -42,6 +42,16 @@ public interface Tagger {
    * @param sentenceTokens the text as returned by a WordTokenizer 
    */
   List<AnalyzedTokenReadings> tag(List<String> sentenceTokens) throws IOException;
+
+  /**
+   * Like {@link #tag(List)}, but words that have been tagged before can be taken from {@code cache}.
+   * Implementations that tag words depending on their context must not use the cache, this default
+   * implementation ignores it.
+   * @since 5.9
+   */
+  default List<AnalyzedTokenReadings> tag(List<String> sentenceTokens, TaggedWordCache cache) throws IOException {
+    return tag(sentenceTokens);
+  }
   
   /** 
    * Create the AnalyzedToken used for whitespace and other non-words. Use <code>null</code>
@@ -45,7 +45,6 @@ class DisambiguationPatternRuleReplacer extends AbstractPatternRulePerformer {
 
   AnalyzedSentence replace(AnalyzedSentence sentence) throws IOException {
     AnalyzedTokenReadings[] tokens = sentence.getTokensWithoutWhitespace();
-    AnalyzedTokenReadings[] preDisambigTokens = sentence.getTokens();
     AnalyzedTokenReadings[][] whTokens = {sentence.getTokens()};
     boolean[] changed = {false};
 
@@ -69,7 +68,7 @@ class DisambiguationPatternRuleReplacer extends AbstractPatternRulePerformer {
       }
     });
     if (changed[0]) {
-      return new AnalyzedSentence(whTokens[0], preDisambigTokens);
+      return sentence.withDisambiguatedTokens(whTokens[0]);
     }
     return sentence;
   }
@@ -0,0 +1,232 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.tokenizers;
+
+import org.languagetool.tools.StringTools;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The tokens of a text as (start, end, type) spans over the original text, so that
+ * {@link WordTokenizer} can split the text and join e-mail addresses and URLs without
+ * creating intermediate strings. {@link #getTokens()} creates the token strings at the end.
+ * @see WordTokenizer#addWord(TokenSpans, int, int)
+ * @since 5.9
+ */
+public final class TokenSpans {
+
+  public enum Type {
+    WORD,
+    WHITESPACE,
+    /** a single tokenizing character that isn't whitespace, e.g. punctuation */
+    DELIMITER,
+    URL,
+    EMAIL
+  }
+
+  private static final Type[] TYPES = Type.values();
+
+  private final CharSequence text;
+  private int[] starts;
+  private int[] ends;
+  private byte[] types;
+  private int size;
+
+  public TokenSpans(CharSequence text) {
+    this.text = Objects.requireNonNull(text);
+    int capacity = Math.max(8, text.length() / 3);
+    starts = new int[capacity];
+    ends = new int[capacity];
+    types = new byte[capacity];
+  }
+
+  /**
+   * Spans for tokens that have been created as strings, e.g. by a tokenizer that doesn't support spans.
+   * The tokens are expected to add up to the text, the text of the spans is their concatenation.
+   */
+  public static TokenSpans fromTokens(List<String> tokens) {
+    StringBuilder sb = new StringBuilder();
+    for (String token : tokens) {
+      sb.append(token);
+    }
+    TokenSpans spans = new TokenSpans(sb.toString());
+    int start = 0;
+    for (String token : tokens) {
+      int end = start + token.length();
+      spans.add(start, end, Type.WORD);
+      if (spans.isWhitespace(spans.size - 1)) {
+        spans.types[spans.size - 1] = (byte) Type.WHITESPACE.ordinal();
+      } else if (token.length() == 1 && !Character.isLetterOrDigit(token.charAt(0))) {
+        spans.types[spans.size - 1] = (byte) Type.DELIMITER.ordinal();
+      }
+      start = end;
+    }
+    return spans;
+  }
+
+  public CharSequence getText() {
+    return text;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public int getStart(int i) {
+    checkIndex(i);
+    return starts[i];
+  }
+
+  public int getEnd(int i) {
+    checkIndex(i);
+    return ends[i];
+  }
+
+  public int getLength(int i) {
+    checkIndex(i);
+    return ends[i] - starts[i];
+  }
+
+  public Type getType(int i) {
+    checkIndex(i);
+    return TYPES[types[i]];
+  }
+
+  /**
+   * @return the token as a new string
+   */
+  public String getToken(int i) {
+    checkIndex(i);
+    return text.subSequence(starts[i], ends[i]).toString();
+  }
+
+  /**
+   * @return all tokens as strings
+   */
+  public List<String> getTokens() {
+    String str = text.toString();
+    String[] tokens = new String[size];
+    for (int i = 0; i < size; i++) {
+      tokens[i] = str.substring(starts[i], ends[i]);
+    }
+    return Arrays.asList(tokens);
+  }
+
+  /**
+   * @return whether the token is equal to {@code str}, without creating a string for the token
+   */
+  public boolean tokenEquals(int i, String str) {
+    checkIndex(i);
+    int start = starts[i];
+    int length = ends[i] - start;
+    if (length != str.length()) {
+      return false;
+    }
+    for (int j = 0; j < length; j++) {
+      if (text.charAt(start + j) != str.charAt(j)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  boolean tokenEqualsAny(int i, String... strings) {
+    for (String str : strings) {
+      if (tokenEquals(i, str)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return the same as {@link StringTools#isWhitespace(String)} for the token
+   */
+  public boolean isWhitespace(int i) {
+    checkIndex(i);
+    if (ends[i] - starts[i] != 1) {
+      return StringTools.isWhitespace(getToken(i));
+    }
+    char c = text.charAt(starts[i]);
+    if (c == '\u0002' || c == '\u0001') {
+      return false;
+    }
+    // as in StringTools.isWhitespace(), including what String.trim() removes:
+    return c <= ' ' || c == '\uFEFF' || c == '\u200B' || c == '\u00A0' || c == '\u202F' || Character.isWhitespace(c);
+  }
+
+  /**
+   * Adds a span, which must not start before the end of the last span.
+   */
+  public void add(int start, int end, Type type) {
+    if (start > end || start < 0 || end > text.length() || size > 0 && start < ends[size - 1]) {
+      throw new IllegalArgumentException("Invalid span " + start + "-" + end + " for text of length " + text.length() +
+        (size > 0 ? " after span ending at " + ends[size - 1] : ""));
+    }
+    if (size == starts.length) {
+      int capacity = size * 2;
+      starts = Arrays.copyOf(starts, capacity);
+      ends = Arrays.copyOf(ends, capacity);
+      types = Arrays.copyOf(types, capacity);
+    }
+    set(size++, start, end, type);
+  }
+
+  void set(int i, int start, int end, Type type) {
+    starts[i] = start;
+    ends[i] = end;
+    types[i] = (byte) type.ordinal();
+  }
+
+  /** Overwrite span {@code i} with span {@code from}, for removing spans in place. */
+  void move(int from, int i) {
+    starts[i] = starts[from];
+    ends[i] = ends[from];
+    types[i] = types[from];
+  }
+
+  void setType(int i, Type type) {
+    types[i] = (byte) type.ordinal();
+  }
+
+  void truncate(int newSize) {
+    size = newSize;
+  }
+
+  private void checkIndex(int i) {
+    if (i < 0 || i >= size) {
+      throw new IndexOutOfBoundsException("Index: " + i + ", size: " + size);
+    }
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("[");
+    for (int i = 0; i < size; i++) {
+      if (i > 0) {
+        sb.append(", ");
+      }
+      sb.append(starts[i]).append('-').append(ends[i]).append(' ').append(TYPES[types[i]]);
+    }
+    return sb.append(']').toString();
+  }
+
+}
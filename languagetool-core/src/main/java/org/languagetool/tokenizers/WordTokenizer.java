@@ -18,17 +18,10 @@
  */
 package org.languagetool.tokenizers;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
-import java.util.StringTokenizer;
+import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import org.apache.commons.lang3.StringUtils;
-import org.languagetool.tools.StringTools;
-
 /**
  * Tokenizes a sentence into words. Punctuation and whitespace gets their own tokens.
  * The tokenizer is a quite simple character-based one, though it knows
@@ -97,14 +90,14 @@ public class WordTokenizer implements Tokenizer {
     return E_MAIL.matcher(token).matches();
   }
 
+  private volatile Delimiters delimiters;
+
   @Override
   public List<String> tokenize(String text) {
-    List<String> l = new ArrayList<>();
-    StringTokenizer st = new StringTokenizer(text, getTokenizingCharacters(), true);
-    while (st.hasMoreElements()) {
-      l.add(st.nextToken());
-    }
-    return joinEMailsAndUrls(l);
+    TokenSpans spans = new TokenSpans(text);
+    split(spans);
+    joinEMailsAndUrls(spans);
+    return spans.getTokens();
   }
 
   /**
@@ -116,131 +109,244 @@ public class WordTokenizer implements Tokenizer {
     return TOKENIZING_CHARACTERS;
   }
 
+  /**
+   * Splits the text of {@code spans} in one pass, like {@link StringTokenizer} with the
+   * {@link #getTokenizingCharacters() tokenizing characters} as delimiters: every tokenizing
+   * character is a token and the text between them is passed to {@link #addWord(TokenSpans, int, int)}.
+   * @since 5.9
+   */
+  protected void split(TokenSpans spans) {
+    CharSequence text = spans.getText();
+    Delimiters delimiters = getDelimiters();
+    int wordStart = -1;
+    int length = text.length();
+    for (int i = 0; i < length; ) {
+      int codePoint = Character.codePointAt(text, i);
+      int next = i + Character.charCount(codePoint);
+      if (delimiters.contains(codePoint)) {
+        if (wordStart != -1) {
+          addWord(spans, wordStart, i);
+          wordStart = -1;
+        }
+        spans.add(i, next, TokenSpans.Type.DELIMITER);
+        if (spans.isWhitespace(spans.size() - 1)) {
+          spans.setType(spans.size() - 1, TokenSpans.Type.WHITESPACE);
+        }
+      } else if (wordStart == -1) {
+        wordStart = i;
+      }
+      i = next;
+    }
+    if (wordStart != -1) {
+      addWord(spans, wordStart, length);
+    }
+  }
+
+  /**
+   * Called by {@link #split(TokenSpans)} for the text between two tokenizing characters,
+   * adds it as one {@link TokenSpans.Type#WORD} token. Override to split words further.
+   * @since 5.9
+   */
+  protected void addWord(TokenSpans spans, int start, int end) {
+    spans.add(start, end, TokenSpans.Type.WORD);
+  }
+
+  private Delimiters getDelimiters() {
+    String chars = getTokenizingCharacters();
+    Delimiters result = delimiters;
+    if (result == null || !result.chars.equals(chars)) {
+      delimiters = result = new Delimiters(chars);
+    }
+    return result;
+  }
+
   protected List<String> joinEMailsAndUrls(List<String> list) {
-    return joinUrls(joinEMails(list));
+    TokenSpans spans = TokenSpans.fromTokens(list);
+    joinEMailsAndUrls(spans);
+    return spans.getTokens();
   }
 
   /**
    * @since 3.5
    */
   protected List<String> joinEMails(List<String> list) {
-    StringBuilder sb = new StringBuilder();
-    for (String item : list) {
-      sb.append(item);
-    }
-    String text = sb.toString();
-    if (text.contains("@") && E_MAIL.matcher(text).find()) {  // explicit check for "@" speeds up method by factor of ~10
-      Matcher matcher = E_MAIL.matcher(text);
-      List<String> l = new ArrayList<>();
-      int currentPosition = 0, start, end, idx = 0;
-      while (matcher.find()) {
-        start = matcher.start();
-        end = matcher.end();
-        while (currentPosition < end) {
-          if (currentPosition < start) {
-            l.add(list.get(idx));
-          } else if (currentPosition == start) {
-            l.add(matcher.group());
-          }
-          currentPosition += list.get(idx).length();
-          idx++;
-        }
+    TokenSpans spans = TokenSpans.fromTokens(list);
+    joinEMails(spans);
+    return spans.getTokens();
+  }
+
+  // see rfc1738 and http://stackoverflow.com/questions/1856785/characters-allowed-in-a-url
+  protected List<String> joinUrls(List<String> l) {
+    TokenSpans spans = TokenSpans.fromTokens(l);
+    joinUrls(spans);
+    return spans.getTokens();
+  }
+
+  /**
+   * Merges the tokens that make up e-mail addresses and URLs into one token.
+   * @since 5.9
+   */
+  protected void joinEMailsAndUrls(TokenSpans spans) {
+    joinEMails(spans);
+    joinUrls(spans);
+  }
+
+  private void joinEMails(TokenSpans spans) {
+    CharSequence text = spans.getText();
+    if (!contains(text, '@')) {  // explicit check for "@" speeds up method by factor of ~10
+      return;
+    }
+    Matcher matcher = E_MAIL.matcher(text);
+    int size = spans.size();
+    int idx = 0, newSize = 0;
+    while (idx < size && matcher.find()) {
+      int start = matcher.start();
+      int end = matcher.end();
+      while (idx < size && spans.getStart(idx) < start) {
+        spans.move(idx++, newSize++);
       }
-      if (currentPosition < text.length()) {
-        l.addAll(list.subList(idx, list.size()));
+      int last = idx;
+      while (last < size && spans.getEnd(last) < end) {
+        last++;
       }
-      return l;
+      // only merge addresses that start and end at token boundaries, so no text gets lost:
+      if (idx < size && spans.getStart(idx) == start && last < size && spans.getEnd(last) == end) {
+        spans.set(newSize++, start, end, TokenSpans.Type.EMAIL);
+        idx = last + 1;
+      }
+    }
+    while (idx < size) {
+      spans.move(idx++, newSize++);
     }
-    return list;
+    spans.truncate(newSize);
   }
 
-  // see rfc1738 and http://stackoverflow.com/questions/1856785/characters-allowed-in-a-url
-  protected List<String> joinUrls(List<String> l) {
-    List<String> newList = new ArrayList<>();
+  private void joinUrls(TokenSpans spans) {
+    int size = spans.size();
+    int newSize = 0;
     boolean inUrl = false;
-    StringBuilder url = new StringBuilder();
+    int urlStart = 0, urlEnd = 0;
+    // the token before the URL, e.g. a quote, which also ends the URL:
     String urlQuote = null;
-    for (int i = 0; i < l.size(); i++) {
-      if (urlStartsAt(i, l) && !inUrl) {
+    for (int i = 0; i < size; i++) {
+      if (!inUrl && urlStartsAt(i, spans)) {
         inUrl = true;
-        if (i-1 >= 0) {
-          urlQuote = l.get(i-1);
+        if (i - 1 >= 0) {
+          // a copy, as the span at i - 1 might get overwritten when the merged spans are removed:
+          urlQuote = spans.getToken(i - 1);
         }
-        url.append(l.get(i));
-      } else if (inUrl && urlEndsAt(i, l, urlQuote)) {
+        urlStart = spans.getStart(i);
+        urlEnd = spans.getEnd(i);
+      } else if (inUrl && urlEndsAt(i, spans, urlQuote)) {
         inUrl = false;
         urlQuote = null;
-        newList.add(url.toString());
-        url.setLength(0);
-        newList.add(l.get(i));
+        spans.set(newSize++, urlStart, urlEnd, TokenSpans.Type.URL);
+        spans.move(i, newSize++);
       } else if (inUrl) {
-        url.append(l.get(i));
+        urlEnd = spans.getEnd(i);
       } else {
-        newList.add(l.get(i));
+        spans.move(i, newSize++);
       }
     }
-    if (url.length() > 0) {
-      newList.add(url.toString());
+    if (inUrl) {
+      spans.set(newSize++, urlStart, urlEnd, TokenSpans.Type.URL);
     }
-    return newList;
+    spans.truncate(newSize);
   }
 
-  private boolean urlStartsAt(int i, List<String> l) {
-    String token = l.get(i);
-    if (isProtocol(token) && l.size() > i + 3) {
-      String nToken = l.get(i + 1);
-      String nnToken = l.get(i + 2);
-      String nnnToken = l.get(i + 3);
-      if (nToken.equals(":") && nnToken.equals("/") && nnnToken.equals("/")) {
+  private boolean urlStartsAt(int i, TokenSpans l) {
+    int size = l.size();
+    if (size > i + 3 && isProtocol(i, l)) {
+      if (l.tokenEquals(i + 1, ":") && l.tokenEquals(i + 2, "/") && l.tokenEquals(i + 3, "/")) {
         return true;
       }
     }
-    if (l.size() > i + 1) {
+    if (size > i + 1) {
       // e.g. www.mydomain.org
-      String nToken = l.get(i);
-      String nnToken = l.get(i + 1);
-      if (nToken.equals("www") && nnToken.equals(".")) {
+      if (l.tokenEquals(i, "www") && l.tokenEquals(i + 1, ".")) {
         return true;
       }
     }
-    if (l.size() > i + 3 && // e.g. mydomain.org/ (require slash to avoid missing errors that can be interpreted as domains)
-        l.get(i + 1).equals(".") &&   // use this order so the regex only gets matched if needed
-        l.get(i + 3).equals("/") &&
-        DOMAIN_CHARS.matcher(token).matches() &&
-        DOMAIN_CHARS.matcher(l.get(i + 2)).matches()) {
+    if (size > i + 3 && // e.g. mydomain.org/ (require slash to avoid missing errors that can be interpreted as domains)
+        l.tokenEquals(i + 1, ".") &&   // use this order so the regex only gets matched if needed
+        l.tokenEquals(i + 3, "/") &&
+        matches(DOMAIN_CHARS, i, l) &&
+        matches(DOMAIN_CHARS, i + 2, l)) {
       return true;
     }
-    return (l.size() > i + 5 &&          // e.g. sub.mydomain.org/ (require slash to avoid missing errors that can be interpreted as domains)
-        l.get(i + 1).equals(".") &&  // use this order so the regex only gets matched if needed
-        l.get(i + 3).equals(".") &&
-        l.get(i + 5).equals("/") &&
-        DOMAIN_CHARS.matcher(token).matches() &&
-        DOMAIN_CHARS.matcher(l.get(i + 2)).matches() &&
-        DOMAIN_CHARS.matcher(l.get(i + 4)).matches()
+    return (size > i + 5 &&          // e.g. sub.mydomain.org/ (require slash to avoid missing errors that can be interpreted as domains)
+        l.tokenEquals(i + 1, ".") &&  // use this order so the regex only gets matched if needed
+        l.tokenEquals(i + 3, ".") &&
+        l.tokenEquals(i + 5, "/") &&
+        matches(DOMAIN_CHARS, i, l) &&
+        matches(DOMAIN_CHARS, i + 2, l) &&
+        matches(DOMAIN_CHARS, i + 4, l)
        );
   }
 
-  private boolean isProtocol(String token) {
-    return PROTOCOLS.contains(token);
+  private boolean isProtocol(int i, TokenSpans l) {
+    for (String protocol : PROTOCOLS) {
+      if (l.tokenEquals(i, protocol)) {
+        return true;
+      }
+    }
+    return false;
   }
 
-  private boolean urlEndsAt(int i, List<String> l, String urlQuote) {
-    String token = l.get(i);
-    if (StringTools.isWhitespace(token) || token.equals(")") || token.equals("]")) {   // this is guesswork
+  private boolean urlEndsAt(int i, TokenSpans l, String urlQuote) {
+    if (l.isWhitespace(i) || l.tokenEquals(i, ")") || l.tokenEquals(i, "]")) {   // this is guesswork
       return true;
     } else if (l.size() > i + 1) {
-      String nextToken = l.get(i + 1);
-      if (((StringTools.isWhitespace(nextToken) || StringUtils.equalsAny(nextToken, "\"", "»", "«", "‘", "’", "“", "”", "'", ".")) &&
-          (StringUtils.equalsAny(token, ".", ",", ";", ":", "!", "?") || token.equals(urlQuote))) ||
-          !URL_CHARS.matcher(token).matches()) {
+      int next = i + 1;
+      if (((l.isWhitespace(next) || l.tokenEqualsAny(next, "\"", "»", "«", "‘", "’", "“", "”", "'", ".")) &&
+          (l.tokenEqualsAny(i, ".", ",", ";", ":", "!", "?") || urlQuote != null && l.tokenEquals(i, urlQuote))) ||
+          !matches(URL_CHARS, i, l)) {
         return true;
       }
     } else {
-      if (!URL_CHARS.matcher(token).matches() || token.equals(".") || token.equals(urlQuote)) {
+      if (!matches(URL_CHARS, i, l) || l.tokenEquals(i, ".") || urlQuote != null && l.tokenEquals(i, urlQuote)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean matches(Pattern pattern, int i, TokenSpans l) {
+    return pattern.matcher(l.getText()).region(l.getStart(i), l.getEnd(i)).matches();
+  }
+
+  private static boolean contains(CharSequence text, char c) {
+    for (int i = 0; i < text.length(); i++) {
+      if (text.charAt(i) == c) {
         return true;
       }
     }
     return false;
   }
 
+  /**
+   * A lookup table for the tokenizing characters.
+   */
+  private static final class Delimiters {
+
+    private final String chars;
+    private final BitSet bmp = new BitSet(65536);
+    private final Set<Integer> supplementary = new HashSet<>();
+
+    private Delimiters(String chars) {
+      this.chars = chars;
+      chars.codePoints().forEach(codePoint -> {
+        if (Character.isBmpCodePoint(codePoint)) {
+          bmp.set(codePoint);
+        } else {
+          supplementary.add(codePoint);
+        }
+      });
+    }
+
+    private boolean contains(int codePoint) {
+      return Character.isBmpCodePoint(codePoint) ? bmp.get(codePoint) : !supplementary.isEmpty() && supplementary.contains(codePoint);
+    }
+  }
+
 }
@@ -37,10 +37,12 @@ public final class LtThreadPoolFactory {
   public static final String SERVER_POOL = "lt-server-thread";
   public static final String TEXT_CHECKER_POOL = "lt-text-checker-thread";
   public static final String REMOTE_RULE_EXECUTING_POOL = "remote-rule-executing-thread";
+  public static final String PRELOAD_POOL = "lt-preload-thread";
   public static final int REMOTE_RULE_POOL_SIZE_FACTOR = 4;
   // we need more maximum threads for timed out requests that haven't been interrupted/cancelled (or reacted to that) yet
 
   private static final ConcurrentMap<String, ThreadPoolExecutor> executorServices = new ConcurrentHashMap<>();
+  private static final ConcurrentMap<String, ExecutorService> virtualThreadExecutors = new ConcurrentHashMap<>();
 
   private static final Counter rejectedTasks = Counter.build("languagetool_threadpool_rejected_tasks",
     "Rejected tasks by threadpool").labelNames("pool").register();
@@ -152,6 +154,55 @@ public final class LtThreadPoolFactory {
     return newThreadPoolExecutor;
   }
 
+  /**
+   * Create an executor that runs each task in a new virtual thread, for tasks that mostly wait for I/O,
+   * so that the number of threads doesn't limit how many of them can run at the same time. It can then be
+   * retrieved with {@link #getExecutorService(String)} instead of the thread-pool with the same identifier.
+   * Virtual threads need Java 21 or later, as LanguageTool itself only needs Java 8 they are created via reflection.
+   * @param identifier Name of the executor, used as name of its threads
+   * @return the executor, or an empty optional if virtual threads are not supported by this JVM
+   * @since 5.9
+   */
+  public static Optional<ExecutorService> createVirtualThreadExecutor(@NotNull String identifier) {
+    ExecutorService executor = virtualThreadExecutors.get(identifier);
+    if (executor != null) {
+      return Optional.of(executor);
+    }
+    try {
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, identifier + "-", 0L);
+      ThreadFactory threadFactory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+      ExecutorService newExecutor = (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+        .invoke(null, threadFactory);
+      executor = virtualThreadExecutors.putIfAbsent(identifier, newExecutor);
+      if (executor != null) {
+        newExecutor.shutdown();
+        return Optional.of(executor);
+      }
+      log.debug(LoggingTools.SYSTEM, "Created virtual thread executor {}", identifier);
+      return Optional.of(newExecutor);
+    } catch (ReflectiveOperationException e) {
+      log.warn(LoggingTools.SYSTEM, "Virtual threads are not supported by this JVM (Java {}), they need Java 21 or later",
+        System.getProperty("java.version"));
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * @param identifier Name of an already created virtual thread executor or tread-pool
+   * @return the virtual thread executor created with {@link #createVirtualThreadExecutor(String)}, if any,
+   *   otherwise the same as {@link #getFixedThreadPoolExecutor(String)}
+   * @since 5.9
+   */
+  public static ExecutorService getExecutorService(@NotNull String identifier) {
+    ExecutorService executor = virtualThreadExecutors.get(identifier);
+    if (executor != null) {
+      return executor;
+    }
+    return getFixedThreadPoolExecutor(identifier).orElse(defaultPool);
+  }
+
   /**
    * @param identifier Name of an already created tread-pool
    * @return An optional of ThreadPoolExecutor (Null or Object)
@@ -25,7 +25,9 @@ import org.languagetool.markup.AnnotatedText;
 import org.languagetool.markup.AnnotatedTextBuilder;
 import org.languagetool.rules.*;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -122,6 +124,94 @@ public class RuleMatchesAsJsonSerializer {
     return sw.toString();
   }
 
+  /**
+   * Start writing the JSON to {@code out} incrementally, for matches that become available one part
+   * of the text after the other. The result is the same as for {@link #ruleMatchesToJson2}, except
+   * that the 'warnings' section comes last, as incomplete results are only known at the end.
+   * @since 5.9
+   */
+  public IncrementalWriter startIncremental(OutputStream out, AnnotatedText text, int contextSize,
+                                            DetectedLanguage detectedLang, boolean showPremiumHint) throws IOException {
+    return new IncrementalWriter(out, text, contextSize, detectedLang, showPremiumHint);
+  }
+
+  /**
+   * @see #startIncremental(OutputStream, AnnotatedText, int, DetectedLanguage, boolean)
+   * @since 5.9
+   */
+  public class IncrementalWriter implements Closeable {
+
+    private final JsonGenerator g;
+    private final AnnotatedText text;
+    private final ContextTools contextTools = new ContextTools();
+    // only ranges are kept, matches are not needed anymore once written
+    private final CheckResults ranges = new CheckResults(Collections.emptyList(), new ArrayList<>());
+
+    private IncrementalWriter(OutputStream out, AnnotatedText text, int contextSize,
+                              DetectedLanguage detectedLang, boolean showPremiumHint) throws IOException {
+      this.text = text;
+      contextTools.setEscapeHtml(false);
+      contextTools.setContextSize(contextSize);
+      contextTools.setErrorMarker(START_MARKER, "");
+      g = factory.createGenerator(out);
+      // an unfinished response must not look like a complete one:
+      g.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+      g.writeStartObject();
+      writeSoftwareSection(g, showPremiumHint);
+      writeLanguageSection(g, detectedLang);
+      g.writeArrayFieldStart("matches");
+      g.flush();
+    }
+
+    /**
+     * Write the matches of the given results and send them to the output stream. Ignored
+     * ranges and sentence ranges of the results are written by {@link #finish(List, String)}.
+     */
+    public void writeMatches(CheckResults results) throws IOException {
+      for (RuleMatch match : results.getRuleMatches()) {
+        writeMatch(g, match, text, contextTools);
+      }
+      ranges.getIgnoredRanges().addAll(results.getIgnoredRanges());
+      ranges.addSentenceRanges(results.getSentenceRanges());
+      g.flush();
+    }
+
+    /**
+     * Write the remaining sections and finish the JSON object. Does not close the output stream.
+     * @param incompleteResultsReason see {@link #ruleMatchesToJson2}
+     */
+    public void finish(List<RuleMatch> hiddenMatches, String incompleteResultsReason) throws IOException {
+      g.writeEndArray();
+      if (hiddenMatches != null && hiddenMatches.size() > 0) {
+        writeMatchesSection("hiddenMatches", g, Collections.singletonList(new CheckResults(hiddenMatches, Collections.emptyList())), text, contextTools);
+      }
+      writeIgnoreRanges(g, Collections.singletonList(ranges));
+      writeSentenceRanges(g, Collections.singletonList(ranges));
+      writeWarningsSection(g, incompleteResultsReason);
+      g.writeEndObject();
+      g.flush();
+    }
+
+    /**
+     * Finish the JSON object after an error, instead of {@link #finish(List, String)}: the matches written
+     * so far are followed by an 'error' section, so that clients can tell the response from a complete one
+     * (its HTTP status has already been sent). Does not close the output stream.
+     */
+    public void fail(String message) throws IOException {
+      g.writeEndArray();
+      g.writeObjectFieldStart("error");
+      g.writeStringField("message", message);
+      g.writeEndObject();
+      g.writeEndObject();
+      g.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+      g.close();
+    }
+  }
+
   private void writeSoftwareSection(JsonGenerator g, boolean showPremiumHint) throws IOException {
     if (compactMode == 1) {
       return;
@@ -176,30 +266,34 @@ public class RuleMatchesAsJsonSerializer {
     g.writeArrayFieldStart(sectionName);
     for (CheckResults r : res) {
       for (RuleMatch match : r.getRuleMatches()) {
-        g.writeStartObject();
-        g.writeStringField("message", cleanSuggestion(match.getMessage()));
-        if (match.getShortMessage() != null) {
-          g.writeStringField("shortMessage", cleanSuggestion(match.getShortMessage()));
-        }
-        writeReplacements(g, match);
-        g.writeNumberField("offset", match.getFromPos());
-        g.writeNumberField("length", match.getToPos()-match.getFromPos());
-        writeContext(g, match, text, contextTools);
-        g.writeObjectFieldStart("type");
-        g.writeStringField("typeName", match.getType().toString());
-        g.writeEndObject();
-        writeRule(g, match);
-        // 3 is a guess - key 'ignoreForIncompleteSentence' isn't official and can hopefully be removed in the future
-        // now that we have 'contextForSureMatch':
-        int contextEstimate = match.getRule().estimateContextForSureMatch();
-        g.writeBooleanField("ignoreForIncompleteSentence", contextEstimate == -1 || contextEstimate > 3);
-        g.writeNumberField("contextForSureMatch", contextEstimate);
-        g.writeEndObject();
+        writeMatch(g, match, text, contextTools);
       }
     }
     g.writeEndArray();
   }
 
+  private void writeMatch(JsonGenerator g, RuleMatch match, AnnotatedText text, ContextTools contextTools) throws IOException {
+    g.writeStartObject();
+    g.writeStringField("message", cleanSuggestion(match.getMessage()));
+    if (match.getShortMessage() != null) {
+      g.writeStringField("shortMessage", cleanSuggestion(match.getShortMessage()));
+    }
+    writeReplacements(g, match);
+    g.writeNumberField("offset", match.getFromPos());
+    g.writeNumberField("length", match.getToPos()-match.getFromPos());
+    writeContext(g, match, text, contextTools);
+    g.writeObjectFieldStart("type");
+    g.writeStringField("typeName", match.getType().toString());
+    g.writeEndObject();
+    writeRule(g, match);
+    // 3 is a guess - key 'ignoreForIncompleteSentence' isn't official and can hopefully be removed in the future
+    // now that we have 'contextForSureMatch':
+    int contextEstimate = match.getRule().estimateContextForSureMatch();
+    g.writeBooleanField("ignoreForIncompleteSentence", contextEstimate == -1 || contextEstimate > 3);
+    g.writeNumberField("contextForSureMatch", contextEstimate);
+    g.writeEndObject();
+  }
+
   private void writeIgnoreRanges(JsonGenerator g, List<CheckResults> res) throws IOException {
     if (res.stream().allMatch(k -> k.getIgnoredRanges().size() == 0)) {
       return;
@@ -23,6 +23,7 @@ import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
 
 public class AnalyzedSentenceTest {
 
@@ -53,4 +54,28 @@ public class AnalyzedSentenceTest {
     assertNotEquals(sentence, copySentence);
   }
 
+  @Test
+  public void testWithDisambiguatedTokens() {
+    AnalyzedTokenReadings[] words = new AnalyzedTokenReadings[4];
+    words[0] = new AnalyzedTokenReadings(new AnalyzedToken("", "SENT_START", null));
+    words[1] = new AnalyzedTokenReadings(new AnalyzedToken("Words", "NNS", "word"));
+    words[1].addReading(new AnalyzedToken("Words", "VBZ", "word"), "");
+    words[2] = new AnalyzedTokenReadings(new AnalyzedToken(" ", null, null));
+    words[3] = new AnalyzedTokenReadings(new AnalyzedToken("count", "VB", "count"));
+    AnalyzedSentence sentence = new AnalyzedSentence(words);
+
+    AnalyzedTokenReadings[] disambiguated = words.clone();
+    disambiguated[1] = new AnalyzedTokenReadings(new AnalyzedToken("Words", "NNS", "words"));
+    AnalyzedSentence result = sentence.withDisambiguatedTokens(disambiguated);
+    AnalyzedSentence expected = new AnalyzedSentence(disambiguated, words);
+    assertEquals(expected, result);
+    assertEquals(expected.toString(), result.toString());
+    assertEquals(3, result.getTokensWithoutWhitespace().length);
+    assertEquals(3, result.getOriginalPosition(2));
+    assertSame(words[1], result.getPreDisambigTokensWithoutWhitespace()[1]);
+    assertEquals(expected.getTokenSet(), result.getTokenSet());
+    assertEquals(expected.getLemmaSet(), result.getLemmaSet());
+    assertEquals(expected.getLemmaOffsets("words"), result.getLemmaOffsets("words"));
+  }
+
 }
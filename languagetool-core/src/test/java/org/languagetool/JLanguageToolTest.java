@@ -52,4 +52,24 @@ public class JLanguageToolTest {
     assertThat(matches2.size(), is(1));
   }
 
+  @Test
+  public void testSharedRules() throws IOException {
+    Language lang = Languages.getLanguageForShortCode("xx");
+    JLanguageTool base = new JLanguageTool(lang);
+    base.disableRule("test_unification_with_negation");
+    List<PatternToken> patternTokens = Arrays.asList(PatternRuleBuilderHelper.token("my"), PatternRuleBuilderHelper.token("test"));
+    base.addRule(new PatternRule("MY_TEST", lang, patternTokens, "test rule desc", "my test rule", "my test rule"));
+
+    JLanguageTool lt1 = new JLanguageTool(base);
+    JLanguageTool lt2 = new JLanguageTool(base);
+    lt2.disableRule("MY_TEST");
+    assertThat(lt1.check("This is my test").size(), is(1));
+    assertThat(lt2.check("This is my test").size(), is(0));
+    assertThat(base.check("This is my test").size(), is(1));
+    assertThat(lt1.getAllRules().size(), is(base.getAllRules().size()));
+    for (int i = 0; i < base.getAllRules().size(); i++) {
+      assertThat(lt1.getAllRules().get(i) == base.getAllRules().get(i), is(true));
+    }
+  }
+
 }
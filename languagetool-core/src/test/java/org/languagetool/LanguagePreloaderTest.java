@@ -0,0 +1,81 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool;
+
+import org.junit.After;
+import org.junit.Test;
+import org.languagetool.language.Demo;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.*;
+
+public class LanguagePreloaderTest {
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testPreload() {
+    LanguagePreloader preloader = new LanguagePreloader(executor);
+    Demo demo = new Demo();
+    assertSame(demo, preloader.preload(demo).join());
+    List<LanguagePreloader.Step> timeline = preloader.getTimeline();
+    LanguagePreloader.Step tagger = findStep(timeline, "tagger");
+    LanguagePreloader.Step disambiguator = findStep(timeline, "disambiguator");
+    assertNotNull(findStep(timeline, "pattern rules"));
+    assertTrue(disambiguator.getStartMillis() >= tagger.getStartMillis() + tagger.getDurationMillis());
+    assertFalse(tagger.isFailed());
+    assertTrue(preloader.getReport().contains("sentence tokenizer"));
+  }
+
+  @Test
+  public void testFailedDependency() {
+    LanguagePreloader preloader = new LanguagePreloader(executor);
+    Demo demo = new Demo();
+    AtomicBoolean dependentRun = new AtomicBoolean();
+    CompletableFuture<Void> failing = preloader.run(demo, "failing", () -> { throw new IOException("test"); });
+    CompletableFuture<Void> dependent = preloader.run(demo, "dependent", () -> dependentRun.getAndSet(true), failing);
+    try {
+      dependent.join();
+      fail();
+    } catch (CompletionException expected) {
+      assertThat(dependentRun.get(), is(false));
+    }
+    assertTrue(findStep(preloader.getTimeline(), "failing").isFailed());
+    assertNull(findStep(preloader.getTimeline(), "dependent"));
+  }
+
+  private LanguagePreloader.Step findStep(List<LanguagePreloader.Step> timeline, String component) {
+    return timeline.stream().filter(step -> step.getComponent().equals(component)).findFirst().orElse(null);
+  }
+
+}
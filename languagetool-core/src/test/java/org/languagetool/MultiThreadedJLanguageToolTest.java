@@ -18,8 +18,10 @@
  */
 package org.languagetool;
 
+import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.junit.Test;
 import org.languagetool.language.Demo;
+import org.languagetool.markup.AnnotatedTextBuilder;
 import org.languagetool.rules.MultipleWhitespaceRule;
 import org.languagetool.rules.Rule;
 import org.languagetool.rules.RuleMatch;
@@ -29,6 +31,7 @@ import org.languagetool.rules.patterns.AbstractPatternRule;
 import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -52,6 +55,83 @@ public class MultiThreadedJLanguageToolTest {
     assertEquals(ruleMatchIds1, ruleMatchIds2);
   }
   
+  @Test
+  public void testPipelinedCheck() throws IOException {
+    MultiThreadedJLanguageTool lt1 = new MultiThreadedJLanguageTool(new Demo(), 3);
+    lt1.setCleanOverlappingMatches(false);
+    lt1.setPipelined(true);
+    String input = "A small toast. No error here. Foo go bar. First goes last there, please!\n\nAnother  paragraph. foo bar.";
+    List<RuleMatch> matches1 = lt1.check(input);
+    lt1.shutdown();
+
+    JLanguageTool lt2 = new JLanguageTool(new Demo());
+    lt2.setCleanOverlappingMatches(false);
+    List<RuleMatch> matches2 = lt2.check(input);
+    assertEquals(matches2.size(), matches1.size());
+    assertEquals(matches2.toString(), matches1.toString());
+  }
+
+  @Test
+  public void testPipelinedCheckWithMaxErrorsPerWordRate() throws IOException {
+    String sentences = "A small toast. No error here. Foo go bar. First goes last there, please! ";
+    String input = sentences + sentences + sentences;
+    for (float rate : new float[]{0.2f, 0.9f}) {
+      MultiThreadedJLanguageTool lt1 = new MultiThreadedJLanguageTool(new Demo(), 3);
+      lt1.setCleanOverlappingMatches(false);
+      lt1.setPipelined(true);
+      lt1.setMaxErrorsPerWordRate(rate);
+      String result1 = checkOrError(lt1, input);
+      lt1.shutdown();
+
+      JLanguageTool lt2 = new JLanguageTool(new Demo());
+      lt2.setCleanOverlappingMatches(false);
+      lt2.setMaxErrorsPerWordRate(rate);
+      assertEquals(checkOrError(lt2, input), result1);
+    }
+  }
+
+  private static String checkOrError(JLanguageTool lt, String input) throws IOException {
+    try {
+      return lt.check(input).toString();
+    } catch (RuntimeException e) {
+      // wrapped differently depending on the code path:
+      Throwable rootCause = ExceptionUtils.getRootCause(e);
+      assertThat(rootCause instanceof ErrorRateTooHighException, is(true));
+      return rootCause.getMessage();
+    }
+  }
+
+  @Test
+  public void testPipelinedCheckWithListener() throws IOException {
+    MultiThreadedJLanguageTool lt = new MultiThreadedJLanguageTool(new Demo(), 2);
+    lt.setCleanOverlappingMatches(false);
+    lt.setPipelined(true);
+    List<RuleMatch> listenerMatches = Collections.synchronizedList(new ArrayList<>());
+    List<RuleMatch> matches = lt.check(new AnnotatedTextBuilder().addText("A small toast. No error here. Foo go bar. First goes last there, please!").build(),
+      listenerMatches::add);
+    assertEquals(9, matches.size());
+    assertEquals(9, listenerMatches.size());
+    lt.shutdown();
+  }
+
+  @Test
+  public void testPipelinedCheckCancelled() throws IOException {
+    AtomicInteger analyzed = new AtomicInteger();
+    MultiThreadedJLanguageTool lt = new MultiThreadedJLanguageTool(new Demo(), 2) {
+      @Override
+      public AnalyzedSentence getAnalyzedSentence(String sentence) throws IOException {
+        analyzed.incrementAndGet();
+        return super.getAnalyzedSentence(sentence);
+      }
+    };
+    lt.setPipelined(true);
+    lt.setCheckCancelledCallback(() -> analyzed.get() >= 2);
+    lt.check("A small toast. No error here. Foo go bar. First goes last there. Another one. And the last one.");
+    // each of the two workers may have claimed a sentence before the other one's analysis cancelled the check:
+    assertThat(analyzed.get() <= 3, is(true));
+    lt.shutdown();
+  }
+
   @Test
   public void testShutdownException() throws IOException {
     MultiThreadedJLanguageTool tool = new MultiThreadedJLanguageTool(new Demo());
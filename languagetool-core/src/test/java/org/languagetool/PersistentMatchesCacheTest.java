@@ -0,0 +1,168 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.languagetool.rules.RuleMatch;
+import org.languagetool.rules.SuggestedReplacement;
+import org.languagetool.rules.patterns.PatternRule;
+import org.languagetool.rules.patterns.PatternRuleBuilderHelper;
+import org.languagetool.rules.patterns.PatternToken;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class PersistentMatchesCacheTest {
+
+  private static final String TEXT = "This is my test. Here's another sentence with my test.";
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  @Test
+  public void testWarmStart() throws IOException {
+    File dir = tempFolder.newFolder();
+    ResultCache cache1 = new ResultCache(1000, 5, TimeUnit.MINUTES, dir, 1_000_000);
+    List<RuleMatch> matches1 = getLanguageTool(cache1).check(TEXT);
+    assertTrue(matches1.size() >= 2);
+    cache1.close();
+
+    ResultCache cache2 = new ResultCache(1000, 5, TimeUnit.MINUTES, dir, 1_000_000);
+    List<RuleMatch> matches2 = getLanguageTool(cache2).check(TEXT);
+    assertThat(cache2.getPersistentMatchesCache().stats().missCount(), is(0L));
+    assertTrue(cache2.getPersistentMatchesCache().stats().hitCount() > 0);
+    assertThat(toString(matches2), is(toString(matches1)));
+    cache2.close();
+  }
+
+  @Test
+  public void testLazySuggestionsComputedByCheck() throws IOException {
+    ResultCache cache = new ResultCache(1000, 5, TimeUnit.MINUTES, tempFolder.newFolder(), 1_000_000);
+    JLanguageTool lt = getLanguageTool(cache);
+    Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    lt.addRule(new org.languagetool.rules.Rule() {
+      @Override
+      public String getId() {
+        return "LAZY_TEST";
+      }
+      @Override
+      public String getDescription() {
+        return "test rule with lazy suggestions";
+      }
+      @Override
+      public RuleMatch[] match(AnalyzedSentence sentence) {
+        RuleMatch match = new RuleMatch(this, sentence, 0, 1, "test message");
+        match.setLazySuggestedReplacements(() -> {
+          threads.add(Thread.currentThread());
+          return Collections.singletonList(new SuggestedReplacement("x"));
+        });
+        return new RuleMatch[]{match};
+      }
+    });
+    lt.check(TEXT);
+    cache.close();
+    // not computed by the thread that writes to disk, which runs after the check has finished:
+    assertThat(threads, is(Collections.singleton(Thread.currentThread())));
+  }
+
+  @Test
+  public void testFingerprintChange() throws IOException {
+    File dir = tempFolder.newFolder();
+    PersistentMatchesCache cache1 = new PersistentMatchesCache(dir, 10_000, "version1");
+    cache1.put(key(1), new byte[]{1, 2, 3});
+    cache1.close();
+    PersistentMatchesCache cache2 = new PersistentMatchesCache(dir, 10_000, "version1");
+    assertThat(cache2.getIfPresent(key(1)), is(new byte[]{1, 2, 3}));
+    cache2.close();
+    PersistentMatchesCache cache3 = new PersistentMatchesCache(dir, 10_000, "version2");
+    assertThat(cache3.getIfPresent(key(1)), is(nullValue()));
+    assertThat(cache3.size(), is(0L));
+    cache3.close();
+  }
+
+  @Test
+  public void testEviction() throws IOException {
+    PersistentMatchesCache cache = new PersistentMatchesCache(tempFolder.newFolder(), 10_000, "version1");
+    for (int i = 0; i < 1000; i++) {
+      cache.put(key(i), new byte[]{(byte) i});
+      // keep using the first entry:
+      assertThat(cache.getIfPresent(key(0)), is(new byte[]{0}));
+    }
+    assertTrue(cache.size() < 1000);
+    assertTrue(cache.stats().evictionCount() > 0);
+    assertThat(cache.getIfPresent(key(1)), is(nullValue()));
+    assertThat(cache.getIfPresent(key(999)), is(new byte[]{(byte) 999}));
+    cache.close();
+  }
+
+  @Test
+  public void testReadOnlySeesLaterWrites() throws Exception {
+    File dir = tempFolder.newFolder();
+    PersistentMatchesCache writer = new PersistentMatchesCache(dir, 10_000, "version1");
+    PersistentMatchesCache reader = new PersistentMatchesCache(dir, 10_000, "version1");
+    writer.put(key(1), new byte[]{1});
+    assertThat(reader.getIfPresent(key(1)), is(new byte[]{1}));
+    assertThat(reader.getIfPresent(key(2)), is(nullValue()));
+    // fill the first segment, so the writer starts a new one:
+    for (int i = 2; i < 300; i++) {
+      writer.put(key(i), new byte[]{(byte) i});
+    }
+    Thread.sleep(PersistentMatchesCache.RELOAD_INTERVAL_MILLIS + 100);
+    assertThat(reader.getIfPresent(key(299)), is(new byte[]{(byte) 299}));
+    reader.put(key(1000), new byte[]{1});
+    assertThat(writer.getIfPresent(key(1000)), is(nullValue()));
+    reader.close();
+    writer.close();
+  }
+
+  private JLanguageTool getLanguageTool(ResultCache cache) {
+    Language lang = Languages.getLanguageForShortCode("xx");
+    JLanguageTool lt = new JLanguageTool(lang, null, cache, null);
+    lt.disableRule("test_unification_with_negation");
+    List<PatternToken> patternTokens = Arrays.asList(PatternRuleBuilderHelper.token("my"), PatternRuleBuilderHelper.token("test"));
+    lt.addRule(new PatternRule("MY_TEST", lang, patternTokens, "test rule desc", "Did you mean <suggestion>a test</suggestion>?", "my test rule"));
+    return lt;
+  }
+
+  private static HashCode key(int i) {
+    return Hashing.murmur3_128().hashInt(i);
+  }
+
+  private static String toString(List<RuleMatch> matches) {
+    return matches.stream()
+      .map(m -> m.getRule().getFullId() + "/" + m.getFromPos() + "-" + m.getToPos() + "/" + m.getMessage() + "/" + m.getSuggestedReplacements())
+      .collect(Collectors.joining(", "));
+  }
+}
@@ -21,6 +21,8 @@ package org.languagetool.markup;
 import org.junit.Test;
 import org.languagetool.tools.ContextTools;
 
+import java.util.Random;
+
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.*;
 
@@ -71,4 +73,42 @@ public class AnnotatedTextTest {
     assertThat(contextTools.getContext(14, 18, text.getTextWithMarkup()), is("hello <p>more #xxxx# text!"));
   }
 
+  @Test
+  public void testPositionMappingInLongText() {
+    AnnotatedTextBuilder builder = new AnnotatedTextBuilder();
+    StringBuilder withMarkup = new StringBuilder();
+    StringBuilder plain = new StringBuilder();
+    Random random = new Random(42);
+    for (int i = 0; i < 2000; i++) {
+      String word = "word" + i + " ";
+      builder.addText(word);
+      withMarkup.append(word);
+      plain.append(word);
+      if (random.nextInt(3) == 0) {
+        builder.addMarkup("<b>");
+        withMarkup.append("<b>");
+      }
+    }
+    AnnotatedText text = builder.build();
+    assertThat(text.getPlainText(), is(plain.toString()));
+    for (int i = 0; i < plain.length(); i++) {
+      int pos = text.getOriginalTextPositionFor(i, false);
+      assertThat(withMarkup.charAt(pos), is(plain.charAt(i)));
+    }
+  }
+
+  @Test
+  public void testPositionMappingWithFakeMarkup() {
+    AnnotatedText text = new AnnotatedTextBuilder().
+            addText("hello").
+            addMarkup("<br/>", "\n").
+            addText("user").
+            build();
+    assertThat(text.getPlainText(), is("hello\nuser"));
+    assertThat(text.getOriginalTextPositionFor(5, false), is(5));
+    assertThat(text.getOriginalTextPositionFor(5, true), is(9));
+    assertThat(text.getOriginalTextPositionFor(6, false), is(10));
+    assertThat(text.getOriginalTextPositionFor(7, false), is(11));
+  }
+
 }
@@ -0,0 +1,162 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.languagetool.rules.ml.MLServerGrpc;
+import org.languagetool.rules.ml.MLServerProto.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+
+public class GRPCBatcherTest {
+
+  private final List<Integer> callSizes = new CopyOnWriteArrayList<>();
+  private final CountDownLatch release = new CountDownLatch(1);
+  private volatile boolean blockCalls;
+  private volatile boolean dropSentence;
+  private Server server;
+  private ManagedChannel channel;
+
+  @Before
+  public void setUp() throws Exception {
+    String name = InProcessServerBuilder.generateName();
+    // returns one match per sentence, with the sentence as its ID; not on a direct executor,
+    // as the calls would block the test thread then:
+    server = InProcessServerBuilder.forName(name).addService(new MLServerGrpc.MLServerImplBase() {
+      @Override
+      public void match(MatchRequest request, StreamObserver<MatchResponse> responseObserver) {
+        callSizes.add(request.getSentencesCount());
+        if (blockCalls) {
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+        MatchResponse.Builder response = MatchResponse.newBuilder();
+        List<String> sentences = request.getSentencesList();
+        for (String sentence : dropSentence ? sentences.subList(1, sentences.size()) : sentences) {
+          response.addSentenceMatches(MatchList.newBuilder().addMatches(Match.newBuilder().setId(sentence)));
+        }
+        responseObserver.onNext(response.build());
+        responseObserver.onCompleted();
+      }
+    }).build().start();
+    channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+  }
+
+  @After
+  public void tearDown() {
+    release.countDown();
+    channel.shutdownNow();
+    server.shutdownNow();
+  }
+
+  @Test
+  public void testFullBatch() throws Exception {
+    GRPCBatcher batcher = new GRPCBatcher(MLServerGrpc.newFutureStub(channel), "TEST", 4, 10_000);
+    ListenableFuture<MatchResponse> r1 = batcher.match(request(false, "a"), 0);
+    ListenableFuture<MatchResponse> r2 = batcher.match(request(false, "b", "c"), 5000);
+    ListenableFuture<MatchResponse> r3 = batcher.match(request(false, "d"), 0);
+    assertThat(ids(r1.get(1, TimeUnit.SECONDS)), is(Arrays.asList("a")));
+    assertThat(ids(r2.get(1, TimeUnit.SECONDS)), is(Arrays.asList("b", "c")));
+    assertThat(ids(r3.get(1, TimeUnit.SECONDS)), is(Arrays.asList("d")));
+    assertThat(callSizes, is(Arrays.asList(4)));
+  }
+
+  @Test
+  public void testOverflowingRequestStartsNewBatch() throws Exception {
+    GRPCBatcher batcher = new GRPCBatcher(MLServerGrpc.newFutureStub(channel), "TEST", 3, 50);
+    ListenableFuture<MatchResponse> r1 = batcher.match(request(false, "a", "b"), 0);
+    ListenableFuture<MatchResponse> r2 = batcher.match(request(false, "c", "d"), 0);
+    assertThat(ids(r1.get(1, TimeUnit.SECONDS)), is(Arrays.asList("a", "b")));
+    assertThat(ids(r2.get(1, TimeUnit.SECONDS)), is(Arrays.asList("c", "d")));
+    assertThat(callSizes, is(Arrays.asList(2, 2)));
+  }
+
+  @Test
+  public void testMaxWait() throws Exception {
+    GRPCBatcher batcher = new GRPCBatcher(MLServerGrpc.newFutureStub(channel), "TEST", 100, 20);
+    ListenableFuture<MatchResponse> r1 = batcher.match(request(false, "a"), 0);
+    ListenableFuture<MatchResponse> r2 = batcher.match(request(true, "b"), 0);
+    assertThat(ids(r1.get(1, TimeUnit.SECONDS)), is(Arrays.asList("a")));
+    assertThat(ids(r2.get(1, TimeUnit.SECONDS)), is(Arrays.asList("b")));
+    // different inputLogging settings are never combined:
+    assertThat(callSizes, is(Arrays.asList(1, 1)));
+  }
+
+  @Test
+  public void testTimeout() throws Exception {
+    blockCalls = true;
+    GRPCBatcher batcher = new GRPCBatcher(MLServerGrpc.newFutureStub(channel), "TEST", 2, 10_000);
+    ListenableFuture<MatchResponse> r1 = batcher.match(request(false, "a"), 50);
+    ListenableFuture<MatchResponse> r2 = batcher.match(request(false, "b"), 0);
+    try {
+      r1.get(1, TimeUnit.SECONDS);
+      fail();
+    } catch (ExecutionException e) {
+      assertThat(e.getCause(), instanceOf(TimeoutException.class));
+    }
+    release.countDown();
+    assertThat(ids(r2.get(1, TimeUnit.SECONDS)), is(Arrays.asList("b")));
+  }
+
+  @Test
+  public void testMissingMatches() throws Exception {
+    dropSentence = true;
+    GRPCBatcher batcher = new GRPCBatcher(MLServerGrpc.newFutureStub(channel), "TEST", 2, 10_000);
+    ListenableFuture<MatchResponse> r1 = batcher.match(request(false, "a"), 0);
+    ListenableFuture<MatchResponse> r2 = batcher.match(request(false, "b"), 0);
+    for (ListenableFuture<MatchResponse> response : Arrays.asList(r1, r2)) {
+      try {
+        response.get(1, TimeUnit.SECONDS);
+        fail();
+      } catch (ExecutionException e) {
+        assertThat(e.getCause(), instanceOf(IllegalStateException.class));
+      }
+    }
+  }
+
+  private static MatchRequest request(boolean inputLogging, String... sentences) {
+    return MatchRequest.newBuilder().setInputLogging(inputLogging).addAllSentences(Arrays.asList(sentences)).build();
+  }
+
+  private static List<String> ids(MatchResponse response) {
+    return response.getSentenceMatchesList().stream()
+      .map(matches -> matches.getMatches(0).getId())
+      .collect(Collectors.toList());
+  }
+
+}
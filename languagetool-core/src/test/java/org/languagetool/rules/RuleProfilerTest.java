@@ -0,0 +1,74 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules;
+
+import org.junit.After;
+import org.junit.Test;
+import org.languagetool.JLanguageTool;
+import org.languagetool.TestTools;
+import org.languagetool.language.Demo;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+
+public class RuleProfilerTest {
+
+  @After
+  public void tearDown() {
+    RuleProfiler.setSampleRate(0);
+    RuleProfiler.reset();
+  }
+
+  @Test
+  public void testProfiling() throws IOException {
+    Demo demo = new Demo();
+    JLanguageTool lt = new JLanguageTool(demo);
+    lt.addRule(new WordRepeatRule(TestTools.getEnglishMessages(), demo));
+
+    lt.check("This is is a test.");
+    assertFalse(findStats("WORD_REPEAT_RULE").isPresent());
+
+    List<String> checkedRules = new ArrayList<>();
+    RuleProfiler.Listener listener = (rule, nanos, matchCount) -> checkedRules.add(rule.getId());
+    RuleProfiler.addListener(listener);
+    try {
+      RuleProfiler.setSampleRate(1);
+      lt.check("This is is a test.");
+      lt.check("This is a test.");
+    } finally {
+      RuleProfiler.removeListener(listener);
+    }
+    RuleProfiler.RuleStats stats = findStats("WORD_REPEAT_RULE").get();
+    assertThat(stats.getInvocations(), is(2L));
+    assertThat(stats.getMatches(), is(1L));
+    assertTrue(stats.getPercentileNanos(0.5) <= stats.getPercentileNanos(0.99));
+    assertTrue(checkedRules.contains("WORD_REPEAT_RULE"));
+    assertTrue(RuleProfiler.getReport(1000).contains("WORD_REPEAT_RULE"));
+  }
+
+  private Optional<RuleProfiler.RuleStats> findStats(String ruleId) {
+    return RuleProfiler.getStats().stream().filter(s -> s.getRuleId().equals(ruleId)).findFirst();
+  }
+
+}
@@ -0,0 +1,103 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.*;
+
+public class UserDictionaryTest {
+
+  @Test
+  public void testLookup() {
+    UserDictionary dict = UserDictionary.of(Arrays.asList("mistak", "LanguageTool", "foo bar", "mistak"));
+    assertThat(dict.size(), is(3));
+    assertThat(dict.getWords(), is(Arrays.asList("LanguageTool", "foo bar", "mistak")));
+    assertThat(dict.getPhrases(), is(Collections.singleton("foo bar")));
+    assertTrue(dict.contains("mistak"));
+    assertTrue(dict.contains("foo bar"));
+    assertFalse(dict.contains("foo"));
+    assertFalse(dict.contains("Mistak"));
+    assertTrue(dict.accepts("Mistak"));
+    assertTrue(dict.accepts("MISTAK"));
+    assertFalse(dict.accepts("LANGUAGETOOL"));
+    assertFalse(dict.accepts("languagetool"));
+  }
+
+  @Test
+  public void testSimilarWords() {
+    UserDictionary dict = UserDictionary.of(Arrays.asList("mistak", "mistake", "LanguageTool", "foo bar"));
+    assertThat(dict.getSimilarWords("mistk", 1), is(Collections.singletonList("mistak")));
+    assertThat(dict.getSimilarWords("mistk", 2), is(Arrays.asList("mistak", "mistake")));
+    assertThat(dict.getSimilarWords("LanguageTol", 2), is(Collections.singletonList("LanguageTool")));
+    assertThat(dict.getSimilarWords("foo baz", 2), is(Collections.emptyList()));
+  }
+
+  @Test
+  public void testShared() {
+    List<String> words = Arrays.asList("foo", "bar");
+    UserDictionary dict = UserDictionary.of(words);
+    assertSame(dict, UserDictionary.of(new ArrayList<>(words)));
+    assertSame(UserDictionary.EMPTY, UserDictionary.of(Collections.emptyList()));
+    UserDictionary other = UserDictionary.of(Arrays.asList("foo", "bar", "baz"));
+    assertNotSame(dict, other);
+    assertNotEquals(dict.getVersion(), other.getVersion());
+  }
+
+  @Test
+  public void testIncrementalUpdates() {
+    UserDictionary dict = UserDictionary.of(Arrays.asList("foo", "bar", "foo bar"));
+    UserDictionary updated = dict.withAdded(Arrays.asList("baz", "bar", "new phrase")).withRemoved(Arrays.asList("foo", "foo bar"));
+    assertThat(updated.getDeltaSize(), is(4));
+    assertThat(updated.size(), is(3));
+    assertTrue(updated.contains("baz"));
+    assertTrue(updated.contains("bar"));
+    assertFalse(updated.contains("foo"));
+    assertThat(updated.getPhrases(), is(Collections.singleton("new phrase")));
+    assertThat(updated.getWords(), is(Arrays.asList("bar", "baz", "new phrase")));
+    assertThat(updated.getSimilarWords("bax", 1), is(Arrays.asList("bar", "baz")));
+    assertNotEquals(dict.getVersion(), updated.getVersion());
+    // the original dictionary is not affected:
+    assertTrue(dict.contains("foo"));
+    assertFalse(dict.contains("baz"));
+    assertThat(dict.size(), is(3));
+
+    // adding a removed word and removing an added one only undoes the change:
+    UserDictionary undone = updated.withAdded(Collections.singletonList("foo")).withRemoved(Collections.singletonList("baz"));
+    assertThat(undone.getDeltaSize(), is(2));
+    assertTrue(undone.contains("foo"));
+    assertFalse(undone.contains("baz"));
+    assertSame(undone, undone.withAdded(Collections.singletonList("foo")));
+    assertSame(undone, undone.withRemoved(Collections.singletonList("baz")));
+
+    UserDictionary compacted = updated.compact();
+    assertThat(compacted.getDeltaSize(), is(0));
+    assertThat(compacted.getWords(), is(updated.getWords()));
+    assertThat(compacted.getPhrases(), is(updated.getPhrases()));
+    assertThat(compacted.getVersion(), is(updated.getVersion()));
+  }
+
+}
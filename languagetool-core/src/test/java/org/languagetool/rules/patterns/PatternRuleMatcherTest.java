@@ -25,12 +25,15 @@ import static org.junit.Assert.*;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
 
 import org.junit.BeforeClass;
 import org.junit.Ignore;
 import org.junit.Test;
+import org.languagetool.AnalyzedSentence;
+import org.languagetool.AnalyzedTokenReadings;
 import org.languagetool.JLanguageTool;
 import org.languagetool.Languages;
 import org.languagetool.language.Demo;
@@ -477,6 +480,42 @@ public class PatternRuleMatcherTest {
     assertFalse(ruleMatch2.equals(ruleMatch3));
   }
 
+  @Test
+  public void testStartTokenIndex() throws Exception {
+    // regexes that can't be used as token hints, so matching may start anywhere:
+    StringMatcher startMatcher = StringMatcher.create("[ab].*", true, false);
+    PatternToken sharedStart1 = new PatternToken(false, startMatcher);
+    PatternToken sharedStart2 = new PatternToken(false, startMatcher);
+    PatternRuleMatcher matcher1 = getMatcher(sharedStart1, makeElement("c"));
+    PatternRuleMatcher matcher2 = getMatcher(sharedStart2, makeElement("d"));
+    RuleMatch[] matches1 = getMatches("x ab c a d b c", matcher1);
+    assertThat(matches1.length, is(2));
+    assertPosition(matches1[0], 2, 6);
+    assertPosition(matches1[1], 11, 14);
+    RuleMatch[] matches2 = getMatches("x ab c a d b c", matcher2);
+    assertThat(matches2.length, is(1));
+    assertPosition(matches2[0], 7, 10);
+
+  }
+
+  @Test
+  public void testStartTokenIndexSharedPositions() throws Exception {
+    StringMatcher startMatcher = StringMatcher.create("[ab].*", true, false);
+    AnalyzedSentence sentence = lt.getAnalyzedSentence("x ab c a d");
+    AnalyzedTokenReadings[] tokens = sentence.getTokensWithoutWhitespace();
+    BitSet positions1 = StartTokenIndex.getStartPositions(sentence, false, tokens, new PatternToken(false, startMatcher));
+    BitSet positions2 = StartTokenIndex.getStartPositions(sentence, false, tokens, new PatternToken(false, startMatcher));
+    assertSame(positions1, positions2);
+    assertThat(positions1.toString(), is("{2, 4}"));
+    BitSet otherPositions = StartTokenIndex.getStartPositions(sentence, false, tokens, new PatternToken(false, StringMatcher.create("[ab].*", true, false)));
+    assertNotSame(positions1, otherPositions);
+    assertThat(otherPositions, is(positions1));
+
+    PatternToken optionalStart = new PatternToken(false, startMatcher);
+    optionalStart.setMinOccurrence(0);
+    assertNull(StartTokenIndex.getStartPositions(sentence, false, tokens, optionalStart));
+  }
+
   private RuleMatch[] getMatches(String input, PatternRuleMatcher matcher) throws IOException {
     return matcher.match(lt.getAnalyzedSentence(input));
   }
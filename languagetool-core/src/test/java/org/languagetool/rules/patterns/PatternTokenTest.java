@@ -177,4 +177,16 @@ public class PatternTokenTest {
     token.setAndGroupElement(new PatternTokenBuilder().tokenRegex("foo|an").build());
     assertEquals(Sets.newHashSet("an"), token.calcFormHints());
   }
+
+  @Test
+  public void testPosRegexMatchedRepeatedly() {
+    PatternToken patternToken = new PatternToken("", false, false, false);
+    patternToken.setPosToken(new PatternToken.PosToken("SUB:NOM:SIN:.*", true, false));
+    for (int i = 0; i < 3; i++) {
+      for (int j = 0; j < 100; j++) {
+        assertTrue(patternToken.isMatched(new AnalyzedToken("Haus", "SUB:NOM:SIN:NEU:" + j, null)));
+        assertFalse(patternToken.isMatched(new AnalyzedToken("Hauses", "SUB:GEN:SIN:NEU:" + j, null)));
+      }
+    }
+  }
 }
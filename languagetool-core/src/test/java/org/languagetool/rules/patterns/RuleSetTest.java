@@ -64,15 +64,38 @@ public class RuleSetTest {
     PatternToken unsuitable = new PatternTokenBuilder().csToken("unsuitable").matchInflectedForms().build();
     assertRulesForSentence(textLemmaHinted(Collections.singletonList(ruleOf(unsuitable))));
 
-    PatternRule unrelated = ruleOf(pos("somePos"));
+    PatternRule unrelated = ruleOf(posRegex("p.*"));
     assertRulesForSentence(textLemmaHinted(Arrays.asList(ruleOf(unsuitable), unrelated)), unrelated);
   }
 
+  @Test
+  public void posHintsAreHonored() {
+    PatternRule suitable = ruleOf(pos("pos"));
+    assertRulesForSentence(textLemmaHinted(Collections.singletonList(suitable)), suitable);
+
+    suitable = ruleOf(posRegex("p.s|other"));
+    assertRulesForSentence(textLemmaHinted(Collections.singletonList(suitable)), suitable);
+
+    PatternRule unsuitable = ruleOf(posRegex("other.*"));
+    assertRulesForSentence(textLemmaHinted(Collections.singletonList(unsuitable)));
+    assertRulesForSentence(textLemmaHinted(Collections.singletonList(ruleOf(token("token"), pos("other")))));
+    assertRulesForSentence(textLemmaHinted(Collections.singletonList(ruleOf(pos("pos"), pos("other")))));
+
+    // POS tags change during disambiguation, so they're no hints there:
+    assertRulesForSentence(RuleSet.textHinted(Collections.singletonList(unsuitable)), unsuitable);
+
+    PatternRule optional = ruleOf(new PatternTokenBuilder().posRegex("other.*").min(0).build(), token("token"));
+    assertRulesForSentence(textLemmaHinted(Collections.singletonList(optional)), optional);
+
+    PatternRule both = ruleOf(token("token"), posRegex("po.*"));
+    assertRulesForSentence(textLemmaHinted(Arrays.asList(unsuitable, both)), both);
+  }
+
   private static void assertRulesForSentence(RuleSet ruleSet, PatternRule... expected) {
     assertEquals(Arrays.asList(expected), ruleSet.rulesForSentence(sampleSentence));
   }
 
-  private static PatternRule ruleOf(PatternToken token) {
-    return new PatternRule("", new FakeLanguage(), Collections.singletonList(token), "", "", "");
+  private static PatternRule ruleOf(PatternToken... tokens) {
+    return new PatternRule("", new FakeLanguage(), Arrays.asList(tokens), "", "", "");
   }
 }
@@ -598,4 +598,62 @@ public class UnifierTest {
     uni.reset();
   }
 
+  @Test
+  public void testCompiledUnifierGivesSameResults() {
+    UnifierConfiguration unifierConfig = new UnifierConfiguration();
+    unifierConfig.setEquivalence("number", "singular",
+        preparePOSElement(".*[\\.:]sg:.*"));
+    unifierConfig.setEquivalence("number", "plural",
+        preparePOSElement(".*[\\.:]pl:.*"));
+    unifierConfig.setEquivalence("gender", "feminine",
+        preparePOSElement(".*[\\.:]f([\\.:].*)?"));
+    unifierConfig.setEquivalence("gender", "masculine",
+        preparePOSElement(".*[\\.:]m([\\.:].*)?"));
+    unifierConfig.setEquivalence("gender", "neutral",
+        preparePOSElement(".*[\\.:]n([\\.:].*)?"));
+
+    Unifier compiled = unifierConfig.createUnifier();
+    assertTrue(compiled instanceof CompiledUnifier);
+    Unifier reference = new Unifier(unifierConfig.getEquivalenceTypes(), unifierConfig.getEquivalenceFeatures());
+
+    List<AnalyzedToken> tokens = Arrays.asList(
+        new AnalyzedToken("osobiste", "adj:pl:nom.acc.voc:f.n.m2.m3:pos:aff", "osobisty"),
+        new AnalyzedToken("osobiste", "adj:sg:nom.acc.voc:n:pos:aff", "osobisty"),
+        new AnalyzedToken("mały", "adj:sg:nom:m:pos:aff", "mały"),
+        new AnalyzedToken("godło", "subst:sg:nom.acc.voc:n", "godło"),
+        new AnalyzedToken("ludzie", "subst:pl:nom:m", "człowiek"),
+        new AnalyzedToken("kobiety", "subst:pl:nom:f", "kobieta"),
+        new AnalyzedToken("xx", "abc", "xx"));
+    Map<String, List<String>> numberAndGender = new HashMap<>();
+    numberAndGender.put("number", null);
+    numberAndGender.put("gender", null);
+    Map<String, List<String>> number = new HashMap<>();
+    number.put("number", Collections.singletonList("singular"));
+    AnalyzedTokenReadings comma = new AnalyzedTokenReadings(new AnalyzedToken(",", "comma", ","), 0);
+
+    for (Map<String, List<String>> equiv : Arrays.asList(numberAndGender, number)) {
+      for (AnalyzedToken t1 : tokens) {
+        for (AnalyzedToken t2 : tokens) {
+          for (AnalyzedToken t3 : tokens) {
+            for (boolean neutral : new boolean[]{false, true}) {
+              List<String> results = new ArrayList<>();
+              for (Unifier uni : Arrays.asList(reference, compiled)) {
+                uni.isUnified(t1, equiv, false);
+                uni.isUnified(t2, equiv, true);
+                if (neutral) {
+                  uni.addNeutralElement(comma);
+                }
+                boolean unified = uni.isUnified(t3, equiv, false);
+                unified &= uni.isUnified(t2, equiv, true);
+                results.add(unified + " " + Arrays.toString(uni.getFinalUnified()));
+                uni.reset();
+              }
+              assertEquals(t1 + " " + t2 + " " + t3 + " " + equiv, results.get(0), results.get(1));
+            }
+          }
+        }
+      }
+    }
+  }
+
 }
@@ -0,0 +1,125 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.spelling.morfologik;
+
+import morfologik.fsa.CFSA2;
+import morfologik.fsa.FSA5;
+import morfologik.stemming.Dictionary;
+import morfologik.stemming.DictionaryLookup;
+import morfologik.stemming.WordData;
+import org.junit.Test;
+import org.languagetool.JLanguageTool;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.*;
+
+public class MappedDictionaryLoaderTest {
+
+  @Test
+  public void testSameContentAsHeapDictionary() throws IOException {
+    for (URL url : new URL[] {
+        JLanguageTool.getDataBroker().getFromResourceDirAsUrl("/xx/spelling/test.dict"),
+        MappedDictionaryLoaderTest.class.getResource("/org/languagetool/tagging/test.dict"),
+        MappedDictionaryLoaderTest.class.getResource("/org/languagetool/tagging/test-fsa5.dict")}) {
+      Dictionary heap = Dictionary.read(url);
+      Dictionary mapped = MappedDictionaryLoader.map(url);
+      assertNotNull(mapped);
+      assertThat(getSequences(mapped), is(getSequences(heap)));
+      assertThat(mapped.metadata.getSeparator(), is(heap.metadata.getSeparator()));
+    }
+    assertTrue(MappedDictionaryLoader.getMappedBytes() > 0);
+  }
+
+  @Test
+  public void testLookup() throws IOException {
+    URL url = MappedDictionaryLoaderTest.class.getResource("/org/languagetool/tagging/test.dict");
+    Dictionary mapped = MappedDictionaryLoader.map(url);
+    List<WordData> words = new DictionaryLookup(mapped).lookup("Mixedcase");
+    assertThat(words.size(), is(1));
+    assertThat(words.get(0).getStem().toString(), is("mixedlemma"));
+    assertThat(words.get(0).getTag().toString(), is("POS2"));
+    assertThat(new DictionaryLookup(mapped).lookup("nosuchword").size(), is(0));
+  }
+
+  @Test
+  public void testFormats() throws IOException {
+    assertThat(Dictionary.read(MappedDictionaryLoaderTest.class.getResource("/org/languagetool/tagging/test.dict")).fsa, instanceOf(CFSA2.class));
+    assertThat(MappedDictionaryLoader.map(MappedDictionaryLoaderTest.class.getResource("/org/languagetool/tagging/test.dict")).fsa, instanceOf(MappedCFSA2.class));
+    assertThat(Dictionary.read(MappedDictionaryLoaderTest.class.getResource("/org/languagetool/tagging/test-fsa5.dict")).fsa, instanceOf(FSA5.class));
+    assertThat(MappedDictionaryLoader.map(MappedDictionaryLoaderTest.class.getResource("/org/languagetool/tagging/test-fsa5.dict")).fsa, instanceOf(MappedFSA5.class));
+  }
+
+  @Test
+  public void testLookupFSA5() throws IOException {
+    // test-fsa5.dict has the entries of test.dict and words of an English text, see test-fsa5.dict.README
+    URL url = MappedDictionaryLoaderTest.class.getResource("/org/languagetool/tagging/test-fsa5.dict");
+    Dictionary heap = Dictionary.read(url);
+    Dictionary mapped = MappedDictionaryLoader.map(url);
+    DictionaryLookup heapLookup = new DictionaryLookup(heap);
+    DictionaryLookup mappedLookup = new DictionaryLookup(mapped);
+    List<String> words = new ArrayList<>();
+    for (String sequence : getSequences(heap)) {
+      words.add(sequence.substring(0, sequence.indexOf('+')));
+    }
+    words.add("nosuchword");
+    words.add("Mixedcasex");
+    words.add("");
+    for (String word : words) {
+      assertThat(word, toStrings(mappedLookup.lookup(word)), is(toStrings(heapLookup.lookup(word))));
+    }
+    assertThat(toStrings(mappedLookup.lookup("Mixedcase")), is(Arrays.asList("Mixedcase/mixedlemma/POS2")));
+  }
+
+  @Test
+  public void testSpeller() throws IOException {
+    URL url = JLanguageTool.getDataBroker().getFromResourceDirAsUrl("/xx/spelling/test.dict");
+    MorfologikSpeller speller = new MorfologikSpeller(MappedDictionaryLoader.map(url), 1);
+    assertFalse(speller.isMisspelled("wordone"));
+    assertFalse(speller.isMisspelled("Häuser"));
+    assertTrue(speller.isMisspelled("Hauser"));
+    assertTrue(speller.findReplacements("wordonex").contains("wordone"));
+  }
+
+  private List<String> getSequences(Dictionary dictionary) {
+    List<String> result = new ArrayList<>();
+    for (ByteBuffer sequence : dictionary.fsa) {
+      result.add(new String(sequence.array(), sequence.position(), sequence.remaining(), Charset.forName(dictionary.metadata.getEncoding())));
+    }
+    return result;
+  }
+
+  private List<String> toStrings(List<WordData> words) {
+    List<String> result = new ArrayList<>();
+    for (WordData word : words) {
+      result.add(word.getWord() + "/" + word.getStem() + "/" + word.getTag());
+    }
+    return result;
+  }
+
+}
@@ -0,0 +1,64 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.tagging;
+
+import org.junit.Test;
+import org.languagetool.AnalyzedToken;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.*;
+
+public class TaggedWordCacheTest {
+
+  @Test
+  public void testCache() {
+    TaggedWordCache cache = new TaggedWordCache(10);
+    AtomicInteger lookups = new AtomicInteger();
+    List<AnalyzedToken> first = cache.getAnalyzedTokens("house", word -> {
+      lookups.incrementAndGet();
+      return Arrays.asList(new AnalyzedToken(word, "NN", "house"), new AnalyzedToken(word, "VB", "house"));
+    });
+    first.get(0).setWhitespaceBefore(true);
+    List<AnalyzedToken> second = cache.getAnalyzedTokens("house", word -> {
+      throw new AssertionError("cached word tagged again");
+    });
+    assertThat(lookups.get(), is(1));
+    assertThat(second.size(), is(2));
+    assertThat(second.get(0).getPOSTag(), is("NN"));
+    assertNotSame(first.get(0), second.get(0));
+    assertFalse(second.get(0).isWhitespaceBefore());
+    assertThat(cache.getStats().hitCount(), is(1L));
+    assertThat(cache.getStats().missCount(), is(1L));
+  }
+
+  @Test
+  public void testMaximumSize() {
+    TaggedWordCache cache = new TaggedWordCache(2);
+    for (int i = 0; i < 10; i++) {
+      cache.getAnalyzedTokens("word" + i, word -> Arrays.asList(new AnalyzedToken(word, null, null)));
+    }
+    assertTrue(cache.size() <= 2);
+  }
+
+}
@@ -21,6 +21,7 @@ package org.languagetool.tokenizers;
 
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.Assert.*;
@@ -126,6 +127,43 @@ public class WordTokenizerTest {
     assertEquals("foo| |http://|?| |bar", tokenize("foo http://? bar"));
   }
 
+  @Test
+  public void testEMailInsideToken() {
+    // the address must not be merged if it starts or ends inside a token, as text would get lost:
+    assertEquals("a@b|.|com‑c", tokenize("a@b.com‑c"));
+    assertEquals("x@a@b|.|com", tokenize("x@a@b.com"));
+    assertEquals("foo| |a@b.com| |bar", tokenize("foo a@b.com bar"));
+  }
+
+  @Test
+  public void testSpans() {
+    String text = "Mail dev@languagetool.org or see http://foo.org/x, ok";
+    TokenSpans spans = new TokenSpans(text);
+    wordTokenizer.split(spans);
+    wordTokenizer.joinEMailsAndUrls(spans);
+    assertEquals(wordTokenizer.tokenize(text), spans.getTokens());
+    assertEquals(TokenSpans.Type.WORD, spans.getType(0));
+    assertEquals(TokenSpans.Type.WHITESPACE, spans.getType(1));
+    assertEquals(TokenSpans.Type.EMAIL, spans.getType(2));
+    assertEquals(5, spans.getStart(2));
+    assertEquals(25, spans.getEnd(2));
+    assertEquals(TokenSpans.Type.URL, spans.getType(8));
+    assertEquals("http://foo.org/x", spans.getToken(8));
+    assertEquals(TokenSpans.Type.DELIMITER, spans.getType(9));
+    assertTrue(spans.tokenEquals(9, ","));
+  }
+
+  @Test
+  public void testJoinEMailsAndUrlsWithCustomTokenize() {
+    WordTokenizer tokenizer = new WordTokenizer() {
+      @Override
+      public List<String> tokenize(String text) {
+        return joinEMailsAndUrls(Arrays.asList(text.split("(?<= )|(?= )")));
+      }
+    };
+    assertEquals("[see,  , www.languagetool.org,  , now]", tokenizer.tokenize("see www.languagetool.org now").toString());
+  }
+
   private String tokenize(String text) {
     List<String> tokens = wordTokenizer.tokenize(text);
     return String.join("|", tokens);
@@ -24,6 +24,7 @@ import org.junit.Ignore;
 import org.junit.Test;
 
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 
@@ -64,6 +65,21 @@ public class LtThreadPoolFactoryTest {
     assertEquals(LtThreadPoolFactory.defaultPool, LtThreadPoolFactory.getFixedThreadPoolExecutor("Test-Pool-notCached").get());
   }
 
+  @Test
+  public void virtualThreadExecutorTest() throws Exception {
+    Optional<ExecutorService> executor = LtThreadPoolFactory.createVirtualThreadExecutor("Test-Virtual");
+    String javaVersion = System.getProperty("java.specification.version");
+    boolean supported = !javaVersion.startsWith("1.") && Integer.parseInt(javaVersion) >= 21;
+    assertEquals(supported, executor.isPresent());
+    if (supported) {
+      assertSame(executor.get(), LtThreadPoolFactory.getExecutorService("Test-Virtual"));
+      assertSame(executor.get(), LtThreadPoolFactory.createVirtualThreadExecutor("Test-Virtual").get());
+      assertTrue(executor.get().submit(() -> Thread.currentThread().getName()).get().startsWith("Test-Virtual-"));
+    } else {
+      assertEquals(LtThreadPoolFactory.defaultPool, LtThreadPoolFactory.getExecutorService("Test-Virtual"));
+    }
+  }
+
   @Test
   @Ignore //Could fail if CI is to slow and will slow down the CI build; test local
   public void stressedQueueTest() {
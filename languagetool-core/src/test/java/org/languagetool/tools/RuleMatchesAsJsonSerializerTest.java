@@ -20,12 +20,17 @@ package org.languagetool.tools;
 
 import org.junit.Test;
 import org.languagetool.*;
+import org.languagetool.markup.AnnotatedText;
+import org.languagetool.markup.AnnotatedTextBuilder;
 import org.languagetool.rules.ITSIssueType;
 import org.languagetool.rules.Rule;
 import org.languagetool.rules.RuleMatch;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.Assert.*;
@@ -85,6 +90,46 @@ public class RuleMatchesAsJsonSerializerTest {
     assertContains("\"tags\":[\"picky\"]", json);
   }
 
+  @Test
+  public void testIncrementalJson() throws IOException {
+    DetectedLanguage lang = new DetectedLanguage(Languages.getLanguageForShortCode("xx-XX"), Languages.getLanguageForShortCode("xx-XX")) ;
+    AnnotatedText text = new AnnotatedTextBuilder().addText("This is an text.").build();
+    CheckResults res1 = new CheckResults(matches, Collections.emptyList());
+    CheckResults res2 = new CheckResults(matches2, Collections.emptyList());
+    String json = serializer.ruleMatchesToJson2(Arrays.asList(res1, res2), null, text, 5, lang, "timeout", false, null);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (RuleMatchesAsJsonSerializer.IncrementalWriter writer = serializer.startIncremental(out, text, 5, lang, false)) {
+      writer.writeMatches(res1);
+      assertContains("\"FAKE_ID\"", out.toString(StandardCharsets.UTF_8.name()));  // already sent
+      writer.writeMatches(res2);
+      writer.finish(null, "timeout");
+    }
+    String incrementalJson = out.toString(StandardCharsets.UTF_8.name());
+    assertEquals(getSection("matches", json), getSection("matches", incrementalJson));
+    assertContains("\"incompleteResultsReason\":\"timeout\"", incrementalJson);
+    assertTrue(incrementalJson.endsWith("}"));
+  }
+
+  @Test
+  public void testIncrementalJsonWithError() throws IOException {
+    DetectedLanguage lang = new DetectedLanguage(Languages.getLanguageForShortCode("xx-XX"), Languages.getLanguageForShortCode("xx-XX")) ;
+    AnnotatedText text = new AnnotatedTextBuilder().addText("This is an text.").build();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (RuleMatchesAsJsonSerializer.IncrementalWriter writer = serializer.startIncremental(out, text, 5, lang, false)) {
+      writer.writeMatches(new CheckResults(matches, Collections.emptyList()));
+      writer.fail("timeout");
+    }
+    String json = out.toString(StandardCharsets.UTF_8.name());
+    assertContains("\"FAKE_ID\"", json);
+    assertTrue(json.endsWith("],\"error\":{\"message\":\"timeout\"}}"));
+    assertNotContains("\"warnings\"", json);
+  }
+
+  private String getSection(String name, String json) {
+    int start = json.indexOf("\"" + name + "\":");
+    return json.substring(start, json.indexOf(",\"sentenceRanges\"", start));
+  }
+
   private void assertContains(String expectedSubstring, String json) {
     assertTrue("Did not find expected string '" + expectedSubstring + "' in JSON:\n" + json, json.contains(expectedSubstring));
   }
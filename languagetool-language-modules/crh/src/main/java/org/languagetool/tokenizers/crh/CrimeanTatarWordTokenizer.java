@@ -18,18 +18,17 @@
  */
 package org.languagetool.tokenizers.crh;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.StringTokenizer;
-
+import org.languagetool.tokenizers.TokenSpans;
 import org.languagetool.tokenizers.WordTokenizer;
 
 
 public class CrimeanTatarWordTokenizer extends WordTokenizer {
 
+  private final String crhTokenizingChars = super.getTokenizingCharacters() + "–";  // n-dash
+
   @Override
   public String getTokenizingCharacters() {
-    return super.getTokenizingCharacters() + "–";  // n-dash
+    return crhTokenizingChars;
   }
 
   /**
@@ -42,21 +41,14 @@ public class CrimeanTatarWordTokenizer extends WordTokenizer {
    * <li> it includes n-dash as a tokenizing character,
    * as it is used without a whitespace in CrimeanTatar.
    * </ol>
-   * @param text String of words to tokenize.
    */
   @Override
-  public List<String> tokenize(String text) {
-    List<String> l = new ArrayList<>();
-    StringTokenizer st = new StringTokenizer(text, getTokenizingCharacters(), true);
-    while (st.hasMoreElements()) {
-      String token = st.nextToken();
-      if (token.length() > 1 && token.endsWith("-")) {
-        l.add(token.substring(0, token.length() - 1));
-        l.add("-");
-      } else {
-        l.add(token);
-      }
+  protected void addWord(TokenSpans spans, int start, int end) {
+    if (end - start > 1 && spans.getText().charAt(end - 1) == '-') {
+      spans.add(start, end - 1, TokenSpans.Type.WORD);
+      spans.add(end - 1, end, TokenSpans.Type.DELIMITER);
+    } else {
+      spans.add(start, end, TokenSpans.Type.WORD);
     }
-    return joinEMailsAndUrls(l);
   }
 }
@@ -32,5 +32,6 @@ public class CrimeanTatarWordTokenizerTest {
   public void testTokenize() {
     final List <String> tokens = wordTokenizer.tokenize("Qırımtatar Milliy Meclisiniñ 120-cı toplaşuvı olıp keçti");
     assertEquals("[Qırımtatar,  , Milliy,  , Meclisiniñ,  , 120-cı,  , toplaşuvı,  , olıp,  , keçti]", tokens.toString());
+    assertEquals("[abc, -,  , 1, –, 2]", wordTokenizer.tokenize("abc- 1–2").toString());
   }
 }
@@ -30,6 +30,7 @@ import org.languagetool.languagemodel.LanguageModel;
 import org.languagetool.rules.Example;
 import org.languagetool.rules.RuleMatch;
 import org.languagetool.rules.SuggestedReplacement;
+import org.languagetool.rules.UserDictionary;
 import org.languagetool.rules.ngrams.Probability;
 import org.languagetool.rules.patterns.StringMatcher;
 import org.languagetool.rules.spelling.CommonFileTypes;
@@ -1514,12 +1515,17 @@ public class GermanSpellerRule extends CompoundAwareHunspellRule {
 
   @Override
   protected boolean isIgnoredNoCase(String word) {
-    return wordsToBeIgnored.contains(word) ||
+    return isIgnoredOrUserWord(word) ||
       // words from spelling.txt also accepted in uppercase (e.g. sentence start, bullet list items):
-      (word.matches("[A-ZÖÄÜ][a-zöäüß-]+") && wordsToBeIgnored.contains(word.toLowerCase(language.getLocale()))) ||
+      (word.matches("[A-ZÖÄÜ][a-zöäüß-]+") && isIgnoredOrUserWord(word.toLowerCase(language.getLocale()))) ||
       (ignoreWordsWithLength > 0 && word.length() <= ignoreWordsWithLength);
   }
 
+  // the words from spelling.txt etc. and those of the user whose text is being checked (see UserDictionary.getCurrent()):
+  private boolean isIgnoredOrUserWord(String word) {
+    return wordsToBeIgnored.contains(word) || UserDictionary.getCurrent().contains(word);
+  }
+
   @Override
   public List<String> getCandidates(String word) {
     List<List<String>> partList;
@@ -28,11 +28,14 @@ import org.junit.Test;
 import org.languagetool.JLanguageTool;
 import org.languagetool.Languages;
 import org.languagetool.TestTools;
+import org.languagetool.UserConfig;
 import org.languagetool.language.AustrianGerman;
 import org.languagetool.language.German;
 import org.languagetool.language.GermanyGerman;
 import org.languagetool.language.SwissGerman;
+import org.languagetool.rules.Rule;
 import org.languagetool.rules.RuleMatch;
+import org.languagetool.rules.UserDictionary;
 import org.languagetool.rules.spelling.hunspell.HunspellRule;
 
 import java.io.ByteArrayInputStream;
@@ -175,6 +178,36 @@ public class GermanSpellerRuleTest {
     assertTrue(rule.isProhibited("Feuerwerksartigels")); // entry with ".*" at line start in prohibited.txt
   }
 
+  @Test
+  public void testUserDictionaryAtCheckTime() throws IOException {
+    String text = "Das Foobar-Projekt und die Foobarprojekte von Foobar.";
+    // the words of a user's dictionary are also accepted as part of compounds, no matter whether the rules have
+    // been created with them (UserConfig) or the dictionary is applied when checking (pipelines shared by users):
+    JLanguageTool ltWithWords = new JLanguageTool(GERMAN_DE, null, null, new UserConfig(Collections.singletonList("Foobar")));
+    assertThat(getSpellingMatches(ltWithWords, text), is(Collections.emptyList()));
+    JLanguageTool lt = new JLanguageTool(GERMAN_DE);
+    assertThat(getSpellingMatches(lt, text), is(Arrays.asList("Foobar-Projekt", "Foobarprojekte", "Foobar")));
+    lt.setUserDictionary(UserDictionary.of(Collections.singletonList("Foobar")));
+    assertThat(getSpellingMatches(lt, text), is(Collections.emptyList()));
+    lt.setUserDictionary(null);
+    assertThat(getSpellingMatches(lt, text).size(), is(3));
+  }
+
+  private List<String> getSpellingMatches(JLanguageTool lt, String text) throws IOException {
+    for (Rule rule : lt.getAllActiveRules()) {
+      if (!rule.getId().equals(GermanSpellerRule.RULE_ID)) {
+        lt.disableRule(rule.getId());
+      }
+    }
+    List<String> result = new ArrayList<>();
+    for (RuleMatch match : lt.check(text)) {
+      if (match.getRule().getId().equals(GermanSpellerRule.RULE_ID)) {
+        result.add(text.substring(match.getFromPos(), match.getToPos()));
+      }
+    }
+    return result;
+  }
+
   @Test
   public void testFilterBadSuggestions() throws Exception {
     GermanSpellerRule rule = new GermanSpellerRule(TestTools.getMessages("de"), GERMAN_DE);
@@ -43,11 +43,13 @@ import java.util.regex.Pattern;
 
 public class Russian extends Language implements AutoCloseable {
 
+  private static final Pattern IGNORED_CHARS = Pattern.compile("[\u00AD\u0301\u0300]");
+
   private LanguageModel languageModel;
 
   @Override
   public Pattern getIgnoredCharactersRegex() {
-    return Pattern.compile("[\u00AD\u0301\u0300]");
+    return IGNORED_CHARS;
   }
 
   @Override
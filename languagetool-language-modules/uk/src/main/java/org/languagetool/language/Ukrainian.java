@@ -46,6 +46,7 @@ public class Ukrainian extends Language {
       "grammar-style.xml",
       "grammar-punctuation.xml"
       );
+  private static final Pattern IGNORED_CHARS = Pattern.compile("[\u00AD\u0301]");
 
   public static final Ukrainian DEFAULT_VARIANT = new Ukrainian();
 
@@ -54,7 +55,7 @@ public class Ukrainian extends Language {
 
   @Override
   public Pattern getIgnoredCharactersRegex() {
-    return Pattern.compile("[\u00AD\u0301]");
+    return IGNORED_CHARS;
   }
 
   @Override
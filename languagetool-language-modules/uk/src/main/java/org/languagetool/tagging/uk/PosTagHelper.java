@@ -8,6 +8,7 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -29,6 +30,9 @@ public final class PosTagHelper {
   private static final Pattern GENDER_REGEX = NUM_REGEX;
   private static final Pattern GENDER_CONJ_REGEX = Pattern.compile("(noun:(?:[iu]n)?anim|adj|numr|adjp.*):(.:v_...).*");
   public static final Pattern ADJ_COMP_REGEX = Pattern.compile(":comp[bcs]");
+  // regexes passed as strings are mostly constants, so compile each of them only once:
+  private static final int MAX_COMPILED_REGEXES = 1000;
+  private static final Map<String, Pattern> COMPILED_REGEXES = new ConcurrentHashMap<>();
 
   public static final Map<String, String> VIDMINKY_MAP;
   public static final Map<String, String> VIDMINKY_I_MAP;
@@ -142,16 +146,22 @@ public final class PosTagHelper {
   }
   
   public static boolean hasPosTag(Collection<AnalyzedToken> analyzedTokenReadings, String posTagRegex) {
-    for(AnalyzedToken analyzedToken: analyzedTokenReadings) {
-      if( hasPosTag(analyzedToken, posTagRegex) )
-        return true;
-    }
-    return false;
+    return hasPosTag(analyzedTokenReadings, compile(posTagRegex));
   }
 
   public static boolean hasPosTag(AnalyzedToken analyzedToken, String posTagRegex) {
-    String posTag = analyzedToken.getPOSTag();
-    return posTag != null && posTag.matches(posTagRegex);
+    return hasPosTag(analyzedToken, compile(posTagRegex));
+  }
+
+  private static Pattern compile(String regex) {
+    Pattern pattern = COMPILED_REGEXES.get(regex);
+    if (pattern == null) {
+      pattern = Pattern.compile(regex);
+      if (COMPILED_REGEXES.size() < MAX_COMPILED_REGEXES) {
+        COMPILED_REGEXES.put(regex, pattern);
+      }
+    }
+    return pattern;
   }
 
   public static boolean hasPosTagPart(AnalyzedToken analyzedToken, String posTagPart) {
@@ -243,8 +253,7 @@ public final class PosTagHelper {
   }
 
   public static String getGenders(AnalyzedTokenReadings tokenReadings, String posTagRegex) {
-    Pattern posTagPattern = Pattern.compile(posTagRegex);
-    return getGenders(tokenReadings, posTagPattern); 
+    return getGenders(tokenReadings, compile(posTagRegex));
   }
   
   public static String getGenders(AnalyzedTokenReadings tokenReadings, Pattern posTagRegex) {
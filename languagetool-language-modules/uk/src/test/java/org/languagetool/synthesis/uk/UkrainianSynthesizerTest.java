@@ -48,6 +48,15 @@ public class UkrainianSynthesizerTest {
             getSortedArray(synth.synthesize(dummyToken("червоний"), "adj:.:v_oru:compb", true))));
   }
 
+  @Test
+  public final void testLookupCache() throws IOException {
+    UkrainianSynthesizer synth = new UkrainianSynthesizer(new Ukrainian());
+    assertEquals("[міста]", Arrays.toString(synth.synthesize(dummyToken("місто"), "noun:inanim:n:v_rod")));
+    long hits = synth.getLookupCacheStats().hitCount();
+    assertEquals("[міста]", Arrays.toString(synth.synthesize(dummyToken("місто"), "noun:inanim:n:v_rod")));
+    assertEquals(hits + 1, synth.getLookupCacheStats().hitCount());
+  }
+
   private AnalyzedToken dummyToken(String tokenStr) {
     return new AnalyzedToken(tokenStr, tokenStr, tokenStr);
   }
@@ -21,11 +21,14 @@ package org.languagetool.tagging.uk;
 import static org.junit.Assert.assertEquals;
 
 import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.languagetool.TestTools;
 import org.languagetool.language.Ukrainian;
+import org.languagetool.tagging.TaggedWordCache;
 import org.languagetool.tokenizers.uk.UkrainianWordTokenizer;
 
 public class UkrainianTaggerTest {
@@ -44,6 +47,17 @@ public class UkrainianTaggerTest {
     TestTools.testDictionary(tagger, new Ukrainian());
   }
 
+  @Test
+  public void testTaggingCache() throws IOException {
+    List<String> tokens = tokenizer.tokenize("Далі було далі, а далі — Києві та києві.");
+    TaggedWordCache cache = new TaggedWordCache(100);
+    assertEquals(tagger.tag(tokens).toString(), tagger.tag(tokens, cache).toString());
+    assertEquals(tagger.tag(tokens).toString(), tagger.tag(tokens, cache).toString());
+    assertEquals(2 * tokens.size(), cache.getStats().requestCount());
+    // repeated words (and whitespace) are only tagged once:
+    assertEquals(new HashSet<>(tokens).size(), cache.getStats().missCount());
+  }
+
   @Test
   public void testTagger() throws IOException {
 
@@ -34,7 +34,9 @@ import org.languagetool.markup.AnnotatedTextBuilder;
 import org.languagetool.rules.CorrectExample;
 import org.languagetool.rules.IncorrectExample;
 import org.languagetool.rules.Rule;
+import org.languagetool.rules.RuleProfiler;
 import org.languagetool.rules.TextLevelRule;
+import org.languagetool.rules.patterns.RuleSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -94,6 +96,9 @@ class ApiV2 {
     } else if (path.equals("admin/refreshUser")) {
       // private (i.e. undocumented) API for our own use only
       handleRefreshUserInfoRequest(httpExchange, parameters, config);
+    } else if (path.equals("admin/ruleProfile") && config.getRuleProfilingSampleRate() > 0) {
+      // private (i.e. undocumented) API for our own use only
+      handleRuleProfileRequest(httpExchange, parameters);
     } else if (path.equals("users/me")) {
       // private (i.e. undocumented) API for our own use only
       handleGetUserInfoRequest(httpExchange, config);
@@ -217,9 +222,13 @@ class ApiV2 {
     if ("batch".equals(parameters.get("mode"))) {
       List<String> words = Arrays.asList(parameters.get("words").split("\\s+"));
       db.addWordBatch(words, limits.getPremiumUid(), parameters.get("dict"));
+      textChecker.userDictionaries.add(limits.getPremiumUid(), parameters.get("dict"), words);
       writeResponse("added", true, httpExchange);
     } else {
       boolean added = db.addWord(parameters.get("word"), limits.getPremiumUid(), parameters.get("dict"));
+      if (added) {
+        textChecker.userDictionaries.add(limits.getPremiumUid(), parameters.get("dict"), Collections.singletonList(parameters.get("word")));
+      }
       writeResponse("added", added, httpExchange);
     }
   }
@@ -232,9 +241,15 @@ class ApiV2 {
     if("batch".equals(parameters.get("mode"))) { //Experimental
       List<String> words = Arrays.asList(parameters.get("words").split("\\s+"));
       deleted = db.deleteWordBatch(words, limits.getPremiumUid(),parameters.get("dict"));
+      if (deleted) {
+        textChecker.userDictionaries.delete(limits.getPremiumUid(), parameters.get("dict"), words);
+      }
       writeResponse("deleted", deleted, httpExchange);
     } else {
       deleted = db.deleteWord(parameters.get("word"), limits.getPremiumUid(), parameters.get("dict"));
+      if (deleted) {
+        textChecker.userDictionaries.delete(limits.getPremiumUid(), parameters.get("dict"), Collections.singletonList(parameters.get("word")));
+      }
       writeResponse("deleted", deleted, httpExchange);
     }
   }
@@ -318,6 +333,49 @@ class ApiV2 {
     }
   }
 
+  /*
+   * The rules that took the most time since the server was started, as measured by the RuleProfiler
+   * -> for internal use, only available if 'ruleProfilingSampleRate' is configured
+   */
+  private void handleRuleProfileRequest(HttpExchange httpExchange, Map<String, String> params) throws IOException {
+    ensureGetMethod(httpExchange, "/admin/ruleProfile");
+    int limit;
+    try {
+      limit = Integer.parseInt(params.getOrDefault("limit", "100"));
+    } catch (NumberFormatException e) {
+      throw new BadRequestException("'limit' parameter needs to be a number: " + params.get("limit"));
+    }
+    if (limit < 1) {
+      throw new BadRequestException("'limit' parameter needs to be at least 1: " + limit);
+    }
+    List<RuleProfiler.RuleStats> stats = RuleProfiler.getStats();
+    StringWriter sw = new StringWriter();
+    try (JsonGenerator g = factory.createGenerator(sw)) {
+      g.writeStartObject();
+      g.writeNumberField("sampleRate", RuleProfiler.getSampleRate());
+      g.writeArrayFieldStart("rules");
+      for (RuleProfiler.RuleStats ruleStats : stats.subList(0, Math.min(limit, stats.size()))) {
+        g.writeStartObject();
+        g.writeStringField("id", ruleStats.getRuleId());
+        g.writeNumberField("invocations", ruleStats.getInvocations());
+        g.writeNumberField("matches", ruleStats.getMatches());
+        g.writeNumberField("totalMillis", ruleStats.getTotalNanos() / 1_000_000);
+        g.writeNumberField("averageMicros", ruleStats.getAverageNanos() / 1000);
+        g.writeNumberField("p50Micros", ruleStats.getPercentileNanos(0.5) / 1000);
+        g.writeNumberField("p99Micros", ruleStats.getPercentileNanos(0.99) / 1000);
+        g.writeEndObject();
+      }
+      g.writeEndArray();
+      g.writeObjectFieldStart("ruleSetFiltering");
+      g.writeNumberField("sentences", RuleSet.getHintedSentenceCount());
+      g.writeNumberField("rules", RuleSet.getHintedRuleCount());
+      g.writeNumberField("skippedRules", RuleSet.getSkippedRuleCount());
+      g.writeEndObject();
+      g.writeEndObject();
+    }
+    sendJson(httpExchange, sw);
+  }
+
   /*
    * Provide information on user that requests this, e.g. for add-on to acquire token + other information
    * Expects user + password via HTTP Basic Auth
@@ -0,0 +1,268 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import org.languagetool.JLanguageTool;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Decides when text checks are run, instead of running them in the order they arrive: at most
+ * {@link #getLimit()} checks run at the same time, the others wait in queues by {@link Priority}
+ * and by their estimated cost. Whenever a check finishes, the next one is taken from the queues in
+ * proportion to their weights, so small checks and checks of premium users get ahead without
+ * starving the others. Of the queue capacity, anonymous checks may only use half and checks of
+ * logged-in users three quarters, so that there's always room left for the others.
+ * <p>
+ * The limit adapts to the time the checks take per character: if it rises above its long-term
+ * average, the server is overloaded (all checks get slower because they compete for the CPU)
+ * and the limit is decreased, otherwise it grows again, up to the given maximum. This is the
+ * gradient algorithm also used by Netflix' concurrency-limits library.
+ * @since 5.9
+ */
+class CheckScheduler {
+
+  enum Priority {
+    PREMIUM(4, 1.0),
+    LOGGED_IN(2, 0.75),
+    ANONYMOUS(1, 0.5);
+
+    private final int weight;
+    private final double queueShare;
+
+    Priority(int weight, double queueShare) {
+      this.weight = weight;
+      this.queueShare = queueShare;
+    }
+
+    static Priority of(UserLimits limits) {
+      if (limits.getPremiumUid() == null) {
+        return ANONYMOUS;
+      }
+      return limits.hasPremium() ? PREMIUM : LOGGED_IN;
+    }
+  }
+
+  /** Checks with at most this cost are small, see {@link #estimateCost(int, JLanguageTool.Mode)}. */
+  static final int SMALL_COST = 1000;
+
+  private static final int SMALL_WEIGHT = 2;
+  // latencies are measured per character, but even the smallest checks have some fixed cost:
+  private static final int MIN_SAMPLE_COST = 100;
+  private static final double TOLERANCE = 1.5;
+  private static final double SMOOTHING = 0.2;
+
+  private final Executor executor;
+  private final int minLimit;
+  private final int maxLimit;
+  private final int maxQueueSize;
+  private final Lane[] lanes;
+
+  // all guarded by 'this':
+  private double limit;
+  private double shortLatency = -1;
+  private double longLatency = -1;
+  private double virtualTime;
+  private int running;
+  private int queued;
+
+  /**
+   * @param executor runs the checks, needs at least {@code maxLimit} threads
+   * @param maxQueueSize the maximum number of waiting checks, {@code 0} for no limit
+   */
+  CheckScheduler(Executor executor, int maxLimit, int maxQueueSize) {
+    this.executor = executor;
+    this.maxLimit = maxLimit;
+    this.minLimit = Math.max(1, maxLimit / 4);
+    this.maxQueueSize = maxQueueSize;
+    this.limit = maxLimit;
+    this.lanes = new Lane[Priority.values().length * 2];
+    for (Priority priority : Priority.values()) {
+      lanes[priority.ordinal() * 2] = new Lane(priority, priority.weight * SMALL_WEIGHT);
+      lanes[priority.ordinal() * 2 + 1] = new Lane(priority, priority.weight);
+    }
+  }
+
+  /**
+   * An estimate of the work needed to check a text, in characters: checking only the text-level rules
+   * is cheaper, as they are few, but the text still needs to be analyzed.
+   */
+  static int estimateCost(int textLength, JLanguageTool.Mode mode) {
+    return mode == JLanguageTool.Mode.TEXTLEVEL_ONLY ? textLength / 2 : textLength;
+  }
+
+  /**
+   * Run the task now if fewer than {@link #getLimit()} checks are running, otherwise as soon as it's its turn.
+   * Cancelling the returned future removes the task from the queue.
+   * @throws RejectedExecutionException if the queue is full for checks of this priority
+   */
+  <T> Future<T> submit(Callable<T> task, Priority priority, int cost) {
+    Lane lane = lanes[priority.ordinal() * 2 + (cost <= SMALL_COST ? 0 : 1)];
+    Check<T> check = new Check<>(task, lane, cost);
+    synchronized (this) {
+      if (maxQueueSize > 0 && queued >= maxQueueSize * priority.queueShare) {
+        throw new RejectedExecutionException("Queue full for " + priority + " checks: " + queued + " checks waiting");
+      }
+      // weighted fair queueing: the check is due when the checks before it in its lane are
+      // done, or now if there are none, plus a time that's shorter for lanes with a higher weight:
+      check.finishTag = Math.max(lane.lastFinishTag, virtualTime) + 1.0 / lane.weight;
+      lane.lastFinishTag = check.finishTag;
+      lane.checks.add(check);
+      queued++;
+    }
+    startNext();
+    return check;
+  }
+
+  /**
+   * @return the number of checks that may run at the same time at the moment
+   */
+  synchronized int getLimit() {
+    return (int) limit;
+  }
+
+  synchronized int getRunning() {
+    return running;
+  }
+
+  synchronized int getQueued(Priority priority) {
+    int result = 0;
+    for (Lane lane : lanes) {
+      if (lane.priority == priority) {
+        result += lane.checks.size();
+      }
+    }
+    return result;
+  }
+
+  private void startNext() {
+    List<Check<?>> checks = new ArrayList<>();
+    synchronized (this) {
+      while (running < (int) limit && queued > 0) {
+        Lane next = null;
+        for (Lane lane : lanes) {
+          if (!lane.checks.isEmpty() && (next == null || lane.checks.peek().finishTag < next.checks.peek().finishTag)) {
+            next = lane;
+          }
+        }
+        Check<?> check = next.checks.poll();
+        virtualTime = check.finishTag;
+        checks.add(check);
+        queued--;
+        running++;
+      }
+    }
+    for (Check<?> check : checks) {
+      try {
+        executor.execute(check);
+      } catch (RejectedExecutionException e) {
+        check.reject(e);
+        synchronized (this) {
+          running--;
+        }
+      }
+    }
+  }
+
+  private void finished(Check<?> check, long nanos) {
+    synchronized (this) {
+      if (nanos >= 0) {
+        updateLimit(nanos / (double) Math.max(check.cost, MIN_SAMPLE_COST), running);
+      }
+      running--;
+    }
+    startNext();
+  }
+
+  private synchronized void remove(Check<?> check) {
+    if (check.lane.checks.remove(check)) {
+      queued--;
+    }
+  }
+
+  // package-private for tests
+  synchronized void updateLimit(double latency, int running) {
+    shortLatency = shortLatency < 0 ? latency : shortLatency * 0.9 + latency * 0.1;
+    longLatency = longLatency < 0 ? latency : longLatency * 0.99 + latency * 0.01;
+    if (longLatency / shortLatency > 2) {
+      // the overload is over, forget about it faster:
+      longLatency *= 0.95;
+    }
+    if (running < limit / 2) {
+      // not enough load to tell whether more checks can run in parallel
+      return;
+    }
+    double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longLatency / shortLatency));
+    // + 1: try whether one more check can run without making the others slower
+    double newLimit = limit * gradient + 1;
+    limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + newLimit * SMOOTHING));
+  }
+
+  private static class Lane {
+    private final Priority priority;
+    private final int weight;
+    private final ArrayDeque<Check<?>> checks = new ArrayDeque<>();
+    private double lastFinishTag;
+
+    Lane(Priority priority, int weight) {
+      this.priority = priority;
+      this.weight = weight;
+    }
+  }
+
+  private class Check<T> extends FutureTask<T> {
+    private final Lane lane;
+    private final int cost;
+    private double finishTag;
+
+    Check(Callable<T> task, Lane lane, int cost) {
+      super(task);
+      this.lane = lane;
+      this.cost = cost;
+    }
+
+    @Override
+    public void run() {
+      boolean started = !isDone();
+      long startTime = System.nanoTime();
+      try {
+        super.run();
+      } finally {
+        finished(this, started ? System.nanoTime() - startTime : -1);
+      }
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      boolean cancelled = super.cancel(mayInterruptIfRunning);
+      if (cancelled) {
+        remove(this);
+      }
+      return cancelled;
+    }
+
+    void reject(RejectedExecutionException e) {
+      setException(e);
+    }
+  }
+
+}
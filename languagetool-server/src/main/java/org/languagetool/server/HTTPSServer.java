@@ -47,7 +47,7 @@ import static org.languagetool.server.HTTPServerConfig.DEFAULT_HOST;
  */
 public class HTTPSServer extends Server {
 
-  private final ThreadPoolExecutor executorService;
+  private final ExecutorService executorService;
 
   /**
    * Prepare a server on the given host and port - use run() to start it.
@@ -70,8 +70,8 @@ public class HTTPSServer extends Server {
       ((HttpsServer)server).setHttpsConfigurator(configurator);
       RequestLimiter limiter = getRequestLimiterOrNull(config);
       ErrorRequestLimiter errorLimiter = getErrorRequestLimiterOrNull(config);
-      executorService = getExecutorService(config);
-      BlockingQueue<Runnable> workQueue = executorService.getQueue();
+      executorService = getRequestExecutor(config);
+      BlockingQueue<Runnable> workQueue = getWorkQueue(executorService);
       httpHandler = new LanguageToolHttpHandler(config, allowedIps, runInternally, limiter, errorLimiter, workQueue, this);
       server.createContext("/", httpHandler);
       server.setExecutor(executorService);
@@ -21,6 +21,7 @@ package org.languagetool.server;
 import com.sun.net.httpserver.HttpServer;
 import lombok.extern.slf4j.Slf4j;
 import org.languagetool.JLanguageTool;
+import org.languagetool.rules.RuleProfiler;
 import org.languagetool.tools.Tools;
 
 import javax.management.ObjectName;
@@ -31,7 +32,7 @@ import java.net.ServerSocket;
 import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ExecutorService;
 
 import static org.languagetool.server.HTTPServerConfig.DEFAULT_HOST;
 
@@ -46,7 +47,7 @@ import static org.languagetool.server.HTTPServerConfig.DEFAULT_HOST;
 @Slf4j
 public class HTTPServer extends Server {
 
-  private final ThreadPoolExecutor executorService;
+  private final ExecutorService executorService;
 
   /**
    * Prepare a server on the given port - use run() to start it. Accepts
@@ -103,10 +104,13 @@ public class HTTPServer extends Server {
         ManagementFactory.getPlatformMBeanServer().registerMBean(new ActiveRules(),
           ObjectName.getInstance("org.languagetool:name=ActiveRules, type=ActiveRules"));
       }
+      if (config.getRuleProfilingSampleRate() > 0) {
+        RuleProfiler.setSampleRate(config.getRuleProfilingSampleRate());
+      }
       RequestLimiter limiter = getRequestLimiterOrNull(config);
       ErrorRequestLimiter errorLimiter = getErrorRequestLimiterOrNull(config);
-      executorService = getExecutorService(config);
-      BlockingQueue<Runnable> workQueue = executorService.getQueue();
+      executorService = getRequestExecutor(config);
+      BlockingQueue<Runnable> workQueue = getWorkQueue(executorService);
       httpHandler = new LanguageToolHttpHandler(config, allowedIps, runInternally, limiter, errorLimiter, workQueue, this);
       //check if port is 0 for get random port from range
       if (port == 0) {
@@ -74,11 +74,14 @@ public class HTTPServerConfig {
   protected int maxCheckThreads = 10;
   protected int maxTextCheckerThreads; // default to same value as maxCheckThreads
   protected int textCheckerQueueSize = 8;
+  protected boolean adaptiveConcurrency = false;
+  protected boolean virtualThreads = false;
   protected Mode mode;
   protected File languageModelDir = null;
   protected File word2vecModelDir = null;
   protected boolean pipelineCaching = false;
   protected boolean pipelinePrewarming = false;
+  protected int preloadThreads = 0;
 
   protected int maxPipelinePoolSize;
   protected int pipelineExpireTime;
@@ -98,6 +101,8 @@ public class HTTPServerConfig {
   protected File remoteRulesConfigFile = null;
   protected int cacheSize = 0;
   protected long cacheTTLSeconds = 300;
+  protected File persistentCacheDir = null;
+  protected long persistentCacheSizeMB = 1024;
   protected float maxErrorsPerWordRate = 0;
   protected int maxSpellingSuggestions = 0;
   protected List<String> blockedReferrers = new ArrayList<>();
@@ -138,6 +143,7 @@ public class HTTPServerConfig {
   protected boolean dbLogging;
   protected boolean prometheusMonitoring = false;
   protected int prometheusPort = 9301;
+  protected int ruleProfilingSampleRate = 0;
   protected GlobalConfig globalConfig = new GlobalConfig();
   protected List<String> disabledRuleIds = new ArrayList<>();
   protected boolean stoppable = false;
@@ -188,15 +194,15 @@ public class HTTPServerConfig {
   
   
   private static final List<String> KNOWN_OPTION_KEYS = Arrays.asList("abTest", "abTestClients", "abTestRollout",
-    "beolingusFile", "blockedReferrers", "cacheSize", "cacheTTLSeconds",
+    "beolingusFile", "blockedReferrers", "cacheSize", "cacheTTLSeconds", "persistentCacheDir", "persistentCacheSizeMB",
     "dbDriver", "dbPassword", "dbUrl", "dbUsername", "disabledRuleIds", "fasttextBinary", "fasttextModel", "grammalectePassword",
-    "grammalecteServer", "grammalecteUser", "ipFingerprintFactor", "languageModel", "maxCheckThreads", "maxTextCheckerThreads", "textCheckerQueueSize", "maxCheckTimeMillis",
+    "grammalecteServer", "grammalecteUser", "ipFingerprintFactor", "languageModel", "maxCheckThreads", "maxTextCheckerThreads", "textCheckerQueueSize", "adaptiveConcurrency", "maxCheckTimeMillis",
     "maxCheckTimeWithApiKeyMillis", "maxErrorsPerWordRate", "maxPipelinePoolSize", "maxSpellingSuggestions", "maxTextHardLength",
     "maxTextLength", "maxTextLengthWithApiKey", "maxWorkQueueSize", "neuralNetworkModel", "pipelineCaching",
-    "pipelineExpireTimeInSeconds", "pipelinePrewarming", "prometheusMonitoring", "prometheusPort", "remoteRulesFile",
+    "pipelineExpireTimeInSeconds", "pipelinePrewarming", "preloadThreads", "prometheusMonitoring", "prometheusPort", "remoteRulesFile",
     "requestLimit", "requestLimitInBytes", "requestLimitPeriodInSeconds", "requestLimitWhitelistUsers", "requestLimitWhitelistLimit",
-    "rulesFile", "secretTokenKey", "serverURL",
-    "skipLoggingChecks", "skipLoggingRuleMatches", "timeoutRequestLimit", "trustXForwardForHeader", "warmUp", "word2vecModel",
+    "ruleProfilingSampleRate", "rulesFile", "secretTokenKey", "serverURL",
+    "skipLoggingChecks", "skipLoggingRuleMatches", "timeoutRequestLimit", "trustXForwardForHeader", "virtualThreads", "warmUp", "word2vecModel",
     "keystore", "password", "maxTextLengthPremium", "maxTextLengthAnonymous", "maxTextLengthLoggedIn", "gracefulDatabaseFailure",
     "ngramLangIdentData",
     "dbTimeoutSeconds", "dbErrorRateThreshold", "dbTimeoutRateThreshold", "dbDownIntervalSeconds",
@@ -335,6 +341,10 @@ public class HTTPServerConfig {
         requestLimitWhitelistLimit = Integer.parseInt(getOptionalProperty(props, "requestLimitWhitelistLimit", "0"));
         pipelineCaching = Boolean.parseBoolean(getOptionalProperty(props, "pipelineCaching", "false").trim());
         pipelinePrewarming = Boolean.parseBoolean(getOptionalProperty(props, "pipelinePrewarming", "false").trim());
+        preloadThreads = Integer.parseInt(getOptionalProperty(props, "preloadThreads", "0"));
+        if (preloadThreads < 0) {
+          throw new IllegalArgumentException("Invalid value for preloadThreads: " + preloadThreads);
+        }
         maxPipelinePoolSize = Integer.parseInt(getOptionalProperty(props, "maxPipelinePoolSize", "5"));
         pipelineExpireTime = Integer.parseInt(getOptionalProperty(props, "pipelineExpireTimeInSeconds", "10"));
         requestLimitPeriodInSeconds = Integer.parseInt(getOptionalProperty(props, "requestLimitPeriodInSeconds", "0"));
@@ -378,6 +388,8 @@ public class HTTPServerConfig {
         if (textCheckerQueueSize < 0) {
           throw new IllegalArgumentException("Invalid value for textCheckerQueueSize, must be >= 1: " + textCheckerQueueSize);
         }
+        adaptiveConcurrency = Boolean.parseBoolean(getOptionalProperty(props, "adaptiveConcurrency", "false").trim());
+        virtualThreads = Boolean.parseBoolean(getOptionalProperty(props, "virtualThreads", "false").trim());
 
         boolean atdMode = getOptionalProperty(props, "mode", "LanguageTool").equalsIgnoreCase("AfterTheDeadline");
         if (atdMode) {
@@ -405,6 +417,17 @@ public class HTTPServerConfig {
           throw new IllegalArgumentException("Use of cacheTTLSeconds without also setting cacheSize has no effect.");
         }
         cacheTTLSeconds = Integer.parseInt(getOptionalProperty(props, "cacheTTLSeconds", "300"));
+        String persistentCacheDirPath = getOptionalProperty(props, "persistentCacheDir", null);
+        if (persistentCacheDirPath != null) {
+          if (cacheSize == 0) {
+            throw new IllegalArgumentException("Use of persistentCacheDir without also setting cacheSize has no effect.");
+          }
+          persistentCacheDir = new File(persistentCacheDirPath);
+        }
+        persistentCacheSizeMB = Long.parseLong(getOptionalProperty(props, "persistentCacheSizeMB", "1024"));
+        if (persistentCacheSizeMB <= 0) {
+          throw new IllegalArgumentException("Invalid value for persistentCacheSizeMB: " + persistentCacheSizeMB);
+        }
         if (props.containsKey("warmUp")) {
           System.err.println("Setting ignored: 'warmUp'. Look into using pipelineCaching and pipelinePrewarming instead.");
         }
@@ -462,6 +485,10 @@ public class HTTPServerConfig {
         passwortLoginAccessListPath = getOptionalProperty(props, "passwortLoginAccessListPath", "");
         prometheusMonitoring = Boolean.valueOf(getOptionalProperty(props, "prometheusMonitoring", "false").trim());
         prometheusPort = Integer.parseInt(getOptionalProperty(props, "prometheusPort", "9301"));
+        ruleProfilingSampleRate = Integer.parseInt(getOptionalProperty(props, "ruleProfilingSampleRate", "0"));
+        if (ruleProfilingSampleRate < 0) {
+          throw new IllegalArgumentException("Invalid value for ruleProfilingSampleRate: " + ruleProfilingSampleRate);
+        }
         skipLoggingRuleMatches = Boolean.valueOf(getOptionalProperty(props, "skipLoggingRuleMatches", "false").trim());
         skipLoggingChecks = Boolean.valueOf(getOptionalProperty(props, "skipLoggingChecks", "false").trim());
         if (dbLogging && (dbDriver == null || dbUrl == null || dbUsername == null || dbPassword == null)) {
@@ -909,6 +936,37 @@ public class HTTPServerConfig {
     this.textCheckerQueueSize = textCheckerQueueSize;
   }
 
+  /**
+   * Whether the number of text checks running in parallel adapts to the load (up to {@link #getMaxTextCheckerThreads()})
+   * and waiting checks are run by priority instead of in the order they arrived.
+   * @see CheckScheduler
+   * @since 5.9
+   */
+  public boolean isAdaptiveConcurrency() {
+    return adaptiveConcurrency;
+  }
+
+  /** @since 5.9 */
+  public void setAdaptiveConcurrency(boolean adaptiveConcurrency) {
+    this.adaptiveConcurrency = adaptiveConcurrency;
+  }
+
+  /**
+   * Whether requests and remote rules are run in virtual threads (needs Java 21 or later), so that
+   * waiting for I/O like database access or remote rules doesn't block a thread of a pool. The text
+   * is still checked in the pool with {@link #getMaxTextCheckerThreads()} threads.
+   * As requests don't wait for a thread then, {@link #getMaxWorkQueueSize()} doesn't apply.
+   * @since 5.9
+   */
+  public boolean isVirtualThreads() {
+    return virtualThreads;
+  }
+
+  /** @since 5.9 */
+  public void setVirtualThreads(boolean virtualThreads) {
+    this.virtualThreads = virtualThreads;
+  }
+
   /**
    * Set to {@code true} if this is running behind a (reverse) proxy which
    * sets the {@code X-forwarded-for} HTTP header. The last IP address (but not local IP addresses)
@@ -949,6 +1007,16 @@ public class HTTPServerConfig {
     return pipelinePrewarming;
   }
 
+  /**
+   * Before starting to listen for requests, load the components of the preferred languages (or of the
+   * languages used for pipeline prewarming) in parallel on this many threads, {@code 0} to load them on first use.
+   * @see LanguagePreloader
+   * @since 5.9
+   */
+  public int getPreloadThreads() {
+    return preloadThreads;
+  }
+
   /**
    * @since 4.4
    * Keep pipelines ready for this many different request settings
@@ -976,6 +1044,11 @@ public class HTTPServerConfig {
     this.pipelinePrewarming = pipelinePrewarming;
   }
 
+  /** @since 5.9 */
+  public void setPreloadThreads(int preloadThreads) {
+    this.preloadThreads = preloadThreads;
+  }
+
   /** @since 4.4 */
   public void setMaxPipelinePoolSize(int maxPipelinePoolSize) {
     this.maxPipelinePoolSize = maxPipelinePoolSize;
@@ -1018,6 +1091,30 @@ public class HTTPServerConfig {
     this.cacheTTLSeconds = cacheTTLSeconds;
   }
 
+  /**
+   * Directory for a disk-backed cache of check results that survives restarts, or {@code null}.
+   * @since 5.9
+   */
+  @Nullable
+  File getPersistentCacheDir() {
+    return persistentCacheDir;
+  }
+
+  /**
+   * @since 5.9
+   */
+  void setPersistentCacheDir(File persistentCacheDir) {
+    this.persistentCacheDir = persistentCacheDir;
+  }
+
+  /**
+   * Maximum size of the files in {@link #getPersistentCacheDir()}, in megabytes.
+   * @since 5.9
+   */
+  long getPersistentCacheSizeMB() {
+    return persistentCacheSizeMB;
+  }
+
   /**
    * Maximum errors per word rate, checking will stop if the rate is higher.
    * For example, with a rate of 0.33, the checking would stop if the user's
@@ -1239,6 +1336,15 @@ public class HTTPServerConfig {
     return prometheusPort;
   }
 
+  /**
+   * Measure the time of one of every this many rule invocations, {@code 0} to disable profiling.
+   * @see org.languagetool.rules.RuleProfiler
+   * @since 5.9
+   */
+  public int getRuleProfilingSampleRate() {
+    return ruleProfilingSampleRate;
+  }
+
 
   @Nullable
   public String getRedisHost() {
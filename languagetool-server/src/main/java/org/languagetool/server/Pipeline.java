@@ -64,6 +64,13 @@ class Pipeline extends JLanguageTool {
     super(language, altLanguages, motherTongue, cache, globalConfig, userConfig, inputLogging);
   }
 
+  /**
+   * Create a pipeline that shares the rules of {@code base}, but can be configured independently.
+   */
+  Pipeline(Pipeline base) {
+    super(base);
+  }
+
   @Override
   public void setCleanOverlappingMatches(boolean cleanOverlappingMatches) {
     preventModificationAfterSetup();
@@ -21,6 +21,9 @@
 
 package org.languagetool.server;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import org.apache.commons.pool2.KeyedObjectPool;
 import org.apache.commons.pool2.KeyedPooledObjectFactory;
 import org.apache.commons.pool2.PooledObject;
@@ -30,6 +33,8 @@ import org.apache.commons.pool2.impl.GenericKeyedObjectPoolConfig;
 import org.languagetool.*;
 import org.languagetool.gui.Configuration;
 import org.languagetool.rules.*;
+import org.languagetool.synthesis.BaseSynthesizer;
+import org.languagetool.synthesis.Synthesizer;
 import org.languagetool.tools.Tools;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,16 +44,23 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
 /**
  * Caches pre-configured JLanguageTool instances to avoid costly setup time of rules, etc.
+ * With pipeline caching enabled, the rules are only created once for each language/rule configuration
+ * (see {@link #getBaseSettings(PipelineSettings)}) and shared by all pipelines that only differ
+ * in the rule selection of the query. Users' dictionaries are not part of that configuration, they are
+ * applied when checking (see {@link JLanguageTool#setUserDictionary(UserDictionary)}).
  */
 class PipelinePool implements KeyedPooledObjectFactory<PipelineSettings, Pipeline> {
 
   private static final Logger logger = LoggerFactory.getLogger(PipelinePool.class);
 
   private final KeyedObjectPool<PipelineSettings, Pipeline> pool;
+  // frozen pipelines whose rules are shared by the pooled pipelines, never used for checking directly:
+  private final Cache<PipelineSettings, Pipeline> basePipelines;
 
   private final HTTPServerConfig config;
   private final ResultCache cache;
@@ -68,36 +80,48 @@ class PipelinePool implements KeyedPooledObjectFactory<PipelineSettings, Pipelin
       poolConfig.setBlockWhenExhausted(false);
       // could try setting wait time, idle time (from expireTime), use another eviction policy, ...
       this.pool = new GenericKeyedObjectPool<>(this, poolConfig);
+      this.basePipelines = CacheBuilder.newBuilder().maximumSize(maxPoolSize).build();
+      ServerMetricsCollector.getInstance().monitorCache("languagetool_user_dictionaries", UserDictionary.getCache());
     } else {
       this.pool = null;
+      this.basePipelines = null;
     }
   }
 
+  /**
+   * Get a pipeline for the settings. Pipelines are shared by users that only differ in their dictionaries,
+   * the user's dictionary is applied to the matches of the returned pipeline until it's returned with
+   * {@link #returnPipeline(PipelineSettings, Pipeline)}.
+   */
   Pipeline getPipeline(PipelineSettings settings) throws Exception {
+    PipelineSettings key = settings.withoutDictionary();
+    Pipeline p;
     if (pool == null) {
-      return createPipeline(settings.lang, settings.motherTongue, settings.query, settings.globalConfig, settings.userConfig, config.getDisabledRuleIds());
+      p = createPipeline(key.lang, key.motherTongue, key.query, key.globalConfig, key.userConfig, config.getDisabledRuleIds());
     } else {
       try {
         long time = System.currentTimeMillis();
         logger.debug("Requesting pipeline; pool has {} active objects, {} idle; pipeline settings: {}",
-          pool.getNumActive(), pool.getNumIdle(), settings);
-        Pipeline p = pool.borrowObject(settings);
+          pool.getNumActive(), pool.getNumIdle(), key);
+        p = pool.borrowObject(key);
         logger.debug("Fetching pipeline took {}ms; pool has {} active objects, {} idle; pipeline settings: {}",
-          System.currentTimeMillis() - time, pool.getNumActive(), pool.getNumIdle(), settings);
-        return p;
+          System.currentTimeMillis() - time, pool.getNumActive(), pool.getNumIdle(), key);
       } catch(NoSuchElementException ignored) {
         logger.info("Pipeline pool capacity reached: {} active objects, {} idle",
           pool.getNumActive(), pool.getNumIdle());
-        return createPipeline(settings.lang, settings.motherTongue, settings.query, settings.globalConfig, settings.userConfig, config.getDisabledRuleIds());
+        p = createPipeline(key.lang, key.motherTongue, key.query, key.globalConfig, key.userConfig, config.getDisabledRuleIds());
       }
     }
+    p.setUserDictionary(settings.userConfig.getUserDictionary());
+    return p;
   }
 
 
   void returnPipeline(PipelineSettings settings, Pipeline pipeline) throws Exception {
+    pipeline.setUserDictionary(null);
     if (pool == null) return;
     try {
-      pool.returnObject(settings, pipeline);
+      pool.returnObject(settings.withoutDictionary(), pipeline);
     } catch(IllegalStateException e) {
       // this might happen when pool capacity is reached and we return newly created objects that were never borrowed
       logger.info("Exception while trying to return pipeline to pool;" +
@@ -114,7 +138,80 @@ class PipelinePool implements KeyedPooledObjectFactory<PipelineSettings, Pipelin
   Pipeline createPipeline(Language lang, Language motherTongue, TextChecker.QueryParams params, GlobalConfig globalConfig,
                           UserConfig userConfig, List<String> disabledRuleIds)
     throws Exception { // package-private for mocking
+    Pipeline lt;
+    if (basePipelines != null) {
+      PipelineSettings baseSettings = getBaseSettings(new PipelineSettings(lang, motherTongue, params, globalConfig, userConfig));
+      Pipeline base;
+      try {
+        base = basePipelines.get(baseSettings, () -> {
+          Pipeline p = createBasePipeline(lang, motherTongue, params, globalConfig, userConfig, disabledRuleIds);
+          p.setupFinished();
+          return p;
+        });
+      } catch (ExecutionException | UncheckedExecutionException e) {
+        throw new RuntimeException("Could not create pipeline for " + baseSettings, e.getCause());
+      }
+      lt = new Pipeline(base);
+    } else {
+      lt = createBasePipeline(lang, motherTongue, params, globalConfig, userConfig, disabledRuleIds);
+    }
+    if (params.useQuerySettings) {
+      Tools.selectRules(lt, new HashSet<>(params.disabledCategories), new HashSet<>(params.enabledCategories),
+        new HashSet<>(params.disabledRules), new HashSet<>(params.enabledRules), params.useEnabledOnly, params.enableTempOffRules);
+    }
+
+    Premium premium = Premium.get();
+    if (config.isPremiumOnly()) {
+      //System.out.println("Enabling ONLY premium rules.");
+      int premiumEnabled = 0;
+      int otherDisabled = 0;
+      for (Rule rule : lt.getAllActiveRules()) {
+        if (premium.isPremiumRule(rule)) {
+          lt.enableRule(rule.getFullId());
+          premiumEnabled++;
+        } else {
+          lt.disableRule(rule.getFullId());
+          otherDisabled++;
+        }
+      }
+      //System.out.println("Enabled " + premiumEnabled + " premium rules, disabled " + otherDisabled + " non-premium rules.");
+    } else if (!params.premium && !params.enableHiddenRules) { // compute premium matches locally to use as hidden matches
+      if (!(premium instanceof PremiumOff)) {
+        for (Rule rule : lt.getAllActiveRules()) {
+          if (premium.isPremiumRule(rule)) {
+            lt.disableRule(rule.getFullId());
+          }
+        }
+      }
+    }
+
+    if (pool != null) {
+      lt.setupFinished();
+    }
+    return lt;
+  }
+
+  /**
+   * The settings that affect which rules get created, i.e. everything but the rule selection of the query.
+   */
+  static PipelineSettings getBaseSettings(PipelineSettings settings) {
+    TextChecker.QueryParams params = settings.query;
+    TextChecker.QueryParams baseParams = new TextChecker.QueryParams(params.altLanguages, Collections.emptyList(), Collections.emptyList(),
+      Collections.emptyList(), Collections.emptyList(), false, false, false, false, false, params.enableTempOffRules,
+      JLanguageTool.Mode.ALL, JLanguageTool.Level.DEFAULT, null, params.inputLogging);
+    return new PipelineSettings(settings.lang, settings.motherTongue, baseParams, settings.globalConfig, settings.userConfig);
+  }
+
+  /**
+   * Create the rules for a pipeline, without applying the query's rule selection.
+   */
+  private Pipeline createBasePipeline(Language lang, Language motherTongue, TextChecker.QueryParams params, GlobalConfig globalConfig,
+                                      UserConfig userConfig, List<String> disabledRuleIds) throws IOException {
     Pipeline lt = new Pipeline(lang, params.altLanguages, motherTongue, cache, globalConfig, userConfig, params.inputLogging);
+    Synthesizer synthesizer = lang.getSynthesizer();
+    if (synthesizer instanceof BaseSynthesizer) {
+      ServerMetricsCollector.getInstance().monitorSynthesizer(lang, (BaseSynthesizer) synthesizer);
+    }
     lt.setMaxErrorsPerWordRate(config.getMaxErrorsPerWordRate());
     lt.disableRules(disabledRuleIds);
     if (config.getLanguageModelDir() != null) {
@@ -152,43 +249,6 @@ class PipelinePool implements KeyedPooledObjectFactory<PipelineSettings, Pipelin
     } else {
       lt.activateRemoteRules(config.getRemoteRulesConfigFile());
     }
-    if (params.useQuerySettings) {
-      Tools.selectRules(lt, new HashSet<>(params.disabledCategories), new HashSet<>(params.enabledCategories),
-        new HashSet<>(params.disabledRules), new HashSet<>(params.enabledRules), params.useEnabledOnly, params.enableTempOffRules);
-    }
-    if (userConfig.filterDictionaryMatches()) {
-      lt.addMatchFilter(new DictionaryMatchFilter(userConfig));
-    }
-    lt.addMatchFilter(new DictionarySpellMatchFilter(userConfig));
-
-    Premium premium = Premium.get();
-    if (config.isPremiumOnly()) {
-      //System.out.println("Enabling ONLY premium rules.");
-      int premiumEnabled = 0;
-      int otherDisabled = 0;
-      for (Rule rule : lt.getAllActiveRules()) {
-        if (premium.isPremiumRule(rule)) {
-          lt.enableRule(rule.getFullId());
-          premiumEnabled++;
-        } else {
-          lt.disableRule(rule.getFullId());
-          otherDisabled++;
-        }
-      }
-      //System.out.println("Enabled " + premiumEnabled + " premium rules, disabled " + otherDisabled + " non-premium rules.");
-    } else if (!params.premium && !params.enableHiddenRules) { // compute premium matches locally to use as hidden matches
-      if (!(premium instanceof PremiumOff)) {
-        for (Rule rule : lt.getAllActiveRules()) {
-          if (premium.isPremiumRule(rule)) {
-            lt.disableRule(rule.getFullId());
-          }
-        }
-      }
-    }
-
-    if (pool != null) {
-      lt.setupFinished();
-    }
     return lt;
   }
 
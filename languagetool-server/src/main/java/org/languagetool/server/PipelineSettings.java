@@ -47,6 +47,15 @@ public class PipelineSettings {
     this.globalConfig = globalConfig;
   }
 
+  /**
+   * These settings without the user's dictionary, so that all users with the same settings share pipelines.
+   * @see UserConfig#withoutDictionary()
+   */
+  PipelineSettings withoutDictionary() {
+    UserConfig config = userConfig.withoutDictionary();
+    return config == userConfig ? this : new PipelineSettings(lang, motherTongue, query, globalConfig, config);
+  }
+
   @Override
   public int hashCode() {
     return new HashCodeBuilder(17, 31)
@@ -21,19 +21,14 @@ package org.languagetool.server;
 import org.languagetool.JLanguageTool;
 
 import java.util.*;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Limit the maximum number of request per IP address for a given time range.
  */
 class RequestLimiter {
 
-  // TODO: this only works if the period covered is larger than requestLimitPeriodInSeconds -
-  // we should add a sanity check that warns if that's not the case
-  static final int REQUEST_QUEUE_SIZE = 1000;
+  final RequestWindowCounter requestCounter;
 
-  final List<RequestEvent> requestEvents = new CopyOnWriteArrayList<>();
-  
   private final int ipFingerprintFactor;
   private final List<String> whitelistUsers;
   private final int whitelistLimit;
@@ -57,6 +52,7 @@ class RequestLimiter {
     this.ipFingerprintFactor = ipFingerprintFactor;
     this.whitelistUsers = whitelistUsers != null ? whitelistUsers : Collections.emptyList();
     this.whitelistLimit = whitelistLimit;
+    this.requestCounter = new RequestWindowCounter(requestLimitPeriodInSeconds);
     if (ipFingerprintFactor > 0) {
       this.ipRequestLimit = requestLimit * ipFingerprintFactor;
       this.ipRequestLimitInBytes = requestLimitInBytes * ipFingerprintFactor;
@@ -97,14 +93,24 @@ class RequestLimiter {
   }
 
   String computeFingerprint(Map<String, List<String>> httpHeader, Map<String, String> parameters) {
-    List<String> empty = Collections.singletonList("");
-    String separator = "|";
-    List<String> fields = new LinkedList<>();
-    fields.add(String.join(separator, httpHeader.getOrDefault("User-Agent", empty)));
-    fields.add(String.join(separator, httpHeader.getOrDefault("Accept-Language", empty)));
-    fields.add(String.join(separator, httpHeader.getOrDefault("Referer", empty)));
-    fields.add(String.join(separator, parameters.getOrDefault("textSessionId", "")));
-    return String.join(separator, fields);
+    StringBuilder sb = new StringBuilder();
+    appendHeader(sb, httpHeader.get("User-Agent")).append('|');
+    appendHeader(sb, httpHeader.get("Accept-Language")).append('|');
+    appendHeader(sb, httpHeader.get("Referer")).append('|');
+    sb.append(parameters.getOrDefault("textSessionId", ""));
+    return sb.toString();
+  }
+
+  private static StringBuilder appendHeader(StringBuilder sb, List<String> values) {
+    if (values != null) {
+      for (int i = 0; i < values.size(); i++) {
+        if (i > 0) {
+          sb.append('|');
+        }
+        sb.append(values.get(i));
+      }
+    }
+    return sb;
   }
 
   /**
@@ -116,12 +122,23 @@ class RequestLimiter {
       // internal special case for e.g. nightly tests
       return;
     }
-    int reqSize = getRequestSize(params);
-    while (requestEvents.size() > REQUEST_QUEUE_SIZE) {
-      requestEvents.remove(0);
-    }
-    requestEvents.add(new RequestEvent(ipAddress, new Date(), reqSize, computeFingerprint(httpHeader, params), ServerTools.getMode(params)));
-    checkLimit(ipAddress, params, httpHeader);
+    String fingerprint = computeFingerprint(httpHeader, params);
+    JLanguageTool.Mode mode = ServerTools.getMode(params);
+    RequestWindowCounter.Counts counts = requestCounter.add(ipAddress, fingerprint,
+      getWeightedRequestSize(getRequestSize(params), mode), System.currentTimeMillis());
+    checkLimit(ipAddress, fingerprint, mode, counts, params);
+  }
+
+  /**
+   * Count a request without checking the limits.
+   */
+  void logRequest(String ipAddress, String fingerprint, int requestSize, JLanguageTool.Mode mode) {
+    requestCounter.add(ipAddress, fingerprint, getWeightedRequestSize(requestSize, mode), System.currentTimeMillis());
+  }
+
+  // text level rules cause much less load, so count them accordingly
+  private static int getWeightedRequestSize(int requestSize, JLanguageTool.Mode mode) {
+    return mode == JLanguageTool.Mode.TEXTLEVEL_ONLY ? (int) (requestSize * 0.1f) : requestSize;
   }
 
   private int getRequestSize(Map<String, String> params) {
@@ -150,22 +167,6 @@ class RequestLimiter {
     }
   }
 
-  private String getReferer(Map<String, List<String>> httpHeader) {
-    List<String> values = httpHeader.get("Referer");
-    if (values == null || values.isEmpty()) {
-      return null;
-    }
-    return values.get(0);
-  }
-
-  private String getUserAgent(Map<String, List<String>> httpHeader) {
-    List<String> values = httpHeader.get("User-Agent");
-    if (values == null || values.isEmpty()) {
-      return null;
-    }
-    return values.get(0);
-  }
-
   static void checkUserLimit(String referer, String userAgent, UserLimits user) {
     Long maxRequests = user.getRequestsPerDay();
     if (user.getPremiumUid() != null
@@ -182,98 +183,45 @@ class RequestLimiter {
     }
   }
 
+  /**
+   * Check the limits against the requests counted so far, without counting this request.
+   * @throws TooManyRequestsException if the request limit is reached
+   */
   void checkLimit(String ipAddress, Map<String, String> parameters, Map<String, List<String>> httpHeader) {
-    int requestsByIp = 0;
-    int requestSizeByIp = 0;
-    int requestsByFingerprint = 0;
-    int requestSizeByFingerprint = 0;
-    // all requests before this date are considered old:
-    Date thresholdDate = new Date(System.currentTimeMillis() - requestLimitPeriodInSeconds * 1000L);
     String fingerprint = computeFingerprint(httpHeader, parameters);
-    String referer = getReferer(httpHeader);
-    String userAgent = getUserAgent(httpHeader);
+    RequestWindowCounter.Counts counts = requestCounter.get(ipAddress, fingerprint, System.currentTimeMillis());
+    checkLimit(ipAddress, fingerprint, ServerTools.getMode(parameters), counts, parameters);
+  }
+
+  private void checkLimit(String ipAddress, String fingerprint, JLanguageTool.Mode mode, RequestWindowCounter.Counts counts,
+                          Map<String, String> parameters) {
     Long clientId = getClientId(parameters);
     String user = parameters.get("username");
     boolean whitelistedUser = user != null && whitelistUsers.contains(user);
-    for (RequestEvent event : requestEvents) {
-      if (event.ip.equals(ipAddress) && event.date.after(thresholdDate)) {
-        // text level rules cause much less load, so count them accordingly
-        float modeFactor = event.mode == JLanguageTool.Mode.TEXTLEVEL_ONLY ? 0.1f : 1f;
-        requestsByIp++;
-        requestSizeByIp += event.getSizeInBytes() * modeFactor;
-        if (whitelistedUser) {
-          if (whitelistLimit <= 0 || requestsByIp < whitelistLimit) {
-            continue;
-          } else {
-            String msg = "limit: " + ipRequestLimit + " / " + requestLimitPeriodInSeconds + ", requests: "  + requestsByIp + ", ip: " + ipAddress + ", fingerprint: " + fingerprint;
-            throw new TooManyRequestsException("Whitelist request limit of " + whitelistLimit + " requests per " +
-              requestLimitPeriodInSeconds + " seconds exceeded");
-          }
-        }
-        if (event.fingerprint.equals(fingerprint)) {
-          requestsByFingerprint++;
-          requestSizeByFingerprint += event.getSizeInBytes() * modeFactor;
-        }
-        if (ipFingerprintFactor > 0 && requestLimit > 0 && requestsByFingerprint > requestLimit) {
-          String msg = "limit: " + requestLimit + " / " + requestLimitPeriodInSeconds + ", requests: "  + requestsByIp + ", ip: " + ipAddress + ", fingerprint: " + fingerprint;
-          throw new TooManyRequestsException("Client request limit of " + requestLimit + " requests per " +
-            requestLimitPeriodInSeconds + " seconds exceeded"); }
-        if (requestLimit > 0 && requestsByIp > ipRequestLimit) {
-          String msg = "limit: " + ipRequestLimit + " / " + requestLimitPeriodInSeconds + ", requests: "  + requestsByIp + ", ip: " + ipAddress + ", fingerprint: " + fingerprint;
-          throw new TooManyRequestsException("IP request limit of " + ipRequestLimit + " requests per " +
-            requestLimitPeriodInSeconds + " seconds exceeded");
-        }
-        if (event.mode == JLanguageTool.Mode.TEXTLEVEL_ONLY) {
-          if (ipFingerprintFactor > 0 && requestLimitInBytes > 0 && requestSizeByFingerprint > requestLimitInBytes) {
-            String msg = "limit in Mode.TEXTLEVEL_ONLY: " + requestLimitInBytes + " / " + requestLimitPeriodInSeconds + ", request size: "  + requestSizeByIp + ", ip: " + ipAddress + ", fingerprint: " + fingerprint;
-            throw new TooManyRequestsException("Client request size limit of " + requestLimitInBytes + " bytes per " +
-              requestLimitPeriodInSeconds + " seconds exceeded in text-level checks");
-          }
-          if (requestLimitInBytes > 0 && requestSizeByIp > ipRequestLimitInBytes) {
-            String msg = "limit in Mode.TEXTLEVEL_ONLY: " + ipRequestLimitInBytes + " / " + requestLimitPeriodInSeconds + ", request size: "  + requestSizeByIp + ", ip: " + ipAddress + ", fingerprint: " + fingerprint;
-            throw new TooManyRequestsException("IP request size limit of " + ipRequestLimitInBytes + " bytes per " +
-              requestLimitPeriodInSeconds + " seconds exceeded in text-level checks");
-          }
-        } else {
-          if (ipFingerprintFactor > 0 && requestLimitInBytes > 0 && requestSizeByFingerprint > requestLimitInBytes) {
-            String msg = "limit: " + requestLimitInBytes + " / " + requestLimitPeriodInSeconds + ", request size: "  + requestSizeByIp + ", ip: " + ipAddress + ", fingerprint: " + fingerprint;
-            throw new TooManyRequestsException("Client request size limit of " + requestLimitInBytes + " bytes per " +
-              requestLimitPeriodInSeconds + " seconds exceeded");
-          }
-          if (requestLimitInBytes > 0 && requestSizeByIp > ipRequestLimitInBytes) {
-            String msg = "limit: " + ipRequestLimitInBytes + " / " + requestLimitPeriodInSeconds + ", request size: "  + requestSizeByIp + ", ip: " + ipAddress + ", fingerprint: " + fingerprint;
-            throw new TooManyRequestsException("IP request size limit of " + ipRequestLimitInBytes + " bytes per " +
-              requestLimitPeriodInSeconds + " seconds exceeded");
-          }
-        }
+    if (whitelistedUser) {
+      if (whitelistLimit > 0 && counts.ipRequests >= whitelistLimit) {
+        throw new TooManyRequestsException("Whitelist request limit of " + whitelistLimit + " requests per " +
+          requestLimitPeriodInSeconds + " seconds exceeded");
       }
+      return;
     }
-  }
-  
-  protected static class RequestEvent {
-
-    private final String ip;
-    private final Date date;
-    private final int sizeInBytes;
-    private final String fingerprint;
-    private final JLanguageTool.Mode mode;
-
-    RequestEvent(String ip, Date date, int sizeInBytes, String fingerprint, JLanguageTool.Mode mode) {
-      this.ip = ip;
-      this.date = new Date(date.getTime());
-      this.sizeInBytes = sizeInBytes;
-      this.fingerprint = fingerprint;
-      this.mode = mode;
+    if (ipFingerprintFactor > 0 && requestLimit > 0 && counts.fingerprintRequests > requestLimit) {
+      throw new TooManyRequestsException("Client request limit of " + requestLimit + " requests per " +
+        requestLimitPeriodInSeconds + " seconds exceeded");
     }
-
-    protected Date getDate() {
-      return date;
+    if (requestLimit > 0 && counts.ipRequests > ipRequestLimit) {
+      throw new TooManyRequestsException("IP request limit of " + ipRequestLimit + " requests per " +
+        requestLimitPeriodInSeconds + " seconds exceeded");
     }
-    
-    int getSizeInBytes() {
-      return sizeInBytes;
+    String textLevelInfo = mode == JLanguageTool.Mode.TEXTLEVEL_ONLY ? " in text-level checks" : "";
+    if (ipFingerprintFactor > 0 && requestLimitInBytes > 0 && counts.fingerprintSize > requestLimitInBytes) {
+      throw new TooManyRequestsException("Client request size limit of " + requestLimitInBytes + " bytes per " +
+        requestLimitPeriodInSeconds + " seconds exceeded" + textLevelInfo);
+    }
+    if (requestLimitInBytes > 0 && counts.ipSize > ipRequestLimitInBytes) {
+      throw new TooManyRequestsException("IP request size limit of " + ipRequestLimitInBytes + " bytes per " +
+        requestLimitPeriodInSeconds + " seconds exceeded" + textLevelInfo);
     }
-
   }
 
 }
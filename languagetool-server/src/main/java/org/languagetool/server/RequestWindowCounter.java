@@ -0,0 +1,208 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts requests and their size per IP address and per client fingerprint (within an IP address)
+ * over a sliding time window. The window is split into {@link #BUCKETS} time buckets that expire
+ * one by one, so adding a request and getting the current counts take constant time, independent
+ * of the number of requests in the window. Requests older than the period are never counted,
+ * requests younger than the period minus the length of one bucket are always counted.
+ * @since 5.9
+ */
+class RequestWindowCounter {
+
+  static final int BUCKETS = 20;
+
+  private final ConcurrentMap<String, IpWindows> ipWindows = new ConcurrentHashMap<>();
+  private final AtomicLong nextSweepMillis = new AtomicLong();
+  private final long periodMillis;
+  private final long bucketMillis;
+
+  /**
+   * @param periodInSeconds the time period over which requests are counted
+   */
+  RequestWindowCounter(int periodInSeconds) {
+    this.periodMillis = periodInSeconds * 1000L;
+    this.bucketMillis = Math.max(1, periodMillis / BUCKETS);
+  }
+
+  /**
+   * Count a request and return the counts in the current window, including that request.
+   * @param size the size of the request, already weighted by the caller
+   */
+  Counts add(String ip, String fingerprint, int size, long nowMillis) {
+    long bucket = nowMillis / bucketMillis;
+    sweepIfNeeded(bucket, nowMillis);
+    while (true) {
+      IpWindows windows = ipWindows.computeIfAbsent(ip, k -> new IpWindows());
+      synchronized (windows) {
+        if (!windows.removed) {
+          Window fingerprintWindow = windows.byFingerprint.computeIfAbsent(fingerprint, k -> new Window());
+          windows.ip.add(bucket, size);
+          fingerprintWindow.add(bucket, size);
+          return new Counts(windows.ip, fingerprintWindow);
+        }
+      }
+      // removed by a concurrent sweep, try again with a new entry
+    }
+  }
+
+  /**
+   * Get the counts in the current window without counting a request.
+   */
+  Counts get(String ip, String fingerprint, long nowMillis) {
+    long bucket = nowMillis / bucketMillis;
+    sweepIfNeeded(bucket, nowMillis);
+    IpWindows windows = ipWindows.get(ip);
+    if (windows == null) {
+      return Counts.EMPTY;
+    }
+    synchronized (windows) {
+      if (windows.removed) {
+        return Counts.EMPTY;
+      }
+      windows.ip.expire(bucket);
+      Window fingerprintWindow = windows.byFingerprint.get(fingerprint);
+      if (fingerprintWindow == null) {
+        return new Counts(windows.ip.requests, windows.ip.size, 0, 0);
+      }
+      fingerprintWindow.expire(bucket);
+      return new Counts(windows.ip, fingerprintWindow);
+    }
+  }
+
+  /**
+   * Number of IP addresses with requests in the current window (or not swept yet).
+   */
+  int getIpCount() {
+    return ipWindows.size();
+  }
+
+  // drop the windows of clients without recent requests, at most once per period
+  private void sweepIfNeeded(long bucket, long nowMillis) {
+    long nextSweep = nextSweepMillis.get();
+    if (nowMillis < nextSweep || !nextSweepMillis.compareAndSet(nextSweep, nowMillis + periodMillis)) {
+      return;
+    }
+    for (Map.Entry<String, IpWindows> entry : ipWindows.entrySet()) {
+      IpWindows windows = entry.getValue();
+      synchronized (windows) {
+        windows.ip.expire(bucket);
+        if (windows.ip.requests == 0) {
+          windows.removed = true;
+          ipWindows.remove(entry.getKey(), windows);
+        } else {
+          Iterator<Window> it = windows.byFingerprint.values().iterator();
+          while (it.hasNext()) {
+            Window window = it.next();
+            window.expire(bucket);
+            if (window.requests == 0) {
+              it.remove();
+            }
+          }
+        }
+      }
+    }
+  }
+
+  static class Counts {
+
+    static final Counts EMPTY = new Counts(0, 0, 0, 0);
+
+    final int ipRequests;
+    final long ipSize;
+    final int fingerprintRequests;
+    final long fingerprintSize;
+
+    Counts(int ipRequests, long ipSize, int fingerprintRequests, long fingerprintSize) {
+      this.ipRequests = ipRequests;
+      this.ipSize = ipSize;
+      this.fingerprintRequests = fingerprintRequests;
+      this.fingerprintSize = fingerprintSize;
+    }
+
+    private Counts(Window ip, Window fingerprint) {
+      this(ip.requests, ip.size, fingerprint.requests, fingerprint.size);
+    }
+  }
+
+  /**
+   * All windows of one IP address, guarded by the object's monitor.
+   */
+  private static class IpWindows {
+    private final Window ip = new Window();
+    private final Map<String, Window> byFingerprint = new HashMap<>();
+    private boolean removed;
+  }
+
+  /**
+   * A ring of time buckets with running totals, not thread-safe.
+   */
+  private static class Window {
+    private final int[] bucketRequests = new int[BUCKETS];
+    private final long[] bucketSizes = new long[BUCKETS];
+    private long latestBucket = Long.MIN_VALUE;
+    private int requests;
+    private long size;
+
+    void add(long bucket, int requestSize) {
+      expire(bucket);
+      if (bucket <= latestBucket - BUCKETS) {
+        return;  // clock went back by more than a period, the request would expire immediately anyway
+      }
+      int slot = (int) Math.floorMod(bucket, (long) BUCKETS);
+      bucketRequests[slot]++;
+      bucketSizes[slot] += requestSize;
+      requests++;
+      size += requestSize;
+    }
+
+    void expire(long bucket) {
+      if (bucket <= latestBucket) {
+        return;
+      }
+      if (latestBucket == Long.MIN_VALUE || bucket - latestBucket >= BUCKETS) {
+        for (int i = 0; i < BUCKETS; i++) {
+          bucketRequests[i] = 0;
+          bucketSizes[i] = 0;
+        }
+        requests = 0;
+        size = 0;
+      } else {
+        for (long b = latestBucket + 1; b <= bucket; b++) {
+          int slot = (int) Math.floorMod(b, (long) BUCKETS);
+          requests -= bucketRequests[slot];
+          size -= bucketSizes[slot];
+          bucketRequests[slot] = 0;
+          bucketSizes[slot] = 0;
+        }
+      }
+      latestBucket = bucket;
+    }
+  }
+
+}
@@ -27,7 +27,11 @@ import org.languagetool.tools.LtThreadPoolFactory;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 
 import static org.languagetool.server.HTTPServerConfig.DEFAULT_PORT;
@@ -128,8 +132,14 @@ abstract class Server {
     System.out.println("                 'maxSpellingSuggestions' - only this many spelling errors will have suggestions for performance reasons (optional,\n" +
                        "                                            affects Hunspell-based languages only)");
     System.out.println("                 'maxCheckThreads' - maximum number of threads working in parallel (optional)");
+    System.out.println("                 'adaptiveConcurrency' - set to 'true' to adapt the number of checks running in parallel to the load and to run");
+    System.out.println("                                         waiting checks of premium users and small checks first (optional, default: false)");
+    System.out.println("                 'virtualThreads' - set to 'true' to handle requests and call remote rules in virtual threads, needs Java 21");
+    System.out.println("                                    or later; 'maxWorkQueueSize' doesn't apply then (optional, default: false)");
     System.out.println("                 'cacheSize' - size of internal cache in number of sentences (optional, default: 0)");
     System.out.println("                 'cacheTTLSeconds' - how many seconds sentences are kept in cache (optional, default: 300 if 'cacheSize' is set)");
+    System.out.println("                 'persistentCacheDir' - directory to also keep cached matches on disk, so they survive restarts (optional, requires 'cacheSize'; if several servers use the same directory, only the first one writes to it, the others read the matches it adds)");
+    System.out.println("                 'persistentCacheSizeMB' - maximum size of the files in persistentCacheDir (optional, default: 1024)");
     System.out.println("                 'requestLimit' - maximum number of requests per requestLimitPeriodInSeconds (optional)");
     System.out.println("                 'requestLimitInBytes' - maximum aggregated size of requests per requestLimitPeriodInSeconds (optional)");
     System.out.println("                 'timeoutRequestLimit' - maximum number of timeout request (optional)");
@@ -152,6 +162,10 @@ abstract class Server {
     System.out.println("                 'maxPipelinePoolSize' - cache size if 'pipelineCaching' is set");
     System.out.println("                 'pipelineExpireTimeInSeconds' - time after which pipeline cache items expire");
     System.out.println("                 'pipelinePrewarming' - set to 'true' to fill pipeline cache on start (can slow down start a lot)");
+    System.out.println("                 'preloadThreads' - load the preferred languages (or the languages used for 'pipelinePrewarming') on start,");
+    System.out.println("                                    in parallel on this many threads, and log how long each part took (optional, default: 0 = off)");
+    System.out.println("                 'ruleProfilingSampleRate' - measure the time of one of every N rule invocations and make the slowest rules");
+    System.out.println("                                             available at /v2/admin/ruleProfile and via Prometheus (optional, default: 0 = off)");
     System.out.println("                 Spellcheck-only languages: You can add simple spellcheck-only support for languages that LT doesn't");
     System.out.println("                                            support by defining two optional properties:");
     System.out.println("                   'lang-xx' - set name of the language, use language code instead of 'xx', e.g. lang-tr=Turkish");
@@ -185,6 +199,30 @@ abstract class Server {
     }
   }
   
+  /**
+   * @return an executor that handles each request in a new virtual thread if {@link HTTPServerConfig#isVirtualThreads()}
+   *   is set and the JVM supports it, otherwise the thread pool of {@link #getExecutorService(HTTPServerConfig)}
+   * @since 5.9
+   */
+  protected ExecutorService getRequestExecutor(HTTPServerConfig config) {
+    if (config.isVirtualThreads()) {
+      Optional<ExecutorService> executor = LtThreadPoolFactory.createVirtualThreadExecutor(LtThreadPoolFactory.SERVER_POOL);
+      if (executor.isPresent()) {
+        ServerTools.print("Handling requests in virtual threads");
+        return executor.get();
+      }
+    }
+    return getExecutorService(config);
+  }
+
+  /**
+   * @return the queue of requests waiting for a thread, always empty if requests are handled in virtual threads
+   * @since 5.9
+   */
+  protected static BlockingQueue<Runnable> getWorkQueue(ExecutorService executor) {
+    return executor instanceof ThreadPoolExecutor ? ((ThreadPoolExecutor) executor).getQueue() : new LinkedBlockingQueue<>();
+  }
+
   protected ThreadPoolExecutor getExecutorService(HTTPServerConfig config) {
     int threadPoolSize = config.getMaxCheckThreads();
     ServerTools.print("Setting up thread pool with " + threadPoolSize + " threads");
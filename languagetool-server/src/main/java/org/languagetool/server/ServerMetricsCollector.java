@@ -29,9 +29,18 @@ import io.prometheus.client.hotspot.DefaultExports;
 import org.languagetool.JLanguageTool;
 import org.languagetool.Language;
 import org.languagetool.Premium;
+import org.languagetool.rules.Rule;
+import org.languagetool.rules.RuleProfiler;
+import org.languagetool.rules.spelling.morfologik.MappedDictionaryLoader;
+import org.languagetool.synthesis.BaseSynthesizer;
+import org.languagetool.synthesis.Synthesizer;
+import org.languagetool.tagging.TaggedWordCache;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ServerMetricsCollector {
 
@@ -58,6 +67,10 @@ public class ServerMetricsCollector {
     10, 100, 500, 1000, 2500, 5000, 7500, 10000, 20000, 50000
   };
 
+  private static final double[] RULE_LATENCY_BUCKETS = {
+    0.0001, 0.0005, 0.001, 0.005, 0.01, 0.05, .1, .5, 1.
+  };
+
   private static final ServerMetricsCollector collector = new ServerMetricsCollector();
   
   private static HTTPServer server;
@@ -90,6 +103,14 @@ public class ServerMetricsCollector {
     .build("languagetool_check_speed_chars_per_second", "Histogram of relative check speed")
     .buckets(SPEED_BUCKETS).labelNames("language", "mode").register();
 
+  // only filled if rule profiling is enabled, labelled by rule id (not sub id) to limit cardinality
+  private final Histogram ruleLatency = Histogram
+    .build("languagetool_rule_latency_seconds", "Histogram of sampled rule execution times")
+    .buckets(RULE_LATENCY_BUCKETS).labelNames("rule").register();
+  private final Counter ruleMatchCounter = Counter
+    .build("languagetool_rule_matches_total", "Matches found in sampled rule executions")
+    .labelNames("rule").register();
+
   private final Counter requestErrorCounter = Counter
     .build("languagetool_request_errors_total", "Various request errors")
     .labelNames("reason").register();
@@ -111,6 +132,27 @@ public class ServerMetricsCollector {
   private final Gauge configValues = Gauge
     .build("languagetool_configuration_values", "Configuration settings").labelNames("name").register();
 
+  // only non-zero with -DmmapDictionaries, this is the heap space saved by memory-mapping
+  private final Gauge mappedDictionaryBytes = Gauge
+    .build("languagetool_mapped_dictionary_bytes", "Size of the memory-mapped morfologik dictionaries").register();
+
+  // summed over the tagged word caches of all pipelines, only increases (until the server restarts)
+  private final Gauge taggingCacheLookups = Gauge
+    .build("languagetool_tagging_cache_lookups", "Lookups in the caches of tagged words").labelNames("result").register();
+
+  // per language, only increases (until the server restarts)
+  private final Gauge synthesizerCacheLookups = Gauge
+    .build("languagetool_synthesizer_cache_lookups", "Lookups in the caches of the synthesizers").labelNames("language", "result").register();
+  private final Set<Synthesizer> monitoredSynthesizers = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+  // only filled with adaptiveConcurrency, see CheckScheduler
+  private final Gauge checkQueueSize = Gauge
+    .build("languagetool_check_queue_size", "Text checks waiting to be run").labelNames("priority").register();
+  private final Gauge checkConcurrency = Gauge
+    .build("languagetool_check_concurrency", "Text checks running and the current limit").labelNames("type").register();
+  private final Counter checkRejections = Counter
+    .build("languagetool_check_rejections_total", "Text checks rejected because the queue was full").labelNames("priority").register();
+
 
   private final CacheMetricsCollector cacheMetrics = new CacheMetricsCollector().register();
 
@@ -118,8 +160,29 @@ public class ServerMetricsCollector {
   public static void init(HTTPServerConfig config) throws IOException {
     DefaultExports.initialize();
     server = new HTTPServer(config.getPrometheusPort(), true);
+    if (RuleProfiler.isEnabled()) {
+      RuleProfiler.addListener(getInstance()::logRuleCheck);
+    }
     Gauge c = getInstance().configValues;
     exposeConfigurationValues(config, c);
+    getInstance().mappedDictionaryBytes.setChild(new Gauge.Child() {
+      @Override
+      public double get() {
+        return MappedDictionaryLoader.getMappedBytes();
+      }
+    });
+    getInstance().taggingCacheLookups.setChild(new Gauge.Child() {
+      @Override
+      public double get() {
+        return TaggedWordCache.getTotalHits();
+      }
+    }, "hit");
+    getInstance().taggingCacheLookups.setChild(new Gauge.Child() {
+      @Override
+      public double get() {
+        return TaggedWordCache.getTotalMisses();
+      }
+    }, "miss");
   }
 
   private static void exposeConfigurationValues(HTTPServerConfig config, Gauge c) {
@@ -133,6 +196,7 @@ public class ServerMetricsCollector {
     c.labels("maxTextLengthAnonymous").set(config.getMaxTextLengthAnonymous());
     c.labels("maxTextLengthLoggedIn").set(config.getMaxTextLengthLoggedIn());
     c.labels("maxTextLengthPremium").set(config.getMaxTextLengthPremium());
+    c.labels("ruleProfilingSampleRate").set(config.getRuleProfilingSampleRate());
   }
 
   public static void stop() {
@@ -160,6 +224,56 @@ public class ServerMetricsCollector {
     cacheMetrics.addCache(name, cache);
   }
 
+  /**
+   * Expose the lookup cache statistics of a language's synthesizer. Only the first call for a synthesizer
+   * has an effect, so this can be called whenever a pipeline is created.
+   */
+  void monitorSynthesizer(Language lang, BaseSynthesizer synthesizer) {
+    if (!monitoredSynthesizers.add(synthesizer)) {
+      return;
+    }
+    String langCode = lang.getShortCodeWithCountryAndVariant();
+    synthesizerCacheLookups.setChild(new Gauge.Child() {
+      @Override
+      public double get() {
+        return synthesizer.getLookupCacheStats().hitCount();
+      }
+    }, langCode, "hit");
+    synthesizerCacheLookups.setChild(new Gauge.Child() {
+      @Override
+      public double get() {
+        return synthesizer.getLookupCacheStats().missCount();
+      }
+    }, langCode, "miss");
+  }
+
+  void monitorCheckScheduler(CheckScheduler scheduler) {
+    for (CheckScheduler.Priority priority : CheckScheduler.Priority.values()) {
+      checkQueueSize.setChild(new Gauge.Child() {
+        @Override
+        public double get() {
+          return scheduler.getQueued(priority);
+        }
+      }, priority.name().toLowerCase());
+    }
+    checkConcurrency.setChild(new Gauge.Child() {
+      @Override
+      public double get() {
+        return scheduler.getRunning();
+      }
+    }, "running");
+    checkConcurrency.setChild(new Gauge.Child() {
+      @Override
+      public double get() {
+        return scheduler.getLimit();
+      }
+    }, "limit");
+  }
+
+  void logCheckRejected(CheckScheduler.Priority priority) {
+    checkRejections.labels(priority.name().toLowerCase()).inc();
+  }
+
   public void logCheck(Language language, long milliseconds, int textSize, int matchCount,
                        JLanguageTool.Mode mode) {
     String langLabel = language != null ? language.getShortCode() : UNKNOWN;
@@ -186,6 +300,13 @@ public class ServerMetricsCollector {
     checkSpeed.labels("", modeLabel).observe(speed);
   }
 
+  public void logRuleCheck(Rule rule, long nanos, int matchCount) {
+    ruleLatency.labels(rule.getId()).observe(nanos / 1_000_000_000.0);
+    if (matchCount > 0) {
+      ruleMatchCounter.labels(rule.getId()).inc(matchCount);
+    }
+  }
+
   public void logRequestError(RequestErrorType type) {
     requestErrorCounter.labels(type.name().toLowerCase()).inc();
   }
@@ -36,6 +36,7 @@ import org.languagetool.rules.*;
 import org.languagetool.rules.bitext.BitextRule;
 import org.languagetool.rules.spelling.morfologik.suggestions_ordering.SuggestionsOrdererConfig;
 import org.languagetool.tools.LtThreadPoolFactory;
+import org.languagetool.tools.RuleMatchesAsJsonSerializer;
 import org.languagetool.tools.Tools;
 import org.slf4j.MDC;
 
@@ -47,6 +48,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -78,6 +80,8 @@ abstract class TextChecker {
     
   protected static final int CONTEXT_SIZE = 40; // characters
   protected static final int NUM_PIPELINES_PER_SETTING = 3; // for prewarming
+  static final int STREAMING_PART_SIZE = 5000; // characters, minimum size of the parts checked and sent at once in streaming mode
+  private static final long STREAMING_POLL_MILLIS = 100; // how often a streaming response checks whether its check has failed
 
   protected final HTTPServerConfig config;
 
@@ -89,6 +93,7 @@ abstract class TextChecker {
   private final RequestCounter reqCounter;
   private LanguageIdentifier languageIdentifier;
   private final ExecutorService executorService;
+  private final CheckScheduler checkScheduler;  // null unless adaptiveConcurrency is set
   private final ResultCache cache;
   private final DatabaseLogger databaseLogger;
   private final Long logServerId;
@@ -96,6 +101,9 @@ abstract class TextChecker {
   private final Set<DatabasePingLogEntry> pings = new HashSet<>();
   private long pingsCleanDateMillis = System.currentTimeMillis();
   PipelinePool pipelinePool; // mocked in test -> package-private / not final
+  // words added via the API are applied to the cached dictionaries, which are read from the database again after this time:
+  final UserDictionaryCache userDictionaries = new UserDictionaryCache(Long.getLong("userDictionaryExpireSeconds", 60),
+    Integer.getInteger("userDictionaryMaxDelta", 500), ForkJoinPool.commonPool());
 
   TextChecker(HTTPServerConfig config, boolean internalServer, Queue<Runnable> workQueue, RequestCounter reqCounter) {
     this.config = config;
@@ -113,11 +121,18 @@ abstract class TextChecker {
     this.executorService = LtThreadPoolFactory.createFixedThreadPoolExecutor(
       LtThreadPoolFactory.TEXT_CHECKER_POOL,
       config.getMaxTextCheckerThreads(), config.getMaxTextCheckerThreads(),
-      config.getTextCheckerQueueSize(),
+      // the scheduler has its own queue and never starts more checks than there are threads:
+      config.isAdaptiveConcurrency() ? 0 : config.getTextCheckerQueueSize(),
       60L, false, (thread, throwable) -> {
         log.error("Thread: " + thread.getName() + " failed with: " + throwable.getMessage());
       },
       false);
+    if (config.isAdaptiveConcurrency()) {
+      this.checkScheduler = new CheckScheduler(executorService, config.getMaxTextCheckerThreads(), config.getTextCheckerQueueSize());
+      ServerMetricsCollector.getInstance().monitorCheckScheduler(checkScheduler);
+    } else {
+      this.checkScheduler = null;
+    }
 
     // set up other pools used by text checker and remote rule
     //Need to use own thread pool, otherwise the text-checker thread-pool will be full very soon
@@ -129,7 +144,9 @@ abstract class TextChecker {
         log.error("Couldn't read RemoteRule configuration", e);
       }
     }
-    if (remoteRuleCount > 0) {
+    boolean virtualRemoteRuleThreads = remoteRuleCount > 0 && config.isVirtualThreads() &&
+      LtThreadPoolFactory.createVirtualThreadExecutor(LtThreadPoolFactory.REMOTE_RULE_EXECUTING_POOL).isPresent();
+    if (remoteRuleCount > 0 && !virtualRemoteRuleThreads) {
       LtThreadPoolFactory.createFixedThreadPoolExecutor(
         LtThreadPoolFactory.REMOTE_RULE_EXECUTING_POOL,
         config.getMaxCheckThreads(),
@@ -142,8 +159,7 @@ abstract class TextChecker {
       );
     }
 
-    this.cache = config.getCacheSize() > 0 ? new ResultCache(
-      config.getCacheSize(), config.getCacheTTLSeconds(), TimeUnit.SECONDS) : null;
+    this.cache = config.getCacheSize() > 0 ? createCache(config) : null;
     this.databaseLogger = DatabaseLogger.getInstance();
     if (databaseLogger.isLogging()) {
       this.logServerId = DatabaseAccess.getInstance().getOrCreateServerId();
@@ -156,10 +172,17 @@ abstract class TextChecker {
       ServerMetricsCollector.getInstance().monitorCache("languagetool_remote_matches_cache", cache.getRemoteMatchesCache());
       ServerMetricsCollector.getInstance().monitorCache("languagetool_sentences_cache", cache.getSentenceCache());
       ServerMetricsCollector.getInstance().monitorCache("languagetool_remote_matches_cache", cache.getRemoteMatchesCache());
+      if (cache.getPersistentMatchesCache() != null) {
+        ServerMetricsCollector.getInstance().monitorCache("languagetool_persistent_matches_cache", cache.getPersistentMatchesCache());
+      }
     }
 
     pipelinePool = new PipelinePool(config, cache, internalServer);
-    if (config.isPipelinePrewarmingEnabled()) {
+    if (config.getPreloadThreads() > 0) {
+      log.info("Preloading languages on " + config.getPreloadThreads() + " threads...");
+      preloadLanguages();
+      log.info("Preloading finished.");
+    } else if (config.isPipelinePrewarmingEnabled()) {
       log.info("Prewarming pipelines...");
       prewarmPipelinePool();
       log.info("Prewarming finished.");
@@ -182,9 +205,53 @@ abstract class TextChecker {
   }
 
   private void prewarmPipelinePool() {
-    // setting + number of pipelines
-    // typical addon settings at the moment (2018-11-05)
-    Map<PipelineSettings, Integer> prewarmSettings = new HashMap<>();
+    try {
+      for (Map.Entry<PipelineSettings, Integer> prewarmSetting : getPrewarmSettings(getPrewarmLanguages()).entrySet()) {
+        prewarmPipelines(prewarmSetting.getKey(), prewarmSetting.getValue());
+      }
+    } catch (Exception e) {
+      throw new RuntimeException("Error while prewarming pipelines", e);
+    }
+  }
+
+  /**
+   * Load the components of the languages in parallel and, if pipeline prewarming is enabled,
+   * create the pipelines of each language as soon as its components have been loaded.
+   */
+  private void preloadLanguages() {
+    ThreadPoolExecutor executor = LtThreadPoolFactory.createFixedThreadPoolExecutor(LtThreadPoolFactory.PRELOAD_POOL,
+      config.getPreloadThreads(), config.getPreloadThreads(), 0, 60L, true, (thread, throwable) -> {
+        log.error("Thread: " + thread.getName() + " failed with: " + throwable.getMessage());
+      }, false);
+    LanguagePreloader preloader = new LanguagePreloader(executor);
+    List<Language> languages = getPrewarmLanguages();
+    Map<PipelineSettings, Integer> prewarmSettings = config.isPipelinePrewarmingEnabled() ? getPrewarmSettings(languages) : Collections.emptyMap();
+    List<CompletableFuture<?>> futures = new ArrayList<>();
+    for (Language language : languages) {
+      CompletableFuture<Language> loaded = preloader.preload(language);
+      futures.add(loaded);
+      for (Map.Entry<PipelineSettings, Integer> prewarmSetting : prewarmSettings.entrySet()) {
+        PipelineSettings setting = prewarmSetting.getKey();
+        if (setting.lang.equals(language)) {
+          String description = "pipelines " + setting.query.mode + (setting.motherTongue != null ? " " + setting.motherTongue.getShortCodeWithCountryAndVariant() : "");
+          futures.add(preloader.run(language, description, () -> {
+            prewarmPipelines(setting, prewarmSetting.getValue());
+            return null;
+          }, loaded));
+        }
+      }
+    }
+    try {
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+    } catch (CompletionException e) {
+      throw new RuntimeException("Error while preloading languages", e.getCause());
+    } finally {
+      executor.shutdown();
+      log.info("Preloading timeline:\n" + preloader.getReport());
+    }
+  }
+
+  private List<Language> getPrewarmLanguages() {
     List<Language> prewarmLanguages = new ArrayList<>();
     if (config.preferredLanguages.isEmpty()) {
       prewarmLanguages.addAll(Stream.of(
@@ -196,7 +263,13 @@ abstract class TextChecker {
         prewarmLanguages.add(Languages.getLanguageForShortCode(s));
       });
     }
+    return prewarmLanguages;
+  }
 
+  private Map<PipelineSettings, Integer> getPrewarmSettings(List<Language> prewarmLanguages) {
+    // setting + number of pipelines
+    // typical addon settings at the moment (2018-11-05)
+    Map<PipelineSettings, Integer> prewarmSettings = new HashMap<>();
     List<String> addonDisabledRules = Collections.singletonList("WHITESPACE_RULE");
     List<JLanguageTool.Mode> addonModes = Arrays.asList(JLanguageTool.Mode.TEXTLEVEL_ONLY, JLanguageTool.Mode.ALL_BUT_TEXTLEVEL_ONLY);
     UserConfig user = new UserConfig();
@@ -216,30 +289,44 @@ abstract class TextChecker {
         prewarmSettings.put(settingsMotherTongueEnglish, NUM_PIPELINES_PER_SETTING);
       }
     }
-    try {
-      for (Map.Entry<PipelineSettings, Integer> prewarmSetting : prewarmSettings.entrySet()) {
-          int numPipelines = prewarmSetting.getValue();
-          PipelineSettings setting = prewarmSetting.getKey();
-
-          // request n pipelines first, return all afterwards -> creates multiple for same setting
-          List<Pipeline> pipelines = new ArrayList<>();
-          for (int i = 0; i < numPipelines; i++) {
-            Pipeline p = pipelinePool.getPipeline(setting);
-            p.check("LanguageTool");
-            pipelines.add(p);
-          }
-          for (Pipeline p : pipelines) {
-            pipelinePool.returnPipeline(setting, p);
-          }
+    return prewarmSettings;
+  }
+
+  private void prewarmPipelines(PipelineSettings setting, int numPipelines) throws Exception {
+    // request n pipelines first, return all afterwards -> creates multiple for same setting
+    List<Pipeline> pipelines = new ArrayList<>();
+    for (int i = 0; i < numPipelines; i++) {
+      Pipeline p = pipelinePool.getPipeline(setting);
+      p.check("LanguageTool");
+      pipelines.add(p);
+    }
+    for (Pipeline p : pipelines) {
+      pipelinePool.returnPipeline(setting, p);
+    }
+  }
+
+  private static ResultCache createCache(HTTPServerConfig config) {
+    if (config.getPersistentCacheDir() != null) {
+      try {
+        return new ResultCache(config.getCacheSize(), config.getCacheTTLSeconds(), TimeUnit.SECONDS,
+          config.getPersistentCacheDir(), config.getPersistentCacheSizeMB() * 1024 * 1024);
+      } catch (IOException e) {
+        log.error("Could not open persistent cache in " + config.getPersistentCacheDir() + ", using in-memory cache only", e);
       }
-    } catch (Exception e) {
-      throw new RuntimeException("Error while prewarming pipelines", e);
     }
+    return new ResultCache(config.getCacheSize(), config.getCacheTTLSeconds(), TimeUnit.SECONDS);
   }
 
   void shutdownNow() {
     executorService.shutdownNow();
     RemoteRule.shutdown();
+    if (cache != null) {
+      try {
+        cache.close();
+      } catch (IOException e) {
+        log.warn("Could not close result cache", e);
+      }
+    }
   }
 
   void checkText(AnnotatedText aText, HttpExchange httpExchange, Map<String, String> params, ErrorRequestLimiter errorRequestLimiter,
@@ -317,8 +404,8 @@ abstract class TextChecker {
       dictGroups.sort(Comparator.naturalOrder());
       dictName = "groups_" + String.join(",", dictGroups);
     }
-    List<String> dictWords = limits.getPremiumUid() != null ?
-      getUserDictWords(limits, dictGroups) : Collections.emptyList();
+    UserDictionary dictionary = limits.getPremiumUid() != null ?
+      getUserDictionary(limits, dictGroups, dictName) : UserDictionary.EMPTY;
 
     boolean filterDictionaryMatches = "true".equals(params.get("filterDictionaryMatches"));
 
@@ -390,7 +477,7 @@ abstract class TextChecker {
 
     List<Rule> userRules = getUserRules(limits, lang, dictGroups);
     UserConfig userConfig =
-      new UserConfig(dictWords, userRules,
+      new UserConfig(dictionary, userRules,
                      getRuleValues(params), config.getMaxSpellingSuggestions(),
                      limits.getPremiumUid(), dictName, limits.getDictCacheSize(),
                      null, filterDictionaryMatches, abTest, textSessionId,
@@ -467,27 +554,58 @@ abstract class TextChecker {
 
     int textSize = length;
 
-    List<CheckResults> ruleMatchesSoFar = Collections.synchronizedList(new ArrayList<>());
-
-    Future<List<CheckResults>> future;
-    try {
-      future = executorService.submit(() -> {
-        try (MDC.MDCCloseable c = MDC.putCloseable("rID", LanguageToolHttpHandler.getRequestId(httpExchange))) {
-          log.debug("Starting text check on {} chars; params: {}", length, qParams);
-          long time = System.currentTimeMillis();
-          List<CheckResults> results = getRuleMatches(aText, lang, motherTongue, params, qParams, userConfig, detLang, preferredLangs,
-            preferredVariants, f -> ruleMatchesSoFar.add(new CheckResults(Collections.singletonList(f), Collections.emptyList())));
-          log.debug("Finished text check in {}ms. Starting suggestion generation.", System.currentTimeMillis() - time);
-          time = System.currentTimeMillis();
-          // generate suggestions, otherwise this is not part of the timeout logic and not properly measured in the metrics
-          results.stream().flatMap(r -> r.getRuleMatches().stream()).forEach(RuleMatch::computeLazySuggestedReplacements);
-          log.debug("Finished suggestion generation in {}ms, returning results.", System.currentTimeMillis() - time);
-          return results;
+    if (isStreamingRequest(params, qParams)) {
+      // the HTTP status can't be changed once the response has been started, so a full queue
+      // or a rejection by the CheckScheduler must happen before that to get a 503 response:
+      StreamingCheck check = submitStreamingCheck(aText, lang, motherTongue, qParams, userConfig, limits, httpExchange);
+      RuleMatchesAsJsonSerializer.IncrementalWriter writer = null;
+      try {
+        awaitStart(check, limits.getMaxCheckTimeMillis());
+        int compactMode = Integer.parseInt(params.getOrDefault("c", "0"));
+        writer = startStreamingResponse(httpExchange, aText, lang, detLang, compactMode, limits.getPremiumUid() == null);
+      } finally {
+        if (writer == null) {
+          check.future.cancel(true);
         }
-      });
-    } catch (RejectedExecutionException e) {
-      throw new UnavailableException("Server overloaded, please try again later", e);
+      }
+      if (writer != null) {
+        try {
+          int matchCount = checkTextStreaming(writer, check, aText, lang, params, qParams, userConfig, limits,
+            httpExchange, errorRequestLimiter, remoteAddress, detLang);
+          if (matchCount >= 0) {
+            int computationTime = (int) (System.currentTimeMillis() - timeStart);
+            languageCheckCounts.put(lang.getShortCodeWithCountryAndVariant(), count);
+            log.info("Check done (streaming): " + length + " chars, " + lang.getShortCodeWithCountryAndVariant() +
+              ", requestId: " + requestId + ", #" + count + ", " + referrer + ", " + matchCount + " matches, " +
+              computationTime + "ms, agent:" + agent + ", m:" + ServerTools.getModeForLog(mode) +
+              (limits.getPremiumUid() != null ? ", uid:" + limits.getPremiumUid() : ""));
+            if (!Premium.isPremiumStatusCheck(aText)) {
+              logCheck(lang, detLang, computationTime, textSize, matchCount, mode, limits, userId, agentId, textSessionId);
+            }
+          }
+        } finally {
+          writer.close();
+        }
+        return;
+      }
     }
+
+    List<CheckResults> ruleMatchesSoFar = Collections.synchronizedList(new ArrayList<>());
+
+    Future<List<CheckResults>> future = submitCheck(() -> {
+      try (MDC.MDCCloseable c = MDC.putCloseable("rID", LanguageToolHttpHandler.getRequestId(httpExchange))) {
+        log.debug("Starting text check on {} chars; params: {}", length, qParams);
+        long time = System.currentTimeMillis();
+        List<CheckResults> results = getRuleMatches(aText, lang, motherTongue, params, qParams, userConfig, detLang, preferredLangs,
+          preferredVariants, f -> ruleMatchesSoFar.add(new CheckResults(Collections.singletonList(f), Collections.emptyList())));
+        log.debug("Finished text check in {}ms. Starting suggestion generation.", System.currentTimeMillis() - time);
+        time = System.currentTimeMillis();
+        // generate suggestions, otherwise this is not part of the timeout logic and not properly measured in the metrics
+        results.stream().flatMap(r -> r.getRuleMatches().stream()).forEach(RuleMatch::computeLazySuggestedReplacements);
+        log.debug("Finished suggestion generation in {}ms, returning results.", System.currentTimeMillis() - time);
+        return results;
+      }
+    }, limits, length, qParams.mode);
     String incompleteResultReason = null;
     List<CheckResults> res;
     try {
@@ -507,6 +625,8 @@ abstract class TextChecker {
           params, System.currentTimeMillis()-timeStart, reqCounter));
         res = new ArrayList<>(ruleMatchesSoFar);  // threads might still be running, so make a copy
         incompleteResultReason = "Results are incomplete: " + ExceptionUtils.getRootCause(e).getMessage();
+      } else if (e.getCause() instanceof RejectedExecutionException) {
+        throw new UnavailableException("Server overloaded, please try again later", (RejectedExecutionException) e.getCause());
       } else if (e.getCause() != null && e.getCause() instanceof OutOfMemoryError) {
         throw (OutOfMemoryError)e.getCause();
       } else {
@@ -547,36 +667,7 @@ abstract class TextChecker {
 
     setHeaders(httpExchange);
 
-    List<RuleMatch> hiddenMatches = new ArrayList<>();
-    boolean temporaryPremiumDisabledRuleMatch = false;
-    Set<String> temporaryPremiumDisabledRuleMatchedIds = new HashSet<>();
-    // filter computed premium matches, convert to hidden matches - no separate hidden matches server needed
-    if (!qParams.premium && qParams.enableHiddenRules) {
-      List<RuleMatch> allMatches = new ArrayList<>(); // for filtering out overlapping matches, collect across CheckResults
-      List<RuleMatch> premiumMatches = new ArrayList<>();
-      for (CheckResults result : res) {
-        List<RuleMatch> filteredMatches = new ArrayList<>();
-        for (RuleMatch match : result.getRuleMatches()) {
-          if (Premium.get().isPremiumRule(match.getRule()) && !Premium.isTempNotPremium(match.getRule())) {
-            premiumMatches.add(match);
-          } else if (userConfig.getAbTest() != null && userConfig.getAbTest().equals("ALLOW_PREMIUM_IN_BASIC") && Premium.get().isPremiumRule(match.getRule()) && Premium.isTempNotPremium(match.getRule())) {
-            System.out.println("Rule: " + match.getRule().getId() + " is premium but temporary available in basic");
-            filteredMatches.add(match);
-            allMatches.add(match);
-            temporaryPremiumDisabledRuleMatch = true;
-            temporaryPremiumDisabledRuleMatchedIds.add(match.getRule().getId());
-          } else {
-            // filter out premium matches
-            filteredMatches.add(match);
-            // keep track for filtering out overlapping matches
-            allMatches.add(match);
-          }
-          // need to replace list, can't iterate and remove since some rules may return unmodifiable lists
-          result.setRuleMatches(filteredMatches);
-        }
-      }
-      hiddenMatches.addAll(ResultExtender.getAsHiddenMatches(allMatches, premiumMatches));
-    }
+    List<RuleMatch> hiddenMatches = filterPremiumMatches(res, qParams, userConfig);
 
     int compactMode = Integer.parseInt(params.getOrDefault("c", "0"));
     String response = getResponse(aText, lang, detLang, motherTongue, res, hiddenMatches, incompleteResultReason, compactMode,
@@ -640,41 +731,333 @@ abstract class TextChecker {
     }
 
     if (!Premium.isPremiumStatusCheck(aText)) { // exclude status checks from add-on from metrics
-      ServerMetricsCollector.getInstance().logCheck(
-        lang, computationTime, textSize, matchCount, mode);
-
-      if (!config.isSkipLoggingChecks()) {
-        // NOTE: Java/DB (not sure) can't keep up with logging the volume of new entries we've reached,
-        // so we limit it to enterprise customers where we actually pay attention to the request limits
-        if (limits.getRequestsPerDay() != null) {
-          DatabaseCheckLogEntry logEntry = new DatabaseCheckLogEntry(userId, agentId, logServerId, textSize, matchCount,
-            lang, detLang.getDetectedLanguage(), computationTime, textSessionId, mode.toString());
-          databaseLogger.log(logEntry);
+      logCheck(lang, detLang, computationTime, textSize, matchCount, mode, limits, userId, agentId, textSessionId);
+    }
+
+  }
+
+  /**
+   * Log a check to the metrics and, if configured, to the database (the request limits are based on the latter).
+   */
+  private void logCheck(Language lang, DetectedLanguage detLang, int computationTime, int textSize, int matchCount, JLanguageTool.Mode mode,
+                        UserLimits limits, Long userId, Long agentId, Long textSessionId) {
+    ServerMetricsCollector.getInstance().logCheck(
+      lang, computationTime, textSize, matchCount, mode);
+
+    if (!config.isSkipLoggingChecks()) {
+      // NOTE: Java/DB (not sure) can't keep up with logging the volume of new entries we've reached,
+      // so we limit it to enterprise customers where we actually pay attention to the request limits
+      if (limits.getRequestsPerDay() != null) {
+        DatabaseCheckLogEntry logEntry = new DatabaseCheckLogEntry(userId, agentId, logServerId, textSize, matchCount,
+          lang, detLang.getDetectedLanguage(), computationTime, textSessionId, mode.toString());
+        databaseLogger.log(logEntry);
+      }
+    }
+
+    if (databaseLogger.isLogging()) {
+      if (System.currentTimeMillis() - pingsCleanDateMillis > PINGS_CLEAN_MILLIS && pings.size() < PINGS_MAX_SIZE) {
+        log.info("Cleaning pings DB (" + pings.size() + " items)");
+        pings.clear();
+        pingsCleanDateMillis = System.currentTimeMillis();
+      }
+      if (agentId != null && userId != null) {
+        DatabasePingLogEntry ping = new DatabasePingLogEntry(agentId, userId);
+        if (!pings.contains(ping)) {
+          databaseLogger.log(ping);
+          if (pings.size() >= PINGS_MAX_SIZE) {
+            // prevent pings taking up unlimited amounts of memory
+            log.warn("Pings DB has reached max size: " + pings.size());
+          } else {
+            pings.add(ping);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Start a response that is sent while the text is still being checked, see {@link #checkTextStreaming}.
+   * @return {@code null} if this checker does not support streaming responses
+   * @since 5.9
+   */
+  @Nullable
+  protected RuleMatchesAsJsonSerializer.IncrementalWriter startStreamingResponse(HttpExchange httpExchange, AnnotatedText text, Language usedLang,
+                                                                                  DetectedLanguage lang, int compactMode, boolean showPremiumHint) throws IOException {
+    return null;
+  }
+
+  private boolean isStreamingRequest(Map<String, String> params, QueryParams qParams) {
+    return "true".equals(params.get("streaming"))
+      && qParams.callback == null  // JSONP needs the complete response
+      && params.get("sourceText") == null
+      && (params.get("multilingual") == null || params.get("multilingual").equals("false"));
+  }
+
+  /**
+   * Submit a check of the text part by part (parts end at paragraph boundaries) with the sentence-level rules,
+   * followed by the text-level rules, which need the whole text. The results are sent by {@link #checkTextStreaming}.
+   * @throws UnavailableException if the server is overloaded
+   */
+  private StreamingCheck submitStreamingCheck(AnnotatedText aText, Language lang, Language motherTongue, QueryParams qParams,
+                                              UserConfig userConfig, UserLimits limits, HttpExchange httpExchange) {
+    String plainText = aText.getPlainText();
+    StreamingCheck check = new StreamingCheck();
+    check.future = submitCheck(() -> {
+      check.started.countDown();
+      try (MDC.MDCCloseable c = MDC.putCloseable("rID", LanguageToolHttpHandler.getRequestId(httpExchange))) {
+        if (qParams.mode != JLanguageTool.Mode.TEXTLEVEL_ONLY) {
+          int partStart = 0;
+          while (partStart < plainText.length()) {
+            int partEnd = getStreamingPartEnd(plainText, partStart);
+            AnnotatedText partText = new AnnotatedTextBuilder().addText(plainText.substring(partStart, partEnd)).build();
+            check.currentPartStart.set(partStart);
+            CheckResults partResults = checkPart(partText, lang, motherTongue, qParams, userConfig, check.currentPartMatches::add,
+              JLanguageTool.Mode.ALL_BUT_TEXTLEVEL_ONLY);
+            partResults.mapToOriginalText(aText, partStart);
+            check.currentPartMatches.clear();
+            check.checkedParts.offer(partResults);
+            partStart = partEnd;
+          }
+        }
+        if (qParams.mode != JLanguageTool.Mode.ALL_BUT_TEXTLEVEL_ONLY) {
+          check.currentPartStart.set(-1);
+          CheckResults textLevelResults = checkPart(aText, lang, motherTongue, qParams, userConfig, check.currentPartMatches::add,
+            JLanguageTool.Mode.TEXTLEVEL_ONLY);
+          if (qParams.mode != JLanguageTool.Mode.TEXTLEVEL_ONLY) {
+            // sentence ranges have been sent with the parts already
+            textLevelResults = new CheckResults(textLevelResults.getRuleMatches(), textLevelResults.getIgnoredRanges());
+          }
+          check.checkedParts.offer(textLevelResults);
         }
+        return null;
+      } finally {
+        check.checkedParts.offer(check.endOfText);
       }
+    }, limits, plainText.length(), qParams.mode);
+    check.deadline = System.currentTimeMillis() + limits.getMaxCheckTimeMillis();
+    return check;
+  }
 
-      if (databaseLogger.isLogging()) {
-        if (System.currentTimeMillis() - pingsCleanDateMillis > PINGS_CLEAN_MILLIS && pings.size() < PINGS_MAX_SIZE) {
-          log.info("Cleaning pings DB (" + pings.size() + " items)");
-          pings.clear();
-          pingsCleanDateMillis = System.currentTimeMillis();
+  /**
+   * Wait until the check is running, so that the CheckScheduler can't reject it anymore once the response has been
+   * started. Returns when the time limit has been reached, too: {@link #checkTextStreaming} then reports the timeout.
+   * @throws UnavailableException if the check has been rejected
+   */
+  private static void awaitStart(StreamingCheck check, long maxCheckTimeMillis) throws InterruptedException {
+    while (!check.started.await(getStreamingPollMillis(check, maxCheckTimeMillis), TimeUnit.MILLISECONDS)) {
+      if (check.future.isDone()) {
+        try {
+          check.future.get();
+        } catch (ExecutionException e) {
+          if (e.getCause() instanceof RejectedExecutionException) {
+            throw new UnavailableException("Server overloaded, please try again later", (RejectedExecutionException) e.getCause());
+          }
         }
-        if (agentId != null && userId != null) {
-          DatabasePingLogEntry ping = new DatabasePingLogEntry(agentId, userId);
-          if (!pings.contains(ping)) {
-            databaseLogger.log(ping);
-            if (pings.size() >= PINGS_MAX_SIZE) {
-              // prevent pings taking up unlimited amounts of memory
-              log.warn("Pings DB has reached max size: " + pings.size());
-            } else {
-              pings.add(ping);
+        return;
+      }
+      if (maxCheckTimeMillis >= 0 && System.currentTimeMillis() >= check.deadline) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * @return the next part, {@code endOfText} when the check is over (also if it has failed without running),
+   * or {@code null} if the time limit has been reached
+   */
+  @Nullable
+  private static CheckResults takeCheckedPart(StreamingCheck check, long maxCheckTimeMillis) throws InterruptedException {
+    while (true) {
+      CheckResults part = check.checkedParts.poll(getStreamingPollMillis(check, maxCheckTimeMillis), TimeUnit.MILLISECONDS);
+      if (part != null) {
+        return part;
+      }
+      if (check.future.isDone()) {
+        // endOfText is only offered by the check itself, which never runs if it's rejected:
+        part = check.checkedParts.poll();
+        return part != null ? part : check.endOfText;
+      }
+      if (maxCheckTimeMillis >= 0 && System.currentTimeMillis() >= check.deadline) {
+        return null;
+      }
+    }
+  }
+
+  private static long getStreamingPollMillis(StreamingCheck check, long maxCheckTimeMillis) {
+    if (maxCheckTimeMillis < 0) {
+      return STREAMING_POLL_MILLIS;
+    }
+    return Math.max(0, Math.min(STREAMING_POLL_MILLIS, check.deadline - System.currentTimeMillis()));
+  }
+
+  /**
+   * Write the matches of each part of the text as soon as it has been checked. The text-level rules need the
+   * whole text, so their matches are written last. If checking takes too long, the matches sent so far are the
+   * incomplete result (if {@code allowIncompleteResults} is set). Otherwise the JSON is ended with an 'error'
+   * section instead of the remaining sections, as the HTTP status has already been sent.
+   * @return the number of matches sent, or {@code -1} if the check failed and the response has been ended with an error
+   */
+  private int checkTextStreaming(RuleMatchesAsJsonSerializer.IncrementalWriter writer, StreamingCheck check, AnnotatedText aText,
+                                 Language lang, Map<String, String> params, QueryParams qParams, UserConfig userConfig, UserLimits limits,
+                                 HttpExchange httpExchange, ErrorRequestLimiter errorRequestLimiter, String remoteAddress,
+                                 DetectedLanguage detLang) throws Exception {
+    Future<?> future = check.future;
+    long maxCheckTimeMillis = limits.getMaxCheckTimeMillis();
+    int matchCount = 0;
+    List<RuleMatch> hiddenMatches = new ArrayList<>();
+    String incompleteResultReason = null;
+    try {
+      while (true) {
+        CheckResults part = takeCheckedPart(check, maxCheckTimeMillis);
+        if (part == null) {
+          boolean cancelled = future.cancel(true);
+          if (errorRequestLimiter != null) {
+            errorRequestLimiter.logAccess(remoteAddress, httpExchange.getRequestHeaders(), params);
+          }
+          String message = "Text checking took longer than allowed maximum of " + maxCheckTimeMillis +
+            " milliseconds (streaming, cancelled: " + cancelled + ", lang: " + lang.getShortCodeWithCountryAndVariant() +
+            ", " + aText.getPlainText().length() + " characters of text, mode: " + qParams.mode.toString().toLowerCase() + ")";
+          if (!qParams.allowIncompleteResults) {
+            ServerMetricsCollector.getInstance().logRequestError(ServerMetricsCollector.RequestErrorType.MAX_CHECK_TIME);
+            log.warn(message + " - ending response with an error after " + matchCount + " matches");
+            // same messages as LanguageToolHttpHandler's error responses:
+            writer.fail("Checking took longer than " + maxCheckTimeMillis / 1000.0f + " seconds, which is this server's limit. " +
+              "Please make sure you have selected the proper language or consider submitting a shorter text.");
+            return -1;
+          }
+          List<RuleMatch> matchesSoFar = new ArrayList<>(check.currentPartMatches);  // threads might still be running, so make a copy
+          log.info(message + " - returning " + (matchCount + matchesSoFar.size()) + " matches found so far");
+          matchesSoFar.forEach(RuleMatch::discardLazySuggestedReplacements);
+          part = new CheckResults(matchesSoFar, Collections.emptyList());
+          if (check.currentPartStart.get() >= 0) {
+            part.mapToOriginalText(aText, check.currentPartStart.get());
+          }
+          incompleteResultReason = "Results are incomplete: text checking took longer than allowed maximum of " +
+            String.format(Locale.ENGLISH, "%.2f", maxCheckTimeMillis/1000.0) + " seconds";
+        } else if (part == check.endOfText) {
+          try {
+            future.get();
+          } catch (ExecutionException e) {
+            Throwable rootCause = ExceptionUtils.getRootCause(e);
+            if (rootCause instanceof ErrorRateTooHighException) {
+              ServerMetricsCollector.getInstance().logRequestError(ServerMetricsCollector.RequestErrorType.TOO_MANY_ERRORS);
+            }
+            if (e.getCause() instanceof RejectedExecutionException) {
+              // rejected by the CheckScheduler after the time limit was reached while waiting for the check to start:
+              log.warn("Streaming check rejected, ending response with an error, detected: " + detLang);
+              writer.fail("Server overloaded, please try again later");
+              return -1;
             }
+            if (!qParams.allowIncompleteResults || !(rootCause instanceof ErrorRateTooHighException)) {
+              log.warn("Streaming check failed, ending response with an error after " + matchCount + " matches, detected: " + detLang, e);
+              writer.fail(rootCause instanceof ErrorRateTooHighException ? rootCause.getMessage() :
+                "Internal Error: " + ServerTools.cleanUserTextFromMessage(String.valueOf(e.getMessage()), params));
+              return -1;
+            }
+            log.warn(e.getMessage() + " - returning " + matchCount + " matches found so far. Detected language: " + detLang);
+            incompleteResultReason = "Results are incomplete: " + rootCause.getMessage();
           }
+          break;
+        }
+        List<CheckResults> partResults = Collections.singletonList(part);
+        hiddenMatches.addAll(filterPremiumMatches(partResults, qParams, userConfig));
+        writer.writeMatches(part);
+        matchCount += part.getRuleMatches().size();
+        if (incompleteResultReason != null) {
+          break;
         }
       }
+    } finally {
+      future.cancel(true);  // e.g. client has disconnected
+    }
+    writer.finish(hiddenMatches, incompleteResultReason);
+    ServerMetricsCollector.getInstance().logResponse(HttpURLConnection.HTTP_OK);
+    return matchCount;
+  }
+
+  // package-private for tests
+  <T> Future<T> submitCheck(Callable<T> check, UserLimits limits, int textLength, JLanguageTool.Mode mode) {
+    if (checkScheduler == null) {
+      try {
+        return executorService.submit(check);
+      } catch (RejectedExecutionException e) {
+        throw new UnavailableException("Server overloaded, please try again later", e);
+      }
+    }
+    CheckScheduler.Priority priority = CheckScheduler.Priority.of(limits);
+    try {
+      return checkScheduler.submit(check, priority, CheckScheduler.estimateCost(textLength, mode));
+    } catch (RejectedExecutionException e) {
+      ServerMetricsCollector.getInstance().logCheckRejected(priority);
+      throw new UnavailableException("Server overloaded, please try again later", e);
+    }
+  }
 
+  /**
+   * @return the end of the part of the text that starts at {@code partStart}: the end of the paragraph
+   * that ends after at least {@link #STREAMING_PART_SIZE} characters, or the end of the text
+   */
+  static int getStreamingPartEnd(String text, int partStart) {
+    int minEnd = partStart + STREAMING_PART_SIZE;
+    if (minEnd >= text.length()) {
+      return text.length();
+    }
+    int paragraphEnd = text.indexOf("\n\n", minEnd);
+    if (paragraphEnd == -1) {
+      return text.length();
     }
+    // keep further line breaks with the paragraph that ends here:
+    int partEnd = paragraphEnd + 2;
+    while (partEnd < text.length() && text.charAt(partEnd) == '\n') {
+      partEnd++;
+    }
+    return partEnd;
+  }
 
+  private CheckResults checkPart(AnnotatedText text, Language lang, Language motherTongue, QueryParams qParams, UserConfig userConfig,
+                                 RuleMatchListener listener, JLanguageTool.Mode mode) throws Exception {
+    CheckResults results = getPipelineResults(text, lang, motherTongue, qParams, userConfig, listener, mode).get(0);
+    // generate suggestions here, so that they are part of the timeout logic
+    results.getRuleMatches().forEach(RuleMatch::computeLazySuggestedReplacements);
+    return results;
+  }
+
+  /**
+   * Remove premium matches for users without premium access (if hidden rules are enabled).
+   * @return the premium matches as hidden matches
+   */
+  private List<RuleMatch> filterPremiumMatches(List<CheckResults> res, QueryParams qParams, UserConfig userConfig) {
+    List<RuleMatch> hiddenMatches = new ArrayList<>();
+    boolean temporaryPremiumDisabledRuleMatch = false;
+    Set<String> temporaryPremiumDisabledRuleMatchedIds = new HashSet<>();
+    // filter computed premium matches, convert to hidden matches - no separate hidden matches server needed
+    if (!qParams.premium && qParams.enableHiddenRules) {
+      List<RuleMatch> allMatches = new ArrayList<>(); // for filtering out overlapping matches, collect across CheckResults
+      List<RuleMatch> premiumMatches = new ArrayList<>();
+      for (CheckResults result : res) {
+        List<RuleMatch> filteredMatches = new ArrayList<>();
+        for (RuleMatch match : result.getRuleMatches()) {
+          if (Premium.get().isPremiumRule(match.getRule()) && !Premium.isTempNotPremium(match.getRule())) {
+            premiumMatches.add(match);
+          } else if (userConfig.getAbTest() != null && userConfig.getAbTest().equals("ALLOW_PREMIUM_IN_BASIC") && Premium.get().isPremiumRule(match.getRule()) && Premium.isTempNotPremium(match.getRule())) {
+            System.out.println("Rule: " + match.getRule().getId() + " is premium but temporary available in basic");
+            filteredMatches.add(match);
+            allMatches.add(match);
+            temporaryPremiumDisabledRuleMatch = true;
+            temporaryPremiumDisabledRuleMatchedIds.add(match.getRule().getId());
+          } else {
+            // filter out premium matches
+            filteredMatches.add(match);
+            // keep track for filtering out overlapping matches
+            allMatches.add(match);
+          }
+          // need to replace list, can't iterate and remove since some rules may return unmodifiable lists
+          result.setRuleMatches(filteredMatches);
+        }
+      }
+      hiddenMatches.addAll(ResultExtender.getAsHiddenMatches(allMatches, premiumMatches));
+    }
+    return hiddenMatches;
   }
 
   @NotNull
@@ -703,9 +1086,10 @@ abstract class TextChecker {
     return ruleValues;
   }
 
-  private List<String> getUserDictWords(UserLimits limits, List<String> groups) {
+  private UserDictionary getUserDictionary(UserLimits limits, List<String> groups, String dictName) {
     DatabaseAccess db = DatabaseAccess.getInstance();
-    return db.getWords(limits, groups, RowBounds.NO_ROW_OFFSET, RowBounds.NO_ROW_LIMIT);
+    return userDictionaries.get(limits.getPremiumUid(), dictName,
+      () -> db.getWords(limits, groups, RowBounds.NO_ROW_OFFSET, RowBounds.NO_ROW_LIMIT));
   }
 
   private List<Rule> getUserRules(UserLimits limits, Language lang, List<String> groups) {
@@ -795,6 +1179,11 @@ abstract class TextChecker {
   }
 
   private List<CheckResults> getPipelineResults(AnnotatedText aText, Language lang, Language motherTongue, QueryParams params, UserConfig userConfig, RuleMatchListener listener) throws Exception {
+    return getPipelineResults(aText, lang, motherTongue, params, userConfig, listener, params.mode);
+  }
+
+  private List<CheckResults> getPipelineResults(AnnotatedText aText, Language lang, Language motherTongue, QueryParams params, UserConfig userConfig,
+                                                RuleMatchListener listener, JLanguageTool.Mode mode) throws Exception {
     PipelineSettings settings = null;
     Pipeline lt = null;
     List<CheckResults> res = new ArrayList<>();
@@ -806,7 +1195,7 @@ abstract class TextChecker {
         textSessionId = -2L; // magic value for remote rule roll-out - includes all results, even from disabled models
       }
       res.add(lt.check2(aText, true, JLanguageTool.ParagraphHandling.NORMAL, listener,
-        params.mode, params.level, textSessionId));
+        mode, params.level, textSessionId));
     } finally {
       if (lt != null) {
         pipelinePool.returnPipeline(settings, lt);
@@ -892,6 +1281,20 @@ abstract class TextChecker {
       detected != null ? detected.getDetectionSource() : null);
   }
 
+  /**
+   * A check submitted by {@link #submitStreamingCheck}: the parts it has checked so far, ended by {@code endOfText}.
+   */
+  private static class StreamingCheck {
+    private final BlockingQueue<CheckResults> checkedParts = new LinkedBlockingQueue<>();
+    private final CheckResults endOfText = new CheckResults(Collections.emptyList(), Collections.emptyList());
+    // matches of the part that is being checked, as partial result in case of a timeout:
+    private final List<RuleMatch> currentPartMatches = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger currentPartStart = new AtomicInteger(-1);  // -1: text-level check of the whole text
+    private final CountDownLatch started = new CountDownLatch(1);
+    private Future<?> future;
+    private long deadline;
+  }
+
   static class QueryParams {
     final List<Language> altLanguages;
     final List<String> enabledRules;
@@ -0,0 +1,155 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.jetbrains.annotations.Nullable;
+import org.languagetool.rules.UserDictionary;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * The dictionaries of logged-in users, so that their words are not read from the database and sorted
+ * for every check. Words added or deleted via the API are applied to the cached dictionaries right away,
+ * without creating them again (see {@link UserDictionary#withAdded(java.util.Collection)}); once there are more
+ * than {@code maxDeltaSize} changes, they are merged into the dictionary in the background. Checks
+ * that are running keep using the dictionary they started with.
+ * A user's dictionaries are read from the database again after {@code expireSeconds}, so changes made via
+ * other servers are picked up. A dictionary that was being read from the database while the user's words
+ * were changed is not cached, as it might not include the change.
+ * @since 5.9
+ */
+class UserDictionaryCache {
+
+  static final String DEFAULT_DICT = "default";
+
+  private final Cache<Long, UserDictionaries> dictionaries;
+  private final Set<Long> compacting = ConcurrentHashMap.newKeySet();
+  private final int maxDeltaSize;
+  private final Executor executor;
+
+  UserDictionaryCache(long expireSeconds, int maxDeltaSize, Executor executor) {
+    this.dictionaries = CacheBuilder.newBuilder()
+      .expireAfterWrite(expireSeconds, TimeUnit.SECONDS)
+      .build();
+    this.maxDeltaSize = maxDeltaSize;
+    this.executor = executor;
+  }
+
+  /**
+   * @param dictName {@link #DEFAULT_DICT} or a name for the combination of dictionary groups
+   * @param loader reads the words from the database if the dictionary is not cached
+   */
+  UserDictionary get(long userId, String dictName, Supplier<List<String>> loader) {
+    UserDictionaries userDicts;
+    try {
+      userDicts = dictionaries.get(userId, UserDictionaries::new);
+    } catch (ExecutionException e) {
+      throw new RuntimeException(e.getCause());
+    }
+    UserDictionary dict = userDicts.dicts.get(dictName);
+    if (dict != null) {
+      return dict;
+    }
+    long edits = userDicts.edits.get();
+    UserDictionary loaded = UserDictionary.of(loader.get());
+    UserDictionary cached = userDicts.dicts.putIfAbsent(dictName, loaded);
+    if (cached != null) {
+      return cached;
+    }
+    if (userDicts.edits.get() != edits) {
+      // the words have been changed while they were read, the change might be missing in 'loaded'
+      // and it couldn't be applied, as 'loaded' wasn't cached yet - so read them again next time:
+      userDicts.dicts.remove(dictName, loaded);
+    }
+    return loaded;
+  }
+
+  /**
+   * Call after the words have been added to the database.
+   * @param groupName the dictionary group the words have been added to, {@code null} for the default dictionary
+   */
+  void add(@Nullable Long userId, @Nullable String groupName, List<String> words) {
+    update(userId, groupName, dict -> dict.withAdded(words));
+  }
+
+  /**
+   * Call after the words have been deleted from the database.
+   * @param groupName the dictionary group the words have been deleted from, {@code null} for the default dictionary
+   */
+  void delete(@Nullable Long userId, @Nullable String groupName, List<String> words) {
+    update(userId, groupName, dict -> dict.withRemoved(words));
+  }
+
+  private void update(@Nullable Long userId, @Nullable String groupName, UnaryOperator<UserDictionary> change) {
+    if (userId == null) {
+      return;
+    }
+    UserDictionaries userDicts = dictionaries.getIfPresent(userId);
+    if (userDicts == null) {
+      return;
+    }
+    // counted before the cached dictionaries are changed, so dictionaries that are being read
+    // concurrently are either changed here or not cached (see get()):
+    userDicts.edits.incrementAndGet();
+    // which groups a combination of groups includes depends on the DatabaseAccess implementation,
+    // so only the default dictionary is updated, the others are read again when they're used:
+    userDicts.dicts.keySet().removeIf(name -> !DEFAULT_DICT.equals(name));
+    if (groupName != null) {
+      userDicts.dicts.remove(DEFAULT_DICT);
+      return;
+    }
+    UserDictionary updated = userDicts.dicts.computeIfPresent(DEFAULT_DICT, (name, dict) -> change.apply(dict));
+    if (updated != null && updated.getDeltaSize() > maxDeltaSize) {
+      compactLater(userId, userDicts.dicts);
+    }
+  }
+
+  private void compactLater(long userId, ConcurrentMap<String, UserDictionary> userDicts) {
+    if (!compacting.add(userId)) {
+      return;
+    }
+    executor.execute(() -> {
+      try {
+        UserDictionary dict;
+        do {
+          dict = userDicts.get(DEFAULT_DICT);
+          if (dict == null || dict.getDeltaSize() <= maxDeltaSize) {
+            return;
+          }
+          // only replaced if there has been no change in the meantime, otherwise try again:
+        } while (!userDicts.replace(DEFAULT_DICT, dict, dict.compact()));
+      } finally {
+        compacting.remove(userId);
+      }
+    });
+  }
+
+  private static class UserDictionaries {
+    private final ConcurrentMap<String, UserDictionary> dicts = new ConcurrentHashMap<>();
+    private final AtomicLong edits = new AtomicLong();
+  }
+
+}
@@ -26,6 +26,8 @@ import org.languagetool.rules.RuleMatch;
 import org.languagetool.tools.StringTools;
 import org.languagetool.tools.RuleMatchesAsJsonSerializer;
 
+import java.io.IOException;
+import java.net.HttpURLConnection;
 import java.util.*;
 
 import static org.languagetool.server.ServerTools.setCommonHeaders;
@@ -55,6 +57,15 @@ class V2TextChecker extends TextChecker {
       showPremiumHint, mode);
   }
 
+  @Override
+  protected RuleMatchesAsJsonSerializer.IncrementalWriter startStreamingResponse(HttpExchange httpExchange, AnnotatedText text, Language usedLang,
+                                                                                  DetectedLanguage lang, int compactMode, boolean showPremiumHint) throws IOException {
+    setHeaders(httpExchange);
+    httpExchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, 0);  // 0 = chunked transfer encoding
+    RuleMatchesAsJsonSerializer serializer = new RuleMatchesAsJsonSerializer(compactMode, usedLang);
+    return serializer.startIncremental(httpExchange.getResponseBody(), text, CONTEXT_SIZE, lang, showPremiumHint);
+  }
+
   @NotNull
   @Override
   protected List<String> getEnabledRuleIds(Map<String, String> parameters) {
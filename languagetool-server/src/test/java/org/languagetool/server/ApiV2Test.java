@@ -64,6 +64,22 @@ public class ApiV2Test {
     } catch (BadRequestException ignored) {}
   }
   
+  @Test
+  public void testInvalidRuleProfileLimit() throws Exception {
+    HTTPServerConfig config = new HTTPServerConfig();
+    config.ruleProfilingSampleRate = 10;
+    ApiV2 apiV2 = new ApiV2(null, null);
+    for (String limit : Arrays.asList("foo", "0", "-1")) {
+      try {
+        apiV2.handleRequest("admin/ruleProfile", new FakeHttpExchange(), Collections.singletonMap("limit", limit), null, null, config);
+        fail();
+      } catch (BadRequestException ignored) {}
+    }
+    FakeHttpExchange httpExchange = new FakeHttpExchange();
+    apiV2.handleRequest("admin/ruleProfile", httpExchange, Collections.singletonMap("limit", "5"), null, null, config);
+    assertTrue(httpExchange.getOutput().contains("\"rules\""));
+  }
+
   @Test
   @Ignore("code is currently commented out")
   public void testRuleExamples() throws Exception {
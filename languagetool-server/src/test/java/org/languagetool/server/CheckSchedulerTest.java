@@ -0,0 +1,128 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import org.junit.After;
+import org.junit.Test;
+import org.languagetool.JLanguageTool;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.*;
+
+public class CheckSchedulerTest {
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(1);
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testOrder() throws Exception {
+    CheckScheduler scheduler = new CheckScheduler(executor, 1, 0);
+    CountDownLatch latch = new CountDownLatch(1);
+    List<String> order = Collections.synchronizedList(new ArrayList<>());
+    Future<?> blocker = scheduler.submit(() -> {
+      latch.await();
+      return null;
+    }, CheckScheduler.Priority.PREMIUM, 10);
+    List<Future<?>> futures = new ArrayList<>();
+    futures.add(scheduler.submit(() -> order.add("anonymous large"), CheckScheduler.Priority.ANONYMOUS, 5000));
+    futures.add(scheduler.submit(() -> order.add("anonymous small"), CheckScheduler.Priority.ANONYMOUS, 100));
+    futures.add(scheduler.submit(() -> order.add("logged-in small"), CheckScheduler.Priority.LOGGED_IN, 100));
+    futures.add(scheduler.submit(() -> order.add("premium small"), CheckScheduler.Priority.PREMIUM, 100));
+    assertThat(scheduler.getRunning(), is(1));
+    assertThat(scheduler.getQueued(CheckScheduler.Priority.ANONYMOUS), is(2));
+    latch.countDown();
+    blocker.get();
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    assertThat(order, is(Arrays.asList("premium small", "logged-in small", "anonymous small", "anonymous large")));
+    assertThat(scheduler.getQueued(CheckScheduler.Priority.ANONYMOUS), is(0));
+  }
+
+  @Test
+  public void testQueueShares() throws Exception {
+    CheckScheduler scheduler = new CheckScheduler(executor, 1, 4);
+    CountDownLatch latch = new CountDownLatch(1);
+    Future<?> blocker = scheduler.submit(() -> {
+      latch.await();
+      return null;
+    }, CheckScheduler.Priority.PREMIUM, 10);
+    scheduler.submit(() -> 1, CheckScheduler.Priority.ANONYMOUS, 10);
+    Future<Integer> cancelled = scheduler.submit(() -> 1, CheckScheduler.Priority.ANONYMOUS, 10);
+    assertRejected(scheduler, CheckScheduler.Priority.ANONYMOUS);
+    // a cancelled check doesn't take up space in the queue:
+    assertTrue(cancelled.cancel(true));
+    scheduler.submit(() -> 1, CheckScheduler.Priority.ANONYMOUS, 10);
+    scheduler.submit(() -> 1, CheckScheduler.Priority.LOGGED_IN, 10);
+    assertRejected(scheduler, CheckScheduler.Priority.LOGGED_IN);
+    scheduler.submit(() -> 1, CheckScheduler.Priority.PREMIUM, 10);
+    assertRejected(scheduler, CheckScheduler.Priority.PREMIUM);
+    latch.countDown();
+    blocker.get();
+  }
+
+  private void assertRejected(CheckScheduler scheduler, CheckScheduler.Priority priority) {
+    try {
+      scheduler.submit(() -> 1, priority, 10);
+      fail();
+    } catch (RejectedExecutionException expected) {
+    }
+  }
+
+  @Test
+  public void testLimit() {
+    CheckScheduler scheduler = new CheckScheduler(executor, 8, 0);
+    for (int i = 0; i < 100; i++) {
+      scheduler.updateLimit(1.0, 8);
+    }
+    assertThat(scheduler.getLimit(), is(8));
+    // overloaded, checks get slower:
+    for (int i = 0; i < 30; i++) {
+      scheduler.updateLimit(4.0, 8);
+    }
+    int limit = scheduler.getLimit();
+    assertTrue(limit < 6);
+    assertTrue(limit >= 2);
+    // too few checks running to tell:
+    scheduler.updateLimit(1.0, 1);
+    assertThat(scheduler.getLimit(), is(limit));
+    for (int i = 0; i < 100; i++) {
+      scheduler.updateLimit(1.0, 8);
+    }
+    assertThat(scheduler.getLimit(), is(8));
+  }
+
+  @Test
+  public void testEstimateCost() {
+    assertThat(CheckScheduler.estimateCost(1000, JLanguageTool.Mode.ALL), is(1000));
+    assertThat(CheckScheduler.estimateCost(1000, JLanguageTool.Mode.TEXTLEVEL_ONLY), is(500));
+  }
+
+}
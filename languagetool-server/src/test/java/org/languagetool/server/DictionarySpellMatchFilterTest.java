@@ -36,6 +36,8 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertSame;
 import static junit.framework.TestCase.assertTrue;
 import static org.hamcrest.CoreMatchers.is;
 
@@ -154,7 +156,32 @@ public class DictionarySpellMatchFilterTest {
     assertEquals(1, ltWithPhrase.check("Das ist schlim.").size());
     assertEquals(0, ltWithPhrase.check("Das ist ein schlim Fehlar.").size());
   }
-
+  @Test
+  public void testSharedPipeline() throws Exception {
+    Language english = Languages.getLanguageForShortCode("en-US");
+    HTTPServerConfig config = new HTTPServerConfig();
+    config.setPipelineCaching(true);
+    config.setMaxPipelinePoolSize(5);
+    config.setPipelineExpireTime(60);
+    PipelinePool pool = new PipelinePool(config, null, true);
+
+    PipelineSettings settings1 = new PipelineSettings(english, new UserConfig(Arrays.asList("mistak")));
+    Pipeline lt1 = pool.getPipeline(settings1);
+    assertEquals(0, lt1.check("This is a mistak.").size());
+    assertEquals(0, lt1.check("Mistak is a word now.").size());
+    pool.returnPipeline(settings1, lt1);
+
+    // same rules, other dictionary:
+    PipelineSettings settings2 = new PipelineSettings(english, new UserConfig(Arrays.asList("mistakes")));
+    Pipeline lt2 = pool.getPipeline(settings2);
+    assertSame(lt1, lt2);
+    List<RuleMatch> matches = lt2.check("This is a mistak.");
+    assertEquals(1, matches.size());
+    assertEquals("mistakes", matches.get(0).getSuggestedReplacements().get(0));
+    assertTrue(matches.get(0).getSuggestedReplacements().contains("mistake"));
+    pool.returnPipeline(settings2, lt2);
+    assertNull(lt2.getUserDictionary());
+  }
 
   static class SpellingFakeRule extends FakeRule {
     @Override
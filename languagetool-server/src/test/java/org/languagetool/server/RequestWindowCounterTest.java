@@ -0,0 +1,75 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class RequestWindowCounterTest {
+
+  @Test
+  public void testCounts() {
+    RequestWindowCounter counter = new RequestWindowCounter(10);
+    long now = 1_000_000;
+    counter.add("1.1.1.1", "fp1", 10, now);
+    counter.add("1.1.1.1", "fp2", 20, now + 100);
+    RequestWindowCounter.Counts counts = counter.add("1.1.1.1", "fp1", 5, now + 200);
+    assertThat(counts.ipRequests, is(3));
+    assertThat(counts.ipSize, is(35L));
+    assertThat(counts.fingerprintRequests, is(2));
+    assertThat(counts.fingerprintSize, is(15L));
+    counts = counter.get("1.1.1.1", "fp2", now + 300);
+    assertThat(counts.ipRequests, is(3));
+    assertThat(counts.fingerprintRequests, is(1));
+    assertThat(counts.fingerprintSize, is(20L));
+    assertThat(counter.get("1.1.1.1", "fp3", now + 300).fingerprintRequests, is(0));
+    assertThat(counter.get("2.2.2.2", "fp1", now + 300).ipRequests, is(0));
+  }
+
+  @Test
+  public void testExpiry() {
+    RequestWindowCounter counter = new RequestWindowCounter(10);
+    long now = 1_000_000;
+    counter.add("1.1.1.1", "fp", 10, now);
+    counter.add("1.1.1.1", "fp", 10, now + 5000);
+    assertThat(counter.get("1.1.1.1", "fp", now + 9000).ipRequests, is(2));
+    // the first request expires, the second one is still in the window:
+    RequestWindowCounter.Counts counts = counter.get("1.1.1.1", "fp", now + 10_000);
+    assertThat(counts.ipRequests, is(1));
+    assertThat(counts.ipSize, is(10L));
+    assertThat(counts.fingerprintRequests, is(1));
+    assertThat(counter.get("1.1.1.1", "fp", now + 15_000).ipRequests, is(0));
+    assertThat(counter.add("1.1.1.1", "fp", 10, now + 100_000).ipRequests, is(1));
+  }
+
+  @Test
+  public void testSweep() {
+    RequestWindowCounter counter = new RequestWindowCounter(10);
+    long now = 1_000_000;
+    counter.add("1.1.1.1", "fp", 10, now);
+    counter.add("2.2.2.2", "fp", 10, now + 1000);
+    assertThat(counter.getIpCount(), is(2));
+    counter.add("2.2.2.2", "fp", 10, now + 10_500);
+    assertThat(counter.getIpCount(), is(1));
+    assertThat(counter.get("2.2.2.2", "fp", now + 10_500).ipRequests, is(2));
+  }
+
+}
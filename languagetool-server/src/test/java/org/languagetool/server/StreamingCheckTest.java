@@ -0,0 +1,178 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Before;
+import org.junit.Test;
+import org.languagetool.JLanguageTool;
+import org.languagetool.markup.AnnotatedTextBuilder;
+
+import java.net.URL;
+import java.net.URLEncoder;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class StreamingCheckTest {
+
+  private static final String PARAGRAPH = "Defterimde hataler yaptım. Doslarımnen toyge keldim. Dostumnen poyezdğa yetişmedim. " +
+    "Menim oğulum mektepte oquy. Bitamnıñ ömürü uzun ve bahtlı. Bu mevzuda iç fikirimiz yoqtur.";
+
+  private final ObjectMapper mapper = new ObjectMapper();
+
+  @Before
+  public void setup() {
+    DatabaseLogger.getInstance().disableLogging();
+  }
+
+  @Test
+  public void testStreamingPartEnd() {
+    StringBuilder sb = new StringBuilder();
+    while (sb.length() < TextChecker.STREAMING_PART_SIZE * 2) {
+      sb.append(PARAGRAPH).append("\n\n\n");
+    }
+    String text = sb.toString();
+    int end = TextChecker.getStreamingPartEnd(text, 0);
+    assertTrue(end > TextChecker.STREAMING_PART_SIZE);
+    assertTrue(text.substring(0, end).endsWith(".\n\n\n"));
+    assertThat(TextChecker.getStreamingPartEnd(text, end), is(text.length()));
+    assertThat(TextChecker.getStreamingPartEnd("short text", 0), is(10));
+  }
+
+  @Test
+  public void testStreamingResponse() throws Exception {
+    HTTPServerConfig config = new HTTPServerConfig(HTTPTestTools.getDefaultPort(), false);
+    config.localApiMode = true;
+    HTTPServer server = new HTTPServer(config);
+    StringBuilder sb = new StringBuilder();
+    while (sb.length() < TextChecker.STREAMING_PART_SIZE * 3) {
+      sb.append(PARAGRAPH).append("\n\n");
+    }
+    String text = sb.toString();
+    try {
+      server.run();
+      JsonNode complete = check(text, "");
+      JsonNode streamed = check(text, "&streaming=true");
+      assertFalse(streamed.get("warnings").get("incompleteResults").asBoolean());
+      List<String> completeMatches = getMatches(complete);
+      assertTrue(completeMatches.size() > 0);
+      assertThat(getMatches(streamed), is(completeMatches));
+      assertThat(streamed.get("sentenceRanges"), is(complete.get("sentenceRanges")));
+    } finally {
+      server.stop();
+    }
+  }
+
+  @Test
+  public void testStreamingResponseTimeout() throws Exception {
+    HTTPServerConfig config = new HTTPServerConfig(HTTPTestTools.getDefaultPort(), false);
+    config.localApiMode = true;
+    config.maxCheckTimeMillisAnonymous = 1;
+    HTTPServer server = new HTTPServer(config);
+    StringBuilder sb = new StringBuilder();
+    while (sb.length() < TextChecker.STREAMING_PART_SIZE * 3) {
+      sb.append(PARAGRAPH).append("\n\n");
+    }
+    try {
+      server.run();
+      // the HTTP status has been sent already, but the response must not look like a complete result:
+      JsonNode streamed = check(sb.toString(), "&streaming=true");
+      assertTrue(streamed.get("error").get("message").asText().startsWith("Checking took longer than"));
+      assertThat(streamed.get("warnings"), is(nullValue()));
+      // with incomplete results allowed, the matches found so far are the result:
+      streamed = check(sb.toString(), "&streaming=true&allowIncompleteResults=true");
+      assertTrue(streamed.get("warnings").get("incompleteResults").asBoolean());
+      assertThat(streamed.get("error"), is(nullValue()));
+    } finally {
+      server.stop();
+    }
+  }
+
+  @Test
+  public void testStreamingCheckWithFullQueue() throws Exception {
+    HTTPServerConfig config = new HTTPServerConfig(HTTPTestTools.getDefaultPort(), false);
+    config.setMaxTextCheckerThreads(1);
+    config.setTextCheckerQueueSize(1);
+    TextChecker checker = new V2TextChecker(config, false, null, new RequestCounter());
+    CountDownLatch done = new CountDownLatch(1);
+    try {
+      // one check running, one waiting:
+      for (int i = 0; i < 2; i++) {
+        checker.submitCheck(() -> done.await(10, TimeUnit.SECONDS), UserLimits.getDefaultLimits(config), 0, JLanguageTool.Mode.ALL);
+      }
+      assertRejected(checker);
+    } finally {
+      done.countDown();
+      checker.shutdownNow();
+    }
+  }
+
+  @Test(timeout = 10_000)
+  public void testStreamingCheckRejectedByScheduler() throws Exception {
+    HTTPServerConfig config = new HTTPServerConfig(HTTPTestTools.getDefaultPort(), false);
+    config.setAdaptiveConcurrency(true);
+    TextChecker checker = new V2TextChecker(config, false, null, new RequestCounter());
+    // the CheckScheduler accepts the check, but can't start it:
+    checker.shutdownNow();
+    assertRejected(checker);
+  }
+
+  private void assertRejected(TextChecker checker) throws Exception {
+    Map<String, String> params = new HashMap<>();
+    params.put("text", "not used");
+    params.put("language", "en");
+    params.put("streaming", "true");
+    FakeHttpExchange httpExchange = new FakeHttpExchange();
+    try {
+      checker.checkText(new AnnotatedTextBuilder().addText("some random text").build(), httpExchange, params, null, null);
+      fail("check should have been rejected");
+    } catch (UnavailableException expected) {
+      // nothing has been sent, so the handler can still send a 503 status
+      assertThat(httpExchange.getOutput(), is(""));
+    }
+  }
+
+  private JsonNode check(String text, String extraParams) throws Exception {
+    URL url = new URL("http://localhost:" + HTTPTestTools.getDefaultPort() + "/v2/check");
+    String postData = "language=crh&text=" + URLEncoder.encode(text, "UTF-8") + extraParams;
+    return mapper.readTree(HTTPTestTools.checkAtUrlByPost(url, postData));
+  }
+
+  // text-level matches come last in streaming mode, so compare in position order
+  private List<String> getMatches(JsonNode response) {
+    List<JsonNode> matches = new ArrayList<>();
+    response.get("matches").forEach(matches::add);
+    matches.sort(Comparator.comparingInt((JsonNode m) -> m.get("offset").asInt()).thenComparing(m -> m.get("rule").get("id").asText()));
+    List<String> result = new ArrayList<>();
+    for (JsonNode match : matches) {
+      result.add(match.toString());
+    }
+    return result;
+  }
+
+}
@@ -0,0 +1,92 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2026 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import org.junit.Test;
+import org.languagetool.rules.UserDictionary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.*;
+
+public class UserDictionaryCacheTest {
+
+  @Test
+  public void testUpdates() {
+    UserDictionaryCache cache = new UserDictionaryCache(60, 2, Runnable::run);
+    AtomicInteger loads = new AtomicInteger();
+    Supplier<List<String>> loader = () -> {
+      loads.incrementAndGet();
+      return Arrays.asList("foo", "bar");
+    };
+    UserDictionary dict = cache.get(1, UserDictionaryCache.DEFAULT_DICT, loader);
+    assertSame(dict, cache.get(1, UserDictionaryCache.DEFAULT_DICT, loader));
+    assertThat(loads.get(), is(1));
+
+    cache.add(1L, null, Collections.singletonList("baz"));
+    UserDictionary updated = cache.get(1, UserDictionaryCache.DEFAULT_DICT, loader);
+    assertThat(loads.get(), is(1));
+    assertTrue(updated.contains("baz"));
+    assertThat(updated.getDeltaSize(), is(1));
+    assertFalse(dict.contains("baz"));
+
+    cache.delete(1L, null, Arrays.asList("foo", "bar"));
+    UserDictionary compacted = cache.get(1, UserDictionaryCache.DEFAULT_DICT, loader);
+    assertThat(compacted.getWords(), is(Collections.singletonList("baz")));
+    assertThat(compacted.getDeltaSize(), is(0));
+    assertThat(loads.get(), is(1));
+
+    // changes to a group invalidate the user's dictionaries:
+    cache.add(1L, "group1", Collections.singletonList("qux"));
+    cache.get(1, UserDictionaryCache.DEFAULT_DICT, loader);
+    assertThat(loads.get(), is(2));
+    // users that aren't cached are ignored:
+    cache.add(2L, null, Collections.singletonList("qux"));
+    cache.add(null, null, Collections.singletonList("qux"));
+  }
+
+  @Test
+  public void testEditWhileLoading() {
+    UserDictionaryCache cache = new UserDictionaryCache(60, 2, Runnable::run);
+    List<String> words = new ArrayList<>(Collections.singletonList("foo"));
+    AtomicInteger loads = new AtomicInteger();
+    Supplier<List<String>> loader = () -> {
+      List<String> result = new ArrayList<>(words);
+      if (loads.incrementAndGet() == 1) {
+        // a word is added after the words have been read, but before the dictionary is cached:
+        words.add("bar");
+        cache.add(1L, null, Collections.singletonList("bar"));
+      }
+      return result;
+    };
+    assertThat(cache.get(1, UserDictionaryCache.DEFAULT_DICT, loader).getWords(), is(Collections.singletonList("foo")));
+    UserDictionary dict = cache.get(1, UserDictionaryCache.DEFAULT_DICT, loader);
+    assertThat(loads.get(), is(2));
+    assertTrue(dict.contains("bar"));
+    assertSame(dict, cache.get(1, UserDictionaryCache.DEFAULT_DICT, loader));
+  }
+
+}